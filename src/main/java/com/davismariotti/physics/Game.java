@@ -82,7 +82,8 @@ public class Game extends JFrame {
         simulator.addConstraint(boundaryConstraint);
 
         // Add continuous collision constraint for ground interactions
-        simulator.addConstraint(new ContinuousCollisionConstraint(simulator.getStaticBodies(), config.getGravity()));
+        simulator.addConstraint(new ContinuousCollisionConstraint(simulator.getStaticBodies(), config.getGravity(),
+                config.getRestingVelocityThreshold(), config.getCollisionMode()));
 
         // Create world interaction system
         interactionSystem = new WorldInteractionSystem();
@@ -0,0 +1,40 @@
+package com.davismariotti.physics.collision;
+
+import java.util.Arrays;
+
+/**
+ * Counting sort of items by grid cell, shared by the grids that bin items into a flat array of cells
+ * Two passes over the items and one over the cells, with no allocation; items in the same cell keep
+ * their relative order, so sorting an already sorted array leaves it unchanged
+ */
+public final class CellSort {
+
+    private CellSort() {
+    }
+
+    /**
+     * Sort item indices by cell
+     * @param cellOf cell of each item, in [0, cells)
+     * @param count number of items
+     * @param cells number of cells
+     * @param cellStart output of at least cells + 1 entries; cellStart[c]..cellStart[c + 1] is the range of cell c
+     * @param order output of at least count entries; order[k] is the item at sorted position k
+     */
+    public static void sort(int[] cellOf, int count, int cells, int[] cellStart, int[] order) {
+        Arrays.fill(cellStart, 0, cells + 1, 0);
+        for (int i = 0; i < count; i++) {
+            cellStart[cellOf[i] + 1]++;
+        }
+        for (int c = 0; c < cells; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        // Scatter using a running cursor per cell, then restore the starts
+        for (int i = 0; i < count; i++) {
+            order[cellStart[cellOf[i]]++] = i;
+        }
+        for (int c = cells; c > 0; c--) {
+            cellStart[c] = cellStart[c - 1];
+        }
+        cellStart[0] = 0;
+    }
+}
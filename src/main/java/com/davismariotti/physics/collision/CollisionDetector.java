@@ -12,10 +12,28 @@ public class CollisionDetector {
      * Dispatches to specific collision detection methods based on collider types
      */
     public static CollisionResult checkCollision(Collider a, Collider b) {
+        // Polygons against anything go through GJK/EPA
+        if (a instanceof PolygonCollider || b instanceof PolygonCollider) {
+            return ConvexCollision.collide(a, b, 0, null);
+        }
         // Circle vs AABB
         if (a instanceof CircleCollider circle && b instanceof AABBCollider aabb) {
             return circleVsAABB(circle, aabb);
         }
+        // Circle vs heightfield terrain
+        if (a instanceof CircleCollider circle && b instanceof HeightfieldCollider field) {
+            return circleVsHeightfield(circle, field);
+        }
+        if (a instanceof HeightfieldCollider field && b instanceof CircleCollider circle) {
+            CollisionResult result = circleVsHeightfield(circle, field);
+            if (result.hasCollision()) {
+                return CollisionResult.collision(
+                        new Vector(-result.normal().x(), -result.normal().y()),
+                        result.penetrationDepth()
+                );
+            }
+            return result;
+        }
         // AABB vs Circle (reverse)
         if (a instanceof AABBCollider aabb && b instanceof CircleCollider circle) {
             CollisionResult result = circleVsAABB(circle, aabb);
@@ -73,22 +91,7 @@ public class CollisionDetector {
                 normal = new Vector(dx / distance, dy / distance);
             } else {
                 // Circle center is inside AABB, use direction to nearest face
-                double leftDist = Math.abs(circleCenter.x() - aabbMin.x());
-                double rightDist = Math.abs(circleCenter.x() - aabbMax.x());
-                double bottomDist = Math.abs(circleCenter.y() - aabbMin.y());
-                double topDist = Math.abs(circleCenter.y() - aabbMax.y());
-
-                double minDist = Math.min(Math.min(leftDist, rightDist), Math.min(bottomDist, topDist));
-
-                if (minDist == bottomDist) {
-                    normal = new Vector(0, -1);  // Bottom face
-                } else if (minDist == topDist) {
-                    normal = new Vector(0, 1);   // Top face
-                } else if (minDist == leftDist) {
-                    normal = new Vector(-1, 0);  // Left face
-                } else {
-                    normal = new Vector(1, 0);   // Right face
-                }
+                normal = nearestFaceNormal(circleCenter, aabbMin, aabbMax);
             }
 
             return CollisionResult.collision(normal, penetration);
@@ -124,6 +127,201 @@ public class CollisionDetector {
         return CollisionResult.NO_COLLISION;
     }
 
+    /**
+     * Detect a speculative contact between two colliders
+     * Unlike checkCollision(), shapes that are still separated by up to {@code margin} produce a contact;
+     * its penetration depth is negative and equals minus the remaining gap
+     *
+     * @param a first collider
+     * @param b second collider
+     * @param margin maximum gap for which a contact is emitted
+     * @return contact with normal pointing from b toward a for circle-AABB, circle-heightfield and polygon
+     *         pairs (matching checkCollision()), or NO_COLLISION if the gap exceeds the margin or the pair
+     *         is unsupported
+     */
+    public static CollisionResult checkSpeculative(Collider a, Collider b, double margin) {
+        if (a instanceof PolygonCollider || b instanceof PolygonCollider) {
+            return ConvexCollision.collide(a, b, margin, null);
+        }
+        if (a instanceof CircleCollider circle && b instanceof AABBCollider aabb) {
+            return circleVsAABBSpeculative(circle, aabb, margin);
+        }
+        if (a instanceof CircleCollider circle && b instanceof HeightfieldCollider field) {
+            return circleVsHeightfieldSpeculative(circle, field, margin);
+        }
+        if (a instanceof CircleCollider c1 && b instanceof CircleCollider c2) {
+            return circleVsCircleSpeculative(c1, c2, margin);
+        }
+        return CollisionResult.NO_COLLISION;
+    }
+
+    /**
+     * Speculative contact between a circle and an AABB
+     * Normal points from the closest point on the AABB toward the circle center
+     */
+    public static CollisionResult circleVsAABBSpeculative(CircleCollider circle, AABBCollider aabb, double margin) {
+        Vector circleCenter = circle.center();
+        double radius = circle.radius();
+
+        Vector aabbMin = aabb.getMin();
+        Vector aabbMax = aabb.getMax();
+
+        double closestX = Math.max(aabbMin.x(), Math.min(circleCenter.x(), aabbMax.x()));
+        double closestY = Math.max(aabbMin.y(), Math.min(circleCenter.y(), aabbMax.y()));
+        double dx = circleCenter.x() - closestX;
+        double dy = circleCenter.y() - closestY;
+        double reach = radius + margin;
+        double distanceSquared = dx * dx + dy * dy;
+
+        if (distanceSquared > reach * reach) {
+            return CollisionResult.NO_COLLISION;
+        }
+
+        double distance = Math.sqrt(distanceSquared);
+        if (distance > 0.0001) {
+            return CollisionResult.collision(new Vector(dx / distance, dy / distance), radius - distance);
+        }
+
+        // Center inside the box: push out through the nearest face
+        Vector normal = nearestFaceNormal(circleCenter, aabbMin, aabbMax);
+        double faceDistance = Math.min(
+                Math.min(circleCenter.x() - aabbMin.x(), aabbMax.x() - circleCenter.x()),
+                Math.min(circleCenter.y() - aabbMin.y(), aabbMax.y() - circleCenter.y()));
+        return CollisionResult.collision(normal, radius + faceDistance);
+    }
+
+    /**
+     * Detect collision between a circle and a heightfield terrain
+     */
+    public static CollisionResult circleVsHeightfield(CircleCollider circle, HeightfieldCollider field) {
+        CollisionResult result = circleVsHeightfieldSpeculative(circle, field, 0);
+        return result.hasCollision() && result.penetrationDepth() > 0 ? result : CollisionResult.NO_COLLISION;
+    }
+
+    /**
+     * Speculative contact between a circle and a heightfield terrain
+     * Only the segments under the circle (found by column lookup) and the end walls within reach are
+     * tested, so the cost does not depend on the terrain's length. The normal points from the closest
+     * surface point toward the circle center, which along a segment is the slope normal; a center below
+     * the surface is pushed out along the slope normal (or through an end wall when that is shorter)
+     */
+    public static CollisionResult circleVsHeightfieldSpeculative(CircleCollider circle, HeightfieldCollider field,
+                                                                 double margin) {
+        double cx = circle.center().x();
+        double cy = circle.center().y();
+        double radius = circle.radius();
+        double reach = radius + margin;
+        double minX = field.getMinX();
+        double maxX = field.getMaxX();
+        if (cx + reach < minX || cx - reach > maxX || cy - reach > field.getMaxHeight() || cy + reach < field.getBaseY()) {
+            return CollisionResult.NO_COLLISION;
+        }
+
+        if (cx >= minX && cx <= maxX && cy >= field.getBaseY() && cy < field.heightAt(cx)) {
+            Vector normal = field.normalAt(cx);
+            int i = field.column(cx);
+            double depth = (field.getSampleX(i) - cx) * normal.x() + (field.getHeight(i) - cy) * normal.y();
+            double left = cx - minX;
+            double right = maxX - cx;
+            if (left < depth && left <= right) {
+                return CollisionResult.collision(new Vector(-1, 0), radius + left);
+            }
+            if (right < depth) {
+                return CollisionResult.collision(new Vector(1, 0), radius + right);
+            }
+            return CollisionResult.collision(normal, radius + depth);
+        }
+
+        // Closest point over the segments under the circle and the end walls
+        double bestDistanceSquared = Double.MAX_VALUE;
+        double closestX = cx;
+        double closestY = cy;
+        for (int i = field.column(cx - reach), last = field.column(cx + reach); i <= last; i++) {
+            double x0 = field.getSampleX(i);
+            double y0 = field.getHeight(i);
+            double dx = field.getSpacing();
+            double dy = field.getHeight(i + 1) - y0;
+            double s = Math.max(0, Math.min(1, ((cx - x0) * dx + (cy - y0) * dy) / (dx * dx + dy * dy)));
+            double qx = x0 + dx * s;
+            double qy = y0 + dy * s;
+            double distanceSquared = (cx - qx) * (cx - qx) + (cy - qy) * (cy - qy);
+            if (distanceSquared < bestDistanceSquared) {
+                bestDistanceSquared = distanceSquared;
+                closestX = qx;
+                closestY = qy;
+            }
+        }
+        if (cx - reach <= minX) {
+            double qy = Math.max(field.getBaseY(), Math.min(cy, field.getHeight(0)));
+            double distanceSquared = (cx - minX) * (cx - minX) + (cy - qy) * (cy - qy);
+            if (distanceSquared < bestDistanceSquared) {
+                bestDistanceSquared = distanceSquared;
+                closestX = minX;
+                closestY = qy;
+            }
+        }
+        if (cx + reach >= maxX) {
+            double qy = Math.max(field.getBaseY(), Math.min(cy, field.getHeight(field.getSampleCount() - 1)));
+            double distanceSquared = (cx - maxX) * (cx - maxX) + (cy - qy) * (cy - qy);
+            if (distanceSquared < bestDistanceSquared) {
+                bestDistanceSquared = distanceSquared;
+                closestX = maxX;
+                closestY = qy;
+            }
+        }
+
+        if (bestDistanceSquared > reach * reach) {
+            return CollisionResult.NO_COLLISION;
+        }
+        double distance = Math.sqrt(bestDistanceSquared);
+        Vector normal = distance > 0.0001
+                ? new Vector((cx - closestX) / distance, (cy - closestY) / distance)
+                : field.normalAt(cx);
+        return CollisionResult.collision(normal, radius - distance);
+    }
+
+    /**
+     * Speculative contact between two circles
+     * Normal points from c1 toward c2
+     */
+    public static CollisionResult circleVsCircleSpeculative(CircleCollider c1, CircleCollider c2, double margin) {
+        double dx = c2.center().x() - c1.center().x();
+        double dy = c2.center().y() - c1.center().y();
+        double distanceSquared = dx * dx + dy * dy;
+        double radiusSum = c1.radius() + c2.radius();
+        double reach = radiusSum + margin;
+
+        if (distanceSquared > reach * reach) {
+            return CollisionResult.NO_COLLISION;
+        }
+
+        double distance = Math.sqrt(distanceSquared);
+        Vector normal = distance > 0.0001 ? new Vector(dx / distance, dy / distance) : new Vector(1, 0);
+        return CollisionResult.collision(normal, radiusSum - distance);
+    }
+
+    /**
+     * Outward normal of the AABB face closest to a point inside it
+     */
+    private static Vector nearestFaceNormal(Vector point, Vector aabbMin, Vector aabbMax) {
+        double leftDist = Math.abs(point.x() - aabbMin.x());
+        double rightDist = Math.abs(point.x() - aabbMax.x());
+        double bottomDist = Math.abs(point.y() - aabbMin.y());
+        double topDist = Math.abs(point.y() - aabbMax.y());
+
+        double minDist = Math.min(Math.min(leftDist, rightDist), Math.min(bottomDist, topDist));
+
+        if (minDist == bottomDist) {
+            return new Vector(0, -1);  // Bottom face
+        } else if (minDist == topDist) {
+            return new Vector(0, 1);   // Top face
+        } else if (minDist == leftDist) {
+            return new Vector(-1, 0);  // Left face
+        } else {
+            return new Vector(1, 0);   // Right face
+        }
+    }
+
     /**
      * Detect collision between two AABBs
      */
@@ -0,0 +1,66 @@
+package com.davismariotti.physics.collision;
+
+/**
+ * Collision filter packed into a single long per body: 16 category bits, 16 mask bits and a 16-bit group
+ * Two bodies in the same non-zero group always collide (positive group) or never collide (negative group);
+ * otherwise each body's category must be in the other's mask. Checking a pair reads two longs, so filtered
+ * pairs are dropped before any collider is touched
+ */
+public final class CollisionFilter {
+    private static final long BITS = 0xFFFFL;
+
+    /**
+     * Category 1, colliding with every category, no group
+     */
+    public static final long DEFAULT = of(0x0001, 0xFFFF, 0);
+
+    private CollisionFilter() {
+    }
+
+    /**
+     * @param category bit (or bits) identifying what the body is, 16 bits
+     * @param mask categories the body collides with, 16 bits
+     */
+    public static long of(int category, int mask) {
+        return of(category, mask, 0);
+    }
+
+    /**
+     * @param category bit (or bits) identifying what the body is, 16 bits
+     * @param mask categories the body collides with, 16 bits
+     * @param group bodies sharing a positive group always collide, a negative group never; 0 for none
+     * @throws IllegalArgumentException if a value does not fit in 16 bits
+     */
+    public static long of(int category, int mask, int group) {
+        if ((category & ~0xFFFF) != 0 || (mask & ~0xFFFF) != 0) {
+            throw new IllegalArgumentException("Category and mask are 16-bit, got " + category + ", " + mask);
+        }
+        if (group < Short.MIN_VALUE || group > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Group is 16-bit, got " + group);
+        }
+        return ((group & BITS) << 32) | ((long) mask << 16) | category;
+    }
+
+    public static int category(long filter) {
+        return (int) (filter & BITS);
+    }
+
+    public static int mask(long filter) {
+        return (int) ((filter >>> 16) & BITS);
+    }
+
+    public static int group(long filter) {
+        return (short) (filter >>> 32);
+    }
+
+    /**
+     * Whether bodies with these filters may collide
+     */
+    public static boolean shouldCollide(long filterA, long filterB) {
+        int groupA = group(filterA);
+        if (groupA != 0 && groupA == group(filterB)) {
+            return groupA > 0;
+        }
+        return (mask(filterA) & category(filterB)) != 0 && (mask(filterB) & category(filterA)) != 0;
+    }
+}
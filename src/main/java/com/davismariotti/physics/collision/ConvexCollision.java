@@ -0,0 +1,582 @@
+package com.davismariotti.physics.collision;
+
+import com.davismariotti.physics.kinematics.Vector;
+
+/**
+ * Collision between convex shapes with GJK distance and EPA penetration
+ *
+ * Every supported collider is a convex vertex set (the core) inflated by a radius: a polygon or box has
+ * its corners and radius 0, a circle is its center with its radius. GJK finds the closest points of the
+ * two cores on the Minkowski difference B - A. When the cores are apart, the contact follows from the
+ * closest points and the radii; when they overlap, EPA expands the final GJK simplex into the polygon
+ * face of B - A nearest the origin, which gives the penetration depth and normal
+ *
+ * With a SimplexCache, a pair that was apart last time is first tested along its last axis and rejected
+ * if that axis still separates the shapes; otherwise GJK warm starts from the last simplex and EPA from
+ * the ends of the last contact face
+ */
+public final class ConvexCollision {
+    private static final int MAX_GJK_ITERATIONS = 20;
+    private static final int MAX_EPA_ITERATIONS = 32;
+    private static final double EPSILON = 1e-10;
+    private static final double EPA_TOLERANCE = 1e-9;
+    private static final double SEED_ROTATION = 1e-3;  // Radians either side of the cached normal for EPA seeds
+    private static final double[][] SPAN_DIRECTIONS = {{1, 0}, {0, 1}, {-1, 0}, {0, -1}};
+    private static final ThreadLocal<Simplex> SCRATCH = ThreadLocal.withInitial(Simplex::new);
+
+    /**
+     * Convex vertex set and radius of a collider
+     */
+    private record Proxy(double[] x, double[] y, double radius) {
+        static Proxy of(Collider collider) {
+            if (collider instanceof PolygonCollider polygon) {
+                return new Proxy(polygon.vertexX(), polygon.vertexY(), 0);
+            }
+            if (collider instanceof CircleCollider circle) {
+                return new Proxy(new double[]{circle.center().x()}, new double[]{circle.center().y()}, circle.radius());
+            }
+            if (collider instanceof AABBCollider aabb) {
+                Vector min = aabb.getMin();
+                Vector max = aabb.getMax();
+                return new Proxy(new double[]{min.x(), max.x(), max.x(), min.x()},
+                        new double[]{min.y(), min.y(), max.y(), max.y()}, 0);
+            }
+            throw new IllegalArgumentException("Unsupported collider " + collider.getClass().getSimpleName());
+        }
+
+        int support(double directionX, double directionY) {
+            int best = 0;
+            double bestValue = x[0] * directionX + y[0] * directionY;
+            for (int i = 1; i < x.length; i++) {
+                double value = x[i] * directionX + y[i] * directionY;
+                if (value > bestValue) {
+                    best = i;
+                    bestValue = value;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Smallest projection of the core onto an axis
+         */
+        double minProjection(double axisX, double axisY) {
+            double min = Double.MAX_VALUE;
+            for (int i = 0; i < x.length; i++) {
+                min = Math.min(min, x[i] * axisX + y[i] * axisY);
+            }
+            return min;
+        }
+    }
+
+    private ConvexCollision() {
+    }
+
+    /**
+     * Detect a contact between two convex colliders (polygons, circles or AABBs)
+     * @param a first collider
+     * @param b second collider
+     * @param margin maximum gap for which a contact is emitted; 0 for overlapping shapes only
+     * @param cache warm-start state of this ordered pair, updated by the query, or null
+     * @return contact with the normal pointing from b into a and the penetration depth (negative for a gap
+     *         within the margin), or NO_COLLISION
+     */
+    public static CollisionResult collide(Collider a, Collider b, double margin, SimplexCache cache) {
+        Proxy proxyA = Proxy.of(a);
+        Proxy proxyB = Proxy.of(b);
+        double radii = proxyA.radius() + proxyB.radius();
+
+        if (cache != null) {
+            cache.lastAxisHit = false;
+            cache.lastIterations = 0;
+            if (cache.hasAxis && cache.lastSeparated) {
+                // Gap along the cached axis: A's lowest point minus B's highest point
+                double axisX = cache.axisX;
+                double axisY = cache.axisY;
+                double gap = proxyA.minProjection(axisX, axisY) + proxyB.minProjection(-axisX, -axisY) - radii;
+                if (isSeparated(gap, margin)) {
+                    cache.lastAxisHit = true;
+                    return CollisionResult.NO_COLLISION;
+                }
+            }
+        }
+
+        Simplex simplex = SCRATCH.get();
+        simplex.run(proxyA, proxyB, cache);
+        if (cache != null) {
+            simplex.store(cache);
+        }
+
+        double normalX;
+        double normalY;
+        double penetration;
+        double distance = simplex.distance();
+        if (simplex.count < 3 && distance > EPSILON) {
+            // Cores apart: the contact normal joins the closest points
+            normalX = (simplex.closestAX - simplex.closestBX) / distance;
+            normalY = (simplex.closestAY - simplex.closestBY) / distance;
+            penetration = radii - distance;
+        } else {
+            expand(proxyA, proxyB, simplex, cache);
+            normalX = simplex.faceNormalX;
+            normalY = simplex.faceNormalY;
+            penetration = simplex.faceDepth + radii;
+        }
+
+        boolean separated = isSeparated(-penetration, margin);
+        if (cache != null) {
+            cache.hasAxis = true;
+            cache.axisX = normalX;
+            cache.axisY = normalY;
+            cache.lastSeparated = separated;
+        }
+        if (separated) {
+            return CollisionResult.NO_COLLISION;
+        }
+        return CollisionResult.collision(new Vector(normalX, normalY), penetration);
+    }
+
+    /**
+     * Distance between two convex colliders, or minus the penetration depth when they overlap
+     */
+    public static double distance(Collider a, Collider b, SimplexCache cache) {
+        CollisionResult result = collide(a, b, Double.POSITIVE_INFINITY, cache);
+        return -result.penetrationDepth();
+    }
+
+    private static boolean isSeparated(double gap, double margin) {
+        return margin > 0 ? gap > margin : gap >= 0;
+    }
+
+    /**
+     * EPA: grow a polygon inside B - A from the GJK simplex until its face nearest the origin is on the
+     * boundary; leaves the face normal (pointing from b into a) and depth in the simplex
+     * A cached axis seeds the polygon with the ends of the last contact face, so a contact whose normal
+     * has barely changed is confirmed in one iteration
+     */
+    private static void expand(Proxy a, Proxy b, Simplex simplex, SimplexCache cache) {
+        int capacity = simplex.polytopeX.length;
+        double[] x = simplex.polytopeX;
+        double[] y = simplex.polytopeY;
+        int count = simplex.count;
+        for (int i = 0; i < count; i++) {
+            x[i] = simplex.wx[i];
+            y[i] = simplex.wy[i];
+        }
+
+        // Touching cores leave a point or segment through the origin; add support points to span a triangle
+        for (int attempt = 0; count < 3 && attempt < SPAN_DIRECTIONS.length; attempt++) {
+            double directionX = SPAN_DIRECTIONS[attempt][0];
+            double directionY = SPAN_DIRECTIONS[attempt][1];
+            if (count == 2) {
+                double edgeX = x[1] - x[0];
+                double edgeY = y[1] - y[0];
+                directionX = attempt % 2 == 0 ? edgeY : -edgeY;
+                directionY = attempt % 2 == 0 ? -edgeX : edgeX;
+            }
+            int indexA = a.support(-directionX, -directionY);
+            int indexB = b.support(directionX, directionY);
+            double pointX = b.x()[indexB] - a.x()[indexA];
+            double pointY = b.y()[indexB] - a.y()[indexA];
+            boolean spans = count == 1
+                    ? Math.abs(pointX - x[0]) + Math.abs(pointY - y[0]) > EPSILON
+                    : Math.abs((x[1] - x[0]) * (pointY - y[0]) - (y[1] - y[0]) * (pointX - x[0])) > EPSILON;
+            if (spans) {
+                x[count] = pointX;
+                y[count] = pointY;
+                count++;
+            }
+        }
+        if (count < 3) {
+            // Degenerate difference (shapes touch at a point or along a line): zero depth
+            double normalX = count == 2 ? y[1] - y[0] : 0;
+            double normalY = count == 2 ? x[0] - x[1] : 1;
+            double length = Math.sqrt(normalX * normalX + normalY * normalY);
+            simplex.setFace(length > EPSILON ? normalX / length : 0, length > EPSILON ? normalY / length : 1, 0);
+            return;
+        }
+        if ((x[1] - x[0]) * (y[2] - y[0]) - (y[1] - y[0]) * (x[2] - x[0]) < 0) {
+            double swapX = x[1];
+            double swapY = y[1];
+            x[1] = x[2];
+            y[1] = y[2];
+            x[2] = swapX;
+            y[2] = swapY;
+        }
+        if (cache != null && cache.hasAxis) {
+            // Supports just either side of the last normal are the two ends of the last contact face
+            for (int side = -1; side <= 1; side += 2) {
+                double directionX = cache.axisX - side * SEED_ROTATION * cache.axisY;
+                double directionY = cache.axisY + side * SEED_ROTATION * cache.axisX;
+                int indexA = a.support(-directionX, -directionY);
+                int indexB = b.support(directionX, directionY);
+                count = insertPoint(x, y, count, b.x()[indexB] - a.x()[indexA], b.y()[indexB] - a.y()[indexA]);
+            }
+        }
+
+        double bestNormalX = 0;
+        double bestNormalY = 1;
+        double bestDistance = 0;
+        for (int iteration = 0; iteration < MAX_EPA_ITERATIONS; iteration++) {
+            int bestEdge = -1;
+            bestDistance = Double.MAX_VALUE;
+            for (int i = 0; i < count; i++) {
+                int next = i + 1 == count ? 0 : i + 1;
+                double edgeX = x[next] - x[i];
+                double edgeY = y[next] - y[i];
+                double length = Math.sqrt(edgeX * edgeX + edgeY * edgeY);
+                if (length < EPSILON) {
+                    continue;
+                }
+                // Outward normal of a counter-clockwise edge
+                double normalX = edgeY / length;
+                double normalY = -edgeX / length;
+                double edgeDistance = normalX * x[i] + normalY * y[i];
+                if (edgeDistance < bestDistance) {
+                    bestDistance = edgeDistance;
+                    bestNormalX = normalX;
+                    bestNormalY = normalY;
+                    bestEdge = i;
+                }
+            }
+            if (bestEdge < 0) {
+                break;
+            }
+
+            int indexA = a.support(-bestNormalX, -bestNormalY);
+            int indexB = b.support(bestNormalX, bestNormalY);
+            double pointX = b.x()[indexB] - a.x()[indexA];
+            double pointY = b.y()[indexB] - a.y()[indexA];
+            double reach = bestNormalX * pointX + bestNormalY * pointY;
+            if (reach - bestDistance <= EPA_TOLERANCE * Math.max(1.0, Math.abs(bestDistance)) || count == capacity) {
+                break;
+            }
+            count = insertAfter(x, y, count, bestEdge, pointX, pointY);
+        }
+
+        // Moving A by depth along the face normal of B - A separates the cores
+        simplex.setFace(bestNormalX, bestNormalY, Math.max(0, bestDistance));
+    }
+
+    /**
+     * Add a point of B - A to the convex polygon, after the edge it lies furthest outside of
+     * Points inside the polygon are ignored. Returns the new vertex count
+     */
+    private static int insertPoint(double[] x, double[] y, int count, double pointX, double pointY) {
+        int bestEdge = -1;
+        double bestOutside = EPSILON;
+        for (int i = 0; i < count; i++) {
+            int next = i + 1 == count ? 0 : i + 1;
+            double edgeX = x[next] - x[i];
+            double edgeY = y[next] - y[i];
+            double length = Math.sqrt(edgeX * edgeX + edgeY * edgeY);
+            if (length < EPSILON) {
+                continue;
+            }
+            double outside = (edgeY * (pointX - x[i]) - edgeX * (pointY - y[i])) / length;
+            if (outside > bestOutside) {
+                bestOutside = outside;
+                bestEdge = i;
+            }
+        }
+        return bestEdge < 0 ? count : insertAfter(x, y, count, bestEdge, pointX, pointY);
+    }
+
+    /**
+     * Insert a point after the given vertex, then drop the neighbors it hides so the polygon stays convex
+     * (a new support point can see more than the edge it was added for). Returns the new vertex count
+     */
+    private static int insertAfter(double[] x, double[] y, int count, int vertex, double pointX, double pointY) {
+        int inserted = vertex + 1;
+        System.arraycopy(x, inserted, x, inserted + 1, count - inserted);
+        System.arraycopy(y, inserted, y, inserted + 1, count - inserted);
+        x[inserted] = pointX;
+        y[inserted] = pointY;
+        count++;
+
+        while (count > 3) {
+            int previous = inserted == 0 ? count - 1 : inserted - 1;
+            int beforePrevious = previous == 0 ? count - 1 : previous - 1;
+            if (!isReflex(x, y, beforePrevious, previous, inserted)) {
+                break;
+            }
+            count = remove(x, y, count, previous);
+            if (previous < inserted) {
+                inserted--;
+            }
+        }
+        while (count > 3) {
+            int next = inserted + 1 == count ? 0 : inserted + 1;
+            int afterNext = next + 1 == count ? 0 : next + 1;
+            if (!isReflex(x, y, inserted, next, afterNext)) {
+                break;
+            }
+            count = remove(x, y, count, next);
+            if (next < inserted) {
+                inserted--;
+            }
+        }
+        return count;
+    }
+
+    private static boolean isReflex(double[] x, double[] y, int previous, int vertex, int next) {
+        double turn = (x[vertex] - x[previous]) * (y[next] - y[vertex]) - (y[vertex] - y[previous]) * (x[next] - x[vertex]);
+        return turn <= EPSILON;
+    }
+
+    private static int remove(double[] x, double[] y, int count, int vertex) {
+        System.arraycopy(x, vertex + 1, x, vertex, count - vertex - 1);
+        System.arraycopy(y, vertex + 1, y, vertex, count - vertex - 1);
+        return count - 1;
+    }
+
+    /**
+     * GJK simplex on B - A with barycentric weights, after the distance algorithm of Box2D, plus the EPA
+     * scratch; one instance per thread is reused by every query
+     */
+    private static final class Simplex {
+        final int[] indexA = new int[3];
+        final int[] indexB = new int[3];
+        final double[] ax = new double[3];
+        final double[] ay = new double[3];
+        final double[] bx = new double[3];
+        final double[] by = new double[3];
+        final double[] wx = new double[3];
+        final double[] wy = new double[3];
+        final double[] weight = new double[3];
+        int count;
+        double closestAX;
+        double closestAY;
+        double closestBX;
+        double closestBY;
+
+        // Indices before the current iteration, for detecting lack of progress
+        final int[] savedA = new int[3];
+        final int[] savedB = new int[3];
+
+        // EPA polygon and result
+        final double[] polytopeX = new double[MAX_EPA_ITERATIONS + 3];
+        final double[] polytopeY = new double[MAX_EPA_ITERATIONS + 3];
+        double faceNormalX;
+        double faceNormalY;
+        double faceDepth;
+
+        void run(Proxy a, Proxy b, SimplexCache cache) {
+            count = 0;
+            if (cache != null) {
+                for (int i = 0; i < cache.count; i++) {
+                    if (cache.indexA[i] < a.x().length && cache.indexB[i] < b.x().length) {
+                        setVertex(count++, a, cache.indexA[i], b, cache.indexB[i]);
+                    }
+                }
+            }
+            if (count == 2 && Math.abs(wx[1] - wx[0]) + Math.abs(wy[1] - wy[0]) < EPSILON
+                    || count == 3 && Math.abs((wx[1] - wx[0]) * (wy[2] - wy[0]) - (wy[1] - wy[0]) * (wx[2] - wx[0])) < EPSILON) {
+                count = 1;  // Cached simplex collapsed since the last query; restart from its first vertex
+            }
+            if (count == 0) {
+                setVertex(count++, a, 0, b, 0);
+            }
+            for (int i = 0; i < count; i++) {
+                weight[i] = 1.0 / count;
+            }
+
+            int iterations = 0;
+            while (iterations < MAX_GJK_ITERATIONS) {
+                int savedCount = count;
+                for (int i = 0; i < count; i++) {
+                    savedA[i] = indexA[i];
+                    savedB[i] = indexB[i];
+                }
+
+                if (count == 2) {
+                    solve2();
+                } else if (count == 3) {
+                    solve3();
+                }
+                if (count == 3) {
+                    break;  // Origin inside the triangle: cores overlap
+                }
+
+                // Direction from the simplex toward the origin
+                double directionX;
+                double directionY;
+                if (count == 1) {
+                    directionX = -wx[0];
+                    directionY = -wy[0];
+                } else {
+                    double edgeX = wx[1] - wx[0];
+                    double edgeY = wy[1] - wy[0];
+                    double side = edgeX * -wy[0] - edgeY * -wx[0];
+                    directionX = side > 0 ? -edgeY : edgeY;
+                    directionY = side > 0 ? edgeX : -edgeX;
+                }
+                if (directionX * directionX + directionY * directionY < EPSILON * EPSILON) {
+                    break;  // Origin on the simplex: touching
+                }
+
+                int newA = a.support(-directionX, -directionY);
+                int newB = b.support(directionX, directionY);
+                iterations++;
+
+                boolean duplicate = false;
+                for (int i = 0; i < savedCount; i++) {
+                    if (savedA[i] == newA && savedB[i] == newB) {
+                        duplicate = true;
+                        break;
+                    }
+                }
+                if (duplicate) {
+                    break;  // No progress: the simplex holds the closest feature
+                }
+                setVertex(count++, a, newA, b, newB);
+            }
+            if (cache != null) {
+                cache.lastIterations = Math.max(1, iterations);
+            }
+            computeClosestPoints();
+        }
+
+        void setFace(double normalX, double normalY, double depth) {
+            faceNormalX = normalX;
+            faceNormalY = normalY;
+            faceDepth = depth;
+        }
+
+        void store(SimplexCache cache) {
+            cache.count = count;
+            for (int i = 0; i < count; i++) {
+                cache.indexA[i] = indexA[i];
+                cache.indexB[i] = indexB[i];
+            }
+        }
+
+        double distance() {
+            double dx = closestBX - closestAX;
+            double dy = closestBY - closestAY;
+            return Math.sqrt(dx * dx + dy * dy);
+        }
+
+        private void setVertex(int i, Proxy a, int vertexA, Proxy b, int vertexB) {
+            indexA[i] = vertexA;
+            indexB[i] = vertexB;
+            ax[i] = a.x()[vertexA];
+            ay[i] = a.y()[vertexA];
+            bx[i] = b.x()[vertexB];
+            by[i] = b.y()[vertexB];
+            wx[i] = bx[i] - ax[i];
+            wy[i] = by[i] - ay[i];
+        }
+
+        private void copyVertex(int from, int to) {
+            indexA[to] = indexA[from];
+            indexB[to] = indexB[from];
+            ax[to] = ax[from];
+            ay[to] = ay[from];
+            bx[to] = bx[from];
+            by[to] = by[from];
+            wx[to] = wx[from];
+            wy[to] = wy[from];
+            weight[to] = weight[from];
+        }
+
+        /**
+         * Closest point of a segment to the origin, reduced to a vertex when it lies in a vertex region
+         */
+        private void solve2() {
+            double edgeX = wx[1] - wx[0];
+            double edgeY = wy[1] - wy[0];
+            double towardSecond = -(wx[0] * edgeX + wy[0] * edgeY);
+            if (towardSecond <= 0) {
+                weight[0] = 1;
+                count = 1;
+                return;
+            }
+            double towardFirst = wx[1] * edgeX + wy[1] * edgeY;
+            if (towardFirst <= 0) {
+                copyVertex(1, 0);
+                weight[0] = 1;
+                count = 1;
+                return;
+            }
+            double inverse = 1.0 / (towardFirst + towardSecond);
+            weight[0] = towardFirst * inverse;
+            weight[1] = towardSecond * inverse;
+            count = 2;
+        }
+
+        /**
+         * Closest feature of a triangle to the origin, by Voronoi regions
+         */
+        private void solve3() {
+            double e12X = wx[1] - wx[0];
+            double e12Y = wy[1] - wy[0];
+            double d12First = wx[1] * e12X + wy[1] * e12Y;
+            double d12Second = -(wx[0] * e12X + wy[0] * e12Y);
+
+            double e13X = wx[2] - wx[0];
+            double e13Y = wy[2] - wy[0];
+            double d13First = wx[2] * e13X + wy[2] * e13Y;
+            double d13Second = -(wx[0] * e13X + wy[0] * e13Y);
+
+            double e23X = wx[2] - wx[1];
+            double e23Y = wy[2] - wy[1];
+            double d23First = wx[2] * e23X + wy[2] * e23Y;
+            double d23Second = -(wx[1] * e23X + wy[1] * e23Y);
+
+            double area = e12X * e13Y - e12Y * e13X;
+            double d123First = area * (wx[1] * wy[2] - wy[1] * wx[2]);
+            double d123Second = area * (wx[2] * wy[0] - wy[2] * wx[0]);
+            double d123Third = area * (wx[0] * wy[1] - wy[0] * wx[1]);
+
+            if (d12Second <= 0 && d13Second <= 0) {
+                weight[0] = 1;
+                count = 1;
+            } else if (d12First > 0 && d12Second > 0 && d123Third <= 0) {
+                double inverse = 1.0 / (d12First + d12Second);
+                weight[0] = d12First * inverse;
+                weight[1] = d12Second * inverse;
+                count = 2;
+            } else if (d13First > 0 && d13Second > 0 && d123Second <= 0) {
+                double inverse = 1.0 / (d13First + d13Second);
+                copyVertex(2, 1);
+                weight[0] = d13First * inverse;
+                weight[1] = d13Second * inverse;
+                count = 2;
+            } else if (d12First <= 0 && d23Second <= 0) {
+                copyVertex(1, 0);
+                weight[0] = 1;
+                count = 1;
+            } else if (d13First <= 0 && d23First <= 0) {
+                copyVertex(2, 0);
+                weight[0] = 1;
+                count = 1;
+            } else if (d23First > 0 && d23Second > 0 && d123First <= 0) {
+                double inverse = 1.0 / (d23First + d23Second);
+                copyVertex(2, 0);
+                weight[0] = d23Second * inverse;
+                weight[1] = d23First * inverse;
+                count = 2;
+            } else {
+                double inverse = 1.0 / (d123First + d123Second + d123Third);
+                weight[0] = d123First * inverse;
+                weight[1] = d123Second * inverse;
+                weight[2] = d123Third * inverse;
+                count = 3;
+            }
+        }
+
+        private void computeClosestPoints() {
+            closestAX = 0;
+            closestAY = 0;
+            closestBX = 0;
+            closestBY = 0;
+            for (int i = 0; i < count; i++) {
+                closestAX += weight[i] * ax[i];
+                closestAY += weight[i] * ay[i];
+                closestBX += weight[i] * bx[i];
+                closestBY += weight[i] * by[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.davismariotti.physics.collision;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Simplex caches for ordered pairs of objects, kept across frames
+ * A pair's cache survives while it is queried at least once per frame; call beginFrame() once per frame
+ * to drop pairs that were not queried during the previous one
+ */
+public class ConvexPairCache {
+    private static final class Entry {
+        final SimplexCache cache = new SimplexCache();
+        int lastSeen;
+    }
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private int frame;
+
+    /**
+     * Advance to the next frame and drop pairs that were not queried during the previous one
+     */
+    public void beginFrame() {
+        frame++;
+        if (!entries.isEmpty()) {
+            entries.values().removeIf(entry -> entry.lastSeen < frame - 1);
+        }
+    }
+
+    /**
+     * Cache for the ordered pair (a, b), created empty on first use
+     */
+    public SimplexCache get(Object a, Object b) {
+        Entry entry = entries.computeIfAbsent(pairId(a, b), id -> new Entry());
+        entry.lastSeen = frame;
+        return entry.cache;
+    }
+
+    /**
+     * Collide two objects' colliders, warm started from the pair's cache
+     * @see ConvexCollision#collide(Collider, Collider, double, SimplexCache)
+     */
+    public CollisionResult collide(Object a, Collider colliderA, Object b, Collider colliderB, double margin) {
+        return ConvexCollision.collide(colliderA, colliderB, margin, get(a, b));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Order-dependent identity key, since cached vertex indices refer to the query's collider order
+     */
+    private static long pairId(Object a, Object b) {
+        return ((long) System.identityHashCode(a) << 32) | (System.identityHashCode(b) & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,139 @@
+package com.davismariotti.physics.collision;
+
+import com.davismariotti.physics.kinematics.Vector;
+
+/**
+ * Terrain collision shape: uniformly spaced height samples joined by straight segments
+ * The terrain is solid from the base up to the surface, with vertical walls at both ends. A point's
+ * column is found by one division, so queries only touch the few segments under the query, however
+ * long the terrain is
+ */
+public final class HeightfieldCollider implements Collider {
+    private final double originX;
+    private final double baseY;
+    private final double spacing;
+    private final double[] heights;
+    private final double maxHeight;
+
+    /**
+     * @param originX x of the first sample
+     * @param baseY bottom of the terrain
+     * @param spacing horizontal distance between samples
+     * @param heights surface height at each sample, all at or above baseY
+     * @throws IllegalArgumentException if there are fewer than two samples, the spacing is not positive
+     *         or a sample lies below the base
+     */
+    public HeightfieldCollider(double originX, double baseY, double spacing, double[] heights) {
+        if (heights.length < 2) {
+            throw new IllegalArgumentException("A heightfield needs at least two samples, got " + heights.length);
+        }
+        if (spacing <= 0) {
+            throw new IllegalArgumentException("Sample spacing must be positive, got " + spacing);
+        }
+        double max = baseY;
+        for (double height : heights) {
+            if (height < baseY) {
+                throw new IllegalArgumentException("Sample height " + height + " is below the base " + baseY);
+            }
+            max = Math.max(max, height);
+        }
+        this.originX = originX;
+        this.baseY = baseY;
+        this.spacing = spacing;
+        this.heights = heights.clone();
+        this.maxHeight = max;
+    }
+
+    /**
+     * Segment (column) under x: the one between samples i and i + 1, clamped to the terrain
+     */
+    public int column(double x) {
+        int column = (int) Math.floor((x - originX) / spacing);
+        return Math.max(0, Math.min(heights.length - 2, column));
+    }
+
+    /**
+     * Surface height at x, interpolated along its segment (x is clamped to the terrain)
+     */
+    public double heightAt(double x) {
+        int i = column(x);
+        double s = Math.max(0, Math.min(1, (x - getSampleX(i)) / spacing));
+        return heights[i] + (heights[i + 1] - heights[i]) * s;
+    }
+
+    /**
+     * Slope dy/dx of the segment under x
+     */
+    public double slopeAt(double x) {
+        int i = column(x);
+        return (heights[i + 1] - heights[i]) / spacing;
+    }
+
+    /**
+     * Upward unit normal of the segment under x
+     */
+    public Vector normalAt(double x) {
+        double slope = slopeAt(x);
+        double length = Math.sqrt(1 + slope * slope);
+        return new Vector(-slope / length, 1 / length);
+    }
+
+    /**
+     * Highest sample of the segments overlapping [fromX, toX]
+     */
+    public double getMaxHeight(double fromX, double toX) {
+        int first = column(fromX);
+        int last = column(toX);
+        double max = baseY;
+        for (int i = first; i <= last + 1; i++) {
+            max = Math.max(max, heights[i]);
+        }
+        return max;
+    }
+
+    public int getSampleCount() {
+        return heights.length;
+    }
+
+    public double getSampleX(int i) {
+        return originX + i * spacing;
+    }
+
+    public double getHeight(int i) {
+        return heights[i];
+    }
+
+    public double getSpacing() {
+        return spacing;
+    }
+
+    public double getBaseY() {
+        return baseY;
+    }
+
+    public double getMinX() {
+        return originX;
+    }
+
+    public double getMaxX() {
+        return originX + (heights.length - 1) * spacing;
+    }
+
+    public double getMaxHeight() {
+        return maxHeight;
+    }
+
+    /**
+     * Bottom-left corner of the terrain's bounds
+     */
+    public Vector getMin() {
+        return new Vector(getMinX(), baseY);
+    }
+
+    /**
+     * Top-right corner of the terrain's bounds
+     */
+    public Vector getMax() {
+        return new Vector(getMaxX(), maxHeight);
+    }
+}
@@ -0,0 +1,211 @@
+package com.davismariotti.physics.collision;
+
+import com.davismariotti.physics.kinematics.Vector;
+
+import java.util.List;
+
+/**
+ * Convex polygon collision shape
+ * Vertices are stored relative to the center in counter-clockwise order and placed in the world by the
+ * center and a rotation angle; moving a polygon shares the local vertices and only recomputes world ones
+ */
+public final class PolygonCollider implements Collider {
+    private static final double CONVEXITY_TOLERANCE = 1e-12;
+
+    private final Vector center;
+    private final double angle;
+    private final double[] localX;
+    private final double[] localY;
+    private final double[] vertexX;
+    private final double[] vertexY;
+
+    /**
+     * @param center world position of the polygon's origin
+     * @param angle rotation in radians, counter-clockwise
+     * @param localX vertex x coordinates relative to the center, in either winding order
+     * @param localY vertex y coordinates relative to the center
+     * @throws IllegalArgumentException if there are fewer than three vertices or the polygon is not convex
+     */
+    public PolygonCollider(Vector center, double angle, double[] localX, double[] localY) {
+        this(center, angle, counterClockwise(localX, localY));
+    }
+
+    private PolygonCollider(Vector center, double angle, double[][] local) {
+        this.center = center;
+        this.angle = angle;
+        this.localX = local[0];
+        this.localY = local[1];
+        int count = localX.length;
+        this.vertexX = new double[count];
+        this.vertexY = new double[count];
+        double cos = Math.cos(angle);
+        double sin = Math.sin(angle);
+        for (int i = 0; i < count; i++) {
+            vertexX[i] = center.x() + cos * localX[i] - sin * localY[i];
+            vertexY[i] = center.y() + sin * localX[i] + cos * localY[i];
+        }
+    }
+
+    /**
+     * Polygon from vertices relative to the center, unrotated
+     */
+    public static PolygonCollider of(Vector center, List<Vector> localVertices) {
+        double[] x = new double[localVertices.size()];
+        double[] y = new double[localVertices.size()];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = localVertices.get(i).x();
+            y[i] = localVertices.get(i).y();
+        }
+        return new PolygonCollider(center, 0, x, y);
+    }
+
+    /**
+     * Rectangle centered on the given point
+     */
+    public static PolygonCollider box(Vector center, double width, double height, double angle) {
+        double halfWidth = width / 2;
+        double halfHeight = height / 2;
+        return new PolygonCollider(center, angle,
+                new double[]{-halfWidth, halfWidth, halfWidth, -halfWidth},
+                new double[]{-halfHeight, -halfHeight, halfHeight, halfHeight});
+    }
+
+    /**
+     * Regular polygon with its vertices on a circle of the given radius, the first one on the +x axis
+     */
+    public static PolygonCollider regular(Vector center, double circumradius, int sides, double angle) {
+        if (sides < 3) {
+            throw new IllegalArgumentException("A polygon needs at least three sides, got " + sides);
+        }
+        double[] x = new double[sides];
+        double[] y = new double[sides];
+        for (int i = 0; i < sides; i++) {
+            double theta = 2 * Math.PI * i / sides;
+            x[i] = circumradius * Math.cos(theta);
+            y[i] = circumradius * Math.sin(theta);
+        }
+        return new PolygonCollider(center, angle, new double[][]{x, y});
+    }
+
+    /**
+     * The same shape placed at a new position and rotation
+     */
+    public PolygonCollider moveTo(Vector center, double angle) {
+        return new PolygonCollider(center, angle, new double[][]{localX, localY});
+    }
+
+    /**
+     * Copy the vertices in counter-clockwise order, checking that they form a convex polygon
+     */
+    private static double[][] counterClockwise(double[] x, double[] y) {
+        int count = x.length;
+        if (count < 3 || y.length != count) {
+            throw new IllegalArgumentException("A polygon needs at least three vertices with both coordinates");
+        }
+        double area = 0;
+        for (int i = 0; i < count; i++) {
+            int next = (i + 1) % count;
+            area += x[i] * y[next] - x[next] * y[i];
+        }
+        if (Math.abs(area) <= CONVEXITY_TOLERANCE) {
+            throw new IllegalArgumentException("Polygon vertices are collinear");
+        }
+        double[] ccwX = new double[count];
+        double[] ccwY = new double[count];
+        for (int i = 0; i < count; i++) {
+            int source = area > 0 ? i : count - 1 - i;
+            ccwX[i] = x[source];
+            ccwY[i] = y[source];
+        }
+        for (int i = 0; i < count; i++) {
+            int next = (i + 1) % count;
+            int after = (i + 2) % count;
+            double cross = (ccwX[next] - ccwX[i]) * (ccwY[after] - ccwY[next])
+                    - (ccwY[next] - ccwY[i]) * (ccwX[after] - ccwX[next]);
+            if (cross < -CONVEXITY_TOLERANCE) {
+                throw new IllegalArgumentException("Polygon is not convex at vertex " + next);
+            }
+        }
+        return new double[][]{ccwX, ccwY};
+    }
+
+    /**
+     * Index of the vertex furthest along a direction
+     */
+    public int support(double directionX, double directionY) {
+        int best = 0;
+        double bestValue = vertexX[0] * directionX + vertexY[0] * directionY;
+        for (int i = 1; i < vertexX.length; i++) {
+            double value = vertexX[i] * directionX + vertexY[i] * directionY;
+            if (value > bestValue) {
+                best = i;
+                bestValue = value;
+            }
+        }
+        return best;
+    }
+
+    public Vector getCenter() {
+        return center;
+    }
+
+    public double getAngle() {
+        return angle;
+    }
+
+    public int getVertexCount() {
+        return vertexX.length;
+    }
+
+    /**
+     * World position of vertex i
+     */
+    public Vector getVertex(int i) {
+        return new Vector(vertexX[i], vertexY[i]);
+    }
+
+    public double getVertexX(int i) {
+        return vertexX[i];
+    }
+
+    public double getVertexY(int i) {
+        return vertexY[i];
+    }
+
+    /**
+     * Get the minimum bounding point (bottom-left corner of bounding box)
+     */
+    public Vector getMin() {
+        double minX = vertexX[0];
+        double minY = vertexY[0];
+        for (int i = 1; i < vertexX.length; i++) {
+            minX = Math.min(minX, vertexX[i]);
+            minY = Math.min(minY, vertexY[i]);
+        }
+        return new Vector(minX, minY);
+    }
+
+    /**
+     * Get the maximum bounding point (top-right corner of bounding box)
+     */
+    public Vector getMax() {
+        double maxX = vertexX[0];
+        double maxY = vertexY[0];
+        for (int i = 1; i < vertexX.length; i++) {
+            maxX = Math.max(maxX, vertexX[i]);
+            maxY = Math.max(maxY, vertexY[i]);
+        }
+        return new Vector(maxX, maxY);
+    }
+
+    /**
+     * World vertex arrays, shared with the collision queries
+     */
+    double[] vertexX() {
+        return vertexX;
+    }
+
+    double[] vertexY() {
+        return vertexY;
+    }
+}
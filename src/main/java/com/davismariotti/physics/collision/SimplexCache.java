@@ -0,0 +1,57 @@
+package com.davismariotti.physics.collision;
+
+/**
+ * Per-pair state kept between convex collision queries for warm starting
+ * Holds the vertex indices of the last GJK simplex and the last separating (or contact) axis. When the
+ * pair was apart, the next query first tests the axis, which rejects pairs that are still apart without
+ * running GJK at all. Otherwise GJK starts from the cached simplex, which usually converges in one or two
+ * iterations when the shapes moved a little, and EPA is seeded along the axis. Indices refer to the
+ * collider order of the query, so a cache belongs to one ordered pair
+ */
+public final class SimplexCache {
+    int count;
+    final int[] indexA = new int[3];
+    final int[] indexB = new int[3];
+    boolean hasAxis;
+    double axisX;
+    double axisY;
+    boolean lastSeparated;                // Whether the axis separated the shapes last time
+    int lastIterations;
+    boolean lastAxisHit;
+
+    /**
+     * Forget the cached simplex and axis
+     */
+    public void reset() {
+        count = 0;
+        hasAxis = false;
+        lastSeparated = false;
+        lastIterations = 0;
+        lastAxisHit = false;
+    }
+
+    /**
+     * Number of vertices in the cached simplex (0 before the first GJK run)
+     */
+    public int getCount() {
+        return count;
+    }
+
+    public boolean hasAxis() {
+        return hasAxis;
+    }
+
+    /**
+     * GJK iterations spent by the last query, 0 when the cached axis rejected the pair
+     */
+    public int getLastIterations() {
+        return lastIterations;
+    }
+
+    /**
+     * Whether the last query was answered by the cached separating axis alone
+     */
+    public boolean isLastAxisHit() {
+        return lastAxisHit;
+    }
+}
@@ -69,21 +69,35 @@ public class SpatialGrid {
      * @param body the body to insert
      */
     public void insert(DynamicBody body) {
+        insert(body, 0.0);
+    }
+
+    /**
+     * Insert a dynamic body into the grid with its bounding box expanded by a margin
+     * Used for speculative contacts, where the margin covers the distance the body can travel in one step
+     *
+     * @param body the body to insert
+     * @param margin distance to expand the bounding box on every side
+     */
+    public void insert(DynamicBody body, double margin) {
         CircleCollider collider = (CircleCollider) body.getCollider();
         Vector center = collider.center();
-        double radius = collider.radius();
+        double radius = collider.radius() + margin;
 
-        // Calculate bounding box of the circle
-        double minX = center.x() - radius;
-        double maxX = center.x() + radius;
-        double minY = center.y() - radius;
-        double maxY = center.y() + radius;
+        // Insert the bounding box of the circle
+        insert(body, center.x() - radius, center.y() - radius, center.x() + radius, center.y() + radius);
+    }
 
+    /**
+     * Insert a dynamic body into every cell overlapped by an explicit bounding box
+     * Used for swept bounds, where the box covers the body's whole trajectory over a time window
+     */
+    public void insert(DynamicBody body, double minX, double minY, double maxX, double maxY) {
         // Convert world coordinates to grid coordinates
-        int minCellX = worldToGridX(minX);
-        int maxCellX = worldToGridX(maxX);
-        int minCellY = worldToGridY(minY);
-        int maxCellY = worldToGridY(maxY);
+        int minCellX = cellX(minX);
+        int maxCellX = cellX(maxX);
+        int minCellY = cellY(minY);
+        int maxCellY = cellY(maxY);
 
         // Insert into all cells that the bounding box overlaps
         for (int gy = minCellY; gy <= maxCellY; gy++) {
@@ -98,6 +112,32 @@ public class SpatialGrid {
         }
     }
 
+    /**
+     * Remove a dynamic body that was inserted with the given bounding box
+     * The box must match the one used for insertion so the same cells are visited
+     */
+    public void remove(DynamicBody body, double minX, double minY, double maxX, double maxY) {
+        int minCellX = cellX(minX);
+        int maxCellX = cellX(maxX);
+        int minCellY = cellY(minY);
+        int maxCellY = cellY(maxY);
+
+        for (int gy = minCellY; gy <= maxCellY; gy++) {
+            for (int gx = minCellX; gx <= maxCellX; gx++) {
+                if (isValidCell(gx, gy)) {
+                    int cellIndex = gy * gridWidth + gx;
+                    List<DynamicBody> cell = cells.get(cellIndex);
+                    if (cell != null) {
+                        cell.remove(body);
+                        if (cell.isEmpty()) {
+                            cells.remove(cellIndex);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * Query all bodies in cells near the given body
      * Returns potential collision candidates (requires narrow-phase check)
@@ -106,22 +146,48 @@ public class SpatialGrid {
      * @return list of potential collision candidates
      */
     public List<DynamicBody> queryNearby(DynamicBody body) {
-        List<DynamicBody> nearby = new ArrayList<>();
+        return queryNearby(body, 0.0);
+    }
 
+    /**
+     * Query all bodies in cells overlapping the body's bounding box expanded by a margin
+     *
+     * @param body the body to query around
+     * @param margin distance to expand the bounding box on every side
+     * @return list of potential collision candidates
+     */
+    public List<DynamicBody> queryNearby(DynamicBody body, double margin) {
         CircleCollider collider = (CircleCollider) body.getCollider();
         Vector center = collider.center();
-        double radius = collider.radius();
+        double radius = collider.radius() + margin;
+
+        // Query the bounding box (same as insert)
+        return queryRegion(center.x() - radius, center.y() - radius, center.x() + radius, center.y() + radius);
+    }
+
+    /**
+     * Query all bodies in cells overlapping an explicit bounding box
+     * Bodies spanning several cells may appear more than once
+     *
+     * @return list of potential collision candidates
+     */
+    public List<DynamicBody> queryRegion(double minX, double minY, double maxX, double maxY) {
+        List<DynamicBody> nearby = new ArrayList<>();
+        queryRegion(minX, minY, maxX, maxY, nearby);
+        return nearby;
+    }
 
-        // Calculate bounding box (same as insert)
-        double minX = center.x() - radius;
-        double maxX = center.x() + radius;
-        double minY = center.y() - radius;
-        double maxY = center.y() + radius;
+    /**
+     * Query all bodies in cells overlapping an explicit bounding box into a caller-owned buffer
+     * The buffer is cleared first, so hot loops can reuse one list instead of allocating per query
+     */
+    public void queryRegion(double minX, double minY, double maxX, double maxY, List<DynamicBody> result) {
+        result.clear();
 
-        int minCellX = worldToGridX(minX);
-        int maxCellX = worldToGridX(maxX);
-        int minCellY = worldToGridY(minY);
-        int maxCellY = worldToGridY(maxY);
+        int minCellX = cellX(minX);
+        int maxCellX = cellX(maxX);
+        int minCellY = cellY(minY);
+        int maxCellY = cellY(maxY);
 
         // Collect all bodies from overlapping cells
         for (int gy = minCellY; gy <= maxCellY; gy++) {
@@ -130,28 +196,34 @@ public class SpatialGrid {
                     int cellIndex = gy * gridWidth + gx;
                     List<DynamicBody> cell = cells.get(cellIndex);
                     if (cell != null) {
-                        nearby.addAll(cell);
+                        result.addAll(cell);
                     }
                 }
             }
         }
+    }
 
-        return nearby;
+    /**
+     * Bodies in one cell, or null if it is empty
+     * The list is the grid's own; callers must not change it
+     */
+    public List<DynamicBody> getCell(int gx, int gy) {
+        return isValidCell(gx, gy) ? cells.get(gy * gridWidth + gx) : null;
     }
 
     /**
-     * Convert world X coordinate to grid X index
+     * Convert world X coordinate to grid X index (clamped to the grid)
      */
-    private int worldToGridX(double worldX) {
+    public int cellX(double worldX) {
         int gx = (int) ((worldX - worldMinX) / cellSize);
         // Clamp to valid range
         return Math.max(0, Math.min(gridWidth - 1, gx));
     }
 
     /**
-     * Convert world Y coordinate to grid Y index
+     * Convert world Y coordinate to grid Y index (clamped to the grid)
      */
-    private int worldToGridY(double worldY) {
+    public int cellY(double worldY) {
         int gy = (int) ((worldY - worldMinY) / cellSize);
         // Clamp to valid range
         return Math.max(0, Math.min(gridHeight - 1, gy));
@@ -164,6 +236,26 @@ public class SpatialGrid {
         return gx >= 0 && gx < gridWidth && gy >= 0 && gy < gridHeight;
     }
 
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    public int getGridWidth() {
+        return gridWidth;
+    }
+
+    public int getGridHeight() {
+        return gridHeight;
+    }
+
+    public double getWorldMinX() {
+        return worldMinX;
+    }
+
+    public double getWorldMinY() {
+        return worldMinY;
+    }
+
     /**
      * Get total number of possible cells in the grid
      */
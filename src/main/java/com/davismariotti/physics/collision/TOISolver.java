@@ -10,13 +10,16 @@ import com.davismariotti.physics.sprites.StaticBody;
  */
 public class TOISolver {
     private static final double EPSILON = 1e-10;
+    private static final double CONTACT_TOLERANCE = 1e-7;
+    private static final int CORNER_MAX_ITERATIONS = 32;
 
     /**
      * Compute time of impact between a dynamic body and a static body
-     * Uses analytical solution for circle-AABB collision
+     * Uses analytical solutions for circle-AABB faces and heightfield segments, and conservative advancement
+     * for rounded corners and terrain ridges
      *
      * @param dynamic The moving dynamic body
-     * @param staticBody The stationary static body
+     * @param staticBody The static body, or a kinematic body moving at its current velocity
      * @param substepDelta The timestep duration
      * @param gravity The gravity vector
      * @return TimeOfImpact containing collision time and state, or NO_COLLISION if no hit
@@ -25,100 +28,420 @@ public class TOISolver {
                                           double substepDelta, Vector gravity) {
         Collider dynamicCollider = dynamic.getCollider();
         Collider staticCollider = staticBody.getCollider();
+        Vector prevPos = dynamic.getPreviousPosition();
+        Vector prevVel = dynamic.getPreviousVelocity();
+
+        // A kinematic body moves at constant velocity u over the step, so the motion relative to where it ends
+        // is the dynamic body's own parabola shifted by u * (substepDelta - t)
+        Vector surfaceVelocity = staticBody.getVelocity();
+        boolean moving = surfaceVelocity.x() != 0 || surfaceVelocity.y() != 0;
+        if (moving) {
+            prevPos = new Vector(prevPos.x() + surfaceVelocity.x() * substepDelta,
+                    prevPos.y() + surfaceVelocity.y() * substepDelta);
+            prevVel = new Vector(prevVel.x() - surfaceVelocity.x(), prevVel.y() - surfaceVelocity.y());
+        }
 
-        // Currently only support circle-AABB (ball-ground)
+        // Circles against AABBs (ground, walls and platforms) and heightfield terrain
+        TimeOfImpact toi = TimeOfImpact.NO_COLLISION;
         if (dynamicCollider instanceof CircleCollider circle && staticCollider instanceof AABBCollider aabb) {
-            return computeCircleAABBTOI(circle, dynamic.getPreviousPosition(), dynamic.getPreviousVelocity(),
-                    dynamic.getPosition(), dynamic.getVelocity(), aabb, substepDelta, gravity);
+            toi = computeCircleAABBTOI(circle, prevPos, prevVel, dynamic.getPosition(), dynamic.getVelocity(),
+                    aabb, substepDelta, gravity);
+        } else if (dynamicCollider instanceof CircleCollider circle && staticCollider instanceof HeightfieldCollider field) {
+            toi = computeCircleHeightfieldTOI(circle, prevPos, prevVel, field, substepDelta, gravity);
         }
 
-        // Unsupported collision pair - no TOI available
-        return TimeOfImpact.NO_COLLISION;
+        if (!moving || !toi.hasCollision()) {
+            return toi;
+        }
+        // Back from the kinematic body's frame to the world
+        double remaining = substepDelta * (1 - toi.t());
+        return TimeOfImpact.collision(toi.t(),
+                new Vector(toi.position().x() - surfaceVelocity.x() * remaining,
+                        toi.position().y() - surfaceVelocity.y() * remaining),
+                new Vector(toi.velocity().x() + surfaceVelocity.x(), toi.velocity().y() + surfaceVelocity.y()),
+                toi.normal());
     }
 
     /**
-     * Compute TOI for circle-AABB collision using quadratic solver
-     * Assumes AABB represents horizontal ground at bottom
+     * Compute TOI for a circle swept along a constant-acceleration trajectory against an AABB
+     * The contact normal is recovered from the closest point on the box at the time of impact
      */
     private static TimeOfImpact computeCircleAABBTOI(CircleCollider circle, Vector prevPos, Vector prevVel,
                                                       Vector currPos, Vector currVel,
                                                       AABBCollider aabb, double substepDelta, Vector gravity) {
-        double radius = circle.radius();
         Vector aabbMin = aabb.getMin();
         Vector aabbMax = aabb.getMax();
+        double t = circleAABBTime(prevPos.x(), prevPos.y(), prevVel.x(), prevVel.y(), gravity.x(), gravity.y(),
+                circle.radius(), aabbMin.x(), aabbMin.y(), aabbMax.x(), aabbMax.y(), substepDelta);
+        if (t < 0) {
+            return TimeOfImpact.NO_COLLISION;
+        }
+
+        Vector posAtTOI = calculatePositionAtTime(prevPos, prevVel, gravity, t);
+        Vector velAtTOI = calculateVelocityAtTime(prevVel, gravity, t);
+        double closestX = Math.max(aabbMin.x(), Math.min(posAtTOI.x(), aabbMax.x()));
+        double closestY = Math.max(aabbMin.y(), Math.min(posAtTOI.y(), aabbMax.y()));
+        Vector normal = new Vector(posAtTOI.x() - closestX, posAtTOI.y() - closestY).getUnitVector();
+        return TimeOfImpact.collision(t / substepDelta, posAtTOI, velAtTOI, normal);
+    }
+
+    /**
+     * Earliest time in [0, tMax] at which a circle on the trajectory p + v*t + 0.5*a*t^2 touches an AABB,
+     * or -1 if it does not
+     * The circle touches the box when its center reaches the box expanded by the radius (rounded corners),
+     * so each face is a plane crossing (quadratic in t) and each corner is a circle around the corner point
+     *
+     * Cheap rejection tests run first: the swept bounds of the trajectory against the expanded box,
+     * then a per-face side test, so most separated pairs exit after a few comparisons
+     * A circle already touching and moving inward reports t = 0; one penetrating deeper than the
+     * contact tolerance reports no hit, since there is no contact to rewind to
+     */
+    public static double circleAABBTime(double px, double py, double vx, double vy, double ax, double ay,
+                                        double radius, double minX, double minY, double maxX, double maxY,
+                                        double tMax) {
+        // Expanded box: the region the circle center cannot enter without touching the AABB
+        double left = minX - radius;
+        double right = maxX + radius;
+        double bottom = minY - radius;
+        double top = maxY + radius;
+
+        // Rejection 1: bounds of the swept trajectory over the step vs the expanded box
+        double sweptMinX = sweptMin(px, vx, ax, tMax);
+        double sweptMaxX = sweptMax(px, vx, ax, tMax);
+        double sweptMinY = sweptMin(py, vy, ay, tMax);
+        double sweptMaxY = sweptMax(py, vy, ay, tMax);
+        if (sweptMaxX < left - CONTACT_TOLERANCE || sweptMinX > right + CONTACT_TOLERANCE
+                || sweptMaxY < bottom - CONTACT_TOLERANCE || sweptMinY > top + CONTACT_TOLERANCE) {
+            return -1;
+        }
+
+        // Rejection 2: already penetrating at the start of the step - nothing to rewind to
+        double closestX = Math.max(minX, Math.min(px, maxX));
+        double closestY = Math.max(minY, Math.min(py, maxY));
+        double startDx = px - closestX;
+        double startDy = py - closestY;
+        double innerRadius = radius - CONTACT_TOLERANCE;
+        if (startDx * startDx + startDy * startDy < innerRadius * innerRadius) {
+            return -1;
+        }
+
+        double bestT = Double.MAX_VALUE;
 
-        // Find the closest point on AABB to current circle position
-        double closestX = Math.max(aabbMin.x(), Math.min(currPos.x(), aabbMax.x()));
-        double closestY = Math.max(aabbMin.y(), Math.min(currPos.y(), aabbMax.y()));
-
-        // Determine which face we're colliding with
-        // For ground (horizontal AABB), we primarily care about top face collision
-        boolean isTopFace = closestY == aabbMax.y() && currPos.y() > aabbMax.y();
-
-        if (isTopFace) {
-            // Ball falling onto horizontal ground - use analytical solver
-            // Solve: y(t) = y0 + v0*t + 0.5*a*t^2 = groundTop + radius
-            double y0 = prevPos.y();
-            double v0 = prevVel.y();
-            double a = gravity.y();
-            double targetY = aabbMax.y() + radius;
-
-            // Quadratic equation: 0.5*a*t^2 + v0*t + (y0 - targetY) = 0
-            double A = 0.5 * a;
-            double B = v0;
-            double C = y0 - targetY;
-
-            // If no acceleration, linear motion
-            if (Math.abs(A) < EPSILON) {
-                if (Math.abs(B) < EPSILON) {
-                    // No motion in Y direction
-                    return TimeOfImpact.NO_COLLISION;
+        // Faces: only those whose outer side the circle starts on can be entered
+        if (py >= top - CONTACT_TOLERANCE) {
+            double t = axisEntryTime(py, vy, ay, top, -1, tMax);
+            if (t >= 0 && t < bestT && withinSpan(px, vx, ax, t, minX, maxX)) {
+                bestT = t;
+            }
+        }
+        if (py <= bottom + CONTACT_TOLERANCE) {
+            double t = axisEntryTime(py, vy, ay, bottom, 1, tMax);
+            if (t >= 0 && t < bestT && withinSpan(px, vx, ax, t, minX, maxX)) {
+                bestT = t;
+            }
+        }
+        if (px <= left + CONTACT_TOLERANCE) {
+            double t = axisEntryTime(px, vx, ax, left, 1, tMax);
+            if (t >= 0 && t < bestT && withinSpan(py, vy, ay, t, minY, maxY)) {
+                bestT = t;
+            }
+        }
+        if (px >= right - CONTACT_TOLERANCE) {
+            double t = axisEntryTime(px, vx, ax, right, -1, tMax);
+            if (t >= 0 && t < bestT && withinSpan(py, vy, ay, t, minY, maxY)) {
+                bestT = t;
+            }
+        }
+
+        // Rounded corners: only test corners the swept bounds can reach
+        double[] cornerXs = {minX, maxX};
+        double[] cornerYs = {minY, maxY};
+        for (double cornerX : cornerXs) {
+            for (double cornerY : cornerYs) {
+                if (sweptMaxX < cornerX - radius || sweptMinX > cornerX + radius
+                        || sweptMaxY < cornerY - radius || sweptMinY > cornerY + radius) {
+                    continue;
                 }
-                double t = -C / B;
-                if (t >= 0 && t <= substepDelta) {
-                    Vector posAtTOI = calculatePositionAtTime(prevPos, prevVel, gravity, t);
-                    Vector velAtTOI = calculateVelocityAtTime(prevVel, gravity, t);
-                    Vector normal = new Vector(0, 1); // Ground normal points up
-                    return TimeOfImpact.collision(t / substepDelta, posAtTOI, velAtTOI, normal);
+                double t = cornerTOI(px, py, vx, vy, ax, ay, cornerX, cornerY, radius, Math.min(bestT, tMax));
+                if (t < 0 || t >= bestT) {
+                    continue;
+                }
+                // The arc only belongs to the rounded box in the corner's own quadrant;
+                // elsewhere the circle around the corner lies inside the expanded box and a face is hit first
+                double x = px + vx * t + 0.5 * ax * t * t;
+                double y = py + vy * t + 0.5 * ay * t * t;
+                boolean outsideX = cornerX == minX ? x <= cornerX : x >= cornerX;
+                boolean outsideY = cornerY == minY ? y <= cornerY : y >= cornerY;
+                if (outsideX && outsideY) {
+                    bestT = t;
                 }
-                return TimeOfImpact.NO_COLLISION;
             }
+        }
 
-            // Solve quadratic equation
-            double discriminant = B * B - 4 * A * C;
+        return bestT == Double.MAX_VALUE ? -1 : bestT;
+    }
 
-            if (discriminant < 0) {
-                // No real solutions - no collision
-                return TimeOfImpact.NO_COLLISION;
+    /**
+     * Compute TOI for a circle swept along a constant-acceleration trajectory against a heightfield
+     * The contact normal is recovered from the closest surface point at the time of impact
+     */
+    private static TimeOfImpact computeCircleHeightfieldTOI(CircleCollider circle, Vector prevPos, Vector prevVel,
+                                                            HeightfieldCollider field, double substepDelta,
+                                                            Vector gravity) {
+        double t = circleHeightfieldTime(prevPos.x(), prevPos.y(), prevVel.x(), prevVel.y(), gravity.x(), gravity.y(),
+                circle.radius(), field, substepDelta);
+        if (t < 0) {
+            return TimeOfImpact.NO_COLLISION;
+        }
+
+        Vector posAtTOI = calculatePositionAtTime(prevPos, prevVel, gravity, t);
+        Vector velAtTOI = calculateVelocityAtTime(prevVel, gravity, t);
+        CollisionResult contact = CollisionDetector.circleVsHeightfieldSpeculative(
+                new CircleCollider(posAtTOI, circle.radius()), field, 1e3 * CONTACT_TOLERANCE);
+        Vector normal = contact.hasCollision() ? contact.normal() : field.normalAt(posAtTOI.x());
+        return TimeOfImpact.collision(t / substepDelta, posAtTOI, velAtTOI, normal);
+    }
+
+    /**
+     * Earliest time in [0, tMax] at which a circle on the trajectory p + v*t + 0.5*a*t^2 touches a
+     * heightfield, or -1 if it does not
+     * The distance to the surface is the minimum over its features, so the first touch is the earliest
+     * first touch of any feature: each segment's offset line (a quadratic in t, kept only when the contact
+     * lies on the segment itself), each ridge vertex (conservative advancement, as for box corners) and
+     * the end walls. Valley vertices are never touched before one of their segments. Only the columns
+     * under the swept bounds are visited, so the cost does not grow with the terrain's length
+     * Like circleAABBTime(), a circle penetrating deeper than the contact tolerance reports no hit
+     */
+    public static double circleHeightfieldTime(double px, double py, double vx, double vy, double ax, double ay,
+                                               double radius, HeightfieldCollider field, double tMax) {
+        double sweptMinX = sweptMin(px, vx, ax, tMax);
+        double sweptMaxX = sweptMax(px, vx, ax, tMax);
+        double sweptMinY = sweptMin(py, vy, ay, tMax);
+        double sweptMaxY = sweptMax(py, vy, ay, tMax);
+        double minX = field.getMinX();
+        double maxX = field.getMaxX();
+        if (sweptMaxX < minX - radius - CONTACT_TOLERANCE || sweptMinX > maxX + radius + CONTACT_TOLERANCE
+                || sweptMinY > field.getMaxHeight() + radius + CONTACT_TOLERANCE
+                || sweptMaxY < field.getBaseY() - radius - CONTACT_TOLERANCE) {
+            return -1;
+        }
+
+        CollisionResult start = CollisionDetector.circleVsHeightfieldSpeculative(
+                new CircleCollider(new Vector(px, py), radius), field, 0);
+        if (start.hasCollision() && start.penetrationDepth() > CONTACT_TOLERANCE) {
+            return -1;
+        }
+
+        double bestT = Double.MAX_VALUE;
+        double spacing = field.getSpacing();
+        int first = field.column(sweptMinX - radius);
+        int last = field.column(sweptMaxX + radius);
+        for (int i = first; i <= last; i++) {
+            double x0 = field.getSampleX(i);
+            double y0 = field.getHeight(i);
+            double dy = field.getHeight(i + 1) - y0;
+            double length = Math.sqrt(spacing * spacing + dy * dy);
+            double nx = -dy / length;
+            double ny = spacing / length;
+            double offset = (px - x0) * nx + (py - y0) * ny;
+            if (offset < radius - CONTACT_TOLERANCE) {
+                continue;
+            }
+            double t = axisEntryTime(offset, vx * nx + vy * ny, ax * nx + ay * ny, radius, -1, Math.min(bestT, tMax));
+            if (t < 0 || t >= bestT) {
+                continue;
+            }
+            double along = (px + vx * t + 0.5 * ax * t * t - x0) * spacing + (py + vy * t + 0.5 * ay * t * t - y0) * dy;
+            if (along >= 0 && along <= length * length) {
+                bestT = t;
+            }
+        }
+
+        int lastSample = field.getSampleCount() - 1;
+        for (int v = first; v <= last + 1; v++) {
+            boolean ridge = v == 0 || v == lastSample
+                    || field.getHeight(v + 1) - field.getHeight(v) < field.getHeight(v) - field.getHeight(v - 1);
+            if (!ridge) {
+                continue;
+            }
+            double t = cornerTOI(px, py, vx, vy, ax, ay, field.getSampleX(v), field.getHeight(v), radius,
+                    Math.min(bestT, tMax));
+            if (t >= 0 && t < bestT) {
+                bestT = t;
+            }
+        }
+
+        if (px <= minX - radius + CONTACT_TOLERANCE) {
+            double t = axisEntryTime(px, vx, ax, minX - radius, 1, tMax);
+            if (t >= 0 && t < bestT && withinSpan(py, vy, ay, t, field.getBaseY(), field.getHeight(0))) {
+                bestT = t;
             }
+        }
+        if (px >= maxX + radius - CONTACT_TOLERANCE) {
+            double t = axisEntryTime(px, vx, ax, maxX + radius, -1, tMax);
+            if (t >= 0 && t < bestT && withinSpan(py, vy, ay, t, field.getBaseY(), field.getHeight(lastSample))) {
+                bestT = t;
+            }
+        }
 
-            double sqrtDisc = Math.sqrt(discriminant);
-            double t1 = (-B - sqrtDisc) / (2 * A);
-            double t2 = (-B + sqrtDisc) / (2 * A);
+        return bestT == Double.MAX_VALUE ? -1 : bestT;
+    }
 
-            // We want the earliest positive time within our timestep
-            double t = -1;
-            if (t1 >= 0 && t1 <= substepDelta) {
-                t = t1;
-            } else if (t2 >= 0 && t2 <= substepDelta) {
-                t = t2;
+    /**
+     * Earliest time in [0, tMax] at which one coordinate of the trajectory p0 + v0*t + 0.5*a*t^2
+     * reaches a boundary while moving in the given direction (+1 increasing, -1 decreasing), or -1
+     * A coordinate already on the boundary (within tolerance) and moving or accelerating inward reports t = 0,
+     * while one leaving the boundary is not reported until it comes back
+     */
+    public static double axisEntryTime(double p0, double v0, double a, double boundary, int direction, double tMax) {
+        double outside = (boundary - p0) * direction;
+        if (outside <= CONTACT_TOLERANCE
+                && (v0 * direction > 0 || (Math.abs(v0) < EPSILON && a * direction > 0))) {
+            return 0;
+        }
+
+        double A = 0.5 * a;
+        double B = v0;
+        double C = p0 - boundary;
+
+        if (Math.abs(A) < EPSILON) {
+            if (B * direction <= 0) {
+                return -1;
             }
+            double t = -C / B;
+            return (t >= 0 && t <= tMax) ? t : -1;
+        }
 
-            if (t >= 0) {
-                Vector posAtTOI = calculatePositionAtTime(prevPos, prevVel, gravity, t);
-                Vector velAtTOI = calculateVelocityAtTime(prevVel, gravity, t);
+        double discriminant = B * B - 4 * A * C;
+        if (discriminant < 0) {
+            return -1;
+        }
 
-                // Verify ball is within horizontal bounds of AABB
-                if (posAtTOI.x() >= aabbMin.x() - radius && posAtTOI.x() <= aabbMax.x() + radius) {
-                    Vector normal = new Vector(0, 1); // Ground normal points up
-                    return TimeOfImpact.collision(t / substepDelta, posAtTOI, velAtTOI, normal);
-                }
+        double sqrtDisc = Math.sqrt(discriminant);
+        double t1 = (-B - sqrtDisc) / (2 * A);
+        double t2 = (-B + sqrtDisc) / (2 * A);
+        double tLow = Math.min(t1, t2);
+        double tHigh = Math.max(t1, t2);
+
+        // Only crossings where the coordinate is moving in the entry direction count
+        if (tLow >= 0 && tLow <= tMax && (2 * A * tLow + B) * direction > 0) {
+            return tLow;
+        }
+        if (tHigh >= 0 && tHigh <= tMax && (2 * A * tHigh + B) * direction > 0) {
+            return tHigh;
+        }
+        return -1;
+    }
+
+    /**
+     * Earliest time t >= 0 at which two circles in uniform relative motion touch, or -1 if they never do
+     * Both circles share the same acceleration, so the relative motion is a straight line
+     * A pair already touching (or overlapping) and approaching reports t = 0
+     *
+     * @param dx relative position of B with respect to A (x)
+     * @param dy relative position of B with respect to A (y)
+     * @param dvx relative velocity of B with respect to A (x)
+     * @param dvy relative velocity of B with respect to A (y)
+     * @param combinedRadius sum of both radii
+     */
+    public static double circleCircleTime(double dx, double dy, double dvx, double dvy, double combinedRadius) {
+        double b = dx * dvx + dy * dvy;
+        if (b >= 0) {
+            // Separating or moving tangentially
+            return -1;
+        }
+
+        double a = dvx * dvx + dvy * dvy;
+        double c = dx * dx + dy * dy - combinedRadius * combinedRadius;
+        if (c <= 0) {
+            return 0;
+        }
+
+        double discriminant = b * b - a * c;
+        if (discriminant < 0) {
+            return -1;
+        }
+        return c / (-b + Math.sqrt(discriminant));
+    }
+
+    /**
+     * Check that one coordinate of the trajectory lies within [min, max] at time t
+     */
+    private static boolean withinSpan(double p0, double v0, double a, double t, double min, double max) {
+        double p = p0 + v0 * t + 0.5 * a * t * t;
+        return p >= min && p <= max;
+    }
+
+    /**
+     * Minimum of one coordinate of the trajectory over [0, tMax]
+     */
+    public static double sweptMin(double p0, double v0, double a, double tMax) {
+        double min = Math.min(p0, p0 + v0 * tMax + 0.5 * a * tMax * tMax);
+        if (Math.abs(a) > EPSILON) {
+            double tVertex = -v0 / a;
+            if (tVertex > 0 && tVertex < tMax) {
+                min = Math.min(min, p0 + v0 * tVertex + 0.5 * a * tVertex * tVertex);
             }
         }
+        return min;
+    }
 
-        // TODO: Handle other faces (side collisions, corner collisions)
-        // For now, return no collision for non-top-face cases
-        return TimeOfImpact.NO_COLLISION;
+    /**
+     * Maximum of one coordinate of the trajectory over [0, tMax]
+     */
+    public static double sweptMax(double p0, double v0, double a, double tMax) {
+        double max = Math.max(p0, p0 + v0 * tMax + 0.5 * a * tMax * tMax);
+        if (Math.abs(a) > EPSILON) {
+            double tVertex = -v0 / a;
+            if (tVertex > 0 && tVertex < tMax) {
+                max = Math.max(max, p0 + v0 * tVertex + 0.5 * a * tVertex * tVertex);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * First time the trajectory comes within radius of a corner point while approaching it,
+     * or -1 if it does not within tMax
+     * Distance to a point along a parabola is a quartic, so this uses conservative advancement:
+     * the distance cannot shrink faster than the speed, and speed along the trajectory is largest at an endpoint
+     */
+    private static double cornerTOI(double px, double py, double vx, double vy, double ax, double ay,
+                                    double cornerX, double cornerY, double radius, double tMax) {
+        double endVelX = vx + ax * tMax;
+        double endVelY = vy + ay * tMax;
+        double maxSpeed = Math.max(Math.sqrt(vx * vx + vy * vy), Math.sqrt(endVelX * endVelX + endVelY * endVelY));
+        if (maxSpeed < EPSILON) {
+            return -1;
+        }
+
+        double t = 0;
+        double escapeStep = CONTACT_TOLERANCE / maxSpeed;
+        boolean leaving = false;
+        for (int i = 0; i < CORNER_MAX_ITERATIONS; i++) {
+            double dx = px + vx * t + 0.5 * ax * t * t - cornerX;
+            double dy = py + vy * t + 0.5 * ay * t * t - cornerY;
+            double gap = Math.sqrt(dx * dx + dy * dy) - radius;
+            if (gap < CONTACT_TOLERANCE) {
+                double radialVel = dx * (vx + ax * t) + dy * (vy + ay * t);
+                double radialAccel = dx * ax + dy * ay;
+                if (!leaving && (radialVel < 0 || (Math.abs(radialVel) < EPSILON && radialAccel < 0))) {
+                    return t;
+                }
+                // Touching but separating: step out of the tolerance band before advancing conservatively
+                leaving = true;
+                t += escapeStep;
+                escapeStep *= 2;
+            } else {
+                leaving = false;
+                escapeStep = CONTACT_TOLERANCE / maxSpeed;
+                t += gap / maxSpeed;
+            }
+            if (t > tMax) {
+                return -1;
+            }
+        }
+        return -1;
     }
 
     /**
@@ -0,0 +1,261 @@
+package com.davismariotti.physics.collision;
+
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.DynamicBody;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Verlet neighbor list: the body pairs whose surfaces are within cutoff + skin, kept across substeps
+ *
+ * The list is built from a uniform grid (a counting sort of body centers into cells) and stored in CSR
+ * form: the neighbors of body i are neighbors[neighborStart[i]..neighborStart[i + 1]], each pair listed
+ * once under its lower index. Positions are recorded at build time; the list stays valid while no body
+ * has moved more than half the skin, since two bodies can then close by at most the skin. update()
+ * checks the displacements and rebuilds only when that bound is exceeded or the body list changed
+ */
+public class VerletNeighborList {
+    private final double cutoff;
+    private final double skin;
+
+    // Body list the pairs refer to, by index
+    private DynamicBody[] bodies = new DynamicBody[0];
+    private int bodyCount;
+
+    // CSR pair storage
+    private int[] neighborStart = new int[1];
+    private int[] neighbors = new int[0];
+
+    // State at the last build
+    private double[] builtX = new double[0];
+    private double[] builtY = new double[0];
+
+    // Grid scratch: bodies sorted by cell, cellStart[c]..cellStart[c + 1] is the range of cell c
+    private double[] centerX = new double[0];
+    private double[] centerY = new double[0];
+    private double[] radius = new double[0];
+    private int[] cellOf = new int[0];
+    private int[] sorted = new int[0];
+    private int[] cellStart = new int[1];
+
+    private boolean built;
+    private long updateCount;
+    private long buildCount;
+
+    /**
+     * @param cutoff surface gap up to which a pair interacts (0 for hard contacts)
+     * @param skin extra margin kept in the list so it survives several steps of motion
+     */
+    public VerletNeighborList(double cutoff, double skin) {
+        if (cutoff < 0 || skin <= 0) {
+            throw new IllegalArgumentException("Neighbor list needs cutoff >= 0 and skin > 0, got " + cutoff + ", " + skin);
+        }
+        this.cutoff = cutoff;
+        this.skin = skin;
+    }
+
+    /**
+     * Make the list valid for the current positions, rebuilding it if needed
+     * @param bodies bodies to pair up; the list indexes into this list
+     * @param reach extra distance each body may still cover before the pairs are used (speculative margins)
+     * @return true if the list was rebuilt
+     */
+    public boolean update(List<DynamicBody> bodies, double reach) {
+        updateCount++;
+        if (needsRebuild(bodies, reach)) {
+            build(bodies);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean needsRebuild(List<DynamicBody> list, double reach) {
+        int count = list.size();
+        if (!built || count != bodyCount) {
+            return true;
+        }
+        double limit = skin / 2 - reach;
+        if (limit <= 0) {
+            return true;
+        }
+        double limitSquared = limit * limit;
+        for (int i = 0; i < count; i++) {
+            DynamicBody body = list.get(i);
+            if (body != bodies[i]) {
+                return true;
+            }
+            Vector position = body.getPosition();
+            double dx = position.x() - builtX[i];
+            double dy = position.y() - builtY[i];
+            if (dx * dx + dy * dy > limitSquared) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Rebuild from scratch: bin centers into cells at least one interaction diameter wide, then scan
+     * the 3x3 block of cells around each body
+     */
+    private void build(List<DynamicBody> list) {
+        buildCount++;
+        built = true;
+        int count = list.size();
+        ensureCapacity(count);
+        bodyCount = count;
+
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        double maxRadius = 0;
+        for (int i = 0; i < count; i++) {
+            DynamicBody body = list.get(i);
+            bodies[i] = body;
+            Vector position = body.getPosition();
+            centerX[i] = position.x();
+            centerY[i] = position.y();
+            builtX[i] = position.x();
+            builtY[i] = position.y();
+            radius[i] = body.getCollider() instanceof CircleCollider circle ? circle.radius() : 0;
+            minX = Math.min(minX, centerX[i]);
+            minY = Math.min(minY, centerY[i]);
+            maxX = Math.max(maxX, centerX[i]);
+            maxY = Math.max(maxY, centerY[i]);
+            maxRadius = Math.max(maxRadius, radius[i]);
+        }
+        if (count == 0) {
+            neighborStart[0] = 0;
+            return;
+        }
+
+        // Any interacting pair is within one cell of each other; widen the cells if the grid would
+        // have many more cells than bodies (sparse, spread-out scenes)
+        double cellSize = 2 * maxRadius + cutoff + skin;
+        double extent = Math.max(maxX - minX, maxY - minY);
+        cellSize = Math.max(cellSize, extent / Math.sqrt(4.0 * count));
+        int gridWidth = (int) ((maxX - minX) / cellSize) + 1;
+        int gridHeight = (int) ((maxY - minY) / cellSize) + 1;
+        int cells = gridWidth * gridHeight;
+        if (cellStart.length < cells + 1) {
+            cellStart = new int[cells + 1];
+        }
+        for (int i = 0; i < count; i++) {
+            int cx = (int) ((centerX[i] - minX) / cellSize);
+            int cy = (int) ((centerY[i] - minY) / cellSize);
+            cellOf[i] = cy * gridWidth + cx;
+        }
+        CellSort.sort(cellOf, count, cells, cellStart, sorted);
+
+        // Collect each pair once, under its lower index
+        int pairCount = 0;
+        for (int i = 0; i < count; i++) {
+            neighborStart[i] = pairCount;
+            int cx = cellOf[i] % gridWidth;
+            int cy = cellOf[i] / gridWidth;
+            for (int row = Math.max(cy - 1, 0); row <= Math.min(cy + 1, gridHeight - 1); row++) {
+                int from = cellStart[row * gridWidth + Math.max(cx - 1, 0)];
+                int to = cellStart[row * gridWidth + Math.min(cx + 1, gridWidth - 1) + 1];
+                for (int k = from; k < to; k++) {
+                    int j = sorted[k];
+                    if (j <= i) {
+                        continue;
+                    }
+                    double dx = centerX[j] - centerX[i];
+                    double dy = centerY[j] - centerY[i];
+                    double reach = radius[i] + radius[j] + cutoff + skin;
+                    if (dx * dx + dy * dy < reach * reach) {
+                        if (pairCount == neighbors.length) {
+                            neighbors = Arrays.copyOf(neighbors, Math.max(16, neighbors.length * 2));
+                        }
+                        neighbors[pairCount++] = j;
+                    }
+                }
+            }
+        }
+        neighborStart[count] = pairCount;
+    }
+
+    private void ensureCapacity(int count) {
+        if (bodies.length >= count) {
+            return;
+        }
+        int capacity = Math.max(count, bodies.length * 2);
+        bodies = new DynamicBody[capacity];
+        neighborStart = new int[capacity + 1];
+        builtX = new double[capacity];
+        builtY = new double[capacity];
+        centerX = new double[capacity];
+        centerY = new double[capacity];
+        radius = new double[capacity];
+        cellOf = new int[capacity];
+        sorted = new int[capacity];
+    }
+
+    /**
+     * Number of bodies in the list
+     */
+    public int size() {
+        return bodyCount;
+    }
+
+    /**
+     * First entry of body i's neighbors in getNeighbors()
+     */
+    public int getNeighborStart(int i) {
+        return neighborStart[i];
+    }
+
+    /**
+     * One past the last entry of body i's neighbors in getNeighbors()
+     */
+    public int getNeighborEnd(int i) {
+        return neighborStart[i + 1];
+    }
+
+    /**
+     * Neighbor indices for all bodies; only valid in the ranges given by the start and end offsets
+     */
+    public int[] getNeighbors() {
+        return neighbors;
+    }
+
+    /**
+     * Body at index i of the list
+     */
+    public DynamicBody getBody(int i) {
+        return bodies[i];
+    }
+
+    public int getPairCount() {
+        return bodyCount == 0 ? 0 : neighborStart[bodyCount];
+    }
+
+    public double getCutoff() {
+        return cutoff;
+    }
+
+    public double getSkin() {
+        return skin;
+    }
+
+    public long getUpdateCount() {
+        return updateCount;
+    }
+
+    public long getBuildCount() {
+        return buildCount;
+    }
+
+    /**
+     * Fraction of update() calls that rebuilt the list
+     */
+    public double getRebuildFrequency() {
+        return updateCount == 0 ? 0 : (double) buildCount / updateCount;
+    }
+
+    public void resetStatistics() {
+        updateCount = 0;
+        buildCount = 0;
+    }
+}
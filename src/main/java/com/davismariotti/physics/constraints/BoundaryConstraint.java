@@ -5,6 +5,8 @@ import com.davismariotti.physics.kinematics.Vector;
 import com.davismariotti.physics.sprites.DynamicBody;
 import com.davismariotti.physics.sprites.RigidBody;
 
+import java.util.List;
+
 /**
  * Constraint that keeps rigid bodies within side wall boundaries
  * Y boundaries (ground/ceiling) are handled by collision system
@@ -18,6 +20,23 @@ public record BoundaryConstraint(double minX, double maxX, double minY, double m
             return;
         }
 
+        constrain(dynamic);
+    }
+
+    @Override
+    public void applyBatch(List<DynamicBody> bodies, int start, int end, double substepDelta) {
+        for (int i = start; i < end; i++) {
+            DynamicBody dynamic = bodies.get(i);
+            if (!dynamic.isSleeping() && !dynamic.isBallistic()) {
+                constrain(dynamic);
+            }
+        }
+    }
+
+    /**
+     * Clamp a single dynamic body to the world bounds, reflecting velocity on contact
+     */
+    private void constrain(DynamicBody dynamic) {
         Vector position = dynamic.getPosition();
         Vector velocity = dynamic.getVelocity();
 
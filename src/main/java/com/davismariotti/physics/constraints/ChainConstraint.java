@@ -0,0 +1,391 @@
+package com.davismariotti.physics.constraints;
+
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.DynamicBody;
+import com.davismariotti.physics.sprites.RigidBody;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Distance constraints linking bodies into ropes and chains, solved directly along each chain
+ *
+ * All chains share flat node and segment arrays: node k is a body or a fixed anchor point, and segment k
+ * joins node k to node k + 1 unless k is the last node of its chain (or the link broke). Each substep
+ * linearizes the segment constraints and solves J W J^T dλ = -C - α λ exactly with the Thomas algorithm
+ * over the whole array, so the cost is linear in the number of segments and a chain of any length is
+ * inextensible after one solve instead of needing many relaxation sweeps. Compliance α (XPBD) makes
+ * links stretchy. Positions are corrected directly and velocities by the correction over the substep
+ *
+ * A link whose strain before projection exceeds its chain's break strain is removed, which splits the
+ * chain. Anchor nodes and bodies of a chain that is entirely asleep are fixed; a chain with any awake
+ * body wakes the rest
+ */
+public class ChainConstraint implements Constraint {
+    private static final double DEGENERATE_LENGTH = 1e-9;
+
+    private final int iterations;
+
+    // Nodes: a body, or a fixed anchor when the body is null
+    private DynamicBody[] nodeBody = new DynamicBody[0];
+    private double[] anchorX = new double[0];
+    private double[] anchorY = new double[0];
+    private int nodeCount;
+
+    // Segment k joins node k and node k + 1 while linked[k]
+    private boolean[] linked = new boolean[0];
+    private double[] restLength = new double[0];
+    private double[] compliance = new double[0];
+    private double[] breakStrain = new double[0];
+    private double[] tension = new double[0];
+
+    // Chains as node ranges
+    private int[] chainStart = new int[0];
+    private int[] chainEnd = new int[0];
+    private int chainCount;
+    private int brokenCount;
+
+    // Solver scratch
+    private double[] x = new double[0];
+    private double[] y = new double[0];
+    private double[] inverseMass = new double[0];
+    private double[] normalX = new double[0];
+    private double[] normalY = new double[0];
+    private double[] lambda = new double[0];
+    private double[] rhs = new double[0];
+    private double[] diagonal = new double[0];
+    private double[] upper = new double[0];
+    private double[] deltaLambda = new double[0];
+    private boolean[] active = new boolean[0];
+
+    /**
+     * @param iterations linearized solves per substep; 1 is usually enough, 2 tightens long chains under load
+     */
+    public ChainConstraint(int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Chain solver needs at least one iteration, got " + iterations);
+        }
+        this.iterations = iterations;
+    }
+
+    public ChainConstraint() {
+        this(2);
+    }
+
+    /**
+     * Link bodies into a chain with rest lengths taken from their current spacing
+     * @param links bodies in chain order
+     * @param startAnchor fixed point the first body hangs from, or null for a free end
+     * @param endAnchor fixed point the last body is tied to, or null for a free end
+     * @param compliance inverse stiffness of each link (0 for an inextensible chain)
+     * @param breakStrain relative stretch at which a link snaps (infinity for unbreakable)
+     * @return index of the chain
+     */
+    public int addChain(List<? extends DynamicBody> links, Vector startAnchor, Vector endAnchor,
+                        double compliance, double breakStrain) {
+        int nodes = links.size() + (startAnchor != null ? 1 : 0) + (endAnchor != null ? 1 : 0);
+        if (nodes < 2) {
+            throw new IllegalArgumentException("A chain needs at least two nodes, got " + nodes);
+        }
+        ensureNodeCapacity(nodeCount + nodes);
+        int start = nodeCount;
+        if (startAnchor != null) {
+            addNode(null, startAnchor);
+        }
+        for (DynamicBody link : links) {
+            addNode(link, link.getPosition());
+        }
+        if (endAnchor != null) {
+            addNode(null, endAnchor);
+        }
+
+        for (int k = start; k < nodeCount; k++) {
+            boolean last = k == nodeCount - 1;
+            linked[k] = !last;
+            restLength[k] = last ? 0 : Math.hypot(anchorX[k + 1] - anchorX[k], anchorY[k + 1] - anchorY[k]);
+            this.compliance[k] = compliance;
+            this.breakStrain[k] = breakStrain;
+            tension[k] = 0;
+        }
+
+        if (chainCount == chainStart.length) {
+            chainStart = Arrays.copyOf(chainStart, Math.max(4, chainCount * 2));
+            chainEnd = Arrays.copyOf(chainEnd, chainStart.length);
+        }
+        chainStart[chainCount] = start;
+        chainEnd[chainCount] = nodeCount;
+        return chainCount++;
+    }
+
+    /**
+     * Inextensible, unbreakable chain
+     */
+    public int addChain(List<? extends DynamicBody> links, Vector startAnchor, Vector endAnchor) {
+        return addChain(links, startAnchor, endAnchor, 0.0, Double.POSITIVE_INFINITY);
+    }
+
+    private void addNode(DynamicBody body, Vector position) {
+        nodeBody[nodeCount] = body;
+        anchorX[nodeCount] = position.x();
+        anchorY[nodeCount] = position.y();
+        nodeCount++;
+    }
+
+    @Override
+    public void apply(RigidBody body, double epsilon) {
+        // Chains are solved together once per substep - see applyBatch()
+    }
+
+    /**
+     * Solve every chain once per substep; the range is ignored since chains span the whole body store
+     */
+    @Override
+    public void applyBatch(List<DynamicBody> bodies, int start, int end, double substepDelta) {
+        if (nodeCount == 0 || substepDelta <= 0) {
+            return;
+        }
+        gatherNodes();
+
+        double inverseDeltaSquared = 1.0 / (substepDelta * substepDelta);
+        Arrays.fill(lambda, 0, nodeCount, 0.0);
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            linearize(iteration == 0);
+            solve(inverseDeltaSquared);
+        }
+
+        for (int k = 0; k < nodeCount; k++) {
+            tension[k] = linked[k] ? -lambda[k] * inverseDeltaSquared : 0.0;
+        }
+        scatterNodes(substepDelta);
+    }
+
+    @Override
+    public boolean couplesBodies() {
+        return true;
+    }
+
+    /**
+     * Copy positions and inverse masses into the scratch arrays, waking chains that are partly asleep
+     */
+    private void gatherNodes() {
+        for (int c = 0; c < chainCount; c++) {
+            boolean anyAwake = false;
+            boolean anyAsleep = false;
+            for (int k = chainStart[c]; k < chainEnd[c]; k++) {
+                DynamicBody body = nodeBody[k];
+                if (body != null) {
+                    anyAwake |= !body.isSleeping();
+                    anyAsleep |= body.isSleeping();
+                }
+            }
+            for (int k = chainStart[c]; k < chainEnd[c]; k++) {
+                DynamicBody body = nodeBody[k];
+                if (body == null) {
+                    x[k] = anchorX[k];
+                    y[k] = anchorY[k];
+                    inverseMass[k] = 0;
+                    continue;
+                }
+                if (anyAwake && anyAsleep && body.isSleeping()) {
+                    body.wake();
+                }
+                Vector position = body.getPosition();
+                x[k] = position.x();
+                y[k] = position.y();
+                inverseMass[k] = body.isSleeping() ? 0 : 1.0 / body.getMass();
+            }
+        }
+    }
+
+    /**
+     * Segment directions and constraint errors at the current positions
+     * On the first pass, links stretched past their break strain snap
+     */
+    private void linearize(boolean firstPass) {
+        for (int k = 0; k < nodeCount; k++) {
+            active[k] = false;
+            if (!linked[k]) {
+                continue;
+            }
+            double dx = x[k + 1] - x[k];
+            double dy = y[k + 1] - y[k];
+            double length = Math.sqrt(dx * dx + dy * dy);
+            double error = length - restLength[k];
+            if (firstPass && error > breakStrain[k] * restLength[k]) {
+                linked[k] = false;
+                brokenCount++;
+                continue;
+            }
+            if (length < DEGENERATE_LENGTH || inverseMass[k] + inverseMass[k + 1] == 0) {
+                continue;
+            }
+            active[k] = true;
+            normalX[k] = dx / length;
+            normalY[k] = dy / length;
+            rhs[k] = error;
+        }
+    }
+
+    /**
+     * One tridiagonal solve over all segments, then apply the position corrections
+     */
+    private void solve(double inverseDeltaSquared) {
+        // Row k: -w_k n_(k-1).n_k dλ_(k-1) + (w_k + w_(k+1) + α/dt²) dλ_k - w_(k+1) n_k.n_(k+1) dλ_(k+1)
+        //        = -C_k - α/dt² λ_k
+        for (int k = 0; k < nodeCount; k++) {
+            if (!active[k]) {
+                continue;
+            }
+            double alpha = compliance[k] * inverseDeltaSquared;
+            diagonal[k] = inverseMass[k] + inverseMass[k + 1] + alpha;
+            rhs[k] = -rhs[k] - alpha * lambda[k];
+            upper[k] = k + 1 < nodeCount && active[k + 1]
+                    ? -inverseMass[k + 1] * (normalX[k] * normalX[k + 1] + normalY[k] * normalY[k + 1])
+                    : 0.0;
+        }
+
+        // Thomas algorithm; inactive rows decouple the system into independent runs
+        for (int k = 0; k < nodeCount; k++) {
+            if (!active[k]) {
+                continue;
+            }
+            if (k > 0 && active[k - 1]) {
+                double lower = upper[k - 1];  // Symmetric: row k's sub-diagonal equals row k-1's super-diagonal
+                double factor = lower / diagonal[k - 1];
+                diagonal[k] -= factor * lower;
+                rhs[k] -= factor * rhs[k - 1];
+            }
+        }
+        for (int k = nodeCount - 1; k >= 0; k--) {
+            if (!active[k]) {
+                deltaLambda[k] = 0;
+                continue;
+            }
+            double next = k + 1 < nodeCount && active[k + 1] ? deltaLambda[k + 1] : 0.0;
+            deltaLambda[k] = (rhs[k] - upper[k] * next) / diagonal[k];
+        }
+
+        // dx_k = w_k (n_(k-1) dλ_(k-1) - n_k dλ_k)
+        for (int k = 0; k < nodeCount; k++) {
+            if (!active[k]) {
+                continue;
+            }
+            double delta = deltaLambda[k];
+            lambda[k] += delta;
+            x[k] -= inverseMass[k] * normalX[k] * delta;
+            y[k] -= inverseMass[k] * normalY[k] * delta;
+            x[k + 1] += inverseMass[k + 1] * normalX[k] * delta;
+            y[k + 1] += inverseMass[k + 1] * normalY[k] * delta;
+        }
+    }
+
+    /**
+     * Write corrected positions back and add the correction over the substep to the velocities
+     */
+    private void scatterNodes(double substepDelta) {
+        double inverseDelta = 1.0 / substepDelta;
+        for (int k = 0; k < nodeCount; k++) {
+            DynamicBody body = nodeBody[k];
+            if (body == null || inverseMass[k] == 0) {
+                continue;
+            }
+            Vector position = body.getPosition();
+            double dx = x[k] - position.x();
+            double dy = y[k] - position.y();
+            if (dx == 0 && dy == 0) {
+                continue;
+            }
+            body.setPosition(new Vector(x[k], y[k]));
+            Vector velocity = body.getVelocity();
+            body.setVelocity(new Vector(velocity.x() + dx * inverseDelta, velocity.y() + dy * inverseDelta));
+        }
+    }
+
+    private void ensureNodeCapacity(int capacity) {
+        if (nodeBody.length >= capacity) {
+            return;
+        }
+        int grown = Math.max(capacity, nodeBody.length * 2);
+        nodeBody = Arrays.copyOf(nodeBody, grown);
+        anchorX = Arrays.copyOf(anchorX, grown);
+        anchorY = Arrays.copyOf(anchorY, grown);
+        linked = Arrays.copyOf(linked, grown);
+        restLength = Arrays.copyOf(restLength, grown);
+        compliance = Arrays.copyOf(compliance, grown);
+        breakStrain = Arrays.copyOf(breakStrain, grown);
+        tension = Arrays.copyOf(tension, grown);
+        x = new double[grown];
+        y = new double[grown];
+        inverseMass = new double[grown];
+        normalX = new double[grown];
+        normalY = new double[grown];
+        lambda = new double[grown];
+        rhs = new double[grown];
+        diagonal = new double[grown];
+        upper = new double[grown];
+        deltaLambda = new double[grown];
+        active = new boolean[grown];
+    }
+
+    /**
+     * Move a chain's anchor (for example to drag a rope by its end)
+     * @param node node index of an anchor, from getChainStart() or getChainEnd() - 1
+     */
+    public void setAnchor(int node, Vector position) {
+        if (nodeBody[node] != null) {
+            throw new IllegalArgumentException("Node " + node + " is a body, not an anchor");
+        }
+        anchorX[node] = position.x();
+        anchorY[node] = position.y();
+    }
+
+    public int getChainCount() {
+        return chainCount;
+    }
+
+    /**
+     * First node of a chain
+     */
+    public int getChainStart(int chain) {
+        return chainStart[chain];
+    }
+
+    /**
+     * One past the last node of a chain
+     */
+    public int getChainEnd(int chain) {
+        return chainEnd[chain];
+    }
+
+    /**
+     * Total segments (links) in all chains, broken ones included
+     */
+    public int getSegmentCount() {
+        return nodeCount - chainCount;
+    }
+
+    /**
+     * Whether segment k (node k to node k + 1) is intact
+     */
+    public boolean isLinked(int segment) {
+        return linked[segment];
+    }
+
+    public double getRestLength(int segment) {
+        return restLength[segment];
+    }
+
+    /**
+     * Tension in segment k from the last substep (force units, negative when compressed), zero once broken
+     */
+    public double getTension(int segment) {
+        return tension[segment];
+    }
+
+    /**
+     * Links that have snapped since the chains were created
+     */
+    public int getBrokenCount() {
+        return brokenCount;
+    }
+}
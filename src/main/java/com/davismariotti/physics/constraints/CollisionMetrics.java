@@ -3,8 +3,9 @@ package com.davismariotti.physics.constraints;
 /**
  * Metrics for tracking collision system behavior
  * Useful for debugging clustering, energy pumping, and performance issues
+ * Filled from each frame's contacts when added to the simulator as a contact listener
  */
-public class CollisionMetrics {
+public class CollisionMetrics implements ContactListener {
     private int totalCollisions;
     private int restingContacts;
     private int impulseApplications;
@@ -29,6 +30,17 @@ public class CollisionMetrics {
         maxPenetration = Math.max(maxPenetration, penetration);
     }
 
+    /**
+     * Replace the counts with this frame's contacts; contacts without an impulse count as resting
+     */
+    @Override
+    public void onContacts(ContactBuffer contacts) {
+        reset();
+        for (int i = 0, count = contacts.size(); i < count; i++) {
+            recordCollision(contacts.getPenetration(i), contacts.getImpulse(i) > 0);
+        }
+    }
+
     public void recordClusteredBalls(int count) {
         clusteredBalls = Math.max(clusteredBalls, count);
     }
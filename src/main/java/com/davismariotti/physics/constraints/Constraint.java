@@ -1,7 +1,10 @@
 package com.davismariotti.physics.constraints;
 
+import com.davismariotti.physics.sprites.DynamicBody;
 import com.davismariotti.physics.sprites.RigidBody;
 
+import java.util.List;
+
 /**
  * Interface for physics constraints that can be applied to rigid bodies
  */
@@ -12,4 +15,31 @@ public interface Constraint {
      * @param epsilon the time step
      */
     void apply(RigidBody body, double epsilon);
+
+    /**
+     * Apply this constraint to a contiguous range of the dynamic body store
+     * Called once per substep; sleeping and ballistic bodies in the range must be skipped
+     * Default implementation adapts single-body constraints by calling apply() for each awake body
+     *
+     * @param bodies the dynamic body store
+     * @param start first index of the range (inclusive)
+     * @param end last index of the range (exclusive)
+     * @param substepDelta the substep time step
+     */
+    default void applyBatch(List<DynamicBody> bodies, int start, int end, double substepDelta) {
+        for (int i = start; i < end; i++) {
+            DynamicBody body = bodies.get(i);
+            if (!body.isSleeping() && !body.isBallistic()) {
+                apply(body, substepDelta);
+            }
+        }
+    }
+
+    /**
+     * Whether this constraint ties bodies to each other, so none of them can be advanced in closed form
+     * on the ballistic fast path
+     */
+    default boolean couplesBodies() {
+        return false;
+    }
 }
@@ -0,0 +1,153 @@
+package com.davismariotti.physics.constraints;
+
+import com.davismariotti.physics.collision.CircleCollider;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.DynamicBody;
+import com.davismariotti.physics.sprites.RigidBody;
+
+/**
+ * Contacts resolved during one update, stored as parallel primitive arrays in a fixed-capacity ring buffer
+ * The collision constraints record every contact they resolve with at least the impulse threshold, in
+ * solve order. When more contacts than the capacity are recorded in a frame the oldest are overwritten,
+ * so recording never allocates after construction. Index 0 is the oldest contact still held. The normal
+ * points from body A towards body B; body A is always dynamic, body B is dynamic or static
+ */
+public class ContactBuffer {
+    private final DynamicBody[] bodyA;
+    private final RigidBody[] bodyB;
+    private final double[] normalX;
+    private final double[] normalY;
+    private final double[] pointX;
+    private final double[] pointY;
+    private final double[] impulse;          // Normal impulse applied to the pair (mass × velocity change)
+    private final double[] penetration;      // Overlap when the contact was detected (negative for a gap)
+    private final int capacity;
+    private int head;                        // Slot of the oldest contact
+    private int count;                       // Slots in use, starting at head
+    private int overwritten;                 // Contacts lost to a full buffer since the last clear
+    private double impulseThreshold;         // Contacts with a smaller impulse are not recorded
+
+    public ContactBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.bodyA = new DynamicBody[capacity];
+        this.bodyB = new RigidBody[capacity];
+        this.normalX = new double[capacity];
+        this.normalY = new double[capacity];
+        this.pointX = new double[capacity];
+        this.pointY = new double[capacity];
+        this.impulse = new double[capacity];
+        this.penetration = new double[capacity];
+    }
+
+    /**
+     * Record a resolved contact, placing the point on body A's surface along the normal
+     * Circles use their radius; other shapes report their position
+     */
+    void record(DynamicBody a, RigidBody b, double nx, double ny, double impulseMagnitude, double depth) {
+        if (impulseMagnitude < impulseThreshold) {
+            return;
+        }
+        Vector position = a.getPosition();
+        double reach = a.getCollider() instanceof CircleCollider circle ? circle.radius() : 0;
+        record(a, b, nx, ny, position.x() + nx * reach, position.y() + ny * reach, impulseMagnitude, depth);
+    }
+
+    /**
+     * Record a resolved contact at a given point, for solvers that hold body positions outside the bodies
+     */
+    public void record(DynamicBody a, RigidBody b, double nx, double ny, double px, double py,
+                       double impulseMagnitude, double depth) {
+        if (impulseMagnitude < impulseThreshold) {
+            return;
+        }
+        int slot;
+        if (count == capacity) {
+            slot = head;
+            head = head + 1 == capacity ? 0 : head + 1;
+            overwritten++;
+        } else {
+            slot = slot(count);
+            count++;
+        }
+        bodyA[slot] = a;
+        bodyB[slot] = b;
+        normalX[slot] = nx;
+        normalY[slot] = ny;
+        pointX[slot] = px;
+        pointY[slot] = py;
+        impulse[slot] = impulseMagnitude;
+        penetration[slot] = depth;
+    }
+
+    /**
+     * Drop all contacts (body references are kept until overwritten)
+     */
+    public void clear() {
+        head = 0;
+        count = 0;
+        overwritten = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Contacts lost because the buffer was full; raise the capacity or the impulse threshold if this is not 0
+     */
+    public int getOverwrittenCount() {
+        return overwritten;
+    }
+
+    public double getImpulseThreshold() {
+        return impulseThreshold;
+    }
+
+    public void setImpulseThreshold(double impulseThreshold) {
+        this.impulseThreshold = impulseThreshold;
+    }
+
+    public DynamicBody getBodyA(int i) {
+        return bodyA[slot(i)];
+    }
+
+    public RigidBody getBodyB(int i) {
+        return bodyB[slot(i)];
+    }
+
+    public double getNormalX(int i) {
+        return normalX[slot(i)];
+    }
+
+    public double getNormalY(int i) {
+        return normalY[slot(i)];
+    }
+
+    public double getPointX(int i) {
+        return pointX[slot(i)];
+    }
+
+    public double getPointY(int i) {
+        return pointY[slot(i)];
+    }
+
+    public double getImpulse(int i) {
+        return impulse[slot(i)];
+    }
+
+    public double getPenetration(int i) {
+        return penetration[slot(i)];
+    }
+
+    private int slot(int i) {
+        int slot = head + i;
+        return slot >= capacity ? slot - capacity : slot;
+    }
+}
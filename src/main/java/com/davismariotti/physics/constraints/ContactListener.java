@@ -0,0 +1,10 @@
+package com.davismariotti.physics.constraints;
+
+/**
+ * Receives the contacts of each update as one batch, after the simulator's update
+ * The buffer is reused for the next frame, so copy out anything kept beyond the call
+ * Listeners may add or remove bodies; the changes are picked up on the next frame
+ */
+public interface ContactListener {
+    void onContacts(ContactBuffer contacts);
+}
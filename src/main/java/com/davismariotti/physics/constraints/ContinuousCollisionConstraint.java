@@ -1,11 +1,14 @@
 package com.davismariotti.physics.constraints;
 
 import com.davismariotti.physics.collision.CollisionDetector;
+import com.davismariotti.physics.collision.CollisionFilter;
 import com.davismariotti.physics.collision.CollisionResult;
 import com.davismariotti.physics.collision.TimeOfImpact;
 import com.davismariotti.physics.collision.TOISolver;
 import com.davismariotti.physics.kinematics.Vector;
 import com.davismariotti.physics.sprites.DynamicBody;
+import com.davismariotti.physics.sprites.KinematicBody;
+import com.davismariotti.physics.sprites.MaterialRegistry;
 import com.davismariotti.physics.sprites.RigidBody;
 import com.davismariotti.physics.sprites.StaticBody;
 
@@ -15,18 +18,29 @@ import java.util.List;
  * Continuous collision constraint using Time of Impact (TOI) detection
  * Handles collisions between dynamic bodies and static bodies (e.g., balls and ground)
  * Uses analytical TOI solver to prevent tunneling and energy gain bugs
+ * Kinematic bodies are handled like static ones with impulses taken on the velocity relative to their surface
  */
 public class ContinuousCollisionConstraint implements Constraint {
     private final List<StaticBody> staticBodies;
     private final Vector gravity;
-    private final double restingVelocityThreshold;
+    private double restingVelocityThreshold;
+    private ContinuousCollisionMode collisionMode;
+    private final RestingContacts restingContacts = new RestingContacts();
+    private boolean useRestingContacts;
+    private ContactBuffer contacts;  // Null unless someone is listening
     private static final int MAX_RECURSION_DEPTH = 4;
     private static final double TIME_EPSILON = 1e-6;
 
-    public ContinuousCollisionConstraint(List<StaticBody> staticBodies, Vector gravity, double restingVelocityThreshold) {
+    public ContinuousCollisionConstraint(List<StaticBody> staticBodies, Vector gravity, double restingVelocityThreshold,
+                                         ContinuousCollisionMode collisionMode) {
         this.staticBodies = staticBodies;
         this.gravity = gravity;
         this.restingVelocityThreshold = restingVelocityThreshold;
+        this.collisionMode = collisionMode;
+    }
+
+    public ContinuousCollisionConstraint(List<StaticBody> staticBodies, Vector gravity, double restingVelocityThreshold) {
+        this(staticBodies, gravity, restingVelocityThreshold, ContinuousCollisionMode.TIME_OF_IMPACT);
     }
 
     // Legacy constructor for backward compatibility
@@ -34,6 +48,57 @@ public class ContinuousCollisionConstraint implements Constraint {
         this(staticBodies, gravity, 0.5);
     }
 
+    /**
+     * Select how approaching bodies are kept from tunneling into static bodies
+     */
+    public void setCollisionMode(ContinuousCollisionMode collisionMode) {
+        this.collisionMode = collisionMode;
+    }
+
+    public ContinuousCollisionMode getCollisionMode() {
+        return collisionMode;
+    }
+
+    /**
+     * Hold settled contacts with a position and friction projection instead of re-running TOI every substep
+     */
+    public void setUseRestingContacts(boolean useRestingContacts) {
+        if (!useRestingContacts) {
+            restingContacts.clear();
+        }
+        this.useRestingContacts = useRestingContacts;
+    }
+
+    public boolean isUseRestingContacts() {
+        return useRestingContacts;
+    }
+
+    /**
+     * Normal speed below which a static contact counts as settled and bounces with no restitution
+     */
+    public void setRestingVelocityThreshold(double restingVelocityThreshold) {
+        this.restingVelocityThreshold = restingVelocityThreshold;
+    }
+
+    public double getRestingVelocityThreshold() {
+        return restingVelocityThreshold;
+    }
+
+    /**
+     * Record every resolved contact into the buffer, or stop recording with null
+     * Contact normals are reported pointing from the dynamic body into the static one
+     */
+    public void setContactBuffer(ContactBuffer contacts) {
+        this.contacts = contacts;
+    }
+
+    /**
+     * Number of body/static pairs currently in the resting state
+     */
+    public int getRestingContactCount() {
+        return restingContacts.getRestingCount();
+    }
+
     @Override
     public void apply(RigidBody body, double epsilon) {
         // Only applies to dynamic bodies
@@ -46,11 +111,40 @@ public class ContinuousCollisionConstraint implements Constraint {
             return;
         }
 
+        resolveStaticCollisions(dynamic, epsilon);
+    }
+
+    @Override
+    public void applyBatch(List<DynamicBody> bodies, int start, int end, double substepDelta) {
+        if (useRestingContacts) {
+            restingContacts.beginSubstep();
+        }
+        for (int i = start; i < end; i++) {
+            DynamicBody dynamic = bodies.get(i);
+            if (!dynamic.isSleeping() && !dynamic.isBallistic()) {
+                resolveStaticCollisions(dynamic, substepDelta);
+            }
+        }
+    }
+
+    /**
+     * Detect penetration against static bodies and resolve the first one found using TOI
+     */
+    private void resolveStaticCollisions(DynamicBody dynamic, double epsilon) {
+        if (collisionMode == ContinuousCollisionMode.SPECULATIVE) {
+            resolveSpeculativeContacts(dynamic, epsilon);
+            return;
+        }
+
         // Check for penetration using discrete detection
         StaticBody collidingStatic = null;
         CollisionResult discreteResult = null;
 
+        long filter = dynamic.getCollisionFilter();
         for (StaticBody staticBody : staticBodies) {
+            if (!CollisionFilter.shouldCollide(filter, staticBody.getCollisionFilter())) {
+                continue;
+            }
             CollisionResult result = CollisionDetector.checkCollision(
                     dynamic.getCollider(),
                     staticBody.getCollider()
@@ -71,9 +165,124 @@ public class ContinuousCollisionConstraint implements Constraint {
             }
         }
 
+        if (collidingStatic == null) {
+            return;
+        }
+
+        if (useRestingContacts && resolveRestingContact(dynamic, collidingStatic, discreteResult)) {
+            return;
+        }
+
         // If penetrating, compute TOI and resolve
-        if (collidingStatic != null) {
-            handleCollisionWithTOI(dynamic, collidingStatic, discreteResult, epsilon, 0);
+        handleCollisionWithTOI(dynamic, collidingStatic, discreteResult, epsilon, 0);
+    }
+
+    /**
+     * Track the pair's resting state and project it if it is resting
+     * @return true if the contact was handled by projection
+     */
+    private boolean resolveRestingContact(DynamicBody dynamic, StaticBody staticBody, CollisionResult contact) {
+        long pairId = RestingContacts.pairId(dynamic, staticBody);
+        Vector normal = contact.normal();
+        Vector velocity = relativeVelocity(dynamic, staticBody);
+        double velAlongNormal = velocity.x() * normal.x() + velocity.y() * normal.y();
+
+        if (Math.abs(velAlongNormal) >= restingVelocityThreshold) {
+            // Real impact or lift-off: leave the resting state and let TOI handle it
+            restingContacts.release(pairId);
+            return false;
+        }
+
+        boolean resting = restingContacts.isResting(pairId);
+        restingContacts.recordQuiet(pairId);
+        if (!resting) {
+            return false;
+        }
+
+        // Push out along the normal and cancel the approach, then apply Coulomb friction for that impulse
+        dynamic.setPosition(dynamic.getPosition().add(normal.multiply(contact.penetrationDepth())));
+        double normalImpulseMagnitude = Math.max(0, -velAlongNormal) * dynamic.getMass();
+        Vector current = dynamic.getVelocity();
+        dynamic.setVelocity(new Vector(
+                current.x() + normal.x() * normalImpulseMagnitude / dynamic.getMass(),
+                current.y() + normal.y() * normalImpulseMagnitude / dynamic.getMass()
+        ));
+        if (contacts != null) {
+            contacts.record(dynamic, staticBody, -normal.x(), -normal.y(), normalImpulseMagnitude, contact.penetrationDepth());
+        }
+        applyFriction(dynamic, normal, normalImpulseMagnitude, velocity);
+        return true;
+    }
+
+    /**
+     * Resolve contacts against static bodies using speculative contacts
+     * Every static body within reach of this substep's motion produces a contact; the body's normal velocity
+     * is limited so the next integration lands it on the surface instead of inside it
+     */
+    private void resolveSpeculativeContacts(DynamicBody dynamic, double substepDelta) {
+        Vector velocity = dynamic.getVelocity();
+        double speed = Math.sqrt(velocity.x() * velocity.x() + velocity.y() * velocity.y());
+        double accel = Math.sqrt(gravity.x() * gravity.x() + gravity.y() * gravity.y());
+        double margin = speed * substepDelta + 0.5 * accel * substepDelta * substepDelta;
+
+        long filter = dynamic.getCollisionFilter();
+        for (StaticBody staticBody : staticBodies) {
+            if (!CollisionFilter.shouldCollide(filter, staticBody.getCollisionFilter())) {
+                continue;
+            }
+            // A kinematic body closes the gap from its side as well
+            double surfaceTravel = staticBody instanceof KinematicBody kinematic
+                    ? kinematic.getVelocity().getMagnitude() * substepDelta : 0;
+            CollisionResult contact = CollisionDetector.checkSpeculative(
+                    dynamic.getCollider(),
+                    staticBody.getCollider(),
+                    margin + surfaceTravel
+            );
+
+            if (!contact.hasCollision()) {
+                continue;
+            }
+
+            if (contact.penetrationDepth() > 0) {
+                // Already penetrating - no speculative margin left
+                fallbackDiscreteCorrection(dynamic, staticBody, contact);
+                continue;
+            }
+
+            Vector normal = contact.normal();
+            Vector preImpulseVelocity = relativeVelocity(dynamic, staticBody);
+            double velAlongNormal = preImpulseVelocity.x() * normal.x() + preImpulseVelocity.y() * normal.y();
+            double accelAlongNormal = gravity.x() * normal.x() + gravity.y() * normal.y();
+            double gap = -contact.penetrationDepth();
+
+            // Normal displacement over the next substep under constant gravity
+            double closing = velAlongNormal * substepDelta + 0.5 * accelAlongNormal * substepDelta * substepDelta;
+            if (velAlongNormal >= 0 || gap + closing > 0) {
+                continue;
+            }
+
+            double restitution = MaterialRegistry.combinedRestitution(dynamic, staticBody);
+            double effectiveRestitution = Math.abs(velAlongNormal) < restingVelocityThreshold ? 0.0 : restitution;
+
+            // Bounce with restitution, but never approach faster than needed to just reach the surface
+            double landingVelocity = -(gap + 0.5 * accelAlongNormal * substepDelta * substepDelta) / substepDelta;
+            double targetVelAlongNormal = Math.max(-effectiveRestitution * velAlongNormal, landingVelocity);
+            double normalImpulseMagnitude = targetVelAlongNormal - velAlongNormal;
+
+            Vector current = dynamic.getVelocity();
+            dynamic.setVelocity(new Vector(
+                    current.x() + normal.x() * normalImpulseMagnitude,
+                    current.y() + normal.y() * normalImpulseMagnitude
+            ));
+            if (contacts != null) {
+                contacts.record(dynamic, staticBody, -normal.x(), -normal.y(),
+                        normalImpulseMagnitude * dynamic.getMass(), contact.penetrationDepth());
+            }
+
+            boolean shouldApplyFriction = (restitution < 0.5) || (effectiveRestitution < 0.1);
+            if (shouldApplyFriction) {
+                applyFriction(dynamic, normal, normalImpulseMagnitude, preImpulseVelocity);
+            }
         }
     }
 
@@ -85,7 +294,7 @@ public class ContinuousCollisionConstraint implements Constraint {
         // Prevent infinite recursion
         if (recursionDepth >= MAX_RECURSION_DEPTH) {
             // Fallback to discrete correction
-            fallbackDiscreteCorrection(dynamic, discreteResult);
+            fallbackDiscreteCorrection(dynamic, staticBody, discreteResult);
             return;
         }
 
@@ -95,7 +304,7 @@ public class ContinuousCollisionConstraint implements Constraint {
         if (!toi.hasCollision() || toi.t() < TIME_EPSILON) {
             // No TOI found (already deeply penetrating) or TOI too small
             // Fallback to discrete position correction
-            fallbackDiscreteCorrection(dynamic, discreteResult);
+            fallbackDiscreteCorrection(dynamic, staticBody, discreteResult);
             return;
         }
 
@@ -104,8 +313,12 @@ public class ContinuousCollisionConstraint implements Constraint {
         dynamic.setVelocity(toi.velocity());
 
         // Apply impulse at TOI
-        double restitution = Math.min(dynamic.getCoefficientOfRestitution(), staticBody.getCoefficientOfRestitution());
-        applyImpulse(dynamic, toi.normal(), restitution);
+        double restitution = MaterialRegistry.combinedRestitution(dynamic, staticBody);
+        double impulse = applyImpulse(dynamic, staticBody, toi.normal(), restitution);
+        if (contacts != null) {
+            contacts.record(dynamic, staticBody, -toi.normal().x(), -toi.normal().y(), impulse,
+                    discreteResult.penetrationDepth());
+        }
 
         // Integrate forward for remaining time
         double remainingTime = substepDelta * (1.0 - toi.t());
@@ -144,7 +357,11 @@ public class ContinuousCollisionConstraint implements Constraint {
         dynamic.setVelocity(newVel);
 
         // Check for new collision during this integration
+        long filter = dynamic.getCollisionFilter();
         for (StaticBody staticBody : staticBodies) {
+            if (!CollisionFilter.shouldCollide(filter, staticBody.getCollisionFilter())) {
+                continue;
+            }
             CollisionResult result = CollisionDetector.checkCollision(
                     dynamic.getCollider(),
                     staticBody.getCollider()
@@ -160,10 +377,11 @@ public class ContinuousCollisionConstraint implements Constraint {
 
     /**
      * Apply impulse to dynamic body for collision with static body
-     * Reflects velocity along normal with restitution, then applies friction
+     * Reflects the velocity relative to the surface along normal with restitution, then applies friction
+     * @return normal impulse applied (0 if the body was moving away)
      */
-    private void applyImpulse(DynamicBody dynamic, Vector normal, double restitution) {
-        Vector velocity = dynamic.getVelocity();
+    private double applyImpulse(DynamicBody dynamic, StaticBody staticBody, Vector normal, double restitution) {
+        Vector velocity = relativeVelocity(dynamic, staticBody);
 
         // Calculate velocity along normal
         double velAlongNormal = velocity.x() * normal.x() + velocity.y() * normal.y();
@@ -183,8 +401,8 @@ public class ContinuousCollisionConstraint implements Constraint {
             );
 
             Vector newVelocity = new Vector(
-                    velocity.x() + normalImpulse.x() / dynamic.getMass(),
-                    velocity.y() + normalImpulse.y() / dynamic.getMass()
+                    dynamic.getVelocity().x() + normalImpulse.x() / dynamic.getMass(),
+                    dynamic.getVelocity().y() + normalImpulse.y() / dynamic.getMass()
             );
 
             dynamic.setVelocity(newVelocity);
@@ -197,7 +415,9 @@ public class ContinuousCollisionConstraint implements Constraint {
             if (shouldApplyFriction) {
                 applyFriction(dynamic, normal, normalImpulseMagnitude, velocity);
             }
+            return normalImpulseMagnitude;
         }
+        return 0;
     }
 
     /**
@@ -253,14 +473,23 @@ public class ContinuousCollisionConstraint implements Constraint {
         dynamic.setVelocity(newVelocity);
     }
 
+    /**
+     * Velocity of the dynamic body relative to the static body's surface (its own velocity unless kinematic)
+     */
+    private static Vector relativeVelocity(DynamicBody dynamic, StaticBody staticBody) {
+        Vector velocity = dynamic.getVelocity();
+        Vector surfaceVelocity = staticBody.getVelocity();
+        return new Vector(velocity.x() - surfaceVelocity.x(), velocity.y() - surfaceVelocity.y());
+    }
+
     /**
      * Fallback to discrete position correction when TOI fails
      * Used for edge cases like already deeply penetrating
      */
-    private void fallbackDiscreteCorrection(DynamicBody dynamic, CollisionResult collision) {
+    private void fallbackDiscreteCorrection(DynamicBody dynamic, StaticBody staticBody, CollisionResult collision) {
         Vector normal = collision.normal();
         double penetration = collision.penetrationDepth();
-        Vector velocity = dynamic.getVelocity();
+        Vector velocity = relativeVelocity(dynamic, staticBody);
 
         // Calculate velocity along normal
         double velAlongNormal = velocity.x() * normal.x() + velocity.y() * normal.y();
@@ -288,11 +517,14 @@ public class ContinuousCollisionConstraint implements Constraint {
             );
 
             Vector newVelocity = new Vector(
-                    velocity.x() + normalImpulse.x() / dynamic.getMass(),
-                    velocity.y() + normalImpulse.y() / dynamic.getMass()
+                    dynamic.getVelocity().x() + normalImpulse.x() / dynamic.getMass(),
+                    dynamic.getVelocity().y() + normalImpulse.y() / dynamic.getMass()
             );
 
             dynamic.setVelocity(newVelocity);
+            if (contacts != null) {
+                contacts.record(dynamic, staticBody, -normal.x(), -normal.y(), normalImpulseMagnitude, penetration);
+            }
 
             // Apply friction based on material type and contact state
             boolean shouldApplyFriction = (restitution < 0.5) || (effectiveRestitution < 0.1);
@@ -0,0 +1,17 @@
+package com.davismariotti.physics.constraints;
+
+/**
+ * Strategy used by the collision constraints to prevent tunneling
+ */
+public enum ContinuousCollisionMode {
+    /**
+     * Rewind to the exact time of impact, apply the impulse and re-integrate (recursive, up to a depth limit)
+     */
+    TIME_OF_IMPACT,
+
+    /**
+     * Emit contacts for pairs that will close within the step and let the velocity solver
+     * stop them at the surface, without rewinding or re-integrating
+     */
+    SPECULATIVE
+}
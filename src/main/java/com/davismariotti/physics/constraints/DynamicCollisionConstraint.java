@@ -1,12 +1,15 @@
 package com.davismariotti.physics.constraints;
 
 import com.davismariotti.physics.collision.CollisionDetector;
+import com.davismariotti.physics.collision.CollisionFilter;
 import com.davismariotti.physics.collision.CollisionResult;
 import com.davismariotti.physics.collision.SpatialGrid;
 import com.davismariotti.physics.collision.TimeOfImpact;
 import com.davismariotti.physics.collision.TOISolver;
+import com.davismariotti.physics.collision.VerletNeighborList;
 import com.davismariotti.physics.kinematics.Vector;
 import com.davismariotti.physics.sprites.DynamicBody;
+import com.davismariotti.physics.sprites.MaterialRegistry;
 import com.davismariotti.physics.sprites.RigidBody;
 
 import java.util.HashSet;
@@ -16,21 +19,75 @@ import java.util.Set;
 /**
  * Continuous collision constraint for dynamic-dynamic collisions (ball vs ball)
  * Uses Time of Impact (TOI) detection and two-body momentum exchange
- * Optionally uses spatial partitioning for broad-phase collision detection
+ * Optionally uses spatial partitioning or a Verlet neighbor list for broad-phase collision detection
  */
 public class DynamicCollisionConstraint implements Constraint {
     private final List<DynamicBody> dynamicBodies;
     private final Vector gravity;
     private SpatialGrid spatialGrid;
     private boolean useSpatialPartitioning;
+    private VerletNeighborList neighborList;
+    private ContinuousCollisionMode collisionMode;
+    private final RestingContacts restingContacts = new RestingContacts();
+    private boolean useRestingContacts;
+    private double restingVelocityThreshold = 0.5;
+    private ContactBuffer contacts;  // Null unless someone is listening
     private static final int MAX_RECURSION_DEPTH = 4;
     private static final double TIME_EPSILON = 1e-6;
+    private static final double SUPPORT_ALIGNMENT = 0.5;  // cos(60°): normals steeper than this count as stacked
 
     public DynamicCollisionConstraint(List<DynamicBody> dynamicBodies, Vector gravity) {
         this.dynamicBodies = dynamicBodies;
         this.gravity = gravity;
         this.useSpatialPartitioning = false;
         this.spatialGrid = null;
+        this.collisionMode = ContinuousCollisionMode.TIME_OF_IMPACT;
+    }
+
+    /**
+     * Select how approaching pairs are kept from tunneling
+     */
+    public void setCollisionMode(ContinuousCollisionMode collisionMode) {
+        this.collisionMode = collisionMode;
+    }
+
+    public ContinuousCollisionMode getCollisionMode() {
+        return collisionMode;
+    }
+
+    /**
+     * Hold settled pairs with a position and friction projection instead of re-running TOI every substep
+     */
+    public void setUseRestingContacts(boolean useRestingContacts) {
+        if (!useRestingContacts) {
+            restingContacts.clear();
+        }
+        this.useRestingContacts = useRestingContacts;
+    }
+
+    public boolean isUseRestingContacts() {
+        return useRestingContacts;
+    }
+
+    /**
+     * Relative normal speed below which a touching pair counts as settled
+     */
+    public void setRestingVelocityThreshold(double restingVelocityThreshold) {
+        this.restingVelocityThreshold = restingVelocityThreshold;
+    }
+
+    /**
+     * Record every resolved pair into the buffer, or stop recording with null
+     */
+    public void setContactBuffer(ContactBuffer contacts) {
+        this.contacts = contacts;
+    }
+
+    /**
+     * Number of body pairs currently in the resting state
+     */
+    public int getRestingContactCount() {
+        return restingContacts.getRestingCount();
     }
 
     /**
@@ -58,6 +115,32 @@ public class DynamicCollisionConstraint implements Constraint {
         this.spatialGrid = null;
     }
 
+    /**
+     * Take candidate pairs from a Verlet neighbor list instead of the spatial grid
+     * The list is kept across substeps and rebuilt only when bodies have moved more than half its skin,
+     * which pays off in dense, slow scenes (piles, packed granular beds) where the same pairs are
+     * checked every substep
+     *
+     * @param skin margin beyond contact distance kept in the list
+     */
+    public void enableNeighborList(double skin) {
+        this.neighborList = new VerletNeighborList(0.0, skin);
+    }
+
+    /**
+     * Go back to the spatial grid (or naive pairs) for candidate pairs
+     */
+    public void disableNeighborList() {
+        this.neighborList = null;
+    }
+
+    /**
+     * Neighbor list in use, or null
+     */
+    public VerletNeighborList getNeighborList() {
+        return neighborList;
+    }
+
     /**
      * Get spatial grid statistics (for debugging)
      */
@@ -74,6 +157,11 @@ public class DynamicCollisionConstraint implements Constraint {
         // Not used for dynamic-dynamic collisions
     }
 
+    @Override
+    public void applyBatch(List<DynamicBody> bodies, int start, int end, double substepDelta) {
+        // Pairwise resolution runs once per substep through applyAll()
+    }
+
     /**
      * Apply dynamic collision detection to all body pairs with velocity iterations
      * Should be called once per substep, not per body
@@ -82,10 +170,20 @@ public class DynamicCollisionConstraint implements Constraint {
      * @param velocityIterations number of iterations for convergence (reduces jitter in stacks)
      */
     public void applyAll(double substepDelta, int velocityIterations) {
+        if (useRestingContacts) {
+            restingContacts.beginSubstep();
+        }
+        // The pairs are fixed for the substep, so the list is checked once before the iterations
+        if (neighborList != null) {
+            updateNeighborList(substepDelta);
+        }
+
         // Iterate multiple times over all collisions for better convergence
         // This is the Sequential Impulse approach - each iteration refines the solution
         for (int iteration = 0; iteration < velocityIterations; iteration++) {
-            if (useSpatialPartitioning && spatialGrid != null) {
+            if (neighborList != null) {
+                applyAllWithNeighborList(substepDelta);
+            } else if (useSpatialPartitioning && spatialGrid != null) {
                 applyAllWithSpatialPartitioning(substepDelta);
             } else {
                 applyAllNaive(substepDelta);
@@ -109,6 +207,14 @@ public class DynamicCollisionConstraint implements Constraint {
                 DynamicBody bodyA = dynamicBodies.get(i);
                 DynamicBody bodyB = dynamicBodies.get(j);
 
+                // Ballistic bodies were cleared of all contacts for this frame
+                if (bodyA.isBallistic() || bodyB.isBallistic()) {
+                    continue;
+                }
+                if (!CollisionFilter.shouldCollide(bodyA.getCollisionFilter(), bodyB.getCollisionFilter())) {
+                    continue;
+                }
+
                 checkAndResolveCollision(bodyA, bodyB, substepDelta);
             }
         }
@@ -121,10 +227,14 @@ public class DynamicCollisionConstraint implements Constraint {
         // Clear and rebuild spatial grid
         spatialGrid.clear();
 
-        // Insert only awake (non-sleeping) bodies into grid
+        // Speculative contacts need candidates that are not touching yet but can close within the step,
+        // so each body's bounds are expanded by the distance it can travel in one substep
+        boolean speculative = collisionMode == ContinuousCollisionMode.SPECULATIVE;
+
+        // Insert only awake (non-sleeping) bodies into grid; ballistic bodies have no contacts this frame
         for (DynamicBody body : dynamicBodies) {
-            if (!body.isSleeping()) {
-                spatialGrid.insert(body);
+            if (!body.isSleeping() && !body.isBallistic()) {
+                spatialGrid.insert(body, speculative ? speculativeMargin(body, substepDelta) : 0.0);
             }
         }
 
@@ -134,11 +244,16 @@ public class DynamicCollisionConstraint implements Constraint {
         // For each body, query nearby bodies and check collisions
         for (int i = 0; i < dynamicBodies.size(); i++) {
             DynamicBody bodyA = dynamicBodies.get(i);
-            List<DynamicBody> nearbyBodies = spatialGrid.queryNearby(bodyA);
+            if (bodyA.isBallistic()) {
+                continue;
+            }
+            List<DynamicBody> nearbyBodies = spatialGrid.queryNearby(bodyA,
+                    speculative ? speculativeMargin(bodyA, substepDelta) : 0.0);
+            long filterA = bodyA.getCollisionFilter();
 
             for (DynamicBody bodyB : nearbyBodies) {
-                // Skip self-collision
-                if (bodyA == bodyB) {
+                // Skip self-collision and filtered pairs before paying for the pair lookup
+                if (bodyA == bodyB || !CollisionFilter.shouldCollide(filterA, bodyB.getCollisionFilter())) {
                     continue;
                 }
 
@@ -160,10 +275,54 @@ public class DynamicCollisionConstraint implements Constraint {
         }
     }
 
+    /**
+     * Make the Verlet neighbor list valid for this substep, rebuilding it only when needed
+     */
+    private void updateNeighborList(double substepDelta) {
+        // Speculative contacts look ahead by each body's travel this substep, which uses up part of the skin
+        double reach = 0;
+        if (collisionMode == ContinuousCollisionMode.SPECULATIVE) {
+            for (DynamicBody body : dynamicBodies) {
+                if (!body.isSleeping()) {
+                    reach = Math.max(reach, speculativeMargin(body, substepDelta));
+                }
+            }
+        }
+        neighborList.update(dynamicBodies, reach);
+    }
+
+    /**
+     * Collision detection over the pairs stored in the Verlet neighbor list
+     */
+    private void applyAllWithNeighborList(double substepDelta) {
+        int[] neighbors = neighborList.getNeighbors();
+        for (int i = 0, count = neighborList.size(); i < count; i++) {
+            DynamicBody bodyA = neighborList.getBody(i);
+            if (bodyA.isBallistic()) {
+                continue;
+            }
+            long filterA = bodyA.getCollisionFilter();
+            for (int k = neighborList.getNeighborStart(i), end = neighborList.getNeighborEnd(i); k < end; k++) {
+                DynamicBody bodyB = neighborList.getBody(neighbors[k]);
+                // Ballistic bodies have no contacts this frame; sleeping pairs stay asleep (as in the grid path)
+                if (bodyB.isBallistic() || (bodyA.isSleeping() && bodyB.isSleeping())
+                        || !CollisionFilter.shouldCollide(filterA, bodyB.getCollisionFilter())) {
+                    continue;
+                }
+                checkAndResolveCollision(bodyA, bodyB, substepDelta);
+            }
+        }
+    }
+
     /**
      * Check and resolve collision between two bodies
      */
     private void checkAndResolveCollision(DynamicBody bodyA, DynamicBody bodyB, double substepDelta) {
+        if (collisionMode == ContinuousCollisionMode.SPECULATIVE) {
+            checkAndResolveSpeculative(bodyA, bodyB, substepDelta);
+            return;
+        }
+
         // Check for penetration
         CollisionResult result = CollisionDetector.checkCollision(
                 bodyA.getCollider(),
@@ -190,6 +349,10 @@ public class DynamicCollisionConstraint implements Constraint {
                 }
             }
 
+            if (useRestingContacts && resolveRestingContact(bodyA, bodyB, result, relVel, velAlongNormal)) {
+                return;
+            }
+
             // Only resolve if approaching (velAlongNormal < 0)
             if (velAlongNormal < 0) {
                 handleDynamicCollision(bodyA, bodyB, result, substepDelta, 0);
@@ -197,12 +360,158 @@ public class DynamicCollisionConstraint implements Constraint {
         }
     }
 
+    /**
+     * Track the pair's resting state and project it if it is resting
+     * Sleeping bodies act as immovable supports for the projection
+     * @return true if the contact was handled by projection
+     */
+    private boolean resolveRestingContact(DynamicBody bodyA, DynamicBody bodyB, CollisionResult contact,
+                                          Vector relVel, double velAlongNormal) {
+        long pairId = RestingContacts.pairId(bodyA, bodyB);
+        if (Math.abs(velAlongNormal) >= restingVelocityThreshold) {
+            // Real impact or separation: leave the resting state and let TOI handle it
+            restingContacts.release(pairId);
+            return false;
+        }
+
+        boolean resting = restingContacts.isResting(pairId);
+        restingContacts.recordQuiet(pairId);
+        if (!resting) {
+            return false;
+        }
+
+        // Shock propagation: in a stacked pair the lower body supports the upper one as if immovable,
+        // so gravity's approach is removed layer by layer instead of being shared down the stack
+        Vector normal = contact.normal();
+        double gravityAlongNormal = gravity.x() * normal.x() + gravity.y() * normal.y();
+        double gravityMagnitude = gravity.getMagnitude();
+        boolean aSupportsB = gravityAlongNormal < -SUPPORT_ALIGNMENT * gravityMagnitude;
+        boolean bSupportsA = gravityAlongNormal > SUPPORT_ALIGNMENT * gravityMagnitude;
+
+        double invMassA = bodyA.isSleeping() || aSupportsB ? 0.0 : 1 / bodyA.getMass();
+        double invMassB = bodyB.isSleeping() || bSupportsA ? 0.0 : 1 / bodyB.getMass();
+        double invMassSum = invMassA + invMassB;
+        if (invMassSum == 0) {
+            return true;
+        }
+
+        // Separate along the normal in proportion to inverse mass
+        double correction = contact.penetrationDepth() / invMassSum;
+        bodyA.setPosition(bodyA.getPosition().add(normal.multiply(-correction * invMassA)));
+        bodyB.setPosition(bodyB.getPosition().add(normal.multiply(correction * invMassB)));
+
+        // Cancel the approach, then apply Coulomb friction for that impulse
+        double impulseScalar = Math.max(0, -velAlongNormal) / invMassSum;
+        Vector velA = bodyA.getVelocity();
+        Vector velB = bodyB.getVelocity();
+        bodyA.setVelocity(new Vector(velA.x() - normal.x() * impulseScalar * invMassA,
+                velA.y() - normal.y() * impulseScalar * invMassA));
+        bodyB.setVelocity(new Vector(velB.x() + normal.x() * impulseScalar * invMassB,
+                velB.y() + normal.y() * impulseScalar * invMassB));
+        if (contacts != null) {
+            contacts.record(bodyA, bodyB, normal.x(), normal.y(), impulseScalar, contact.penetrationDepth());
+        }
+        if (!bodyA.isSleeping() && !bodyB.isSleeping()) {
+            applyDynamicFriction(bodyA, bodyB, normal, impulseScalar, relVel);
+        }
+        return true;
+    }
+
+    /**
+     * Check and resolve a pair using speculative contacts
+     * Penetrating pairs get a discrete correction; separated pairs that will close within the step
+     * have their relative normal velocity limited so they arrive at the surface (or bounce early),
+     * which prevents tunneling without rewinding either body
+     */
+    private void checkAndResolveSpeculative(DynamicBody bodyA, DynamicBody bodyB, double substepDelta) {
+        Vector velA = bodyA.getVelocity();
+        Vector velB = bodyB.getVelocity();
+        Vector relVel = new Vector(velB.x() - velA.x(), velB.y() - velA.y());
+        double relSpeed = Math.sqrt(relVel.x() * relVel.x() + relVel.y() * relVel.y());
+
+        // Both bodies share the same gravity, so relative motion over the step is linear
+        CollisionResult contact = CollisionDetector.checkSpeculative(
+                bodyA.getCollider(),
+                bodyB.getCollider(),
+                relSpeed * substepDelta
+        );
+
+        if (!contact.hasCollision()) {
+            return;
+        }
+
+        Vector normal = contact.normal();
+        double velAlongNormal = relVel.x() * normal.x() + relVel.y() * normal.y();
+        double gap = -contact.penetrationDepth();
+
+        // Only approaching pairs that will actually close within the step need a response
+        if (velAlongNormal >= 0 || gap + velAlongNormal * substepDelta > 0) {
+            return;
+        }
+
+        // Wake sleeping bodies only if collision has significant relative velocity
+        if (relSpeed > 0.5) {
+            if (bodyA.isSleeping()) {
+                bodyA.wake();
+            }
+            if (bodyB.isSleeping()) {
+                bodyB.wake();
+            }
+        }
+
+        // Sleeping bodies act as immovable supports so a resting pile is not pushed around while asleep
+        double invMassA = bodyA.isSleeping() ? 0.0 : 1 / bodyA.getMass();
+        double invMassB = bodyB.isSleeping() ? 0.0 : 1 / bodyB.getMass();
+        double invMassSum = invMassA + invMassB;
+        if (invMassSum == 0) {
+            return;
+        }
+
+        double restitution = MaterialRegistry.combinedRestitution(bodyA, bodyB);
+        double targetVelAlongNormal;
+        if (gap < 0) {
+            // Already penetrating - no speculative margin left, push apart in proportion to inverse mass
+            double correction = -gap / invMassSum;
+            bodyA.setPosition(bodyA.getPosition().add(normal.multiply(-correction * invMassA)));
+            bodyB.setPosition(bodyB.getPosition().add(normal.multiply(correction * invMassB)));
+            targetVelAlongNormal = -restitution * velAlongNormal;
+        } else {
+            // Bounce with restitution, but never let the pair close faster than the remaining gap allows
+            targetVelAlongNormal = Math.max(-restitution * velAlongNormal, -gap / substepDelta);
+        }
+
+        double impulseScalar = (targetVelAlongNormal - velAlongNormal) / invMassSum;
+        bodyA.setVelocity(new Vector(velA.x() - normal.x() * impulseScalar * invMassA,
+                velA.y() - normal.y() * impulseScalar * invMassA));
+        bodyB.setVelocity(new Vector(velB.x() + normal.x() * impulseScalar * invMassB,
+                velB.y() + normal.y() * impulseScalar * invMassB));
+        if (contacts != null) {
+            contacts.record(bodyA, bodyB, normal.x(), normal.y(), impulseScalar, contact.penetrationDepth());
+        }
+
+        if (restitution < 0.3 && !bodyA.isSleeping() && !bodyB.isSleeping()) {
+            applyDynamicFriction(bodyA, bodyB, normal, impulseScalar, relVel);
+        }
+    }
+
+    /**
+     * Distance a body can travel during one substep, used to expand its broad-phase bounds
+     */
+    private double speculativeMargin(DynamicBody body, double substepDelta) {
+        Vector velocity = body.getVelocity();
+        double speed = Math.sqrt(velocity.x() * velocity.x() + velocity.y() * velocity.y());
+        double accel = Math.sqrt(gravity.x() * gravity.x() + gravity.y() * gravity.y());
+        return speed * substepDelta + 0.5 * accel * substepDelta * substepDelta;
+    }
+
     /**
      * Handle collision between two dynamic bodies using TOI
      */
     private void handleDynamicCollision(DynamicBody bodyA, DynamicBody bodyB,
                                         CollisionResult discreteResult, double substepDelta, int recursionDepth) {
-        if (recursionDepth >= MAX_RECURSION_DEPTH) {
+        // TOI rewinds both bodies along their shared-gravity arcs, which a sleeping body is not following;
+        // its pair takes the discrete correction, where it stays put like in the other paths
+        if (recursionDepth >= MAX_RECURSION_DEPTH || bodyA.isSleeping() || bodyB.isSleeping()) {
             // Fallback to discrete correction
             fallbackDiscreteCorrection(bodyA, bodyB, discreteResult);
             return;
@@ -229,8 +538,11 @@ public class DynamicCollisionConstraint implements Constraint {
         bodyB.setVelocity(velB);
 
         // Apply two-body impulse
-        double restitution = Math.min(bodyA.getCoefficientOfRestitution(), bodyB.getCoefficientOfRestitution());
-        applyDynamicImpulse(bodyA, bodyB, toi.normal(), restitution);
+        double restitution = MaterialRegistry.combinedRestitution(bodyA, bodyB);
+        double impulse = applyDynamicImpulse(bodyA, bodyB, toi.normal(), restitution);
+        if (contacts != null) {
+            contacts.record(bodyA, bodyB, toi.normal().x(), toi.normal().y(), impulse, discreteResult.penetrationDepth());
+        }
 
         // Integrate both bodies forward
         double remainingTime = substepDelta * (1.0 - toi.t());
@@ -241,8 +553,9 @@ public class DynamicCollisionConstraint implements Constraint {
 
     /**
      * Apply two-body impulse for momentum exchange with friction
+     * @return normal impulse applied (0 if the bodies were separating)
      */
-    private void applyDynamicImpulse(DynamicBody bodyA, DynamicBody bodyB, Vector normal, double restitution) {
+    private double applyDynamicImpulse(DynamicBody bodyA, DynamicBody bodyB, Vector normal, double restitution) {
         Vector velA = bodyA.getVelocity();
         Vector velB = bodyB.getVelocity();
 
@@ -252,26 +565,30 @@ public class DynamicCollisionConstraint implements Constraint {
 
         // Don't resolve if velocities are separating
         if (velAlongNormal > 0) {
-            return;
+            return 0;
         }
 
-        // Calculate normal impulse scalar
-        double massA = bodyA.getMass();
-        double massB = bodyB.getMass();
+        // Calculate normal impulse scalar; sleeping bodies are immovable
+        double invMassA = bodyA.isSleeping() ? 0.0 : 1 / bodyA.getMass();
+        double invMassB = bodyB.isSleeping() ? 0.0 : 1 / bodyB.getMass();
+        double invMassSum = invMassA + invMassB;
+        if (invMassSum == 0) {
+            return 0;
+        }
         double impulseScalar = -(1 + restitution) * velAlongNormal;
-        impulseScalar /= (1 / massA + 1 / massB);
+        impulseScalar /= invMassSum;
 
         // Apply normal impulse
         Vector impulse = new Vector(normal.x() * impulseScalar, normal.y() * impulseScalar);
 
         // Impulse pushes A backward (opposite to normal) and B forward (along normal)
         Vector newVelA = new Vector(
-                velA.x() - impulse.x() / massA,
-                velA.y() - impulse.y() / massA
+                velA.x() - impulse.x() * invMassA,
+                velA.y() - impulse.y() * invMassA
         );
         Vector newVelB = new Vector(
-                velB.x() + impulse.x() / massB,
-                velB.y() + impulse.y() / massB
+                velB.x() + impulse.x() * invMassB,
+                velB.y() + impulse.y() * invMassB
         );
 
         bodyA.setVelocity(newVelA);
@@ -279,9 +596,10 @@ public class DynamicCollisionConstraint implements Constraint {
 
         // Apply friction only for low restitution (sliding) contacts
         // Skip friction for bouncy collisions
-        if (restitution < 0.3) {
+        if (restitution < 0.3 && !bodyA.isSleeping() && !bodyB.isSleeping()) {
             applyDynamicFriction(bodyA, bodyB, normal, impulseScalar, relVel);
         }
+        return impulseScalar;
     }
 
     /**
@@ -306,11 +624,8 @@ public class DynamicCollisionConstraint implements Constraint {
         // Normalize tangent
         tangent = new Vector(tangent.x() / tangentMagnitude, tangent.y() / tangentMagnitude);
 
-        // Combine friction coefficients using Pythagorean theorem
-        double dynamicFriction = Math.sqrt(
-                bodyA.getDynamicFriction() * bodyA.getDynamicFriction() +
-                bodyB.getDynamicFriction() * bodyB.getDynamicFriction()
-        );
+        // Combined friction coefficient (Pythagorean rule, precomputed per material pair)
+        double dynamicFriction = MaterialRegistry.combinedDynamicFriction(bodyA, bodyB);
 
         // Coulomb friction: clamp by normal force
         double maxFrictionImpulse = Math.abs(normalImpulseMagnitude) * dynamicFriction;
@@ -370,14 +685,21 @@ public class DynamicCollisionConstraint implements Constraint {
         Vector normal = collision.normal();
         double penetration = collision.penetrationDepth();
 
-        // Correct positions
-        Vector correction = new Vector(normal.x() * penetration * 0.5, normal.y() * penetration * 0.5);
-        bodyA.setPosition(bodyA.getPosition().add(correction.multiply(-1)));
-        bodyB.setPosition(bodyB.getPosition().add(correction));
+        // Correct positions, split evenly unless one body is asleep and so never moved
+        if (bodyA.isSleeping() && bodyB.isSleeping()) {
+            return;
+        }
+        double shareA = bodyA.isSleeping() ? 0.0 : bodyB.isSleeping() ? 1.0 : 0.5;
+        Vector correction = new Vector(normal.x() * penetration, normal.y() * penetration);
+        bodyA.setPosition(bodyA.getPosition().add(correction.multiply(-shareA)));
+        bodyB.setPosition(bodyB.getPosition().add(correction.multiply(1 - shareA)));
 
         // Apply impulse
-        double restitution = Math.min(bodyA.getCoefficientOfRestitution(), bodyB.getCoefficientOfRestitution());
-        applyDynamicImpulse(bodyA, bodyB, normal, restitution);
+        double restitution = MaterialRegistry.combinedRestitution(bodyA, bodyB);
+        double impulse = applyDynamicImpulse(bodyA, bodyB, normal, restitution);
+        if (contacts != null) {
+            contacts.record(bodyA, bodyB, normal.x(), normal.y(), impulse, penetration);
+        }
     }
 
     private Vector calculatePositionAtTime(Vector pos0, Vector vel0, Vector accel, double t) {
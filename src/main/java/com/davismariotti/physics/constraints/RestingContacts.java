@@ -0,0 +1,86 @@
+package com.davismariotti.physics.constraints;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-pair resting contact state shared by the collision constraints
+ * A pair enters the resting state after several consecutive substeps in contact with a normal approach
+ * speed below the resting threshold. Resting pairs skip the TOI rewind and are held by a cheap position
+ * and friction projection until a significant approach velocity or a lost contact releases them
+ */
+class RestingContacts {
+    private static final int ENTRY_SUBSTEPS = 3;  // Consecutive quiet substeps before a pair is resting
+
+    private static final class Entry {
+        int quietSubsteps;
+        int lastSeen;
+    }
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private int substep;
+
+    /**
+     * Advance to the next substep and drop pairs that were not in contact during the previous one
+     */
+    void beginSubstep() {
+        substep++;
+        if (!entries.isEmpty()) {
+            entries.values().removeIf(entry -> entry.lastSeen < substep - 1);
+        }
+    }
+
+    /**
+     * Whether the pair has been quiet long enough to be handled by projection
+     */
+    boolean isResting(long pairId) {
+        Entry entry = entries.get(pairId);
+        return entry != null && entry.quietSubsteps >= ENTRY_SUBSTEPS;
+    }
+
+    /**
+     * Record a substep of contact with a slow normal approach, also refreshing a resting pair
+     */
+    void recordQuiet(long pairId) {
+        Entry entry = entries.computeIfAbsent(pairId, id -> new Entry());
+        if (entry.lastSeen < substep) {
+            entry.quietSubsteps++;
+            entry.lastSeen = substep;
+        }
+    }
+
+    /**
+     * Take the pair out of the resting state after an impact or separation
+     */
+    void release(long pairId) {
+        entries.remove(pairId);
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Number of pairs currently in the resting state
+     */
+    int getRestingCount() {
+        int count = 0;
+        for (Entry entry : entries.values()) {
+            if (entry.quietSubsteps >= ENTRY_SUBSTEPS) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Order-independent identity key for a pair of bodies
+     */
+    static long pairId(Object a, Object b) {
+        int idA = System.identityHashCode(a);
+        int idB = System.identityHashCode(b);
+        return (idA < idB) ?
+                ((long) idA << 32) | (idB & 0xFFFFFFFFL) :
+                ((long) idB << 32) | (idA & 0xFFFFFFFFL);
+    }
+}
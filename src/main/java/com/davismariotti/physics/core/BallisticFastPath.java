@@ -0,0 +1,283 @@
+package com.davismariotti.physics.core;
+
+import com.davismariotti.physics.collision.AABBCollider;
+import com.davismariotti.physics.collision.HeightfieldCollider;
+import com.davismariotti.physics.collision.CircleCollider;
+import com.davismariotti.physics.collision.CollisionFilter;
+import com.davismariotti.physics.collision.TOISolver;
+import com.davismariotti.physics.forces.Force;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.DynamicBody;
+import com.davismariotti.physics.sprites.KinematicBody;
+import com.davismariotti.physics.sprites.StaticBody;
+
+import java.util.List;
+
+/**
+ * Finds bodies whose whole frame of free flight cannot touch anything, so they can be advanced
+ * once per frame in closed form instead of once per substep
+ *
+ * A body qualifies when its swept frame bounds stay inside the world and overlap no static body and
+ * no other body's swept bounds. Bodies that do have contact candidates can be deflected anywhere within
+ * their reach, so a second sweep tests the remaining bodies against those bodies' bounds expanded by the
+ * fastest contact body's travel
+ *
+ * Overlaps are found by sweep-and-prune along x; the sort order is kept between frames,
+ * so insertion sort on the nearly sorted order is close to linear
+ */
+public class BallisticFastPath {
+    private final List<DynamicBody> dynamicBodies;
+    private final List<StaticBody> staticBodies;
+    private final List<Force> globalForces;
+    private double worldMinX, worldMaxX, worldMinY, worldMaxY;
+
+    // Swept frame bounds per body (empty bounds for bodies that cannot be tested)
+    private double[] sweptMinX = new double[0], sweptMinY = new double[0], sweptMaxX = new double[0], sweptMaxY = new double[0];
+    private double[] accelerationMagnitude = new double[0];
+    // Awake bodies with a possible contact this frame
+    private boolean[] contactCandidate = new boolean[0];
+    // Awake bodies within reach of a contact candidate
+    private boolean[] withinReach = new boolean[0];
+    private int[] sweepOrder = new int[0];
+    private boolean marked;
+    private double frameDelta;
+    private int lastBallisticCount;
+
+    public BallisticFastPath(List<DynamicBody> dynamicBodies, List<StaticBody> staticBodies, List<Force> globalForces) {
+        this.dynamicBodies = dynamicBodies;
+        this.staticBodies = staticBodies;
+        this.globalForces = globalForces;
+        setWorldBounds(0, 100, 0, 80);
+    }
+
+    /**
+     * Set the world bounds; boundary constraints clamp body centers to these
+     */
+    public void setWorldBounds(double minX, double maxX, double minY, double maxY) {
+        this.worldMinX = minX;
+        this.worldMaxX = maxX;
+        this.worldMinY = minY;
+        this.worldMaxY = maxY;
+    }
+
+    /**
+     * Mark ballistic bodies for the coming frame
+     * Assumes forces are velocity-independent, so each trajectory is a parabola over the frame
+     *
+     * @param frameDelta frame duration
+     */
+    public void mark(double frameDelta) {
+        int bodyCount = dynamicBodies.size();
+        ensureCapacity(bodyCount);
+        marked = true;
+        this.frameDelta = frameDelta;
+
+        // Swept bounds of every body's closed-form trajectory; sleeping bodies occupy their circle
+        for (int i = 0; i < bodyCount; i++) {
+            DynamicBody body = dynamicBodies.get(i);
+            body.setBallistic(false);
+            withinReach[i] = false;
+            if (!(body.getCollider() instanceof CircleCollider circle)) {
+                // Cannot be tested: keep it on the substeps and out of the sweep
+                contactCandidate[i] = !body.isSleeping();
+                accelerationMagnitude[i] = 0;
+                sweptMinX[i] = Double.POSITIVE_INFINITY;
+                sweptMaxX[i] = Double.NEGATIVE_INFINITY;
+                continue;
+            }
+
+            Vector position = body.getPosition();
+            double radius = circle.radius();
+            if (body.isSleeping()) {
+                sweptMinX[i] = position.x() - radius;
+                sweptMaxX[i] = position.x() + radius;
+                sweptMinY[i] = position.y() - radius;
+                sweptMaxY[i] = position.y() + radius;
+                contactCandidate[i] = false;
+                continue;
+            }
+
+            Vector velocity = body.getVelocity();
+            Vector acceleration = frameAcceleration(body);
+            accelerationMagnitude[i] = acceleration.getMagnitude();
+            sweptMinX[i] = TOISolver.sweptMin(position.x(), velocity.x(), acceleration.x(), frameDelta) - radius;
+            sweptMaxX[i] = TOISolver.sweptMax(position.x(), velocity.x(), acceleration.x(), frameDelta) + radius;
+            sweptMinY[i] = TOISolver.sweptMin(position.y(), velocity.y(), acceleration.y(), frameDelta) - radius;
+            sweptMaxY[i] = TOISolver.sweptMax(position.y(), velocity.y(), acceleration.y(), frameDelta) + radius;
+            contactCandidate[i] = !isClearOfWorld(i, radius);
+        }
+
+        sortByMinX(bodyCount);
+
+        // Sweep 1: any overlap with another body's swept bounds is a possible contact
+        for (int a = 0; a < bodyCount; a++) {
+            int i = sweepOrder[a];
+            for (int b = a + 1; b < bodyCount; b++) {
+                int j = sweepOrder[b];
+                if (sweptMinX[j] > sweptMaxX[i]) {
+                    break;
+                }
+                // Filtered pairs can never touch, so they do not cost either body the fast path
+                if (overlapsY(i, j, 0) && CollisionFilter.shouldCollide(
+                        dynamicBodies.get(i).getCollisionFilter(), dynamicBodies.get(j).getCollisionFilter())) {
+                    if (!dynamicBodies.get(i).isSleeping()) {
+                        contactCandidate[i] = true;
+                    }
+                    if (!dynamicBodies.get(j).isSleeping()) {
+                        contactCandidate[j] = true;
+                    }
+                }
+            }
+        }
+
+        double maxContactSpeed = 0;
+        double maxContactAcceleration = 0;
+        for (int i = 0; i < bodyCount; i++) {
+            if (contactCandidate[i]) {
+                maxContactSpeed = Math.max(maxContactSpeed, dynamicBodies.get(i).getVelocity().getMagnitude());
+                maxContactAcceleration = Math.max(maxContactAcceleration, accelerationMagnitude[i]);
+            }
+        }
+        double reach = maxContactSpeed * frameDelta + 0.5 * maxContactAcceleration * frameDelta * frameDelta;
+
+        // Sweep 2: free bodies near a contact candidate's bounds (expanded by its reach) lose the fast path
+        for (int a = 0; a < bodyCount; a++) {
+            int i = sweepOrder[a];
+            for (int b = a + 1; b < bodyCount; b++) {
+                int j = sweepOrder[b];
+                if (sweptMinX[j] > sweptMaxX[i] + reach) {
+                    break;
+                }
+                if (contactCandidate[i] == contactCandidate[j] || !overlapsY(i, j, reach)) {
+                    continue;
+                }
+                int free = contactCandidate[i] ? j : i;
+                withinReach[free] = true;
+            }
+        }
+
+        int ballisticCount = 0;
+        for (int i = 0; i < bodyCount; i++) {
+            DynamicBody body = dynamicBodies.get(i);
+            if (!body.isSleeping() && !contactCandidate[i] && !withinReach[i]) {
+                body.setBallistic(true);
+                ballisticCount++;
+            }
+        }
+        lastBallisticCount = ballisticCount;
+    }
+
+    /**
+     * Return every body to the substeps (fast path disabled)
+     */
+    public void clear() {
+        if (marked) {
+            for (DynamicBody body : dynamicBodies) {
+                body.setBallistic(false);
+            }
+            marked = false;
+        }
+        lastBallisticCount = 0;
+    }
+
+    /**
+     * Number of bodies marked ballistic by the last call to mark()
+     */
+    public int getLastBallisticCount() {
+        return lastBallisticCount;
+    }
+
+    /**
+     * Constant acceleration of a body over the frame from the global and persistent forces
+     */
+    private Vector frameAcceleration(DynamicBody body) {
+        Vector force = body.getResultantForce();
+        for (Force globalForce : globalForces) {
+            force = force.add(globalForce.calculate(body));
+        }
+        return force.multiply(1.0 / body.getMass());
+    }
+
+    /**
+     * Check that body i's swept bounds stay inside the world and away from every static body
+     */
+    private boolean isClearOfWorld(int i, double radius) {
+        // Boundary constraints clamp the body's center, so compare the center's swept range
+        if (sweptMinX[i] + radius <= worldMinX || sweptMaxX[i] - radius >= worldMaxX
+                || sweptMinY[i] + radius <= worldMinY || sweptMaxY[i] - radius >= worldMaxY) {
+            return false;
+        }
+        long filter = dynamicBodies.get(i).getCollisionFilter();
+        for (StaticBody staticBody : staticBodies) {
+            if (!CollisionFilter.shouldCollide(filter, staticBody.getCollisionFilter())) {
+                continue;
+            }
+            if (staticBody.getCollider() instanceof HeightfieldCollider field) {
+                // Clear of terrain when the swept bounds stay above the samples under them
+                if (sweptMaxX[i] >= field.getMinX() && sweptMinX[i] <= field.getMaxX()
+                        && sweptMinY[i] <= field.getMaxHeight(sweptMinX[i], sweptMaxX[i])) {
+                    return false;
+                }
+                continue;
+            }
+            if (!(staticBody.getCollider() instanceof AABBCollider aabb)) {
+                return false;
+            }
+            Vector min = aabb.getMin();
+            Vector max = aabb.getMax();
+            // A kinematic box occupies everything it sweeps over the frame; its velocity describes the last
+            // step, so the reach comes from where its script takes it next
+            double travelX = 0;
+            double travelY = 0;
+            if (staticBody instanceof KinematicBody kinematic) {
+                Vector reach = kinematic.getStepReach(frameDelta);
+                travelX = reach.x();
+                travelY = reach.y();
+            }
+            if (sweptMaxX[i] >= min.x() - travelX && sweptMinX[i] <= max.x() + travelX
+                    && sweptMaxY[i] >= min.y() - travelY && sweptMinY[i] <= max.y() + travelY) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean overlapsY(int i, int j, double margin) {
+        return sweptMaxY[i] + margin >= sweptMinY[j] && sweptMinY[i] - margin <= sweptMaxY[j];
+    }
+
+    /**
+     * Insertion sort of the sweep order by swept min x; near-linear when bodies move little between frames
+     */
+    private void sortByMinX(int bodyCount) {
+        for (int a = 1; a < bodyCount; a++) {
+            int index = sweepOrder[a];
+            double key = sweptMinX[index];
+            int b = a - 1;
+            while (b >= 0 && sweptMinX[sweepOrder[b]] > key) {
+                sweepOrder[b + 1] = sweepOrder[b];
+                b--;
+            }
+            sweepOrder[b + 1] = index;
+        }
+    }
+
+    private void ensureCapacity(int bodyCount) {
+        if (sweepOrder.length != bodyCount) {
+            // Bodies were added or removed: restart from the identity order
+            sweepOrder = new int[bodyCount];
+            for (int i = 0; i < bodyCount; i++) {
+                sweepOrder[i] = i;
+            }
+        }
+        if (sweptMinX.length < bodyCount) {
+            sweptMinX = new double[bodyCount];
+            sweptMinY = new double[bodyCount];
+            sweptMaxX = new double[bodyCount];
+            sweptMaxY = new double[bodyCount];
+            accelerationMagnitude = new double[bodyCount];
+            contactCandidate = new boolean[bodyCount];
+            withinReach = new boolean[bodyCount];
+        }
+    }
+}
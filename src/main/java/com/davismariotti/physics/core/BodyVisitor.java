@@ -0,0 +1,14 @@
+package com.davismariotti.physics.core;
+
+import com.davismariotti.physics.sprites.DynamicBody;
+
+/**
+ * Called for each body a spatial query finds
+ */
+@FunctionalInterface
+public interface BodyVisitor {
+    /**
+     * @return true to keep going, false to end the query
+     */
+    boolean visit(DynamicBody body);
+}
@@ -0,0 +1,435 @@
+package com.davismariotti.physics.core;
+
+import com.davismariotti.physics.collision.AABBCollider;
+import com.davismariotti.physics.collision.CircleCollider;
+import com.davismariotti.physics.collision.Collider;
+import com.davismariotti.physics.collision.CollisionFilter;
+import com.davismariotti.physics.collision.SpatialGrid;
+import com.davismariotti.physics.collision.TOISolver;
+import com.davismariotti.physics.constraints.ContactBuffer;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.DynamicBody;
+import com.davismariotti.physics.sprites.MaterialRegistry;
+import com.davismariotti.physics.sprites.StaticBody;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Event-driven hard-sphere solver
+ * Predicts each body's next collision analytically and jumps from one collision to the next, instead of
+ * integrating every body every substep. Between events bodies follow closed-form constant-gravity
+ * trajectories, so the cost of a frame scales with the number of collisions rather than bodies × substeps
+ *
+ * Each body keeps its own local time and is only brought forward when an event touches it (lazy update).
+ * Every collision bumps the body's counter, which invalidates all events predicted with the old count
+ *
+ * Supports circles against circles, AABB static bodies and the world bounds (solid walls),
+ * under uniform gravity with no drag or friction
+ */
+public class EventDrivenSolver {
+    private static final int MAX_EVENTS_PER_BODY = 64;  // Per-frame budget guarding against inelastic collapse
+
+    private static final int KIND_BODY = 0;
+    private static final int KIND_STATIC = 1;
+    private static final int KIND_WALL = 2;
+
+    private static final int WALL_LEFT = 0;
+    private static final int WALL_RIGHT = 1;
+    private static final int WALL_BOTTOM = 2;
+    private static final int WALL_TOP = 3;
+
+    /**
+     * A predicted collision, valid only while both bodies still have the collision counts it was predicted with
+     *
+     * @param time frame-local time of the collision
+     * @param body index of the body the event was predicted for
+     * @param kind KIND_BODY, KIND_STATIC or KIND_WALL
+     * @param partner other body index, static body index or wall id
+     * @param bodyCount collision count of body at prediction time
+     * @param partnerCount collision count of the partner body at prediction time (body events only)
+     */
+    private record Event(double time, int body, int kind, int partner, int bodyCount, int partnerCount)
+            implements Comparable<Event> {
+        @Override
+        public int compareTo(Event other) {
+            return Double.compare(time, other.time);
+        }
+    }
+
+    private final List<DynamicBody> dynamicBodies;
+    private final List<StaticBody> staticBodies;
+    private final PhysicsConfig config;
+    private final PriorityQueue<Event> events;
+    private final Map<DynamicBody, Integer> indices;
+    private final List<DynamicBody> candidates = new ArrayList<>();
+    private SpatialGrid grid;
+    private ContactBuffer contacts;  // Null unless someone is listening
+    private double worldMinX, worldMaxX, worldMinY, worldMaxY;
+
+    // Per-body state at the body's local time
+    private double[] posX, posY, velX, velY, localTime, radius, inverseMass;
+    private int[] collisionCount;
+    // Swept bounds each body is currently registered with in the grid
+    private double[] sweptMinX, sweptMinY, sweptMaxX, sweptMaxY;
+    // Deduplicates candidates that span several grid cells
+    private int[] visitStamp;
+    private int currentStamp;
+
+    private double gravityX, gravityY;
+    private int lastEventCount;
+
+    public EventDrivenSolver(List<DynamicBody> dynamicBodies, List<StaticBody> staticBodies, PhysicsConfig config) {
+        this.dynamicBodies = dynamicBodies;
+        this.staticBodies = staticBodies;
+        this.config = config;
+        this.events = new PriorityQueue<>();
+        this.indices = new IdentityHashMap<>();
+        allocate(0);
+        setWorldBounds(0, 100, 0, 80);
+    }
+
+    /**
+     * Set the solid walls bounding the simulation and rebuild the broad-phase grid over them
+     */
+    public void setWorldBounds(double minX, double maxX, double minY, double maxY) {
+        this.worldMinX = minX;
+        this.worldMaxX = maxX;
+        this.worldMinY = minY;
+        this.worldMaxY = maxY;
+        this.grid = new SpatialGrid(minX, maxX, minY, maxY, config.getGridCellSize());
+    }
+
+    /**
+     * Advance all dynamic bodies by one frame, processing collisions in time order
+     *
+     * @param frameDelta frame duration
+     */
+    public void advance(double frameDelta) {
+        int bodyCount = dynamicBodies.size();
+        if (posX.length < bodyCount) {
+            allocate(bodyCount);
+        }
+
+        Vector gravity = config.getGravity();
+        gravityX = gravity.x();
+        gravityY = gravity.y();
+
+        events.clear();
+        indices.clear();
+        grid.clear();
+
+        // Load state; sleeping has no meaning here since idle bodies cost nothing between events
+        for (int i = 0; i < bodyCount; i++) {
+            DynamicBody body = dynamicBodies.get(i);
+            if (body.isSleeping()) {
+                body.wake();
+            }
+            body.storePreviousState();
+
+            Vector position = body.getPosition();
+            Vector velocity = body.getVelocity();
+            posX[i] = position.x();
+            posY[i] = position.y();
+            velX[i] = velocity.x();
+            velY[i] = velocity.y();
+            localTime[i] = 0;
+            radius[i] = ((CircleCollider) body.getCollider()).radius();
+            inverseMass[i] = 1.0 / body.getMass();
+            collisionCount[i] = 0;
+            visitStamp[i] = 0;
+            indices.put(body, i);
+        }
+        currentStamp = 0;
+
+        for (int i = 0; i < bodyCount; i++) {
+            insertSwept(i, frameDelta);
+        }
+        // Each pair only needs predicting once up front
+        for (int i = 0; i < bodyCount; i++) {
+            predict(i, frameDelta, true);
+        }
+
+        int processed = 0;
+        int budget = MAX_EVENTS_PER_BODY * Math.max(1, bodyCount);
+        while (!events.isEmpty() && processed < budget) {
+            Event event = events.poll();
+            if (event.time() > frameDelta) {
+                break;
+            }
+            if (!isValid(event)) {
+                continue;
+            }
+            processed++;
+
+            int a = event.body();
+            advanceBody(a, event.time());
+            switch (event.kind()) {
+                case KIND_BODY -> {
+                    int b = event.partner();
+                    advanceBody(b, event.time());
+                    resolveBodyCollision(a, b);
+                    collisionCount[a]++;
+                    collisionCount[b]++;
+                    reinsertSwept(a, frameDelta);
+                    reinsertSwept(b, frameDelta);
+                    predict(a, frameDelta, false);
+                    predict(b, frameDelta, false);
+                }
+                case KIND_STATIC -> {
+                    resolveStaticCollision(a, staticBodies.get(event.partner()));
+                    collisionCount[a]++;
+                    reinsertSwept(a, frameDelta);
+                    predict(a, frameDelta, false);
+                }
+                default -> {
+                    resolveWallCollision(a, event.partner());
+                    collisionCount[a]++;
+                    reinsertSwept(a, frameDelta);
+                    predict(a, frameDelta, false);
+                }
+            }
+        }
+        lastEventCount = processed;
+
+        // Bring every body to the end of the frame and write back
+        for (int i = 0; i < bodyCount; i++) {
+            advanceBody(i, frameDelta);
+            DynamicBody body = dynamicBodies.get(i);
+            body.setPosition(new Vector(posX[i], posY[i]));
+            body.setVelocity(new Vector(velX[i], velY[i]));
+        }
+    }
+
+    /**
+     * Record every body and static collision into the buffer, or stop recording with null
+     * Contacts touch at the event, so their penetration is 0; world walls are not bodies and are not recorded
+     */
+    public void setContactBuffer(ContactBuffer contacts) {
+        this.contacts = contacts;
+    }
+
+    /**
+     * Number of collision events processed during the last frame
+     */
+    public int getLastEventCount() {
+        return lastEventCount;
+    }
+
+    private boolean isValid(Event event) {
+        if (collisionCount[event.body()] != event.bodyCount()) {
+            return false;
+        }
+        return event.kind() != KIND_BODY || collisionCount[event.partner()] == event.partnerCount();
+    }
+
+    /**
+     * Predict the earliest collisions of body i from its local time until the end of the frame
+     *
+     * @param higherOnly only pair body i with bodies of a higher index (initial prediction)
+     */
+    private void predict(int i, double frameDelta, boolean higherOnly) {
+        double now = localTime[i];
+        double horizon = frameDelta - now;
+        if (horizon <= 0) {
+            return;
+        }
+
+        // Other bodies: only those whose swept bounds overlap ours can be reached this frame
+        // Pairs the collision filters exclude never get an event
+        long filter = dynamicBodies.get(i).getCollisionFilter();
+        currentStamp++;
+        grid.queryRegion(sweptMinX[i], sweptMinY[i], sweptMaxX[i], sweptMaxY[i], candidates);
+        for (DynamicBody other : candidates) {
+            int j = indices.get(other);
+            if (j == i || (higherOnly && j < i) || visitStamp[j] == currentStamp) {
+                continue;
+            }
+            visitStamp[j] = currentStamp;
+            if (!CollisionFilter.shouldCollide(filter, other.getCollisionFilter())) {
+                continue;
+            }
+
+            // Evaluate the other body at our local time without committing it
+            double dt = now - localTime[j];
+            double otherX = posX[j] + velX[j] * dt + 0.5 * gravityX * dt * dt;
+            double otherY = posY[j] + velY[j] * dt + 0.5 * gravityY * dt * dt;
+            double otherVelX = velX[j] + gravityX * dt;
+            double otherVelY = velY[j] + gravityY * dt;
+
+            // Shared gravity cancels in the relative frame
+            double t = TOISolver.circleCircleTime(otherX - posX[i], otherY - posY[i],
+                    otherVelX - velX[i], otherVelY - velY[i], radius[i] + radius[j]);
+            if (t >= 0 && t <= horizon) {
+                events.add(new Event(now + t, i, KIND_BODY, j, collisionCount[i], collisionCount[j]));
+            }
+        }
+
+        for (int k = 0; k < staticBodies.size(); k++) {
+            StaticBody staticBody = staticBodies.get(k);
+            if (!CollisionFilter.shouldCollide(filter, staticBody.getCollisionFilter())) {
+                continue;
+            }
+            Collider collider = staticBody.getCollider();
+            if (!(collider instanceof AABBCollider aabb)) {
+                continue;
+            }
+            Vector min = aabb.getMin();
+            Vector max = aabb.getMax();
+            double t = TOISolver.circleAABBTime(posX[i], posY[i], velX[i], velY[i], gravityX, gravityY,
+                    radius[i], min.x(), min.y(), max.x(), max.y(), horizon);
+            if (t >= 0) {
+                events.add(new Event(now + t, i, KIND_STATIC, k, collisionCount[i], 0));
+            }
+        }
+
+        predictWall(i, WALL_LEFT, TOISolver.axisEntryTime(posX[i], velX[i], gravityX, worldMinX + radius[i], -1, horizon));
+        predictWall(i, WALL_RIGHT, TOISolver.axisEntryTime(posX[i], velX[i], gravityX, worldMaxX - radius[i], 1, horizon));
+        predictWall(i, WALL_BOTTOM, TOISolver.axisEntryTime(posY[i], velY[i], gravityY, worldMinY + radius[i], -1, horizon));
+        predictWall(i, WALL_TOP, TOISolver.axisEntryTime(posY[i], velY[i], gravityY, worldMaxY - radius[i], 1, horizon));
+    }
+
+    private void predictWall(int i, int wall, double t) {
+        if (t >= 0) {
+            events.add(new Event(localTime[i] + t, i, KIND_WALL, wall, collisionCount[i], 0));
+        }
+    }
+
+    /**
+     * Bring body i forward along its free-flight trajectory to time t
+     */
+    private void advanceBody(int i, double t) {
+        double dt = t - localTime[i];
+        if (dt <= 0) {
+            return;
+        }
+        posX[i] += velX[i] * dt + 0.5 * gravityX * dt * dt;
+        posY[i] += velY[i] * dt + 0.5 * gravityY * dt * dt;
+        velX[i] += gravityX * dt;
+        velY[i] += gravityY * dt;
+        localTime[i] = t;
+    }
+
+    /**
+     * Elastic-with-restitution impulse between two touching circles
+     * Impacts slower than the resting threshold are treated as elastic, which prevents inelastic collapse
+     * (an unbounded number of ever-closer collisions) without changing fast impacts
+     */
+    private void resolveBodyCollision(int a, int b) {
+        double dx = posX[b] - posX[a];
+        double dy = posY[b] - posY[a];
+        double distance = Math.sqrt(dx * dx + dy * dy);
+        if (distance < 1e-12) {
+            return;
+        }
+        double normalX = dx / distance;
+        double normalY = dy / distance;
+
+        double velAlongNormal = (velX[b] - velX[a]) * normalX + (velY[b] - velY[a]) * normalY;
+        if (velAlongNormal >= 0) {
+            return;
+        }
+
+        double restitution = MaterialRegistry.combinedRestitution(dynamicBodies.get(a), dynamicBodies.get(b));
+        if (-velAlongNormal < config.getRestingVelocityThreshold()) {
+            restitution = 1.0;
+        }
+
+        double impulse = -(1 + restitution) * velAlongNormal / (inverseMass[a] + inverseMass[b]);
+        velX[a] -= normalX * impulse * inverseMass[a];
+        velY[a] -= normalY * impulse * inverseMass[a];
+        velX[b] += normalX * impulse * inverseMass[b];
+        velY[b] += normalY * impulse * inverseMass[b];
+        if (contacts != null) {
+            contacts.record(dynamicBodies.get(a), dynamicBodies.get(b), normalX, normalY,
+                    posX[a] + normalX * radius[a], posY[a] + normalY * radius[a], impulse, 0);
+        }
+    }
+
+    /**
+     * Reflect body i off a static AABB it is touching
+     * The outgoing normal speed never drops below the resting threshold, so a body at rest on a surface
+     * makes imperceptible hops instead of an endless chain of zero-time events
+     */
+    private void resolveStaticCollision(int i, StaticBody staticBody) {
+        AABBCollider aabb = (AABBCollider) staticBody.getCollider();
+        Vector min = aabb.getMin();
+        Vector max = aabb.getMax();
+        double closestX = Math.max(min.x(), Math.min(posX[i], max.x()));
+        double closestY = Math.max(min.y(), Math.min(posY[i], max.y()));
+        double dx = posX[i] - closestX;
+        double dy = posY[i] - closestY;
+        double distance = Math.sqrt(dx * dx + dy * dy);
+        double normalX = distance > 1e-12 ? dx / distance : 0;
+        double normalY = distance > 1e-12 ? dy / distance : 1;
+
+        double restitution = MaterialRegistry.combinedRestitution(dynamicBodies.get(i), staticBody);
+        double change = reflect(i, normalX, normalY, restitution);
+        if (contacts != null) {
+            // The normal points out of the box; contacts point from the ball into it
+            contacts.record(dynamicBodies.get(i), staticBody, -normalX, -normalY,
+                    posX[i] - normalX * radius[i], posY[i] - normalY * radius[i], change / inverseMass[i], 0);
+        }
+    }
+
+    /**
+     * Reflect body i off a world wall, matching BoundaryConstraint's lossless bounce
+     */
+    private void resolveWallCollision(int i, int wall) {
+        switch (wall) {
+            case WALL_LEFT -> reflect(i, 1, 0, 1.0);
+            case WALL_RIGHT -> reflect(i, -1, 0, 1.0);
+            case WALL_BOTTOM -> reflect(i, 0, 1, 1.0);
+            default -> reflect(i, 0, -1, 1.0);
+        }
+    }
+
+    /**
+     * @return the change in normal speed
+     */
+    private double reflect(int i, double normalX, double normalY, double restitution) {
+        double velAlongNormal = velX[i] * normalX + velY[i] * normalY;
+        double targetVelAlongNormal = Math.max(-restitution * velAlongNormal, config.getRestingVelocityThreshold());
+        double change = targetVelAlongNormal - velAlongNormal;
+        velX[i] += normalX * change;
+        velY[i] += normalY * change;
+        return change;
+    }
+
+    /**
+     * Register body i in the grid with the bounds of its trajectory from its local time to the end of the frame
+     */
+    private void insertSwept(int i, double frameDelta) {
+        double horizon = Math.max(0, frameDelta - localTime[i]);
+        double r = radius[i];
+        sweptMinX[i] = TOISolver.sweptMin(posX[i], velX[i], gravityX, horizon) - r;
+        sweptMaxX[i] = TOISolver.sweptMax(posX[i], velX[i], gravityX, horizon) + r;
+        sweptMinY[i] = TOISolver.sweptMin(posY[i], velY[i], gravityY, horizon) - r;
+        sweptMaxY[i] = TOISolver.sweptMax(posY[i], velY[i], gravityY, horizon) + r;
+        grid.insert(dynamicBodies.get(i), sweptMinX[i], sweptMinY[i], sweptMaxX[i], sweptMaxY[i]);
+    }
+
+    private void reinsertSwept(int i, double frameDelta) {
+        grid.remove(dynamicBodies.get(i), sweptMinX[i], sweptMinY[i], sweptMaxX[i], sweptMaxY[i]);
+        insertSwept(i, frameDelta);
+    }
+
+    private void allocate(int capacity) {
+        posX = new double[capacity];
+        posY = new double[capacity];
+        velX = new double[capacity];
+        velY = new double[capacity];
+        localTime = new double[capacity];
+        radius = new double[capacity];
+        inverseMass = new double[capacity];
+        collisionCount = new int[capacity];
+        sweptMinX = new double[capacity];
+        sweptMinY = new double[capacity];
+        sweptMaxX = new double[capacity];
+        sweptMaxY = new double[capacity];
+        visitStamp = new int[capacity];
+    }
+}
@@ -0,0 +1,232 @@
+package com.davismariotti.physics.core;
+
+import com.davismariotti.physics.collision.AABBCollider;
+import com.davismariotti.physics.forces.ForceField;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.DynamicBody;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Evaluates force fields in batch over the body store once per substep
+ *
+ * Global fields get the whole body list. Local fields (radial fields, explosions, wind zones) get only
+ * the bodies a broadphase finds inside their support box, so their cost scales with the bodies they
+ * affect. The broadphase is a uniform grid of body centers kept as intrusive linked lists. It is built on
+ * the first local query after the body list changes and then kept current by the simulator, which calls
+ * track() for each body as it integrates it, so no frame rescans the body list. Sleeping bodies are not
+ * integrated and keep their cell. Queries are expanded by the fastest tracked body's travel over a step,
+ * which covers the collision corrections made after a body was binned
+ */
+public class ForceFieldSystem {
+    private static final double CELL_SCALE = 4.0;  // Field supports are large, so use coarser cells than collisions
+
+    private final List<DynamicBody> dynamicBodies;
+    private final PhysicsConfig config;
+    private final List<ForceField> fields = new ArrayList<>();
+    private final List<DynamicBody> candidates = new ArrayList<>();
+    private double worldMinX, worldMinY, cellSize;
+    private int gridWidth, gridHeight;
+
+    // Grid of body centers: head per cell, doubly linked body lists, cell of each indexed body
+    private int[] cellHead = new int[0];
+    private int[] next = new int[0];
+    private int[] previous = new int[0];
+    private int[] bodyCell = new int[0];
+    private DynamicBody[] indexed = new DynamicBody[0];
+    private int indexedCount = -1;      // -1 until built, and again after the body list changes
+
+    private double trackedSpeedSquared;  // Largest squared speed tracked since the last apply
+    private double travelMargin;
+    private int lastCandidateCount;
+
+    public ForceFieldSystem(List<DynamicBody> dynamicBodies, PhysicsConfig config) {
+        this.dynamicBodies = dynamicBodies;
+        this.config = config;
+        setWorldBounds(0, 100, 0, 80);
+    }
+
+    public void setWorldBounds(double minX, double maxX, double minY, double maxY) {
+        this.worldMinX = minX;
+        this.worldMinY = minY;
+        this.cellSize = config.getGridCellSize() * CELL_SCALE;
+        this.gridWidth = Math.max(1, (int) Math.ceil((maxX - minX) / cellSize));
+        this.gridHeight = Math.max(1, (int) Math.ceil((maxY - minY) / cellSize));
+        this.cellHead = new int[gridWidth * gridHeight];
+        invalidate();
+    }
+
+    /**
+     * Drop the index after the body list changed or bodies moved without being tracked;
+     * the next local query rebuilds it
+     */
+    public void invalidate() {
+        this.indexedCount = -1;
+    }
+
+    public void addField(ForceField field) {
+        fields.add(field);
+    }
+
+    public void removeField(ForceField field) {
+        fields.remove(field);
+    }
+
+    public List<ForceField> getFields() {
+        return fields;
+    }
+
+    public boolean isEmpty() {
+        return fields.isEmpty();
+    }
+
+    /**
+     * Start a frame and let the fields drop their per-frame state
+     */
+    public void beginFrame() {
+        this.lastCandidateCount = 0;
+        for (ForceField field : fields) {
+            field.beginFrame();
+        }
+    }
+
+    /**
+     * Re-bin body i after it moved, if the index is built
+     * The simulator calls this for each body it integrates, so the index follows the bodies at no extra pass
+     */
+    public void track(int i, DynamicBody body) {
+        if (i >= indexedCount) {
+            return;
+        }
+        Vector position = body.getPosition();
+        int cell = cellY(position.y()) * gridWidth + cellX(position.x());
+        if (cell != bodyCell[i]) {
+            unlink(i);
+            link(i, cell);
+        }
+        Vector velocity = body.getVelocity();
+        trackedSpeedSquared = Math.max(trackedSpeedSquared, velocity.x() * velocity.x() + velocity.y() * velocity.y());
+    }
+
+    /**
+     * Re-bin every body after a solver moved them all outside the integrator
+     */
+    public void trackAll() {
+        for (int i = 0; i < indexedCount; i++) {
+            track(i, indexed[i]);
+        }
+    }
+
+    /**
+     * Apply every field for one substep and drop expired fields
+     */
+    public void apply(double delta) {
+        // Bodies can have moved this far from where they were last binned
+        double gravity = config.getGravity().getMagnitude();
+        travelMargin = Math.sqrt(trackedSpeedSquared) * delta + 0.5 * gravity * delta * delta;
+        trackedSpeedSquared = 0;
+
+        for (int f = 0; f < fields.size(); f++) {
+            ForceField field = fields.get(f);
+            AABBCollider support = field.getSupport();
+            if (support == null) {
+                field.apply(dynamicBodies, delta);
+                continue;
+            }
+
+            if (indexedCount != dynamicBodies.size()) {
+                rebuildGrid(dynamicBodies.size());
+            }
+            queryRegion(support);
+            lastCandidateCount += candidates.size();
+            field.apply(candidates, delta);
+        }
+        fields.removeIf(ForceField::isExpired);
+    }
+
+    /**
+     * Number of bodies handed to local fields during the current frame
+     */
+    public int getLastCandidateCount() {
+        return lastCandidateCount;
+    }
+
+    /**
+     * Collect the bodies binned in cells overlapping a support box expanded by the travel margin
+     * Each body lives in exactly one cell, so no deduplication is needed
+     */
+    private void queryRegion(AABBCollider support) {
+        candidates.clear();
+        Vector center = support.center();
+        double halfWidth = support.width() / 2 + travelMargin;
+        double halfHeight = support.height() / 2 + travelMargin;
+        int minCellX = cellX(center.x() - halfWidth);
+        int maxCellX = cellX(center.x() + halfWidth);
+        int minCellY = cellY(center.y() - halfHeight);
+        int maxCellY = cellY(center.y() + halfHeight);
+        for (int gy = minCellY; gy <= maxCellY; gy++) {
+            for (int gx = minCellX; gx <= maxCellX; gx++) {
+                for (int i = cellHead[gy * gridWidth + gx] - 1; i >= 0; i = next[i]) {
+                    candidates.add(indexed[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Bin every body from scratch at its current position, so no travel margin is needed until bodies move
+     */
+    private void rebuildGrid(int bodyCount) {
+        if (indexed.length < bodyCount) {
+            int capacity = Math.max(bodyCount, indexed.length * 2);
+            indexed = new DynamicBody[capacity];
+            next = new int[capacity];
+            previous = new int[capacity];
+            bodyCell = new int[capacity];
+        }
+        Arrays.fill(cellHead, 0);
+        Arrays.fill(indexed, bodyCount, indexed.length, null);
+        for (int i = 0; i < bodyCount; i++) {
+            DynamicBody body = dynamicBodies.get(i);
+            indexed[i] = body;
+            Vector position = body.getPosition();
+            link(i, cellY(position.y()) * gridWidth + cellX(position.x()));
+        }
+        indexedCount = bodyCount;
+        travelMargin = 0;
+    }
+
+    // Cell heads store body index + 1 so a zeroed array means every cell is empty
+    private void link(int i, int cell) {
+        int first = cellHead[cell] - 1;
+        next[i] = first;
+        previous[i] = -1;
+        if (first >= 0) {
+            previous[first] = i;
+        }
+        cellHead[cell] = i + 1;
+        bodyCell[i] = cell;
+    }
+
+    private void unlink(int i) {
+        if (previous[i] >= 0) {
+            next[previous[i]] = next[i];
+        } else {
+            cellHead[bodyCell[i]] = next[i] + 1;
+        }
+        if (next[i] >= 0) {
+            previous[next[i]] = previous[i];
+        }
+    }
+
+    // Bodies outside the world are binned in the edge cells so queries never miss them
+    private int cellX(double x) {
+        return Math.max(0, Math.min(gridWidth - 1, (int) Math.floor((x - worldMinX) / cellSize)));
+    }
+
+    private int cellY(double y) {
+        return Math.max(0, Math.min(gridHeight - 1, (int) Math.floor((y - worldMinY) / cellSize)));
+    }
+}
@@ -1,5 +1,8 @@
 package com.davismariotti.physics.core;
 
+import com.davismariotti.physics.constraints.ContinuousCollisionMode;
+import com.davismariotti.physics.integration.ConstantAccelerationIntegrator;
+import com.davismariotti.physics.integration.Integrator;
 import com.davismariotti.physics.kinematics.Vector;
 import com.davismariotti.physics.sprites.MaterialProperties;
 
@@ -16,6 +19,19 @@ public class PhysicsConfig {
     private double sleepVelocityThreshold;    // Velocity below which bodies can sleep
     private int sleepFramesRequired;          // Consecutive low-velocity frames required to sleep
     private int velocityIterations;           // Number of velocity solver iterations for stability
+    private ContinuousCollisionMode collisionMode;  // TOI rewinds or speculative contacts
+    private SimulationMode simulationMode;    // Fixed substeps or event-driven hard spheres
+    private boolean useBallisticFastPath;     // Advance contact-free bodies once per frame in closed form
+    private boolean useAdaptiveSubsteps;      // Pick substep count per frame from the fastest body
+    private int minSubsteps;                  // Lower limit for adaptive substeps
+    private int maxSubsteps;                  // Upper limit for adaptive substeps
+    private double substepCflNumber;          // Max fraction of the length scale a body may travel per substep
+    private Integrator integrator;            // Position/velocity update scheme for each substep
+    private boolean useRestingContacts;       // Project settled contacts instead of re-running TOI
+    private boolean useNeighborList;          // Ball-ball pairs from a Verlet neighbor list instead of the grid
+    private double neighborListSkin;          // Margin beyond contact kept in the neighbor list
+    private int contactBufferCapacity;        // Contacts kept per frame for contact listeners
+    private double contactImpulseThreshold;   // Contacts with a smaller impulse are not reported
 
     public PhysicsConfig() {
         this.gravity = new Vector(0, -9.8);
@@ -30,6 +46,19 @@ public class PhysicsConfig {
         this.sleepVelocityThreshold = 0.5;    // Sleep when speed < 0.5 (relaxed for jitter tolerance)
         this.sleepFramesRequired = 30;        // Require 30 frames (~0.5 second) of rest
         this.velocityIterations = 1;          // Disabled for now (set to 1)
+        this.collisionMode = ContinuousCollisionMode.TIME_OF_IMPACT;
+        this.simulationMode = SimulationMode.SUBSTEP;
+        this.useBallisticFastPath = false;
+        this.useAdaptiveSubsteps = false;
+        this.minSubsteps = 1;
+        this.maxSubsteps = 12;
+        this.substepCflNumber = 1.0;          // Travel at most one length scale per substep
+        this.integrator = new ConstantAccelerationIntegrator();
+        this.useRestingContacts = false;
+        this.useNeighborList = false;
+        this.neighborListSkin = 0.1;          // Rebuilt after any body moves 0.05
+        this.contactBufferCapacity = 4096;
+        this.contactImpulseThreshold = 0.0;   // Report every contact, resting ones included
     }
 
     public Vector getGravity() {
@@ -154,4 +183,111 @@ public class PhysicsConfig {
     public void setVelocityIterations(int velocityIterations) {
         this.velocityIterations = velocityIterations;
     }
+
+    public ContinuousCollisionMode getCollisionMode() {
+        return collisionMode;
+    }
+
+    public void setCollisionMode(ContinuousCollisionMode collisionMode) {
+        this.collisionMode = collisionMode;
+    }
+
+    public SimulationMode getSimulationMode() {
+        return simulationMode;
+    }
+
+    public void setSimulationMode(SimulationMode simulationMode) {
+        this.simulationMode = simulationMode;
+    }
+
+    public boolean isUseBallisticFastPath() {
+        return useBallisticFastPath;
+    }
+
+    public void setUseBallisticFastPath(boolean useBallisticFastPath) {
+        this.useBallisticFastPath = useBallisticFastPath;
+    }
+
+    public boolean isUseAdaptiveSubsteps() {
+        return useAdaptiveSubsteps;
+    }
+
+    public void setUseAdaptiveSubsteps(boolean useAdaptiveSubsteps) {
+        this.useAdaptiveSubsteps = useAdaptiveSubsteps;
+    }
+
+    public int getMinSubsteps() {
+        return minSubsteps;
+    }
+
+    public void setMinSubsteps(int minSubsteps) {
+        this.minSubsteps = minSubsteps;
+    }
+
+    public int getMaxSubsteps() {
+        return maxSubsteps;
+    }
+
+    public void setMaxSubsteps(int maxSubsteps) {
+        this.maxSubsteps = maxSubsteps;
+    }
+
+    public double getSubstepCflNumber() {
+        return substepCflNumber;
+    }
+
+    public void setSubstepCflNumber(double substepCflNumber) {
+        this.substepCflNumber = substepCflNumber;
+    }
+
+    public Integrator getIntegrator() {
+        return integrator;
+    }
+
+    public void setIntegrator(Integrator integrator) {
+        this.integrator = integrator;
+    }
+
+    public boolean isUseRestingContacts() {
+        return useRestingContacts;
+    }
+
+    public void setUseRestingContacts(boolean useRestingContacts) {
+        this.useRestingContacts = useRestingContacts;
+    }
+
+    public boolean isUseNeighborList() {
+        return useNeighborList;
+    }
+
+    public void setUseNeighborList(boolean useNeighborList) {
+        this.useNeighborList = useNeighborList;
+    }
+
+    public double getNeighborListSkin() {
+        return neighborListSkin;
+    }
+
+    public void setNeighborListSkin(double neighborListSkin) {
+        this.neighborListSkin = neighborListSkin;
+    }
+
+    public int getContactBufferCapacity() {
+        return contactBufferCapacity;
+    }
+
+    /**
+     * Takes effect when the first contact listener is added
+     */
+    public void setContactBufferCapacity(int contactBufferCapacity) {
+        this.contactBufferCapacity = contactBufferCapacity;
+    }
+
+    public double getContactImpulseThreshold() {
+        return contactImpulseThreshold;
+    }
+
+    public void setContactImpulseThreshold(double contactImpulseThreshold) {
+        this.contactImpulseThreshold = contactImpulseThreshold;
+    }
 }
@@ -1,11 +1,25 @@
 package com.davismariotti.physics.core;
 
+import com.davismariotti.physics.collision.AABBCollider;
+import com.davismariotti.physics.collision.CircleCollider;
+import com.davismariotti.physics.collision.VerletNeighborList;
+import com.davismariotti.physics.components.Ray;
 import com.davismariotti.physics.constraints.Constraint;
+import com.davismariotti.physics.constraints.ContactBuffer;
+import com.davismariotti.physics.constraints.ContactListener;
+import com.davismariotti.physics.constraints.ContinuousCollisionConstraint;
+import com.davismariotti.physics.constraints.ContinuousCollisionMode;
 import com.davismariotti.physics.constraints.DynamicCollisionConstraint;
 import com.davismariotti.physics.forces.DragForce;
 import com.davismariotti.physics.forces.Force;
+import com.davismariotti.physics.forces.ForceField;
 import com.davismariotti.physics.forces.GravityForce;
+import com.davismariotti.physics.integration.AccelerationFunction;
+import com.davismariotti.physics.kinematics.Vector;
 import com.davismariotti.physics.sprites.DynamicBody;
+import com.davismariotti.physics.sprites.KinematicBody;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import com.davismariotti.physics.sprites.MaterialRegistry;
 import com.davismariotti.physics.sprites.RigidBody;
 import com.davismariotti.physics.sprites.StaticBody;
 
@@ -18,18 +32,40 @@ import java.util.List;
 public class PhysicsSimulator {
     private final List<DynamicBody> dynamicBodies;
     private final List<StaticBody> staticBodies;
+    private final List<KinematicBody> kinematicBodies;  // Also in staticBodies; advanced by script each step
     private final List<Constraint> constraints;
     private final List<Force> globalForces;
     private final PhysicsConfig config;
     private final DynamicCollisionConstraint dynamicCollisionConstraint;
+    private final EventDrivenSolver eventDrivenSolver;
+    private final BallisticFastPath ballisticFastPath;
+    private final AccelerationFunction acceleration = this::calculateAcceleration;
+    private final XPBDSolver xpbdSolver;
+    private final MaterialRegistry materialRegistry;
+    private final ForceFieldSystem forceFieldSystem;
+    private final List<PhysicsSystem> systems;
+    private final List<ContactListener> contactListeners;
+    private final SpatialQuery spatialQuery;
+    private final BodyVisitor wakeSleeping = body -> {
+        if (body.isSleeping()) {
+            body.wake();
+        }
+        return true;
+    };
+    private ContactBuffer contactBuffer;  // Allocated with the first contact listener
+    private int lastSubstepCount;
     private double worldMinX, worldMaxX, worldMinY, worldMaxY;
 
     public PhysicsSimulator(PhysicsConfig config) {
         this.dynamicBodies = new ArrayList<>();
         this.staticBodies = new ArrayList<>();
+        this.kinematicBodies = new ArrayList<>();
         this.constraints = new ArrayList<>();
         this.globalForces = new ArrayList<>();
+        this.systems = new ArrayList<>();
+        this.contactListeners = new ArrayList<>();
         this.config = config;
+        this.materialRegistry = new MaterialRegistry();
 
         // Set up default global forces
         globalForces.add(new GravityForce(config.getGravity()));
@@ -37,6 +73,22 @@ public class PhysicsSimulator {
 
         // Set up dynamic collision constraint (handles ball-to-ball collisions)
         this.dynamicCollisionConstraint = new DynamicCollisionConstraint(dynamicBodies, config.getGravity());
+        this.dynamicCollisionConstraint.setCollisionMode(config.getCollisionMode());
+
+        // Set up event-driven solver (used when simulation mode is EVENT_DRIVEN)
+        this.eventDrivenSolver = new EventDrivenSolver(dynamicBodies, staticBodies, config);
+
+        // Set up position-based solver (used when simulation mode is XPBD)
+        this.xpbdSolver = new XPBDSolver(dynamicBodies, staticBodies, config, acceleration);
+
+        // Set up batched force fields (radial fields, explosions, wind zones)
+        this.forceFieldSystem = new ForceFieldSystem(dynamicBodies, config);
+
+        // Set up ballistic fast path (used when useBallisticFastPath is enabled)
+        this.ballisticFastPath = new BallisticFastPath(dynamicBodies, staticBodies, globalForces);
+
+        // Set up spatial queries (region, point, nearest, raycast) over their own lazily rebuilt grid
+        this.spatialQuery = new SpatialQuery(dynamicBodies, staticBodies, config.getGridCellSize());
 
         // World bounds will be set via setWorldBounds()
         this.worldMinX = 0;
@@ -54,6 +106,14 @@ public class PhysicsSimulator {
         this.worldMaxX = maxX;
         this.worldMinY = minY;
         this.worldMaxY = maxY;
+        eventDrivenSolver.setWorldBounds(minX, maxX, minY, maxY);
+        xpbdSolver.setWorldBounds(minX, maxX, minY, maxY);
+        forceFieldSystem.setWorldBounds(minX, maxX, minY, maxY);
+        ballisticFastPath.setWorldBounds(minX, maxX, minY, maxY);
+        spatialQuery.setWorldBounds(minX, maxX, minY, maxY);
+        for (PhysicsSystem system : systems) {
+            system.setWorldBounds(minX, maxX, minY, maxY);
+        }
 
         // Update spatial partitioning if enabled
         if (config.isUseSpatialPartitioning()) {
@@ -63,18 +123,30 @@ public class PhysicsSimulator {
     }
 
     public void addBody(RigidBody body) {
+        spatialQuery.invalidate();
+        forceFieldSystem.invalidate();
         if (body instanceof DynamicBody dynamic) {
+            dynamic.registerMaterial(materialRegistry);
             dynamicBodies.add(dynamic);
         } else if (body instanceof StaticBody staticBody) {
+            staticBody.registerMaterial(materialRegistry);
             staticBodies.add(staticBody);
+            if (staticBody instanceof KinematicBody kinematic) {
+                kinematicBodies.add(kinematic);
+            }
         }
     }
 
     public void removeBody(RigidBody body) {
+        spatialQuery.invalidate();
+        forceFieldSystem.invalidate();
         if (body instanceof DynamicBody dynamic) {
             dynamicBodies.remove(dynamic);
         } else if (body instanceof StaticBody staticBody) {
             staticBodies.remove(staticBody);
+            if (staticBody instanceof KinematicBody kinematic) {
+                kinematicBodies.remove(kinematic);
+            }
         }
     }
 
@@ -86,41 +158,189 @@ public class PhysicsSimulator {
         constraints.remove(constraint);
     }
 
+    /**
+     * Add a force field, evaluated in batch each substep (not used in event-driven mode)
+     */
+    public void addForceField(ForceField field) {
+        forceFieldSystem.addField(field);
+    }
+
+    public void removeForceField(ForceField field) {
+        forceFieldSystem.removeField(field);
+    }
+
+    /**
+     * Add a subsystem (such as a fluid) stepped once per frame after the rigid bodies
+     */
+    public void addSystem(PhysicsSystem system) {
+        system.setWorldBounds(worldMinX, worldMaxX, worldMinY, worldMaxY);
+        system.setSpatialQuery(spatialQuery);
+        systems.add(system);
+    }
+
+    public void removeSystem(PhysicsSystem system) {
+        if (systems.remove(system)) {
+            system.setSpatialQuery(null);
+        }
+    }
+
+    /**
+     * Receive the contacts resolved in each update as one batch once the update has finished
+     * The first listener allocates the contact buffer; without listeners the constraints record nothing
+     * Every simulation mode reports its body and static contacts; world walls are not bodies and are not reported
+     */
+    public void addContactListener(ContactListener listener) {
+        if (contactBuffer == null) {
+            contactBuffer = new ContactBuffer(config.getContactBufferCapacity());
+        }
+        contactListeners.add(listener);
+    }
+
+    public void removeContactListener(ContactListener listener) {
+        contactListeners.remove(listener);
+    }
+
+    /**
+     * Collect the dynamic bodies overlapping a box into the buffer (cleared first)
+     */
+    public void queryRegion(double minX, double minY, double maxX, double maxY, List<DynamicBody> result) {
+        spatialQuery.queryRegion(minX, minY, maxX, maxY, result);
+    }
+
+    /**
+     * Visit the dynamic bodies overlapping a box until the visitor returns false
+     */
+    public void queryRegion(double minX, double minY, double maxX, double maxY, BodyVisitor visitor) {
+        spatialQuery.queryRegion(minX, minY, maxX, maxY, visitor);
+    }
+
+    /**
+     * Collect the dynamic bodies containing a point into the buffer (cleared first)
+     */
+    public void queryPoint(double x, double y, List<DynamicBody> result) {
+        spatialQuery.queryPoint(x, y, result);
+    }
+
+    public void queryPoint(double x, double y, BodyVisitor visitor) {
+        spatialQuery.queryPoint(x, y, visitor);
+    }
+
+    /**
+     * Fill the array with the dynamic bodies nearest to a point, nearest first
+     * @return number of bodies found
+     */
+    public int queryNearest(double x, double y, DynamicBody[] result) {
+        return spatialQuery.queryNearest(x, y, result);
+    }
+
+    /**
+     * Cast a ray against all bodies and report the first hit with its surface normal
+     * @return true if something was hit
+     */
+    public boolean raycast(double originX, double originY, double directionX, double directionY,
+                           double maxDistance, RaycastHit hit) {
+        return spatialQuery.raycast(originX, originY, directionX, directionY, maxDistance, hit);
+    }
+
+    /**
+     * Cast a Ray from its start position along its direction for its length
+     */
+    public boolean raycast(Ray ray, RaycastHit hit) {
+        Vector start = ray.getStartPosition();
+        return spatialQuery.raycast(start.x(), start.y(), Math.cos(ray.getTheta()), Math.sin(ray.getTheta()),
+                ray.getLength(), hit);
+    }
+
     /**
      * Update all bodies in the simulation
      * @param epsilon time step
      */
     public void update(double epsilon) {
+        beginContacts();
+        wakeBodiesNearKinematics(epsilon);
+
+        // Event-driven mode replaces the substep loop entirely
+        // Kinematic bodies take the whole frame in one step there and in XPBD, and are seen as static by both solvers
+        if (config.getSimulationMode() == SimulationMode.EVENT_DRIVEN) {
+            advanceKinematicBodies(epsilon);
+            eventDrivenSolver.advance(epsilon);
+            // Bodies move between events without passing through the integrator
+            forceFieldSystem.invalidate();
+            lastSubstepCount = 0;
+            finishFrame(epsilon);
+            return;
+        }
+
+        // Position-based mode runs its own predict/project/derive substeps
+        if (config.getSimulationMode() == SimulationMode.XPBD) {
+            int substeps = config.isUseAdaptiveSubsteps() ? chooseSubstepCount(epsilon) : config.getSubsteps();
+            // XPBD samples external forces once per frame
+            forceFieldSystem.beginFrame();
+            forceFieldSystem.apply(epsilon);
+            advanceKinematicBodies(epsilon);
+            xpbdSolver.step(epsilon, substeps);
+            forceFieldSystem.trackAll();
+            lastSubstepCount = substeps;
+            updateSleepStates();
+            finishFrame(epsilon);
+            return;
+        }
+
+        // Pick up collision mode, resting-contact and threshold changes made through the config
+        applyCollisionSettings();
+        applyNeighborListSettings();
+
+        forceFieldSystem.beginFrame();
+
+        // Bodies with no possible contact this frame take the whole frame in one closed-form step
+        // Velocity-dependent forces (drag) have no closed form, so the fast path is off while drag is set
+        // Force fields act per substep and subsystems and joints can push bodies, so it is also off while
+        // any of them is present (one-way subsystems excepted)
+        if (config.isUseBallisticFastPath() && config.getDragCoefficient() <= 0 && forceFieldSystem.isEmpty()
+                && !hasBodyAffectingSystem() && !hasCouplingConstraint()) {
+            ballisticFastPath.mark(epsilon);
+            for (int i = 0; i < dynamicBodies.size(); i++) {
+                DynamicBody body = dynamicBodies.get(i);
+                if (body.isBallistic()) {
+                    integrate(body, epsilon);
+                    forceFieldSystem.track(i, body);
+                }
+            }
+        } else {
+            ballisticFastPath.clear();
+        }
+
         // Use sub-stepping for more accurate collision detection
-        int substeps = config.getSubsteps();
+        int substeps = config.isUseAdaptiveSubsteps() ? chooseSubstepCount(epsilon) : config.getSubsteps();
         double substepDelta = epsilon / substeps;
+        lastSubstepCount = substeps;
 
         for (int step = 0; step < substeps; step++) {
-            // Update all dynamic bodies for this substep
-            for (DynamicBody body : dynamicBodies) {
-                // Skip sleeping bodies entirely
-                if (body.isSleeping()) {
-                    continue;
-                }
+            // Move kinematic bodies first so this substep's contacts see where they end up
+            advanceKinematicBodies(substepDelta);
 
-                // Store previous state for TOI calculation
-                body.storePreviousState();
+            // Accumulate force fields for this substep (may wake bodies)
+            forceFieldSystem.apply(substepDelta);
 
-                // Apply global forces
-                for (Force force : globalForces) {
-                    body.addForce(force.calculate(body));
+            // Integrate all awake dynamic bodies for this substep
+            // Each integrated body is re-binned in the force-field index as it moves
+            for (int i = 0; i < dynamicBodies.size(); i++) {
+                DynamicBody body = dynamicBodies.get(i);
+                // Skip sleeping bodies entirely; ballistic bodies were already advanced
+                if (body.isSleeping() || body.isBallistic()) {
+                    continue;
                 }
 
-                // Update physics with smaller time step
-                body.update(substepDelta);
-
-                // Apply per-body constraints (static collisions, boundaries)
-                for (Constraint constraint : constraints) {
-                    constraint.apply(body, substepDelta);
-                }
+                integrate(body, substepDelta);
+                forceFieldSystem.track(i, body);
+            }
 
-                // Clear temporary forces for next substep
-                body.clearTemporaryForces();
+            // Apply per-body constraints (static collisions, boundaries) as batches over the body store
+            // Each constraint only touches the body it is resolving, so running them
+            // constraint-by-constraint is equivalent to running them body-by-body
+            int bodyCount = dynamicBodies.size();
+            for (Constraint constraint : constraints) {
+                constraint.applyBatch(dynamicBodies, 0, bodyCount, substepDelta);
             }
 
             // Apply dynamic collision constraint (ball-to-ball collisions)
@@ -129,7 +349,141 @@ public class PhysicsSimulator {
             dynamicCollisionConstraint.applyAll(substepDelta, config.getVelocityIterations());
         }
 
-        // Update sleep states after all physics (if sleeping enabled)
+        updateSleepStates();
+        finishFrame(epsilon);
+    }
+
+    private void advanceKinematicBodies(double delta) {
+        for (KinematicBody kinematic : kinematicBodies) {
+            kinematic.advance(delta);
+        }
+    }
+
+    /**
+     * Wake sleeping bodies a moving kinematic body can reach this frame, so they are carried or pushed
+     * Sleeping bodies skip the static collision constraints, so they would otherwise be passed through
+     * Candidates come from the query grid, which unlike the solver's grid holds sleeping bodies, over the
+     * body's box grown by its travel this frame
+     */
+    private void wakeBodiesNearKinematics(double epsilon) {
+        for (KinematicBody kinematic : kinematicBodies) {
+            Vector displacement = kinematic.getStepDisplacement(epsilon);
+            if ((displacement.x() == 0 && displacement.y() == 0)
+                    || !(kinematic.getCollider() instanceof AABBCollider box)) {
+                continue;
+            }
+            double reach = displacement.getMagnitude();
+            Vector min = box.getMin();
+            Vector max = box.getMax();
+            spatialQuery.queryRegion(min.x() - reach, min.y() - reach, max.x() + reach, max.y() + reach, wakeSleeping);
+        }
+    }
+
+    /**
+     * Attach the contact buffer to the collision constraints and solvers while anyone is listening, detach it otherwise
+     */
+    private void beginContacts() {
+        ContactBuffer buffer = contactListeners.isEmpty() ? null : contactBuffer;
+        if (buffer != null) {
+            buffer.clear();
+            buffer.setImpulseThreshold(config.getContactImpulseThreshold());
+        }
+        dynamicCollisionConstraint.setContactBuffer(buffer);
+        xpbdSolver.setContactBuffer(buffer);
+        eventDrivenSolver.setContactBuffer(buffer);
+        for (Constraint constraint : constraints) {
+            if (constraint instanceof ContinuousCollisionConstraint continuous) {
+                continuous.setContactBuffer(buffer);
+            }
+        }
+    }
+
+    /**
+     * Step the subsystems, then hand this frame's contacts to the listeners
+     * The body grid is marked stale once here; the first system or query that needs it builds it for the frame
+     */
+    private void finishFrame(double epsilon) {
+        spatialQuery.invalidate();
+        stepSystems(epsilon);
+        // Systems that push bodies moved them after the grid may have been built
+        if (hasBodyAffectingSystem()) {
+            spatialQuery.invalidate();
+        }
+        // Indexed so a listener can remove itself
+        for (int i = 0; i < contactListeners.size(); i++) {
+            contactListeners.get(i).onContacts(contactBuffer);
+        }
+    }
+
+    /**
+     * Advance the subsystems over the frame the rigid bodies just took
+     */
+    private void stepSystems(double epsilon) {
+        for (PhysicsSystem system : systems) {
+            system.step(epsilon);
+        }
+    }
+
+    /**
+     * Forward the collision mode, resting-contact settings and resting velocity threshold to the collision constraints
+     * Ball-ball and ball-static contacts always run in the same mode
+     */
+    private void applyCollisionSettings() {
+        ContinuousCollisionMode collisionMode = config.getCollisionMode();
+        boolean useRestingContacts = config.isUseRestingContacts();
+        dynamicCollisionConstraint.setCollisionMode(collisionMode);
+        if (dynamicCollisionConstraint.isUseRestingContacts() != useRestingContacts) {
+            dynamicCollisionConstraint.setUseRestingContacts(useRestingContacts);
+        }
+        double restingVelocityThreshold = config.getRestingVelocityThreshold();
+        dynamicCollisionConstraint.setRestingVelocityThreshold(restingVelocityThreshold);
+        for (Constraint constraint : constraints) {
+            if (constraint instanceof ContinuousCollisionConstraint continuous) {
+                continuous.setCollisionMode(collisionMode);
+                continuous.setRestingVelocityThreshold(restingVelocityThreshold);
+                if (continuous.isUseRestingContacts() != useRestingContacts) {
+                    continuous.setUseRestingContacts(useRestingContacts);
+                }
+            }
+        }
+    }
+
+    private boolean hasBodyAffectingSystem() {
+        for (PhysicsSystem system : systems) {
+            if (system.affectsBodies()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasCouplingConstraint() {
+        for (Constraint constraint : constraints) {
+            if (constraint.couplesBodies()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Switch the ball-ball pair source between the grid and a Verlet neighbor list
+     */
+    private void applyNeighborListSettings() {
+        VerletNeighborList neighborList = dynamicCollisionConstraint.getNeighborList();
+        if (!config.isUseNeighborList()) {
+            if (neighborList != null) {
+                dynamicCollisionConstraint.disableNeighborList();
+            }
+        } else if (neighborList == null || neighborList.getSkin() != config.getNeighborListSkin()) {
+            dynamicCollisionConstraint.enableNeighborList(config.getNeighborListSkin());
+        }
+    }
+
+    /**
+     * Update sleep states after all physics (if sleeping enabled)
+     */
+    private void updateSleepStates() {
         if (config.isUseSleeping()) {
             for (DynamicBody body : dynamicBodies) {
                 body.updateSleepState(config.getSleepVelocityThreshold(), config.getSleepFramesRequired());
@@ -137,6 +491,67 @@ public class PhysicsSimulator {
         }
     }
 
+    /**
+     * Pick the substep count for this frame from a CFL-style bound
+     * No body on the substeps should travel more than substepCflNumber length scales per substep,
+     * where the length scale is the smaller of the smallest body radius and the grid cell size
+     * Speed is bounded by the current speed plus what gravity can add over the frame
+     */
+    private int chooseSubstepCount(double epsilon) {
+        double maxSpeed = 0;
+        double smallestRadius = Double.MAX_VALUE;
+        for (DynamicBody body : dynamicBodies) {
+            if (body.isSleeping() || body.isBallistic()) {
+                continue;
+            }
+            maxSpeed = Math.max(maxSpeed, body.getVelocity().getMagnitude());
+            if (body.getCollider() instanceof CircleCollider circle) {
+                smallestRadius = Math.min(smallestRadius, circle.radius());
+            }
+        }
+
+        int minSubsteps = Math.max(1, config.getMinSubsteps());
+        int maxSubsteps = Math.max(minSubsteps, config.getMaxSubsteps());
+        if (smallestRadius == Double.MAX_VALUE) {
+            // Nothing moving on the substeps
+            return minSubsteps;
+        }
+
+        maxSpeed += config.getGravity().getMagnitude() * epsilon;
+        double lengthScale = Math.min(smallestRadius, config.getGridCellSize());
+        int substeps = (int) Math.ceil(maxSpeed * epsilon / (config.getSubstepCflNumber() * lengthScale));
+        return Math.max(minSubsteps, Math.min(maxSubsteps, substeps));
+    }
+
+    /**
+     * Integrate a single body over a time step under the global forces
+     */
+    private void integrate(DynamicBody body, double delta) {
+        // Store previous state for TOI calculation
+        body.storePreviousState();
+
+        // Advance with the configured scheme
+        config.getIntegrator().integrate(body, acceleration, delta);
+
+        // Clear temporary forces for next step
+        body.clearTemporaryForces();
+    }
+
+    /**
+     * Acceleration of a body at a trial state from its own forces and the global forces
+     */
+    private Vector calculateAcceleration(DynamicBody body, Vector position, Vector velocity) {
+        Vector force = body.getResultantForce();
+        double x = force.x();
+        double y = force.y();
+        for (Force globalForce : globalForces) {
+            Vector f = globalForce.calculate(body, position, velocity);
+            x += f.x();
+            y += f.y();
+        }
+        return new Vector(x / body.getMass(), y / body.getMass());
+    }
+
     /**
      * Update the drag coefficient for all bodies
      */
@@ -149,20 +564,27 @@ public class PhysicsSimulator {
                 break;
             }
         }
-        // Update all dynamic bodies
-        for (DynamicBody body : dynamicBodies) {
-            body.setDragCoefficient(newDragCoefficient);
-        }
+        // Update the materials held by dynamic bodies
+        materialRegistry.updateDynamicMaterials(material -> new MaterialProperties(
+                material.coefficientOfRestitution(),
+                newDragCoefficient,
+                material.staticFriction(),
+                material.dynamicFriction()
+        ));
     }
 
     /**
      * Update the coefficient of restitution for all bodies
+     * Edits the materials held by dynamic bodies, so the cost scales with the number of materials
      */
     public void updateCoefficientOfRestitution(double newCoefficient) {
         config.setCoefficientOfRestitution(newCoefficient);
-        for (DynamicBody body : dynamicBodies) {
-            body.setCoefficientOfRestitution(newCoefficient);
-        }
+        materialRegistry.updateDynamicMaterials(material -> new MaterialProperties(
+                newCoefficient,
+                material.dragCoefficient(),
+                material.staticFriction(),
+                material.dynamicFriction()
+        ));
     }
 
     public PhysicsConfig getConfig() {
@@ -184,7 +606,52 @@ public class PhysicsSimulator {
         return staticBodies;
     }
 
+    /**
+     * Kinematic bodies, which also appear in getStaticBodies()
+     */
+    public List<KinematicBody> getKinematicBodies() {
+        return kinematicBodies;
+    }
+
     public DynamicCollisionConstraint getDynamicCollisionConstraint() {
         return dynamicCollisionConstraint;
     }
+
+    public EventDrivenSolver getEventDrivenSolver() {
+        return eventDrivenSolver;
+    }
+
+    public XPBDSolver getXPBDSolver() {
+        return xpbdSolver;
+    }
+
+    public ForceFieldSystem getForceFieldSystem() {
+        return forceFieldSystem;
+    }
+
+    public SpatialQuery getSpatialQuery() {
+        return spatialQuery;
+    }
+
+    public List<PhysicsSystem> getSystems() {
+        return systems;
+    }
+
+    public MaterialRegistry getMaterialRegistry() {
+        return materialRegistry;
+    }
+
+    /**
+     * Number of substeps taken during the last frame (0 in event-driven mode)
+     */
+    public int getLastSubstepCount() {
+        return lastSubstepCount;
+    }
+
+    /**
+     * Number of bodies advanced on the ballistic fast path during the last frame
+     */
+    public int getLastBallisticCount() {
+        return ballisticFastPath.getLastBallisticCount();
+    }
 }
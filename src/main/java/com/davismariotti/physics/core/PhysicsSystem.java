@@ -0,0 +1,35 @@
+package com.davismariotti.physics.core;
+
+/**
+ * Subsystem advanced by the simulator once per frame, after the rigid bodies
+ * Systems keep their own state (e.g. fluid particles) and may apply impulses to dynamic bodies
+ */
+public interface PhysicsSystem {
+    /**
+     * Advance the system by one frame
+     * @param frameDelta frame duration
+     */
+    void step(double frameDelta);
+
+    /**
+     * Called when the system is added and whenever the simulator's world bounds change
+     */
+    default void setWorldBounds(double minX, double maxX, double minY, double maxY) {
+    }
+
+    /**
+     * Called when the system is added with the simulator's spatial queries, and with null when it is removed
+     * Systems that look up dynamic bodies by position read SpatialQuery.getBodyGrid(), so each frame builds
+     * one grid of every body that the systems and the game's queries share
+     */
+    default void setSpatialQuery(SpatialQuery spatialQuery) {
+    }
+
+    /**
+     * Whether this system pushes dynamic bodies, so none of them can be advanced in closed form on the
+     * ballistic fast path. One-way systems (e.g. visual debris) return false
+     */
+    default boolean affectsBodies() {
+        return true;
+    }
+}
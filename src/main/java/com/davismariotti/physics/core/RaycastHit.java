@@ -0,0 +1,57 @@
+package com.davismariotti.physics.core;
+
+import com.davismariotti.physics.sprites.RigidBody;
+
+/**
+ * First hit of a raycast, filled in place so one instance can be reused for every query
+ */
+public class RaycastHit {
+    private RigidBody body;       // Null when nothing was hit
+    private double distance;      // Along the ray from its start
+    private double pointX;
+    private double pointY;
+    private double normalX;       // Outward surface normal at the hit point
+    private double normalY;
+
+    void reset() {
+        body = null;
+        distance = Double.POSITIVE_INFINITY;
+    }
+
+    void set(RigidBody body, double distance, double pointX, double pointY, double normalX, double normalY) {
+        this.body = body;
+        this.distance = distance;
+        this.pointX = pointX;
+        this.pointY = pointY;
+        this.normalX = normalX;
+        this.normalY = normalY;
+    }
+
+    public boolean hasHit() {
+        return body != null;
+    }
+
+    public RigidBody getBody() {
+        return body;
+    }
+
+    public double getDistance() {
+        return distance;
+    }
+
+    public double getPointX() {
+        return pointX;
+    }
+
+    public double getPointY() {
+        return pointY;
+    }
+
+    public double getNormalX() {
+        return normalX;
+    }
+
+    public double getNormalY() {
+        return normalY;
+    }
+}
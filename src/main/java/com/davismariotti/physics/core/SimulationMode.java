@@ -0,0 +1,25 @@
+package com.davismariotti.physics.core;
+
+/**
+ * How the simulator advances bodies through a frame
+ */
+public enum SimulationMode {
+    /**
+     * Fixed substeps: integrate every awake body, then resolve constraints and collisions (default)
+     */
+    SUBSTEP,
+
+    /**
+     * Event-driven hard spheres: jump from one predicted collision to the next, with bodies
+     * following closed-form gravity trajectories in between
+     * Suited to granular gases of elastic, frictionless balls; ignores drag, friction and custom constraints
+     */
+    EVENT_DRIVEN,
+
+    /**
+     * Extended position-based dynamics: predict positions, project contact and wall constraints,
+     * then derive velocities, with restitution and friction from each body's material
+     * Suited to large resting piles; ignores custom constraints
+     */
+    XPBD
+}
@@ -0,0 +1,511 @@
+package com.davismariotti.physics.core;
+
+import com.davismariotti.physics.collision.AABBCollider;
+import com.davismariotti.physics.collision.CircleCollider;
+import com.davismariotti.physics.collision.Collider;
+import com.davismariotti.physics.collision.HeightfieldCollider;
+import com.davismariotti.physics.collision.SpatialGrid;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.DynamicBody;
+import com.davismariotti.physics.sprites.RigidBody;
+import com.davismariotti.physics.sprites.StaticBody;
+
+import java.util.List;
+
+/**
+ * Spatial questions about the simulator's bodies: region, point, k-nearest and raycast
+ *
+ * Dynamic bodies are found through a SpatialGrid holding every body, sleeping and ballistic ones included
+ * (the solver's grid leaves those out and is rebuilt every substep). The grid is rebuilt on the first query
+ * after an update or a change to the body list, so queries see positions as of the end of the last update.
+ * Subsystems such as sensors read the same grid through getBodyGrid(), so a frame builds it at most once.
+ * Results go to caller-owned buffers or visitors, so a query allocates nothing once the grid is built.
+ * Region, point and nearest queries return dynamic bodies; raycasts also hit static bodies, which are few
+ * and tested directly before the grid walk
+ */
+public class SpatialQuery {
+    private final List<DynamicBody> dynamicBodies;
+    private final List<StaticBody> staticBodies;
+    private final double cellSize;
+    private SpatialGrid grid;
+    private boolean stale = true;
+    private long gridBuildCount;
+    private double[] nearestDistances = new double[0];  // Scratch for queryNearest, grown to the largest k
+
+    public SpatialQuery(List<DynamicBody> dynamicBodies, List<StaticBody> staticBodies, double cellSize) {
+        this.dynamicBodies = dynamicBodies;
+        this.staticBodies = staticBodies;
+        this.cellSize = cellSize;
+        setWorldBounds(0, 100, 0, 80);
+    }
+
+    public void setWorldBounds(double minX, double maxX, double minY, double maxY) {
+        this.grid = new SpatialGrid(minX, maxX, minY, maxY, cellSize);
+        this.stale = true;
+    }
+
+    /**
+     * Mark the grid out of date; the next query rebuilds it
+     */
+    public void invalidate() {
+        stale = true;
+    }
+
+    /**
+     * Grid of every dynamic circle body at its position as of the end of the last update, rebuilt if stale
+     * Callers must not modify it
+     */
+    public SpatialGrid getBodyGrid() {
+        refresh();
+        return grid;
+    }
+
+    /**
+     * Number of times the body grid has been built
+     */
+    public long getGridBuildCount() {
+        return gridBuildCount;
+    }
+
+    /**
+     * Collect the dynamic bodies overlapping a box into the buffer (cleared first)
+     */
+    public void queryRegion(double minX, double minY, double maxX, double maxY, List<DynamicBody> result) {
+        result.clear();
+        region(minX, minY, maxX, maxY, result, null);
+    }
+
+    /**
+     * Visit the dynamic bodies overlapping a box, each once, until the visitor returns false
+     */
+    public void queryRegion(double minX, double minY, double maxX, double maxY, BodyVisitor visitor) {
+        region(minX, minY, maxX, maxY, null, visitor);
+    }
+
+    /**
+     * Collect the dynamic bodies containing a point into the buffer (cleared first)
+     */
+    public void queryPoint(double x, double y, List<DynamicBody> result) {
+        result.clear();
+        point(x, y, result, null);
+    }
+
+    /**
+     * Visit the dynamic bodies containing a point until the visitor returns false
+     */
+    public void queryPoint(double x, double y, BodyVisitor visitor) {
+        point(x, y, null, visitor);
+    }
+
+    /**
+     * Find the dynamic bodies whose centers are nearest to a point
+     * Cells are searched in square rings around the point's cell, stopping once no unvisited cell can
+     * hold a closer center than the k-th found
+     *
+     * @param result filled nearest first; its length is k
+     * @return number of bodies found (less than k only if there are fewer bodies)
+     */
+    public int queryNearest(double x, double y, DynamicBody[] result) {
+        int k = result.length;
+        if (k == 0) {
+            return 0;
+        }
+        refresh();
+        if (nearestDistances.length < k) {
+            nearestDistances = new double[k];
+        }
+        double[] distances = nearestDistances;
+        int count = 0;
+
+        int centerX = grid.cellX(x);
+        int centerY = grid.cellY(y);
+        int maxRing = Math.max(Math.max(centerX, grid.getGridWidth() - 1 - centerX),
+                Math.max(centerY, grid.getGridHeight() - 1 - centerY));
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Cells in this ring are at least ring - 1 whole cells away from the point
+            if (count == k && distances[k - 1] <= (ring - 1) * cellSize) {
+                break;
+            }
+            for (int gy = centerY - ring; gy <= centerY + ring; gy++) {
+                // Only the ring's border: full top and bottom rows, the two end cells of the rows between
+                boolean edgeRow = gy == centerY - ring || gy == centerY + ring;
+                int step = edgeRow ? 1 : Math.max(1, 2 * ring);
+                for (int gx = centerX - ring; gx <= centerX + ring; gx += step) {
+                    List<DynamicBody> cell = grid.getCell(gx, gy);
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (int i = 0, size = cell.size(); i < size; i++) {
+                        DynamicBody body = cell.get(i);
+                        Vector center = body.getPosition();
+                        // Every body is in its center's cell, so it is only considered there
+                        if (grid.cellX(center.x()) != gx || grid.cellY(center.y()) != gy) {
+                            continue;
+                        }
+                        double dx = center.x() - x;
+                        double dy = center.y() - y;
+                        count = insertNearest(result, distances, count, body, Math.sqrt(dx * dx + dy * dy));
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Cast a ray and report the first body it enters
+     * Bodies containing the ray's start are ignored, so a ray cast from inside a body does not hit it
+     *
+     * @param directionX ray direction (need not be unit length)
+     * @param maxDistance how far along the ray to look
+     * @param hit filled with the first hit, or cleared if there is none
+     * @return true if something was hit
+     */
+    public boolean raycast(double originX, double originY, double directionX, double directionY,
+                           double maxDistance, RaycastHit hit) {
+        hit.reset();
+        double length = Math.sqrt(directionX * directionX + directionY * directionY);
+        if (length == 0 || !(maxDistance > 0)) {
+            return false;
+        }
+        double dx = directionX / length;
+        double dy = directionY / length;
+
+        // Static bodies first: the grid walk then only has to look closer than the best static hit
+        double limit = maxDistance;
+        for (StaticBody staticBody : staticBodies) {
+            Collider collider = staticBody.getCollider();
+            if (collider instanceof AABBCollider box) {
+                Vector min = box.getMin();
+                Vector max = box.getMax();
+                limit = raycastBox(staticBody, min.x(), min.y(), max.x(), max.y(), originX, originY, dx, dy, limit, hit);
+            } else if (collider instanceof HeightfieldCollider field) {
+                limit = raycastHeightfield(staticBody, field, originX, originY, dx, dy, limit, hit);
+            }
+        }
+
+        refresh();
+        walkGrid(originX, originY, dx, dy, limit, hit);
+        return hit.hasHit();
+    }
+
+    /**
+     * Amanatides-Woo traversal: visit the cells the ray crosses in order and stop once the best hit lies
+     * before the exit of the current cell
+     */
+    private void walkGrid(double ox, double oy, double dx, double dy, double limit, RaycastHit hit) {
+        double gridMinX = grid.getWorldMinX();
+        double gridMinY = grid.getWorldMinY();
+        double gridMaxX = gridMinX + grid.getGridWidth() * cellSize;
+        double gridMaxY = gridMinY + grid.getGridHeight() * cellSize;
+
+        // Clip the ray to the grid
+        double tStart = 0;
+        double tEnd = limit;
+        if (dx != 0) {
+            double t1 = (gridMinX - ox) / dx;
+            double t2 = (gridMaxX - ox) / dx;
+            tStart = Math.max(tStart, Math.min(t1, t2));
+            tEnd = Math.min(tEnd, Math.max(t1, t2));
+        } else if (ox < gridMinX || ox > gridMaxX) {
+            return;
+        }
+        if (dy != 0) {
+            double t1 = (gridMinY - oy) / dy;
+            double t2 = (gridMaxY - oy) / dy;
+            tStart = Math.max(tStart, Math.min(t1, t2));
+            tEnd = Math.min(tEnd, Math.max(t1, t2));
+        } else if (oy < gridMinY || oy > gridMaxY) {
+            return;
+        }
+        if (tStart > tEnd) {
+            return;
+        }
+
+        int gx = grid.cellX(ox + dx * tStart);
+        int gy = grid.cellY(oy + dy * tStart);
+        int stepX = dx > 0 ? 1 : -1;
+        int stepY = dy > 0 ? 1 : -1;
+        double tMaxX = dx == 0 ? Double.POSITIVE_INFINITY
+                : (gridMinX + (gx + (dx > 0 ? 1 : 0)) * cellSize - ox) / dx;
+        double tMaxY = dy == 0 ? Double.POSITIVE_INFINITY
+                : (gridMinY + (gy + (dy > 0 ? 1 : 0)) * cellSize - oy) / dy;
+        double tDeltaX = dx == 0 ? Double.POSITIVE_INFINITY : cellSize / Math.abs(dx);
+        double tDeltaY = dy == 0 ? Double.POSITIVE_INFINITY : cellSize / Math.abs(dy);
+
+        while (true) {
+            List<DynamicBody> cell = grid.getCell(gx, gy);
+            if (cell != null) {
+                for (int i = 0, size = cell.size(); i < size; i++) {
+                    DynamicBody body = cell.get(i);
+                    CircleCollider circle = (CircleCollider) body.getCollider();
+                    limit = raycastCircle(body, circle.center().x(), circle.center().y(), circle.radius(),
+                            ox, oy, dx, dy, limit, hit);
+                }
+            }
+            double cellExit = Math.min(tMaxX, tMaxY);
+            if (limit <= cellExit || cellExit >= tEnd) {
+                return;
+            }
+            if (tMaxX < tMaxY) {
+                gx += stepX;
+                tMaxX += tDeltaX;
+            } else {
+                gy += stepY;
+                tMaxY += tDeltaY;
+            }
+            if (gx < 0 || gx >= grid.getGridWidth() || gy < 0 || gy >= grid.getGridHeight()) {
+                return;
+            }
+        }
+    }
+
+    private void region(double minX, double minY, double maxX, double maxY,
+                        List<DynamicBody> result, BodyVisitor visitor) {
+        refresh();
+        int minCellX = grid.cellX(minX);
+        int maxCellX = grid.cellX(maxX);
+        int minCellY = grid.cellY(minY);
+        int maxCellY = grid.cellY(maxY);
+        for (int gy = minCellY; gy <= maxCellY; gy++) {
+            for (int gx = minCellX; gx <= maxCellX; gx++) {
+                List<DynamicBody> cell = grid.getCell(gx, gy);
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 0, size = cell.size(); i < size; i++) {
+                    DynamicBody body = cell.get(i);
+                    CircleCollider circle = (CircleCollider) body.getCollider();
+                    double cx = circle.center().x();
+                    double cy = circle.center().y();
+                    double r = circle.radius();
+                    double nearestX = Math.max(minX, Math.min(maxX, cx));
+                    double nearestY = Math.max(minY, Math.min(maxY, cy));
+                    if ((cx - nearestX) * (cx - nearestX) + (cy - nearestY) * (cy - nearestY) > r * r) {
+                        continue;
+                    }
+                    // A body spanning several cells is reported from the first of them inside the region
+                    if (gx != Math.max(minCellX, grid.cellX(cx - r)) || gy != Math.max(minCellY, grid.cellY(cy - r))) {
+                        continue;
+                    }
+                    if (!report(body, result, visitor)) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private void point(double x, double y, List<DynamicBody> result, BodyVisitor visitor) {
+        refresh();
+        // Bodies are in every cell their bounds touch, so the point's cell holds all candidates
+        List<DynamicBody> cell = grid.getCell(grid.cellX(x), grid.cellY(y));
+        if (cell == null) {
+            return;
+        }
+        for (int i = 0, size = cell.size(); i < size; i++) {
+            DynamicBody body = cell.get(i);
+            CircleCollider circle = (CircleCollider) body.getCollider();
+            double dx = x - circle.center().x();
+            double dy = y - circle.center().y();
+            if (dx * dx + dy * dy <= circle.radius() * circle.radius() && !report(body, result, visitor)) {
+                return;
+            }
+        }
+    }
+
+    private void refresh() {
+        if (!stale) {
+            return;
+        }
+        grid.clear();
+        for (DynamicBody body : dynamicBodies) {
+            if (body.getCollider() instanceof CircleCollider) {
+                grid.insert(body);
+            }
+        }
+        stale = false;
+        gridBuildCount++;
+    }
+
+    private static boolean report(DynamicBody body, List<DynamicBody> result, BodyVisitor visitor) {
+        if (visitor != null) {
+            return visitor.visit(body);
+        }
+        result.add(body);
+        return true;
+    }
+
+    /**
+     * Insert into the sorted nearest list, dropping the farthest once it holds k bodies
+     */
+    private static int insertNearest(DynamicBody[] result, double[] distances, int count, DynamicBody body,
+                                     double distance) {
+        int k = result.length;
+        int slot;
+        if (count < k) {
+            slot = count++;
+        } else if (distance < distances[k - 1]) {
+            slot = k - 1;
+        } else {
+            return count;
+        }
+        while (slot > 0 && distances[slot - 1] > distance) {
+            result[slot] = result[slot - 1];
+            distances[slot] = distances[slot - 1];
+            slot--;
+        }
+        result[slot] = body;
+        distances[slot] = distance;
+        return count;
+    }
+
+    /**
+     * Ray against a circle; the start must be outside it
+     * @return the new search limit (the hit distance if closer than the old limit)
+     */
+    private static double raycastCircle(RigidBody body, double cx, double cy, double r,
+                                        double ox, double oy, double dx, double dy, double limit, RaycastHit hit) {
+        double mx = ox - cx;
+        double my = oy - cy;
+        double b = mx * dx + my * dy;
+        double c = mx * mx + my * my - r * r;
+        // Start inside the circle, or pointing away from it
+        if (c <= 0 || b >= 0) {
+            return limit;
+        }
+        double discriminant = b * b - c;
+        if (discriminant < 0) {
+            return limit;
+        }
+        double t = -b - Math.sqrt(discriminant);
+        if (t >= limit) {
+            return limit;
+        }
+        double px = ox + dx * t;
+        double py = oy + dy * t;
+        hit.set(body, t, px, py, (px - cx) / r, (py - cy) / r);
+        return t;
+    }
+
+    /**
+     * Ray against a box by slabs; the normal is that of the last slab entered
+     */
+    private static double raycastBox(RigidBody body, double minX, double minY, double maxX, double maxY,
+                                     double ox, double oy, double dx, double dy, double limit, RaycastHit hit) {
+        double tEnter = 0;
+        double tExit = limit;
+        double normalX = 0;
+        double normalY = 0;
+        if (dx == 0) {
+            if (ox < minX || ox > maxX) {
+                return limit;
+            }
+        } else {
+            double t1 = (minX - ox) / dx;
+            double t2 = (maxX - ox) / dx;
+            if (Math.min(t1, t2) > tEnter) {
+                tEnter = Math.min(t1, t2);
+                normalX = dx > 0 ? -1 : 1;
+            }
+            tExit = Math.min(tExit, Math.max(t1, t2));
+        }
+        if (dy == 0) {
+            if (oy < minY || oy > maxY) {
+                return limit;
+            }
+        } else {
+            double t1 = (minY - oy) / dy;
+            double t2 = (maxY - oy) / dy;
+            if (Math.min(t1, t2) > tEnter) {
+                tEnter = Math.min(t1, t2);
+                normalX = 0;
+                normalY = dy > 0 ? -1 : 1;
+            }
+            tExit = Math.min(tExit, Math.max(t1, t2));
+        }
+        // No slab entered ahead of the start means the start is inside the box
+        if ((normalX == 0 && normalY == 0) || tEnter > tExit || tEnter >= limit) {
+            return limit;
+        }
+        hit.set(body, tEnter, ox + dx * tEnter, oy + dy * tEnter, normalX, normalY);
+        return tEnter;
+    }
+
+    /**
+     * Ray against terrain: its end walls and base, then the surface segments of the columns the ray
+     * crosses, nearest column first
+     */
+    private static double raycastHeightfield(RigidBody body, HeightfieldCollider field,
+                                             double ox, double oy, double dx, double dy, double limit, RaycastHit hit) {
+        // Clip the ray to the terrain's bounds
+        double t0 = 0;
+        double t1 = limit;
+        if (dx != 0) {
+            double a = (field.getMinX() - ox) / dx;
+            double b = (field.getMaxX() - ox) / dx;
+            t0 = Math.max(t0, Math.min(a, b));
+            t1 = Math.min(t1, Math.max(a, b));
+        } else if (ox < field.getMinX() || ox > field.getMaxX()) {
+            return limit;
+        }
+        if (dy != 0) {
+            double a = (field.getBaseY() - oy) / dy;
+            double b = (field.getMaxHeight() - oy) / dy;
+            t0 = Math.max(t0, Math.min(a, b));
+            t1 = Math.min(t1, Math.max(a, b));
+        } else if (oy < field.getBaseY() || oy > field.getMaxHeight()) {
+            return limit;
+        }
+        if (t0 > t1) {
+            return limit;
+        }
+
+        int last = field.getSampleCount() - 1;
+        limit = raycastSegment(body, field.getMinX(), field.getBaseY(), field.getMinX(), field.getHeight(0), -1, 0,
+                ox, oy, dx, dy, limit, hit);
+        limit = raycastSegment(body, field.getMaxX(), field.getBaseY(), field.getMaxX(), field.getHeight(last), 1, 0,
+                ox, oy, dx, dy, limit, hit);
+        limit = raycastSegment(body, field.getMinX(), field.getBaseY(), field.getMaxX(), field.getBaseY(), 0, -1,
+                ox, oy, dx, dy, limit, hit);
+
+        int firstColumn = field.column(ox + dx * t0);
+        int lastColumn = field.column(ox + dx * Math.min(t1, limit));
+        int step = firstColumn <= lastColumn ? 1 : -1;
+        double spacing = field.getSpacing();
+        for (int i = firstColumn; ; i += step) {
+            double h0 = field.getHeight(i);
+            double h1 = field.getHeight(i + 1);
+            double normalLength = Math.sqrt((h1 - h0) * (h1 - h0) + spacing * spacing);
+            double before = limit;
+            limit = raycastSegment(body, field.getSampleX(i), h0, field.getSampleX(i + 1), h1,
+                    -(h1 - h0) / normalLength, spacing / normalLength, ox, oy, dx, dy, limit, hit);
+            if (limit < before || i == lastColumn) {
+                return limit;
+            }
+        }
+    }
+
+    /**
+     * Ray against one side of a solid, hit only from the side its outward normal faces
+     */
+    private static double raycastSegment(RigidBody body, double ax, double ay, double bx, double by,
+                                         double normalX, double normalY,
+                                         double ox, double oy, double dx, double dy, double limit, RaycastHit hit) {
+        double ex = bx - ax;
+        double ey = by - ay;
+        double denominator = dx * ey - dy * ex;
+        if (dx * normalX + dy * normalY >= 0 || denominator == 0) {
+            return limit;
+        }
+        double wx = ax - ox;
+        double wy = ay - oy;
+        double t = (wx * ey - wy * ex) / denominator;
+        double s = (wx * dy - wy * dx) / denominator;
+        if (t <= 0 || t >= limit || s < 0 || s > 1) {
+            return limit;
+        }
+        hit.set(body, t, ox + dx * t, oy + dy * t, normalX, normalY);
+        return t;
+    }
+}
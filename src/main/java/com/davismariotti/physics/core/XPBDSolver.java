@@ -0,0 +1,581 @@
+package com.davismariotti.physics.core;
+
+import com.davismariotti.physics.collision.AABBCollider;
+import com.davismariotti.physics.collision.CircleCollider;
+import com.davismariotti.physics.collision.Collider;
+import com.davismariotti.physics.collision.CollisionFilter;
+import com.davismariotti.physics.collision.SpatialGrid;
+import com.davismariotti.physics.constraints.ContactBuffer;
+import com.davismariotti.physics.integration.AccelerationFunction;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.DynamicBody;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import com.davismariotti.physics.sprites.MaterialRegistry;
+import com.davismariotti.physics.sprites.RigidBody;
+import com.davismariotti.physics.sprites.StaticBody;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Extended position-based dynamics (XPBD) solver with small substeps
+ * Each substep predicts positions from velocities, projects contact and wall constraints directly on positions,
+ * derives velocities from the position change, then applies restitution and dynamic friction as a velocity pass
+ *
+ * Contacts are rigid (zero compliance), so the XPBD multiplier reduces to a mass-weighted position correction.
+ * Candidate pairs are collected once per frame from the spatial grid over bounds expanded by the frame's travel
+ * and reused for every substep, so the broad-phase cost does not grow with the substep count
+ *
+ * Sleeping bodies act as immovable supports. External accelerations (gravity, drag, body forces) are evaluated
+ * once at the start of the frame. Custom constraints are not applied in this mode
+ */
+public class XPBDSolver {
+    private final List<DynamicBody> dynamicBodies;
+    private final List<StaticBody> staticBodies;
+    private final PhysicsConfig config;
+    private final AccelerationFunction acceleration;
+    private final Map<DynamicBody, Integer> indices;
+    private final List<DynamicBody> candidates = new ArrayList<>();
+    private SpatialGrid grid;
+    private double worldMinX, worldMaxX, worldMinY, worldMaxY;
+
+    // Per-body state
+    private double[] posX, posY, prevX, prevY, velX, velY, startVelX, startVelY, accelX, accelY;
+    private double[] radius, inverseMass, restitution, staticFriction, dynamicFriction;
+    private int[] materialId;
+    // Pair table shared by every body this frame, or null to combine per contact
+    private MaterialRegistry materials;
+    // Bounds covering each body's travel over the frame
+    private double[] boundMinX, boundMinY, boundMaxX, boundMaxY;
+    // Deduplicates candidates that span several grid cells
+    private int[] visitStamp;
+    private int currentStamp;
+
+    // Candidate pairs for the frame
+    private int[] pairA = new int[0];
+    private int[] pairB = new int[0];
+    private int pairCount;
+    private int[] staticPairBody = new int[0];
+    private int[] staticPairIndex = new int[0];
+    private int staticPairCount;
+
+    // Contacts found in the current substep, consumed by the velocity pass (partner -1 is immovable)
+    private int[] contactBody = new int[0];
+    private int[] contactPartner = new int[0];
+    private StaticBody[] contactStatic = new StaticBody[0];  // Static partner, null for bodies and walls
+    private double[] contactNormalX = new double[0];
+    private double[] contactNormalY = new double[0];
+    private double[] contactDepth = new double[0];
+    private double[] contactRestitution = new double[0];
+    private double[] contactDynamicFriction = new double[0];
+    private int contactCount;
+
+    private int lastContactCount;
+    private ContactBuffer contacts;  // Null unless someone is listening
+
+    public XPBDSolver(List<DynamicBody> dynamicBodies, List<StaticBody> staticBodies, PhysicsConfig config,
+                      AccelerationFunction acceleration) {
+        this.dynamicBodies = dynamicBodies;
+        this.staticBodies = staticBodies;
+        this.config = config;
+        this.acceleration = acceleration;
+        this.indices = new IdentityHashMap<>();
+        allocate(0);
+        setWorldBounds(0, 100, 0, 80);
+    }
+
+    /**
+     * Set the solid walls bounding the simulation and rebuild the broad-phase grid over them
+     */
+    public void setWorldBounds(double minX, double maxX, double minY, double maxY) {
+        this.worldMinX = minX;
+        this.worldMaxX = maxX;
+        this.worldMinY = minY;
+        this.worldMaxY = maxY;
+        this.grid = new SpatialGrid(minX, maxX, minY, maxY, config.getGridCellSize());
+    }
+
+    /**
+     * Advance all dynamic bodies by one frame
+     *
+     * @param frameDelta frame duration
+     * @param substeps number of predict/project/derive cycles in the frame
+     */
+    public void step(double frameDelta, int substeps) {
+        int bodyCount = dynamicBodies.size();
+        if (posX.length < bodyCount) {
+            allocate(bodyCount);
+        }
+
+        load(bodyCount, frameDelta);
+        collectPairs(bodyCount);
+
+        double h = frameDelta / substeps;
+        int contactsSeen = 0;
+        for (int step = 0; step < substeps; step++) {
+            // Predict positions from velocities
+            for (int i = 0; i < bodyCount; i++) {
+                prevX[i] = posX[i];
+                prevY[i] = posY[i];
+                startVelX[i] = velX[i];
+                startVelY[i] = velY[i];
+                if (inverseMass[i] == 0) {
+                    continue;
+                }
+                velX[i] += accelX[i] * h;
+                velY[i] += accelY[i] * h;
+                posX[i] += velX[i] * h;
+                posY[i] += velY[i] * h;
+            }
+
+            // Project contacts on positions
+            contactCount = 0;
+            for (int k = 0; k < pairCount; k++) {
+                solveBodyContact(pairA[k], pairB[k]);
+            }
+            for (int k = 0; k < staticPairCount; k++) {
+                solveStaticContact(staticPairBody[k], staticBodies.get(staticPairIndex[k]));
+            }
+            for (int i = 0; i < bodyCount; i++) {
+                if (inverseMass[i] != 0) {
+                    solveWalls(i);
+                }
+            }
+
+            // Derive velocities from the corrected positions
+            for (int i = 0; i < bodyCount; i++) {
+                if (inverseMass[i] != 0) {
+                    velX[i] = (posX[i] - prevX[i]) / h;
+                    velY[i] = (posY[i] - prevY[i]) / h;
+                }
+            }
+
+            solveVelocities(h);
+            contactsSeen += contactCount;
+        }
+        lastContactCount = contactsSeen;
+
+        // Write back awake bodies
+        for (int i = 0; i < bodyCount; i++) {
+            if (inverseMass[i] == 0) {
+                continue;
+            }
+            DynamicBody body = dynamicBodies.get(i);
+            body.setPosition(new Vector(posX[i], posY[i]));
+            body.setVelocity(new Vector(velX[i], velY[i]));
+        }
+    }
+
+    /**
+     * Record each substep's body and static contacts into the buffer, or stop recording with null
+     * World walls are not bodies and are not recorded
+     */
+    public void setContactBuffer(ContactBuffer contacts) {
+        this.contacts = contacts;
+    }
+
+    /**
+     * Number of contacts projected over all substeps of the last frame
+     */
+    public int getLastContactCount() {
+        return lastContactCount;
+    }
+
+    /**
+     * Copy body state into the solver arrays and evaluate each awake body's external acceleration
+     */
+    private void load(int bodyCount, double frameDelta) {
+        indices.clear();
+        grid.clear();
+        currentStamp = 0;
+        for (int i = 0; i < bodyCount; i++) {
+            DynamicBody body = dynamicBodies.get(i);
+            indices.put(body, i);
+
+            Vector position = body.getPosition();
+            Vector velocity = body.getVelocity();
+            posX[i] = position.x();
+            posY[i] = position.y();
+            radius[i] = ((CircleCollider) body.getCollider()).radius();
+            visitStamp[i] = 0;
+
+            MaterialProperties material = body.getMaterial();
+            materialId[i] = body.getMaterialId();
+            if (i == 0) {
+                materials = body.getMaterialRegistry();
+            } else if (body.getMaterialRegistry() != materials) {
+                materials = null;
+            }
+            restitution[i] = material.coefficientOfRestitution();
+            staticFriction[i] = material.staticFriction();
+            dynamicFriction[i] = material.dynamicFriction();
+
+            if (body.isSleeping()) {
+                inverseMass[i] = 0;
+                velX[i] = 0;
+                velY[i] = 0;
+                accelX[i] = 0;
+                accelY[i] = 0;
+            } else {
+                body.storePreviousState();
+                inverseMass[i] = 1.0 / body.getMass();
+                velX[i] = velocity.x();
+                velY[i] = velocity.y();
+                Vector a = acceleration.evaluate(body, position, velocity);
+                accelX[i] = a.x();
+                accelY[i] = a.y();
+                body.clearTemporaryForces();
+            }
+
+            // Reach over the frame, with a small allowance for contact corrections
+            double travelX = Math.abs(velX[i]) * frameDelta + 0.5 * Math.abs(accelX[i]) * frameDelta * frameDelta;
+            double travelY = Math.abs(velY[i]) * frameDelta + 0.5 * Math.abs(accelY[i]) * frameDelta * frameDelta;
+            double margin = radius[i] * 1.1;
+            boundMinX[i] = posX[i] - travelX - margin;
+            boundMaxX[i] = posX[i] + travelX + margin;
+            boundMinY[i] = posY[i] - travelY - margin;
+            boundMaxY[i] = posY[i] + travelY + margin;
+            grid.insert(body, boundMinX[i], boundMinY[i], boundMaxX[i], boundMaxY[i]);
+        }
+    }
+
+    /**
+     * Collect body pairs and body/static pairs whose frame bounds overlap
+     * Pairs the collision filters exclude are dropped here, so the projection never sees them
+     */
+    private void collectPairs(int bodyCount) {
+        pairCount = 0;
+        staticPairCount = 0;
+        for (int i = 0; i < bodyCount; i++) {
+            currentStamp++;
+            long filter = dynamicBodies.get(i).getCollisionFilter();
+            grid.queryRegion(boundMinX[i], boundMinY[i], boundMaxX[i], boundMaxY[i], candidates);
+            for (DynamicBody other : candidates) {
+                int j = indices.get(other);
+                if (j <= i || visitStamp[j] == currentStamp || (inverseMass[i] == 0 && inverseMass[j] == 0)) {
+                    continue;
+                }
+                visitStamp[j] = currentStamp;
+                if (!CollisionFilter.shouldCollide(filter, other.getCollisionFilter())) {
+                    continue;
+                }
+                if (boundMinX[j] > boundMaxX[i] || boundMaxX[j] < boundMinX[i]
+                        || boundMinY[j] > boundMaxY[i] || boundMaxY[j] < boundMinY[i]) {
+                    continue;
+                }
+                if (pairCount == pairA.length) {
+                    int capacity = Math.max(16, pairCount * 2);
+                    pairA = Arrays.copyOf(pairA, capacity);
+                    pairB = Arrays.copyOf(pairB, capacity);
+                }
+                pairA[pairCount] = i;
+                pairB[pairCount] = j;
+                pairCount++;
+            }
+
+            if (inverseMass[i] == 0) {
+                continue;
+            }
+            for (int k = 0; k < staticBodies.size(); k++) {
+                StaticBody staticBody = staticBodies.get(k);
+                if (!CollisionFilter.shouldCollide(filter, staticBody.getCollisionFilter())) {
+                    continue;
+                }
+                Collider collider = staticBody.getCollider();
+                if (!(collider instanceof AABBCollider aabb)) {
+                    continue;
+                }
+                Vector min = aabb.getMin();
+                Vector max = aabb.getMax();
+                if (min.x() > boundMaxX[i] || max.x() < boundMinX[i]
+                        || min.y() > boundMaxY[i] || max.y() < boundMinY[i]) {
+                    continue;
+                }
+                if (staticPairCount == staticPairBody.length) {
+                    int capacity = Math.max(16, staticPairCount * 2);
+                    staticPairBody = Arrays.copyOf(staticPairBody, capacity);
+                    staticPairIndex = Arrays.copyOf(staticPairIndex, capacity);
+                }
+                staticPairBody[staticPairCount] = i;
+                staticPairIndex[staticPairCount] = k;
+                staticPairCount++;
+            }
+        }
+    }
+
+    /**
+     * Push two overlapping circles apart by inverse mass, then cancel their relative
+     * tangential slip if static friction can hold it
+     */
+    private void solveBodyContact(int a, int b) {
+        double dx = posX[a] - posX[b];
+        double dy = posY[a] - posY[b];
+        double combinedRadius = radius[a] + radius[b];
+        double distanceSquared = dx * dx + dy * dy;
+        if (distanceSquared >= combinedRadius * combinedRadius) {
+            return;
+        }
+
+        double distance = Math.sqrt(distanceSquared);
+        double nx = distance > 0 ? dx / distance : 0;
+        double ny = distance > 0 ? dy / distance : 1;
+        double depth = combinedRadius - distance;
+        double wa = inverseMass[a];
+        double wb = inverseMass[b];
+        double totalInverseMass = wa + wb;
+
+        double correction = depth / totalInverseMass;
+        posX[a] += nx * correction * wa;
+        posY[a] += ny * correction * wa;
+        posX[b] -= nx * correction * wb;
+        posY[b] -= ny * correction * wb;
+
+        // Static friction: undo the substep's relative tangential displacement while it stays in the cone
+        double slipX = (posX[a] - prevX[a]) - (posX[b] - prevX[b]);
+        double slipY = (posY[a] - prevY[a]) - (posY[b] - prevY[b]);
+        double slipNormal = slipX * nx + slipY * ny;
+        double tangentX = slipX - slipNormal * nx;
+        double tangentY = slipY - slipNormal * ny;
+        double mu = materials != null ?
+                materials.getCombinedStaticFriction(materialId[a], materialId[b]) :
+                Math.sqrt(staticFriction[a] * staticFriction[a] + staticFriction[b] * staticFriction[b]);
+        if (Math.sqrt(tangentX * tangentX + tangentY * tangentY) < mu * depth) {
+            posX[a] -= tangentX * wa / totalInverseMass;
+            posY[a] -= tangentY * wa / totalInverseMass;
+            posX[b] += tangentX * wb / totalInverseMass;
+            posY[b] += tangentY * wb / totalInverseMass;
+        }
+
+        if (materials != null) {
+            addContact(a, b, null, nx, ny, depth,
+                    materials.getCombinedRestitution(materialId[a], materialId[b]),
+                    materials.getCombinedDynamicFriction(materialId[a], materialId[b]));
+        } else {
+            addContact(a, b, null, nx, ny, depth,
+                    Math.min(restitution[a], restitution[b]),
+                    Math.sqrt(dynamicFriction[a] * dynamicFriction[a] + dynamicFriction[b] * dynamicFriction[b]));
+        }
+    }
+
+    /**
+     * Push a circle out of a static AABB along the direction to the closest point on the box
+     */
+    private void solveStaticContact(int i, StaticBody staticBody) {
+        AABBCollider aabb = (AABBCollider) staticBody.getCollider();
+        Vector min = aabb.getMin();
+        Vector max = aabb.getMax();
+
+        double closestX = Math.max(min.x(), Math.min(posX[i], max.x()));
+        double closestY = Math.max(min.y(), Math.min(posY[i], max.y()));
+        double dx = posX[i] - closestX;
+        double dy = posY[i] - closestY;
+        double distanceSquared = dx * dx + dy * dy;
+        if (distanceSquared >= radius[i] * radius[i]) {
+            return;
+        }
+
+        double nx;
+        double ny;
+        double depth;
+        if (distanceSquared > 0) {
+            double distance = Math.sqrt(distanceSquared);
+            nx = dx / distance;
+            ny = dy / distance;
+            depth = radius[i] - distance;
+        } else {
+            // Center inside the box: leave through the nearest face
+            double left = posX[i] - min.x();
+            double right = max.x() - posX[i];
+            double bottom = posY[i] - min.y();
+            double top = max.y() - posY[i];
+            double nearest = Math.min(Math.min(left, right), Math.min(bottom, top));
+            nx = nearest == left ? -1 : nearest == right ? 1 : 0;
+            ny = nx != 0 ? 0 : nearest == bottom ? -1 : 1;
+            depth = radius[i] + nearest;
+        }
+
+        if (materials != null && staticBody.getMaterialRegistry() == materials) {
+            int other = staticBody.getMaterialId();
+            projectImmovable(i, nx, ny, depth, materials.getCombinedStaticFriction(materialId[i], other));
+            addContact(i, -1, staticBody, nx, ny, depth,
+                    materials.getCombinedRestitution(materialId[i], other),
+                    materials.getCombinedDynamicFriction(materialId[i], other));
+            return;
+        }
+
+        MaterialProperties material = staticBody.getMaterial();
+        double mu = Math.sqrt(staticFriction[i] * staticFriction[i]
+                + material.staticFriction() * material.staticFriction());
+        projectImmovable(i, nx, ny, depth, mu);
+        addContact(i, -1, staticBody, nx, ny, depth,
+                Math.min(restitution[i], material.coefficientOfRestitution()),
+                Math.sqrt(dynamicFriction[i] * dynamicFriction[i]
+                        + material.dynamicFriction() * material.dynamicFriction()));
+    }
+
+    /**
+     * Keep a circle inside the world bounds, which behave as walls made of the body's own material
+     */
+    private void solveWalls(int i) {
+        double r = radius[i];
+        if (posX[i] - r < worldMinX) {
+            wallContact(i, 1, 0, worldMinX + r - posX[i]);
+        } else if (posX[i] + r > worldMaxX) {
+            wallContact(i, -1, 0, posX[i] + r - worldMaxX);
+        }
+        if (posY[i] - r < worldMinY) {
+            wallContact(i, 0, 1, worldMinY + r - posY[i]);
+        } else if (posY[i] + r > worldMaxY) {
+            wallContact(i, 0, -1, posY[i] + r - worldMaxY);
+        }
+    }
+
+    private void wallContact(int i, double nx, double ny, double depth) {
+        projectImmovable(i, nx, ny, depth, staticFriction[i]);
+        addContact(i, -1, null, nx, ny, depth, restitution[i], dynamicFriction[i]);
+    }
+
+    /**
+     * Move body i out along the normal, then cancel its tangential displacement if static friction holds
+     */
+    private void projectImmovable(int i, double nx, double ny, double depth, double mu) {
+        posX[i] += nx * depth;
+        posY[i] += ny * depth;
+
+        double slipX = posX[i] - prevX[i];
+        double slipY = posY[i] - prevY[i];
+        double slipNormal = slipX * nx + slipY * ny;
+        double tangentX = slipX - slipNormal * nx;
+        double tangentY = slipY - slipNormal * ny;
+        if (Math.sqrt(tangentX * tangentX + tangentY * tangentY) < mu * depth) {
+            posX[i] -= tangentX;
+            posY[i] -= tangentY;
+        }
+    }
+
+    /**
+     * Apply dynamic friction and restitution to the substep's contacts
+     * Restitution uses the normal velocity from before the substep, so the energy added by position
+     * correction is discarded; approaches slower than the resting threshold do not bounce
+     */
+    private void solveVelocities(double h) {
+        double restingThreshold = config.getRestingVelocityThreshold();
+        double sleepThreshold = config.getSleepVelocityThreshold();
+
+        for (int k = 0; k < contactCount; k++) {
+            int a = contactBody[k];
+            int b = contactPartner[k];
+            double nx = contactNormalX[k];
+            double ny = contactNormalY[k];
+            double wa = inverseMass[a];
+            double wb = b >= 0 ? inverseMass[b] : 0;
+            double totalInverseMass = wa + wb;
+
+            double relX = velX[a] - (b >= 0 ? velX[b] : 0);
+            double relY = velY[a] - (b >= 0 ? velY[b] : 0);
+            double startRelX = startVelX[a] - (b >= 0 ? startVelX[b] : 0);
+            double startRelY = startVelY[a] - (b >= 0 ? startVelY[b] : 0);
+            double normalSpeed = relX * nx + relY * ny;
+            double startNormalSpeed = startRelX * nx + startRelY * ny;
+
+            // Dynamic friction, limited by the normal impulse implied by the position correction
+            double tangentX = relX - normalSpeed * nx;
+            double tangentY = relY - normalSpeed * ny;
+            double tangentSpeed = Math.sqrt(tangentX * tangentX + tangentY * tangentY);
+            double deltaX = 0;
+            double deltaY = 0;
+            if (tangentSpeed > 0) {
+                double reduction = Math.min(contactDynamicFriction[k] * contactDepth[k] / h, tangentSpeed);
+                deltaX -= tangentX / tangentSpeed * reduction;
+                deltaY -= tangentY / tangentSpeed * reduction;
+            }
+
+            // Restitution
+            double e = Math.abs(startNormalSpeed) <= restingThreshold ? 0 : contactRestitution[k];
+            double targetNormalSpeed = Math.max(-e * startNormalSpeed, 0);
+            deltaX += nx * (targetNormalSpeed - normalSpeed);
+            deltaY += ny * (targetNormalSpeed - normalSpeed);
+
+            velX[a] += deltaX * wa / totalInverseMass;
+            velY[a] += deltaY * wa / totalInverseMass;
+            if (b >= 0) {
+                velX[b] -= deltaX * wb / totalInverseMass;
+                velY[b] -= deltaY * wb / totalInverseMass;
+
+                // A sleeping body was a fixed support this frame; wake it on a real impact
+                if ((wa == 0 || wb == 0) && -startNormalSpeed > sleepThreshold) {
+                    dynamicBodies.get(wa == 0 ? a : b).wake();
+                }
+            }
+
+            if (contacts != null && (b >= 0 || contactStatic[k] != null)) {
+                recordContact(k, (targetNormalSpeed - startNormalSpeed) / totalInverseMass);
+            }
+        }
+    }
+
+    /**
+     * Report a contact with its normal turned to point from the body into its partner
+     * The impulse is the normal momentum change over the substep, as the impulse-based constraints report
+     */
+    private void recordContact(int k, double impulse) {
+        int a = contactBody[k];
+        int b = contactPartner[k];
+        double nx = -contactNormalX[k];
+        double ny = -contactNormalY[k];
+        RigidBody partner = b >= 0 ? dynamicBodies.get(b) : contactStatic[k];
+        contacts.record(dynamicBodies.get(a), partner, nx, ny, posX[a] + nx * radius[a], posY[a] + ny * radius[a],
+                Math.max(impulse, 0), contactDepth[k]);
+    }
+
+    private void addContact(int body, int partner, StaticBody staticPartner, double nx, double ny, double depth,
+                            double contactRestitutionValue, double contactFriction) {
+        if (contactCount == contactBody.length) {
+            int capacity = Math.max(16, contactCount * 2);
+            contactBody = Arrays.copyOf(contactBody, capacity);
+            contactPartner = Arrays.copyOf(contactPartner, capacity);
+            contactStatic = Arrays.copyOf(contactStatic, capacity);
+            contactNormalX = Arrays.copyOf(contactNormalX, capacity);
+            contactNormalY = Arrays.copyOf(contactNormalY, capacity);
+            contactDepth = Arrays.copyOf(contactDepth, capacity);
+            contactRestitution = Arrays.copyOf(contactRestitution, capacity);
+            contactDynamicFriction = Arrays.copyOf(contactDynamicFriction, capacity);
+        }
+        contactBody[contactCount] = body;
+        contactPartner[contactCount] = partner;
+        contactStatic[contactCount] = staticPartner;
+        contactNormalX[contactCount] = nx;
+        contactNormalY[contactCount] = ny;
+        contactDepth[contactCount] = depth;
+        contactRestitution[contactCount] = contactRestitutionValue;
+        contactDynamicFriction[contactCount] = contactFriction;
+        contactCount++;
+    }
+
+    private void allocate(int capacity) {
+        posX = new double[capacity];
+        posY = new double[capacity];
+        prevX = new double[capacity];
+        prevY = new double[capacity];
+        velX = new double[capacity];
+        velY = new double[capacity];
+        startVelX = new double[capacity];
+        startVelY = new double[capacity];
+        accelX = new double[capacity];
+        accelY = new double[capacity];
+        radius = new double[capacity];
+        inverseMass = new double[capacity];
+        restitution = new double[capacity];
+        staticFriction = new double[capacity];
+        dynamicFriction = new double[capacity];
+        materialId = new int[capacity];
+        boundMinX = new double[capacity];
+        boundMinY = new double[capacity];
+        boundMaxX = new double[capacity];
+        boundMaxY = new double[capacity];
+        visitStamp = new int[capacity];
+    }
+}
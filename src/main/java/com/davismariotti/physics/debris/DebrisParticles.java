@@ -0,0 +1,153 @@
+package com.davismariotti.physics.debris;
+
+/**
+ * Debris particle state stored as parallel primitive arrays in a fixed-capacity ring buffer
+ * Particles are kept in emission order from the oldest slot (head) onwards. Expired particles are
+ * retired from the head, and emitting into a full buffer overwrites the oldest particle, so the
+ * store never grows or allocates after construction. A particle that expires while an older one
+ * is still alive keeps its slot until the head passes it; isAlive() tells the two apart
+ */
+public class DebrisParticles {
+    final double[] x;
+    final double[] y;
+    final double[] vx;
+    final double[] vy;
+    final double[] expiresAt;             // Simulation time at which the particle disappears
+    final boolean[] settled;              // Lying still on a static top face, skipped until the statics change
+    final int capacity;
+    int head;                             // Slot of the oldest particle
+    int count;                            // Slots in use, starting at head
+    double time;                          // Simulation time, advanced by the system
+
+    public DebrisParticles(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.x = new double[capacity];
+        this.y = new double[capacity];
+        this.vx = new double[capacity];
+        this.vy = new double[capacity];
+        this.expiresAt = new double[capacity];
+        this.settled = new boolean[capacity];
+    }
+
+    /**
+     * Add a particle, overwriting the oldest one when the buffer is full
+     * @param lifetime seconds until the particle disappears
+     * @return its slot
+     */
+    public int emit(double x, double y, double vx, double vy, double lifetime) {
+        int slot;
+        if (count == capacity) {
+            slot = head;
+            head = next(head);
+        } else {
+            slot = slot(count);
+            count++;
+        }
+        this.x[slot] = x;
+        this.y[slot] = y;
+        this.vx[slot] = vx;
+        this.vy[slot] = vy;
+        this.expiresAt[slot] = time + lifetime;
+        this.settled[slot] = false;
+        return slot;
+    }
+
+    /**
+     * Drop expired particles from the head of the buffer
+     */
+    void retireExpired() {
+        while (count > 0 && expiresAt[head] <= time) {
+            head = next(head);
+            count--;
+        }
+        if (count == 0) {
+            head = 0;
+        }
+    }
+
+    void kill(int slot) {
+        expiresAt[slot] = time;
+    }
+
+    public void clear() {
+        head = 0;
+        count = 0;
+    }
+
+    /**
+     * Slots in use, including expired particles still waiting for the head to pass them
+     */
+    public int size() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Slot of the i-th oldest particle (i in [0, size()))
+     */
+    public int slot(int i) {
+        int slot = head + i;
+        return slot >= capacity ? slot - capacity : slot;
+    }
+
+    public boolean isAlive(int slot) {
+        return expiresAt[slot] > time;
+    }
+
+    /**
+     * Whether the particle came to rest on static geometry and is no longer integrated
+     */
+    public boolean isSettled(int slot) {
+        return settled[slot];
+    }
+
+    /**
+     * Number of particles that have not expired yet
+     */
+    public int getAliveCount() {
+        int alive = 0;
+        for (int i = 0; i < count; i++) {
+            if (isAlive(slot(i))) {
+                alive++;
+            }
+        }
+        return alive;
+    }
+
+    public double getX(int slot) {
+        return x[slot];
+    }
+
+    public double getY(int slot) {
+        return y[slot];
+    }
+
+    public double getVelocityX(int slot) {
+        return vx[slot];
+    }
+
+    public double getVelocityY(int slot) {
+        return vy[slot];
+    }
+
+    /**
+     * Seconds left before the particle disappears (0 once expired)
+     */
+    public double getRemainingLife(int slot) {
+        return Math.max(0, expiresAt[slot] - time);
+    }
+
+    public double getTime() {
+        return time;
+    }
+
+    private int next(int slot) {
+        return slot + 1 == capacity ? 0 : slot + 1;
+    }
+}
@@ -0,0 +1,333 @@
+package com.davismariotti.physics.debris;
+
+import com.davismariotti.physics.collision.AABBCollider;
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSystem;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.StaticBody;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Short-lived visual debris, kept out of the rigid-body pipeline
+ *
+ * Particles are points in a DebrisParticles ring buffer, advanced once per frame in a single pass over
+ * the arrays (gravity, linear damping, symplectic Euler) split into parallel chunks. They collide one
+ * way with the static AABBs (ground and static bodies): each particle's motion over the frame is swept
+ * against the boxes with a slab test, so fast debris cannot pass through thin ground, and the particle
+ * stops on the face it entered with its normal velocity reflected. Dynamic bodies never see the
+ * debris, so the ballistic fast path stays available. Particles leaving the world through the sides or
+ * bottom expire immediately
+ */
+public class DebrisSystem implements PhysicsSystem {
+    private static final int PARALLEL_CHUNK = 4096;  // Particles per parallel task
+
+    private final DebrisParticles particles;
+    private final List<StaticBody> staticBodies;
+    private final PhysicsConfig config;
+
+    private double particleRadius = 0.05;
+    private double restitution = 0.3;
+    private double friction = 0.4;        // Fraction of tangential velocity lost per impact
+    private double damping = 0.1;         // Linear velocity damping per second
+    private boolean parallel = true;
+
+    private double worldMinX = Double.NEGATIVE_INFINITY, worldMaxX = Double.POSITIVE_INFINITY;
+    private double worldMinY = Double.NEGATIVE_INFINITY;
+
+    // Static boxes for the current step, expanded by the particle radius
+    private int boxCount;
+    private double[] boxMinX = new double[0], boxMaxX = new double[0];
+    private double[] boxMinY = new double[0], boxMaxY = new double[0];
+    private Vector settledGravity;
+
+    private long particleSteps;
+
+    /**
+     * @param particles particle store
+     * @param staticBodies obstacles (AABBs) the debris collides with
+     * @param config simulator configuration, for gravity and the resting velocity threshold
+     */
+    public DebrisSystem(DebrisParticles particles, List<StaticBody> staticBodies, PhysicsConfig config) {
+        this.particles = particles;
+        this.staticBodies = staticBodies;
+        this.config = config;
+    }
+
+    @Override
+    public void setWorldBounds(double minX, double maxX, double minY, double maxY) {
+        this.worldMinX = minX;
+        this.worldMaxX = maxX;
+        this.worldMinY = minY;
+    }
+
+    /**
+     * Debris only reacts to static geometry
+     */
+    @Override
+    public boolean affectsBodies() {
+        return false;
+    }
+
+    /**
+     * Spray particles from a point in random directions, with speeds up to the given speed and
+     * lifetimes between half and all of the given lifetime
+     */
+    public void burst(Vector position, int count, double speed, double lifetime, Random random) {
+        for (int i = 0; i < count; i++) {
+            double angle = random.nextDouble() * 2 * Math.PI;
+            double particleSpeed = speed * random.nextDouble();
+            particles.emit(position.x(), position.y(), particleSpeed * Math.cos(angle), particleSpeed * Math.sin(angle),
+                    lifetime * (0.5 + 0.5 * random.nextDouble()));
+        }
+    }
+
+    @Override
+    public void step(double frameDelta) {
+        particles.time += frameDelta;
+        particles.retireExpired();
+        int count = particles.count;
+        if (count == 0) {
+            return;
+        }
+        collectBoxes();
+
+        int chunks = (count + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+        if (!parallel || chunks == 1) {
+            integrateRange(0, count, frameDelta);
+        } else {
+            IntStream.range(0, chunks).parallel().forEach(chunk ->
+                    integrateRange(chunk * PARALLEL_CHUNK, Math.min(count, (chunk + 1) * PARALLEL_CHUNK), frameDelta));
+        }
+        particleSteps += count;
+    }
+
+    /**
+     * Snapshot the static AABBs into flat arrays (statics may be added between frames)
+     * Settled particles are released when the boxes or gravity change, since what held them may be gone
+     */
+    private void collectBoxes() {
+        int statics = staticBodies.size();
+        if (boxMinX.length < statics) {
+            boxMinX = Arrays.copyOf(boxMinX, statics);
+            boxMaxX = Arrays.copyOf(boxMaxX, statics);
+            boxMinY = Arrays.copyOf(boxMinY, statics);
+            boxMaxY = Arrays.copyOf(boxMaxY, statics);
+        }
+        int previousCount = boxCount;
+        boolean changed = !config.getGravity().equals(settledGravity);
+        boxCount = 0;
+        for (int s = 0; s < statics; s++) {
+            if (staticBodies.get(s).getCollider() instanceof AABBCollider box) {
+                double minX = box.center().x() - box.width() / 2 - particleRadius;
+                double maxX = box.center().x() + box.width() / 2 + particleRadius;
+                double minY = box.center().y() - box.height() / 2 - particleRadius;
+                double maxY = box.center().y() + box.height() / 2 + particleRadius;
+                changed |= boxCount >= previousCount || boxMinX[boxCount] != minX || boxMaxX[boxCount] != maxX
+                        || boxMinY[boxCount] != minY || boxMaxY[boxCount] != maxY;
+                boxMinX[boxCount] = minX;
+                boxMaxX[boxCount] = maxX;
+                boxMinY[boxCount] = minY;
+                boxMaxY[boxCount] = maxY;
+                boxCount++;
+            }
+        }
+        if (changed || boxCount != previousCount) {
+            Arrays.fill(particles.settled, false);
+            settledGravity = config.getGravity();
+        }
+    }
+
+    /**
+     * Advance the particles in ring positions [start, end) of the buffer
+     */
+    private void integrateRange(int start, int end, double delta) {
+        double[] x = particles.x;
+        double[] y = particles.y;
+        double[] vx = particles.vx;
+        double[] vy = particles.vy;
+        double[] expiresAt = particles.expiresAt;
+        boolean[] settled = particles.settled;
+        double time = particles.time;
+        Vector gravity = config.getGravity();
+        double gravityX = gravity.x() * delta;
+        double gravityY = gravity.y() * delta;
+        double keep = Math.max(0, 1 - damping * delta);
+        double threshold = config.getRestingVelocityThreshold();
+
+        for (int i = start; i < end; i++) {
+            int s = particles.slot(i);
+            if (expiresAt[s] <= time || settled[s]) {
+                continue;
+            }
+            double velocityX = (vx[s] + gravityX) * keep;
+            double velocityY = (vy[s] + gravityY) * keep;
+            double fromX = x[s];
+            double fromY = y[s];
+            double toX = fromX + velocityX * delta;
+            double toY = fromY + velocityY * delta;
+
+            for (int b = 0; b < boxCount; b++) {
+                double minX = boxMinX[b], maxX = boxMaxX[b], minY = boxMinY[b], maxY = boxMaxY[b];
+                if ((fromX < minX && toX < minX) || (fromX > maxX && toX > maxX)
+                        || (fromY < minY && toY < minY) || (fromY > maxY && toY > maxY)) {
+                    continue;
+                }
+
+                if (fromY == maxY && toY <= maxY && fromX >= minX && fromX <= maxX) {
+                    // Resting on the top face, the common case once debris settles: same result as the
+                    // slab test below with the entry at the start of the frame
+                    velocityY = bounce(velocityY, threshold);
+                    velocityX = slowDown(velocityX, threshold);
+                    toX = fromX + velocityX * delta;
+                    toY = maxY;
+                    settled[s] = velocityX == 0 && velocityY == 0;
+                    continue;
+                }
+
+                if (fromX > minX && fromX < maxX && fromY > minY && fromY < maxY) {
+                    // Started inside (e.g. emitted there): leave through the nearest face
+                    double left = fromX - minX, right = maxX - fromX, bottom = fromY - minY, top = maxY - fromY;
+                    double nearest = Math.min(Math.min(left, right), Math.min(bottom, top));
+                    if (nearest == top) {
+                        toX = fromX;
+                        toY = maxY;
+                        velocityY = Math.max(velocityY, 0);
+                    } else if (nearest == bottom) {
+                        toX = fromX;
+                        toY = minY;
+                        velocityY = Math.min(velocityY, 0);
+                    } else if (nearest == left) {
+                        toX = minX;
+                        toY = fromY;
+                        velocityX = Math.min(velocityX, 0);
+                    } else {
+                        toX = maxX;
+                        toY = fromY;
+                        velocityX = Math.max(velocityX, 0);
+                    }
+                    continue;
+                }
+
+                // Slab test of the frame's motion against the box
+                double dx = toX - fromX;
+                double dy = toY - fromY;
+                double enterX = Double.NEGATIVE_INFINITY, exitX = Double.POSITIVE_INFINITY;
+                if (dx != 0) {
+                    double inverse = 1 / dx;
+                    enterX = ((dx > 0 ? minX : maxX) - fromX) * inverse;
+                    exitX = ((dx > 0 ? maxX : minX) - fromX) * inverse;
+                }
+                double enterY = Double.NEGATIVE_INFINITY, exitY = Double.POSITIVE_INFINITY;
+                if (dy != 0) {
+                    double inverse = 1 / dy;
+                    enterY = ((dy > 0 ? minY : maxY) - fromY) * inverse;
+                    exitY = ((dy > 0 ? maxY : minY) - fromY) * inverse;
+                }
+                double enter = enterX > enterY ? enterX : enterY;
+                if (enter > exitX || enter > exitY || enter < 0 || enter > 1) {
+                    continue;
+                }
+
+                // Stop on the face, bounce the normal velocity and slide along the face for the rest of
+                // the frame with friction applied
+                double remaining = (1 - enter) * delta;
+                if (enterX >= enterY) {
+                    velocityX = bounce(velocityX, threshold);
+                    velocityY = slowDown(velocityY, threshold);
+                    toX = dx > 0 ? minX : maxX;
+                    toY = fromY + dy * enter + velocityY * remaining;
+                } else {
+                    velocityY = bounce(velocityY, threshold);
+                    velocityX = slowDown(velocityX, threshold);
+                    toX = fromX + dx * enter + velocityX * remaining;
+                    toY = dy > 0 ? minY : maxY;
+                }
+            }
+
+            x[s] = toX;
+            y[s] = toY;
+            vx[s] = velocityX;
+            vy[s] = velocityY;
+            if (toX < worldMinX || toX > worldMaxX || toY < worldMinY) {
+                expiresAt[s] = time;
+            }
+        }
+    }
+
+    /**
+     * Reflected normal velocity at an impact; slow bounces stop so settled debris lies still
+     */
+    private double bounce(double normalVelocity, double threshold) {
+        double reflected = -normalVelocity * restitution;
+        return Math.abs(reflected) < threshold ? 0 : reflected;
+    }
+
+    /**
+     * Friction on the tangential velocity at an impact; slow sliding stops outright, which also keeps
+     * resting particles from decaying into subnormal velocities
+     */
+    private double slowDown(double tangentialVelocity, double threshold) {
+        double slowed = tangentialVelocity * (1 - friction);
+        return Math.abs(slowed) < threshold ? 0 : slowed;
+    }
+
+    /**
+     * Collision radius of a particle against static boxes
+     */
+    public void setParticleRadius(double particleRadius) {
+        this.particleRadius = particleRadius;
+    }
+
+    public double getParticleRadius() {
+        return particleRadius;
+    }
+
+    public void setRestitution(double restitution) {
+        this.restitution = restitution;
+    }
+
+    public double getRestitution() {
+        return restitution;
+    }
+
+    /**
+     * Fraction of the tangential velocity lost per impact (0 = frictionless, 1 = sticks)
+     */
+    public void setFriction(double friction) {
+        this.friction = friction;
+    }
+
+    public double getFriction() {
+        return friction;
+    }
+
+    /**
+     * Linear velocity damping per second
+     */
+    public void setDamping(double damping) {
+        this.damping = damping;
+    }
+
+    public double getDamping() {
+        return damping;
+    }
+
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    public DebrisParticles getParticles() {
+        return particles;
+    }
+
+    /**
+     * Particle slots advanced since creation, for throughput measurements
+     */
+    public long getParticleSteps() {
+        return particleSteps;
+    }
+}
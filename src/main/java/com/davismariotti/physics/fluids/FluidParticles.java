@@ -0,0 +1,76 @@
+package com.davismariotti.physics.fluids;
+
+import java.util.Arrays;
+
+/**
+ * Fluid particle state stored as parallel primitive arrays
+ * The solver reorders particles by grid cell every step, so an index does not identify a particle
+ * across steps
+ */
+public class FluidParticles {
+    double[] x = new double[0];
+    double[] y = new double[0];
+    double[] vx = new double[0];
+    double[] vy = new double[0];
+    double[] density = new double[0];
+    double[] pressure = new double[0];
+    int count;
+
+    /**
+     * Add a particle
+     * @return its index until the next solver step
+     */
+    public int add(double x, double y, double vx, double vy) {
+        ensureCapacity(count + 1);
+        this.x[count] = x;
+        this.y[count] = y;
+        this.vx[count] = vx;
+        this.vy[count] = vy;
+        return count++;
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public double getX(int i) {
+        return x[i];
+    }
+
+    public double getY(int i) {
+        return y[i];
+    }
+
+    public double getVelocityX(int i) {
+        return vx[i];
+    }
+
+    public double getVelocityY(int i) {
+        return vy[i];
+    }
+
+    public double getDensity(int i) {
+        return density[i];
+    }
+
+    public double getPressure(int i) {
+        return pressure[i];
+    }
+
+    void ensureCapacity(int capacity) {
+        if (x.length >= capacity) {
+            return;
+        }
+        int grown = Math.max(capacity, Math.max(16, x.length * 2));
+        x = Arrays.copyOf(x, grown);
+        y = Arrays.copyOf(y, grown);
+        vx = Arrays.copyOf(vx, grown);
+        vy = Arrays.copyOf(vy, grown);
+        density = Arrays.copyOf(density, grown);
+        pressure = Arrays.copyOf(pressure, grown);
+    }
+}
@@ -0,0 +1,525 @@
+package com.davismariotti.physics.fluids;
+
+import com.davismariotti.physics.collision.AABBCollider;
+import com.davismariotti.physics.collision.CellSort;
+import com.davismariotti.physics.collision.CircleCollider;
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSystem;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.DynamicBody;
+import com.davismariotti.physics.sprites.StaticBody;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Weakly compressible SPH fluid coupled two ways with the rigid bodies
+ *
+ * Each step sorts the particles by cell of a uniform grid with kernel-radius cells (a counting sort
+ * that also reorders the particle arrays, so neighbors are close in memory and the three cells of a
+ * grid row are one contiguous range), then runs a density/pressure pass and a force pass in parallel
+ * over chunks of particles. Both passes only write to the particle being evaluated, so the result does
+ * not depend on the thread count. Kernels are the 2D poly6 (density), spiky (pressure gradient) and
+ * viscosity Laplacian kernels, with pressure = stiffness * max(0, density - restDensity)
+ *
+ * Particles collide with the world bounds and static AABBs. Dynamic circles push particles out and
+ * exchange the normal impulse with them, so balls float, sink and splash. The frame is split into
+ * steps that satisfy a CFL bound from the speed of sound and the fastest particle
+ */
+public class SPHFluid implements PhysicsSystem {
+    private static final int PARALLEL_CHUNK = 1024;  // Particles per parallel task
+    private static final int MAX_STEPS_PER_FRAME = 64;
+    private static final double COURANT = 0.4;
+
+    private final FluidParticles particles;
+    private final List<DynamicBody> dynamicBodies;
+    private final List<StaticBody> staticBodies;
+    private final PhysicsConfig config;
+
+    private final double particleSpacing;
+    private final double particleRadius;
+    private double kernelRadius;
+    private double restDensity = 1.0;
+    private double stiffness = 1000.0;
+    private double viscosity = 1.0;
+    private double particleMass;
+    private boolean parallel = true;
+
+    // Kernel constants for the current kernel radius
+    private double kernelRadiusSquared;
+    private double poly6;
+    private double spikyGradient;
+    private double viscosityLaplacian;
+
+    // Uniform grid with kernel-radius cells; cellStart[c]..cellStart[c + 1] is the range of cell c
+    private double worldMinX, worldMaxX, worldMinY, worldMaxY;
+    private int gridWidth, gridHeight;
+    private int[] cellStart = new int[1];
+    private int[] cell = new int[0];
+    private int[] sortedCell = new int[0];
+    private int[] order = new int[0];
+    private double[] scratchX = new double[0], scratchY = new double[0];
+    private double[] scratchVX = new double[0], scratchVY = new double[0];
+    private double[] accelerationX = new double[0], accelerationY = new double[0];
+
+    private int lastStepCount;
+    private long particleSteps;
+
+    /**
+     * @param particles particle store
+     * @param dynamicBodies bodies the fluid exchanges impulses with
+     * @param staticBodies obstacles (AABBs) the fluid collides with
+     * @param config simulator configuration, for gravity
+     * @param particleSpacing rest spacing between particles; sets the particle mass and kernel radius
+     */
+    public SPHFluid(FluidParticles particles, List<DynamicBody> dynamicBodies, List<StaticBody> staticBodies,
+                    PhysicsConfig config, double particleSpacing) {
+        this.particles = particles;
+        this.dynamicBodies = dynamicBodies;
+        this.staticBodies = staticBodies;
+        this.config = config;
+        this.particleSpacing = particleSpacing;
+        this.particleRadius = particleSpacing / 2;
+        setKernelRadius(2.5 * particleSpacing);
+        setWorldBounds(0, 100, 0, 80);
+    }
+
+    @Override
+    public void setWorldBounds(double minX, double maxX, double minY, double maxY) {
+        this.worldMinX = minX;
+        this.worldMaxX = maxX;
+        this.worldMinY = minY;
+        this.worldMaxY = maxY;
+        this.gridWidth = Math.max(1, (int) Math.ceil((maxX - minX) / kernelRadius));
+        this.gridHeight = Math.max(1, (int) Math.ceil((maxY - minY) / kernelRadius));
+        this.cellStart = new int[gridWidth * gridHeight + 1];
+    }
+
+    /**
+     * Fill a rectangle with particles on a lattice at the rest spacing
+     */
+    public void fillRectangle(double minX, double minY, double maxX, double maxY) {
+        for (double y = minY + particleRadius; y <= maxY - particleRadius + 1e-9; y += particleSpacing) {
+            for (double x = minX + particleRadius; x <= maxX - particleRadius + 1e-9; x += particleSpacing) {
+                particles.add(x, y, 0, 0);
+            }
+        }
+    }
+
+    @Override
+    public void step(double frameDelta) {
+        int count = particles.count;
+        if (count == 0) {
+            lastStepCount = 0;
+            return;
+        }
+
+        double maxSpeedSquared = 0;
+        for (int i = 0; i < count; i++) {
+            maxSpeedSquared = Math.max(maxSpeedSquared, particles.vx[i] * particles.vx[i] + particles.vy[i] * particles.vy[i]);
+        }
+        double maxStep = COURANT * kernelRadius / (Math.sqrt(stiffness) + Math.sqrt(maxSpeedSquared));
+        int steps = Math.max(1, Math.min(MAX_STEPS_PER_FRAME, (int) Math.ceil(frameDelta / maxStep)));
+        double delta = frameDelta / steps;
+
+        for (int s = 0; s < steps; s++) {
+            advance(delta);
+        }
+        lastStepCount = steps;
+        particleSteps += (long) steps * count;
+    }
+
+    private void advance(double delta) {
+        int count = particles.count;
+        ensureScratchCapacity(count);
+        sortByCell(count);
+        runChunks(count, this::densityRange);
+        runChunks(count, this::forceRange);
+        runChunks(count, (start, end) -> integrateRange(start, end, delta));
+        coupleDynamicBodies();
+    }
+
+    /**
+     * Counting sort of the particles by cell, moving their position and velocity along
+     */
+    private void sortByCell(int count) {
+        for (int i = 0; i < count; i++) {
+            cell[i] = cellY(particles.y[i]) * gridWidth + cellX(particles.x[i]);
+        }
+        CellSort.sort(cell, count, gridWidth * gridHeight, cellStart, order);
+        for (int k = 0; k < count; k++) {
+            int i = order[k];
+            scratchX[k] = particles.x[i];
+            scratchY[k] = particles.y[i];
+            scratchVX[k] = particles.vx[i];
+            scratchVY[k] = particles.vy[i];
+            sortedCell[k] = cell[i];
+        }
+
+        double[] swap = particles.x;
+        particles.x = scratchX;
+        scratchX = swap;
+        swap = particles.y;
+        particles.y = scratchY;
+        scratchY = swap;
+        swap = particles.vx;
+        particles.vx = scratchVX;
+        scratchVX = swap;
+        swap = particles.vy;
+        particles.vy = scratchVY;
+        scratchVY = swap;
+        int[] cellSwap = cell;
+        cell = sortedCell;
+        sortedCell = cellSwap;
+    }
+
+    /**
+     * Density from the poly6 kernel (self included), then the equation of state
+     */
+    private void densityRange(int start, int end) {
+        double[] x = particles.x;
+        double[] y = particles.y;
+        for (int i = start; i < end; i++) {
+            double xi = x[i];
+            double yi = y[i];
+            int cx = cell[i] % gridWidth;
+            int cy = cell[i] / gridWidth;
+            int firstColumn = Math.max(cx - 1, 0);
+            int lastColumn = Math.min(cx + 1, gridWidth - 1);
+            double sum = 0;
+            for (int row = Math.max(cy - 1, 0); row <= Math.min(cy + 1, gridHeight - 1); row++) {
+                int from = cellStart[row * gridWidth + firstColumn];
+                int to = cellStart[row * gridWidth + lastColumn + 1];
+                for (int j = from; j < to; j++) {
+                    double dx = xi - x[j];
+                    double dy = yi - y[j];
+                    double q = kernelRadiusSquared - (dx * dx + dy * dy);
+                    if (q > 0) {
+                        sum += q * q * q;
+                    }
+                }
+            }
+            double density = particleMass * poly6 * sum;
+            particles.density[i] = density;
+            particles.pressure[i] = stiffness * Math.max(0, density - restDensity);
+        }
+    }
+
+    /**
+     * Symmetric pressure force, viscosity and gravity
+     */
+    private void forceRange(int start, int end) {
+        double[] x = particles.x;
+        double[] y = particles.y;
+        double[] vx = particles.vx;
+        double[] vy = particles.vy;
+        double[] density = particles.density;
+        double[] pressure = particles.pressure;
+        Vector gravity = config.getGravity();
+        for (int i = start; i < end; i++) {
+            double xi = x[i];
+            double yi = y[i];
+            double pressureTerm = pressure[i] / (density[i] * density[i]);
+            int cx = cell[i] % gridWidth;
+            int cy = cell[i] / gridWidth;
+            int firstColumn = Math.max(cx - 1, 0);
+            int lastColumn = Math.min(cx + 1, gridWidth - 1);
+            double ax = 0;
+            double ay = 0;
+            double viscousX = 0;
+            double viscousY = 0;
+            for (int row = Math.max(cy - 1, 0); row <= Math.min(cy + 1, gridHeight - 1); row++) {
+                int from = cellStart[row * gridWidth + firstColumn];
+                int to = cellStart[row * gridWidth + lastColumn + 1];
+                for (int j = from; j < to; j++) {
+                    double dx = xi - x[j];
+                    double dy = yi - y[j];
+                    double distanceSquared = dx * dx + dy * dy;
+                    if (distanceSquared >= kernelRadiusSquared || j == i || distanceSquared < 1e-18) {
+                        continue;
+                    }
+                    double distance = Math.sqrt(distanceSquared);
+                    double gap = kernelRadius - distance;
+
+                    // a_i = -sum m (p_i/rho_i^2 + p_j/rho_j^2) grad W, with grad W pointing from j to i
+                    double push = particleMass * (pressureTerm + pressure[j] / (density[j] * density[j]))
+                            * spikyGradient * gap * gap / distance;
+                    ax += dx * push;
+                    ay += dy * push;
+
+                    double weight = particleMass * viscosityLaplacian * gap / density[j];
+                    viscousX += (vx[j] - vx[i]) * weight;
+                    viscousY += (vy[j] - vy[i]) * weight;
+                }
+            }
+            accelerationX[i] = ax + viscosity * viscousX / density[i] + gravity.x();
+            accelerationY[i] = ay + viscosity * viscousY / density[i] + gravity.y();
+        }
+    }
+
+    /**
+     * Symplectic Euler, then collisions with the world bounds and static boxes
+     */
+    private void integrateRange(int start, int end, double delta) {
+        double[] x = particles.x;
+        double[] y = particles.y;
+        double[] vx = particles.vx;
+        double[] vy = particles.vy;
+        double minX = worldMinX + particleRadius;
+        double maxX = worldMaxX - particleRadius;
+        double minY = worldMinY + particleRadius;
+        double maxY = worldMaxY - particleRadius;
+        for (int i = start; i < end; i++) {
+            vx[i] += accelerationX[i] * delta;
+            vy[i] += accelerationY[i] * delta;
+            x[i] += vx[i] * delta;
+            y[i] += vy[i] * delta;
+
+            if (x[i] < minX) {
+                x[i] = minX;
+                vx[i] = Math.max(vx[i], 0);
+            } else if (x[i] > maxX) {
+                x[i] = maxX;
+                vx[i] = Math.min(vx[i], 0);
+            }
+            if (y[i] < minY) {
+                y[i] = minY;
+                vy[i] = Math.max(vy[i], 0);
+            } else if (y[i] > maxY) {
+                y[i] = maxY;
+                vy[i] = Math.min(vy[i], 0);
+            }
+
+            for (int s = 0, n = staticBodies.size(); s < n; s++) {
+                if (staticBodies.get(s).getCollider() instanceof AABBCollider box) {
+                    collideWithBox(i, box);
+                }
+            }
+        }
+    }
+
+    /**
+     * Push a particle inside a box out through the nearest face and remove its inward velocity
+     */
+    private void collideWithBox(int i, AABBCollider box) {
+        double halfWidth = box.width() / 2 + particleRadius;
+        double halfHeight = box.height() / 2 + particleRadius;
+        double offsetX = particles.x[i] - box.center().x();
+        double offsetY = particles.y[i] - box.center().y();
+        double penetrationX = halfWidth - Math.abs(offsetX);
+        double penetrationY = halfHeight - Math.abs(offsetY);
+        if (penetrationX <= 0 || penetrationY <= 0) {
+            return;
+        }
+        if (penetrationX < penetrationY) {
+            double side = Math.signum(offsetX);
+            particles.x[i] = box.center().x() + side * halfWidth;
+            if (particles.vx[i] * side < 0) {
+                particles.vx[i] = 0;
+            }
+        } else {
+            double side = offsetY >= 0 ? 1 : -1;
+            particles.y[i] = box.center().y() + side * halfHeight;
+            if (particles.vy[i] * side < 0) {
+                particles.vy[i] = 0;
+            }
+        }
+    }
+
+    /**
+     * Two-way coupling with dynamic circles: particles inside a circle are pushed to its surface and
+     * the approaching normal velocity is removed with an impulse shared by particle and body
+     * Processed one particle at a time against the body's updated velocity, so a body entering a dense
+     * fluid cannot take back more momentum than the relative velocity allows
+     */
+    private void coupleDynamicBodies() {
+        double[] x = particles.x;
+        double[] y = particles.y;
+        double[] vx = particles.vx;
+        double[] vy = particles.vy;
+        for (int b = 0, n = dynamicBodies.size(); b < n; b++) {
+            DynamicBody body = dynamicBodies.get(b);
+            if (!(body.getCollider() instanceof CircleCollider circle)) {
+                continue;
+            }
+            double centerX = circle.center().x();
+            double centerY = circle.center().y();
+            double reach = circle.radius() + particleRadius;
+            double bodyMass = body.getMass();
+            double reducedMass = particleMass * bodyMass / (particleMass + bodyMass);
+            double bodyVX = body.getVelocity().x();
+            double bodyVY = body.getVelocity().y();
+            boolean touched = false;
+
+            int firstColumn = cellX(centerX - reach);
+            int lastColumn = cellX(centerX + reach);
+            for (int row = cellY(centerY - reach); row <= cellY(centerY + reach); row++) {
+                int from = cellStart[row * gridWidth + firstColumn];
+                int to = cellStart[row * gridWidth + lastColumn + 1];
+                for (int i = from; i < to; i++) {
+                    double dx = x[i] - centerX;
+                    double dy = y[i] - centerY;
+                    double distanceSquared = dx * dx + dy * dy;
+                    if (distanceSquared >= reach * reach || distanceSquared == 0) {
+                        continue;
+                    }
+                    double distance = Math.sqrt(distanceSquared);
+                    double nx = dx / distance;
+                    double ny = dy / distance;
+                    x[i] = centerX + nx * reach;
+                    y[i] = centerY + ny * reach;
+
+                    double approach = (vx[i] - bodyVX) * nx + (vy[i] - bodyVY) * ny;
+                    if (approach < 0) {
+                        double impulse = -approach * reducedMass;
+                        vx[i] += impulse / particleMass * nx;
+                        vy[i] += impulse / particleMass * ny;
+                        bodyVX -= impulse / bodyMass * nx;
+                        bodyVY -= impulse / bodyMass * ny;
+                        touched = true;
+                    }
+                }
+            }
+
+            if (touched) {
+                if (body.isSleeping()) {
+                    body.wake();
+                }
+                body.setVelocity(new Vector(bodyVX, bodyVY));
+            }
+        }
+    }
+
+    private interface RangePass {
+        void run(int start, int end);
+    }
+
+    private void runChunks(int count, RangePass pass) {
+        int chunks = (count + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+        if (!parallel || chunks == 1) {
+            pass.run(0, count);
+            return;
+        }
+        IntStream.range(0, chunks).parallel().forEach(chunk ->
+                pass.run(chunk * PARALLEL_CHUNK, Math.min(count, (chunk + 1) * PARALLEL_CHUNK)));
+    }
+
+    // Particles outside the world fall into the edge cells
+    private int cellX(double x) {
+        return Math.max(0, Math.min(gridWidth - 1, (int) ((x - worldMinX) / kernelRadius)));
+    }
+
+    private int cellY(double y) {
+        return Math.max(0, Math.min(gridHeight - 1, (int) ((y - worldMinY) / kernelRadius)));
+    }
+
+    private void ensureScratchCapacity(int count) {
+        if (cell.length >= particles.x.length && scratchX.length >= particles.x.length) {
+            return;
+        }
+        int capacity = Math.max(count, particles.x.length);
+        particles.ensureCapacity(capacity);
+        cell = new int[capacity];
+        sortedCell = new int[capacity];
+        order = new int[capacity];
+        scratchX = new double[capacity];
+        scratchY = new double[capacity];
+        scratchVX = new double[capacity];
+        scratchVY = new double[capacity];
+        accelerationX = new double[capacity];
+        accelerationY = new double[capacity];
+    }
+
+    /**
+     * Kernel radius (smoothing length); also the grid cell size
+     */
+    public void setKernelRadius(double kernelRadius) {
+        this.kernelRadius = kernelRadius;
+        this.kernelRadiusSquared = kernelRadius * kernelRadius;
+        this.poly6 = 4.0 / (Math.PI * Math.pow(kernelRadius, 8));
+        this.spikyGradient = 30.0 / (Math.PI * Math.pow(kernelRadius, 5));
+        this.viscosityLaplacian = 40.0 / (Math.PI * Math.pow(kernelRadius, 5));
+        calibrateParticleMass();
+        setWorldBounds(worldMinX, worldMaxX, worldMinY, worldMaxY);
+    }
+
+    /**
+     * Choose the particle mass so a filled lattice at the rest spacing sums to exactly the rest density
+     * (spacing^2 * restDensity undershoots, since the kernel sum over a lattice is not its integral)
+     */
+    private void calibrateParticleMass() {
+        int reach = (int) Math.ceil(kernelRadius / particleSpacing);
+        double sum = 0;
+        for (int j = -reach; j <= reach; j++) {
+            for (int i = -reach; i <= reach; i++) {
+                double q = kernelRadiusSquared - (i * i + j * j) * particleSpacing * particleSpacing;
+                if (q > 0) {
+                    sum += q * q * q;
+                }
+            }
+        }
+        this.particleMass = restDensity / (poly6 * sum);
+    }
+
+    public double getKernelRadius() {
+        return kernelRadius;
+    }
+
+    public void setRestDensity(double restDensity) {
+        this.restDensity = restDensity;
+        calibrateParticleMass();
+    }
+
+    public double getRestDensity() {
+        return restDensity;
+    }
+
+    /**
+     * Pressure per unit of density above rest; its square root is the speed of sound
+     */
+    public void setStiffness(double stiffness) {
+        this.stiffness = stiffness;
+    }
+
+    public double getStiffness() {
+        return stiffness;
+    }
+
+    public void setViscosity(double viscosity) {
+        this.viscosity = viscosity;
+    }
+
+    public double getViscosity() {
+        return viscosity;
+    }
+
+    public double getParticleMass() {
+        return particleMass;
+    }
+
+    public double getParticleRadius() {
+        return particleRadius;
+    }
+
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    public FluidParticles getParticles() {
+        return particles;
+    }
+
+    /**
+     * Number of fluid steps taken in the last frame
+     */
+    public int getLastStepCount() {
+        return lastStepCount;
+    }
+
+    /**
+     * Particles times steps advanced since creation, for throughput measurements
+     */
+    public long getParticleSteps() {
+        return particleSteps;
+    }
+}
@@ -0,0 +1,350 @@
+package com.davismariotti.physics.forces;
+
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.DynamicBody;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Pairwise inverse-square attraction between all dynamic bodies, approximated with a Barnes-Hut quadtree
+ *
+ * F = strength * m_a * m_b / (r^2 + softening^2), directed along the line between the bodies. A positive
+ * strength attracts (gravity, unlike charges), a negative one repels (like charges). The tree is built over
+ * the positions at the first substep of each frame and the forces found then are reused by the frame's
+ * later substeps, so a frame pays for one build however many substeps it takes. A cell is treated as a
+ * point mass at its center of mass when cellSize / distance < theta, so theta = 0 is exact and larger
+ * values trade accuracy for speed. Forces are evaluated in parallel over chunks of bodies
+ *
+ * Every body acts as a source, but sleeping bodies receive no force and stay asleep, so sleeping is
+ * usually disabled for N-body scenes
+ */
+public class BarnesHutGravity implements ForceField {
+    private static final int MAX_DEPTH = 48;            // Coincident bodies share a leaf below this depth
+    private static final int PARALLEL_CHUNK = 512;      // Bodies per parallel task
+    private static final int EMPTY = -1;
+    private static final int INTERNAL = -2;
+
+    private final double strength;
+    private final double theta;
+    private final double softening;
+    private boolean parallel = true;
+
+    // Gathered body state
+    private double[] bodyX = new double[0];
+    private double[] bodyY = new double[0];
+    private double[] bodyMass = new double[0];
+    private double[] forceX = new double[0];
+    private double[] forceY = new double[0];
+    private int[] bodyLeaf = new int[0];         // Leaf node holding each body
+    private boolean forcesCurrent;               // Forces match this frame's positions
+    private int forceCount;
+
+    // Tree nodes: square cell, aggregate mass and center of mass, first of four children
+    private double[] nodeCenterX = new double[0];
+    private double[] nodeCenterY = new double[0];
+    private double[] nodeHalfSize = new double[0];
+    private double[] nodeMass = new double[0];
+    private double[] nodeMassX = new double[0];  // Sum of mass * x, divided out once the tree is built
+    private double[] nodeMassY = new double[0];
+    private int[] nodeChild = new int[0];        // Index of the first child; children are contiguous
+    private int[] nodeBody = new int[0];         // Body index for a leaf, EMPTY, or INTERNAL
+    private int nodeCount;
+    private long treeBuildCount;
+
+    /**
+     * @param strength interaction constant (G for gravity); negative for repulsion
+     * @param theta opening angle; 0 is exact, 0.5 is a common choice
+     * @param softening length added in quadrature to every distance, avoiding singular close encounters
+     */
+    public BarnesHutGravity(double strength, double theta, double softening) {
+        if (theta < 0) {
+            throw new IllegalArgumentException("Opening angle must not be negative, got " + theta);
+        }
+        this.strength = strength;
+        this.theta = theta;
+        this.softening = softening;
+    }
+
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    public double getTheta() {
+        return theta;
+    }
+
+    /**
+     * Number of tree nodes built by the last evaluation
+     */
+    public int getLastNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Number of trees built so far; one per frame in a simulator
+     */
+    public long getTreeBuildCount() {
+        return treeBuildCount;
+    }
+
+    /**
+     * Forces are evaluated again at the next substep
+     */
+    @Override
+    public void beginFrame() {
+        forcesCurrent = false;
+    }
+
+    @Override
+    public void apply(List<DynamicBody> bodies, double delta) {
+        int count = bodies.size();
+        if (count == 0) {
+            return;
+        }
+        if (!forcesCurrent || forceCount != count) {
+            gather(bodies);
+            computeForces(count);
+            forcesCurrent = true;
+            forceCount = count;
+        }
+
+        for (int i = 0; i < count; i++) {
+            DynamicBody body = bodies.get(i);
+            if (!body.isSleeping()) {
+                body.accumulateForce(forceX[i], forceY[i]);
+            }
+        }
+    }
+
+    /**
+     * Forces on every body from the current positions, without applying them
+     * Entry i of the result holds {fx, fy} for body i
+     */
+    public double[][] evaluate(List<DynamicBody> bodies) {
+        int count = bodies.size();
+        gather(bodies);
+        computeForces(count);
+        forcesCurrent = false;
+        double[][] result = new double[count][];
+        for (int i = 0; i < count; i++) {
+            result[i] = new double[]{forceX[i], forceY[i]};
+        }
+        return result;
+    }
+
+    private void gather(List<DynamicBody> bodies) {
+        int count = bodies.size();
+        if (bodyX.length < count) {
+            bodyX = new double[count];
+            bodyY = new double[count];
+            bodyMass = new double[count];
+            forceX = new double[count];
+            forceY = new double[count];
+            bodyLeaf = new int[count];
+        }
+        for (int i = 0; i < count; i++) {
+            DynamicBody body = bodies.get(i);
+            Vector position = body.getPosition();
+            bodyX[i] = position.x();
+            bodyY[i] = position.y();
+            bodyMass[i] = body.getMass();
+        }
+    }
+
+    private void computeForces(int count) {
+        buildTree(count);
+        int chunks = (count + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+        IntStream tasks = IntStream.range(0, chunks);
+        if (parallel && chunks > 1) {
+            tasks = tasks.parallel();
+        }
+        tasks.forEach(chunk -> {
+            int[] stack = new int[4 * MAX_DEPTH + 4];
+            int end = Math.min(count, (chunk + 1) * PARALLEL_CHUNK);
+            for (int i = chunk * PARALLEL_CHUNK; i < end; i++) {
+                accumulate(i, stack);
+            }
+        });
+    }
+
+    /**
+     * Walk the tree for one body, opening cells that are too close for the point-mass approximation
+     */
+    private void accumulate(int i, int[] stack) {
+        double x = bodyX[i];
+        double y = bodyY[i];
+        double softeningSquared = softening * softening;
+        double thetaSquared = theta * theta;
+        double fx = 0;
+        double fy = 0;
+
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            double mass = nodeMass[node];
+            if (mass == 0) {
+                continue;
+            }
+            double dx = nodeMassX[node] - x;
+            double dy = nodeMassY[node] - y;
+            double distanceSquared = dx * dx + dy * dy;
+            int body = nodeBody[node];
+            if (body == INTERNAL) {
+                double size = 2 * nodeHalfSize[node];
+                if (size * size >= thetaSquared * distanceSquared) {
+                    int child = nodeChild[node];
+                    stack[top++] = child;
+                    stack[top++] = child + 1;
+                    stack[top++] = child + 2;
+                    stack[top++] = child + 3;
+                    continue;
+                }
+            } else if (node == bodyLeaf[i]) {
+                // This body's leaf: drop only its own mass, keeping any coincident bodies sharing the leaf
+                double rest = mass - bodyMass[i];
+                if (rest <= 0) {
+                    continue;
+                }
+                dx = (nodeMassX[node] * mass - bodyMass[i] * x) / rest - x;
+                dy = (nodeMassY[node] * mass - bodyMass[i] * y) / rest - y;
+                distanceSquared = dx * dx + dy * dy;
+                mass = rest;
+            }
+
+            // Point mass at the cell's center of mass
+            double softened = distanceSquared + softeningSquared;
+            if (softened == 0) {
+                continue;
+            }
+            double inverseDistance = 1.0 / Math.sqrt(softened);
+            double scale = strength * mass * inverseDistance * inverseDistance * inverseDistance;
+            fx += dx * scale;
+            fy += dy * scale;
+        }
+
+        forceX[i] = fx * bodyMass[i];
+        forceY[i] = fy * bodyMass[i];
+    }
+
+    /**
+     * Insert every body into a fresh quadtree over the bounding square, then finish the centers of mass
+     */
+    private void buildTree(int count) {
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            minX = Math.min(minX, bodyX[i]);
+            minY = Math.min(minY, bodyY[i]);
+            maxX = Math.max(maxX, bodyX[i]);
+            maxY = Math.max(maxY, bodyY[i]);
+        }
+        double halfSize = Math.max(maxX - minX, maxY - minY) / 2 + 1e-9;
+
+        treeBuildCount++;
+        nodeCount = 0;
+        ensureNodeCapacity(4 * count + 1);
+        newNode((minX + maxX) / 2, (minY + maxY) / 2, halfSize);
+        for (int i = 0; i < count; i++) {
+            insert(i);
+        }
+
+        for (int node = 0; node < nodeCount; node++) {
+            double mass = nodeMass[node];
+            if (mass > 0) {
+                nodeMassX[node] /= mass;
+                nodeMassY[node] /= mass;
+            }
+        }
+    }
+
+    private void insert(int i) {
+        double x = bodyX[i];
+        double y = bodyY[i];
+        double mass = bodyMass[i];
+        int node = 0;
+        for (int depth = 0; ; depth++) {
+            int body = nodeBody[node];
+            if (body == EMPTY) {
+                nodeBody[node] = i;
+                bodyLeaf[i] = node;
+                addMass(node, x, y, mass);
+                return;
+            }
+            if (body != INTERNAL) {
+                if (depth >= MAX_DEPTH) {
+                    // Effectively coincident: share the leaf as one aggregate mass
+                    bodyLeaf[i] = node;
+                    addMass(node, x, y, mass);
+                    return;
+                }
+                // Split the leaf and push its body down one level
+                subdivide(node);
+                int child = childFor(node, bodyX[body], bodyY[body]);
+                nodeBody[child] = body;
+                bodyLeaf[body] = child;
+                addMass(child, bodyX[body], bodyY[body], bodyMass[body]);
+            }
+            addMass(node, x, y, mass);
+            node = childFor(node, x, y);
+        }
+    }
+
+    private void subdivide(int node) {
+        ensureNodeCapacity(nodeCount + 4);
+        double quarter = nodeHalfSize[node] / 2;
+        double cx = nodeCenterX[node];
+        double cy = nodeCenterY[node];
+        int first = nodeCount;
+        newNode(cx - quarter, cy - quarter, quarter);
+        newNode(cx + quarter, cy - quarter, quarter);
+        newNode(cx - quarter, cy + quarter, quarter);
+        newNode(cx + quarter, cy + quarter, quarter);
+        nodeChild[node] = first;
+        nodeBody[node] = INTERNAL;
+    }
+
+    private int childFor(int node, double x, double y) {
+        int quadrant = (x >= nodeCenterX[node] ? 1 : 0) + (y >= nodeCenterY[node] ? 2 : 0);
+        return nodeChild[node] + quadrant;
+    }
+
+    private void addMass(int node, double x, double y, double mass) {
+        nodeMass[node] += mass;
+        nodeMassX[node] += mass * x;
+        nodeMassY[node] += mass * y;
+    }
+
+    private void newNode(double centerX, double centerY, double halfSize) {
+        int node = nodeCount++;
+        nodeCenterX[node] = centerX;
+        nodeCenterY[node] = centerY;
+        nodeHalfSize[node] = halfSize;
+        nodeMass[node] = 0;
+        nodeMassX[node] = 0;
+        nodeMassY[node] = 0;
+        nodeChild[node] = EMPTY;
+        nodeBody[node] = EMPTY;
+    }
+
+    private void ensureNodeCapacity(int capacity) {
+        if (nodeCenterX.length >= capacity) {
+            return;
+        }
+        int grown = Math.max(capacity, nodeCenterX.length * 2);
+        nodeCenterX = Arrays.copyOf(nodeCenterX, grown);
+        nodeCenterY = Arrays.copyOf(nodeCenterY, grown);
+        nodeHalfSize = Arrays.copyOf(nodeHalfSize, grown);
+        nodeMass = Arrays.copyOf(nodeMass, grown);
+        nodeMassX = Arrays.copyOf(nodeMassX, grown);
+        nodeMassY = Arrays.copyOf(nodeMassY, grown);
+        nodeChild = Arrays.copyOf(nodeChild, grown);
+        nodeBody = Arrays.copyOf(nodeBody, grown);
+    }
+}
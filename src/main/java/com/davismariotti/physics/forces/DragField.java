@@ -0,0 +1,30 @@
+package com.davismariotti.physics.forces;
+
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.DynamicBody;
+
+import java.util.List;
+
+/**
+ * Quadratic drag everywhere, evaluated from each body's velocity at the start of the substep
+ * Unlike DragForce it is not re-evaluated at an integrator's trial states
+ */
+public record DragField(double dragCoefficient) implements ForceField {
+
+    @Override
+    public void apply(List<DynamicBody> bodies, double delta) {
+        if (dragCoefficient <= 0) {
+            return;
+        }
+        for (int i = 0, n = bodies.size(); i < n; i++) {
+            DynamicBody body = bodies.get(i);
+            if (body.isSleeping()) {
+                continue;
+            }
+            Vector velocity = body.getVelocity();
+            double speed = Math.sqrt(velocity.x() * velocity.x() + velocity.y() * velocity.y());
+            // F_drag = -dragCoefficient * velocity * |velocity|
+            body.accumulateForce(-dragCoefficient * speed * velocity.x(), -dragCoefficient * speed * velocity.y());
+        }
+    }
+}
@@ -13,11 +13,15 @@ public record DragForce(double dragCoefficient) implements Force {
             return Vector.ZERO;
         }
 
+        return calculate(dynamic, dynamic.getPosition(), dynamic.getVelocity());
+    }
+
+    @Override
+    public Vector calculate(DynamicBody body, Vector position, Vector velocity) {
         if (dragCoefficient <= 0) {
             return Vector.ZERO;
         }
 
-        Vector velocity = dynamic.getVelocity();
         double velocityMagnitude = velocity.getMagnitude();
 
         if (velocityMagnitude == 0) {
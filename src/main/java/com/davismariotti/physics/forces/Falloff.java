@@ -0,0 +1,25 @@
+package com.davismariotti.physics.forces;
+
+/**
+ * How a radial field weakens between its center and its radius
+ */
+public enum Falloff {
+    CONSTANT,   // Full strength out to the radius
+    LINEAR,     // 1 - d/r
+    QUADRATIC;  // (1 - d/r)^2
+
+    /**
+     * Strength multiplier at a distance from the center, zero at or beyond the radius
+     */
+    public double weight(double distance, double radius) {
+        if (distance >= radius) {
+            return 0;
+        }
+        double remaining = 1 - distance / radius;
+        return switch (this) {
+            case CONSTANT -> 1;
+            case LINEAR -> remaining;
+            case QUADRATIC -> remaining * remaining;
+        };
+    }
+}
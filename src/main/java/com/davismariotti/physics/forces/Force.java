@@ -1,6 +1,7 @@
 package com.davismariotti.physics.forces;
 
 import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.DynamicBody;
 import com.davismariotti.physics.sprites.RigidBody;
 
 /**
@@ -13,4 +14,16 @@ public interface Force {
      * @return the force vector
      */
     Vector calculate(RigidBody body);
+
+    /**
+     * Calculate the force at a trial state inside an integration step
+     * Forces that depend on position or velocity should override this
+     * @param body the dynamic body to calculate force for
+     * @param position trial position
+     * @param velocity trial velocity
+     * @return the force vector
+     */
+    default Vector calculate(DynamicBody body, Vector position, Vector velocity) {
+        return calculate(body);
+    }
 }
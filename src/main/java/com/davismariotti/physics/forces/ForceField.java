@@ -0,0 +1,43 @@
+package com.davismariotti.physics.forces;
+
+import com.davismariotti.physics.collision.AABBCollider;
+import com.davismariotti.physics.sprites.DynamicBody;
+
+import java.util.List;
+
+/**
+ * Force evaluated in batch over the body store, once per substep
+ * Fields add their force with DynamicBody.accumulateForce (or change velocity directly for impulses),
+ * so no Vector is allocated per body. A field with a support box is only handed the bodies the
+ * broadphase finds inside it
+ */
+public interface ForceField {
+    /**
+     * Apply the field to a batch of bodies
+     * Local fields may be handed bodies just outside their support and must test each body themselves
+     * @param bodies candidate bodies
+     * @param delta substep duration
+     */
+    void apply(List<DynamicBody> bodies, double delta);
+
+    /**
+     * Called once at the start of each frame, before its first substep
+     * Fields that are expensive to evaluate can compute once per frame and reuse the result across substeps
+     */
+    default void beginFrame() {
+    }
+
+    /**
+     * Box outside which the field exerts no force, or null for a field covering the whole world
+     */
+    default AABBCollider getSupport() {
+        return null;
+    }
+
+    /**
+     * Whether the field is finished and should be removed (one-shot impulses)
+     */
+    default boolean isExpired() {
+        return false;
+    }
+}
@@ -0,0 +1,41 @@
+package com.davismariotti.physics.forces;
+
+import com.davismariotti.physics.collision.AABBCollider;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.DynamicBody;
+
+import java.util.List;
+
+/**
+ * Continuous push away from (positive strength) or pull toward (negative strength) a point
+ * Bodies inside the radius are woken so the field can move them
+ */
+public record RadialForceField(Vector center, double radius, double strength, Falloff falloff) implements ForceField {
+
+    @Override
+    public void apply(List<DynamicBody> bodies, double delta) {
+        double cx = center.x();
+        double cy = center.y();
+        for (int i = 0, n = bodies.size(); i < n; i++) {
+            DynamicBody body = bodies.get(i);
+            Vector position = body.getPosition();
+            double dx = position.x() - cx;
+            double dy = position.y() - cy;
+            double distance = Math.sqrt(dx * dx + dy * dy);
+            double weight = falloff.weight(distance, radius);
+            if (weight == 0 || distance == 0) {
+                continue;
+            }
+            if (body.isSleeping()) {
+                body.wake();
+            }
+            double magnitude = strength * weight / distance;
+            body.accumulateForce(dx * magnitude, dy * magnitude);
+        }
+    }
+
+    @Override
+    public AABBCollider getSupport() {
+        return new AABBCollider(center, 2 * radius, 2 * radius);
+    }
+}
@@ -0,0 +1,78 @@
+package com.davismariotti.physics.forces;
+
+import com.davismariotti.physics.collision.AABBCollider;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.DynamicBody;
+
+import java.util.List;
+
+/**
+ * One-shot explosion: an outward impulse applied on the first substep after it is added, then expired
+ * Bodies hit by the impulse are woken
+ */
+public class RadialImpulse implements ForceField {
+    private final Vector center;
+    private final double radius;
+    private final double impulse;
+    private final Falloff falloff;
+    private boolean applied;
+    private int affectedCount;
+
+    /**
+     * @param center explosion center
+     * @param radius distance beyond which bodies are unaffected
+     * @param impulse impulse magnitude at the center
+     * @param falloff how the impulse weakens with distance
+     */
+    public RadialImpulse(Vector center, double radius, double impulse, Falloff falloff) {
+        this.center = center;
+        this.radius = radius;
+        this.impulse = impulse;
+        this.falloff = falloff;
+    }
+
+    @Override
+    public void apply(List<DynamicBody> bodies, double delta) {
+        if (applied) {
+            return;
+        }
+        applied = true;
+
+        double cx = center.x();
+        double cy = center.y();
+        for (int i = 0, n = bodies.size(); i < n; i++) {
+            DynamicBody body = bodies.get(i);
+            Vector position = body.getPosition();
+            double dx = position.x() - cx;
+            double dy = position.y() - cy;
+            double distance = Math.sqrt(dx * dx + dy * dy);
+            double weight = falloff.weight(distance, radius);
+            if (weight == 0 || distance == 0) {
+                continue;
+            }
+            if (body.isSleeping()) {
+                body.wake();
+            }
+            double magnitude = impulse * weight / distance;
+            body.applyImpulse(dx * magnitude, dy * magnitude);
+            affectedCount++;
+        }
+    }
+
+    @Override
+    public AABBCollider getSupport() {
+        return new AABBCollider(center, 2 * radius, 2 * radius);
+    }
+
+    @Override
+    public boolean isExpired() {
+        return applied;
+    }
+
+    /**
+     * Number of bodies the impulse reached
+     */
+    public int getAffectedCount() {
+        return affectedCount;
+    }
+}
@@ -0,0 +1,278 @@
+package com.davismariotti.physics.forces;
+
+import com.davismariotti.physics.collision.AABBCollider;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.DynamicBody;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Force sampled from a regular grid of force vectors with bilinear interpolation, for wind and flow
+ * that vary across the world
+ *
+ * Nodes sit at (minX + i * spacing, minY + j * spacing). Bodies are sampled in batches: positions are
+ * gathered into flat arrays, interpolated in a loop with clamped indices and no data-dependent branches,
+ * then scattered as accumulated forces. Outside the grid the field is zero
+ *
+ * Updates are double buffered: a writer (possibly a background thread) fills the back buffer from
+ * acquireBackBuffer() and hands it over with publish(); the simulation swaps it in at its next substep,
+ * so it never reads a buffer while it is being written. A published buffer the simulation has not
+ * picked up yet is recycled if a newer one replaces it
+ */
+public class SampledVectorField implements ForceField {
+    private final int width;
+    private final int height;
+    private final double minX;
+    private final double minY;
+    private final double spacing;
+
+    private Buffer front;
+    private final AtomicReference<Buffer> published = new AtomicReference<>();
+    private final AtomicReference<Buffer> spare = new AtomicReference<>();
+
+    // Batch scratch arrays
+    private double[] sampleX = new double[0];
+    private double[] sampleY = new double[0];
+    private double[] forceX = new double[0];
+    private double[] forceY = new double[0];
+
+    /**
+     * Force vectors at the grid nodes, row-major with x varying fastest
+     */
+    public static final class Buffer {
+        private final double[] x;
+        private final double[] y;
+
+        private Buffer(int nodes) {
+            this.x = new double[nodes];
+            this.y = new double[nodes];
+        }
+
+        public double[] x() {
+            return x;
+        }
+
+        public double[] y() {
+            return y;
+        }
+    }
+
+    /**
+     * Create a zero field
+     * @param width nodes along x (at least 2)
+     * @param height nodes along y (at least 2)
+     * @param minX x of the first node column
+     * @param minY y of the first node row
+     * @param spacing distance between neighboring nodes
+     */
+    public SampledVectorField(int width, int height, double minX, double minY, double spacing) {
+        if (width < 2 || height < 2) {
+            throw new IllegalArgumentException("Vector field needs at least 2x2 nodes, got " + width + "x" + height);
+        }
+        if (spacing <= 0) {
+            throw new IllegalArgumentException("Vector field spacing must be positive, got " + spacing);
+        }
+        this.width = width;
+        this.height = height;
+        this.minX = minX;
+        this.minY = minY;
+        this.spacing = spacing;
+        this.front = new Buffer(width * height);
+    }
+
+    /**
+     * Load a field from a text file
+     * The first line holds "width height minX minY spacing", followed by one "fx fy" pair per node,
+     * row by row from minY with x varying fastest. Blank lines and lines starting with # are ignored
+     */
+    public static SampledVectorField load(Path path) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            SampledVectorField field = null;
+            Buffer buffer = null;
+            int node = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] tokens = line.split("[\\s,]+");
+                if (field == null) {
+                    if (tokens.length != 5) {
+                        throw new IOException("Expected 'width height minX minY spacing' header in " + path);
+                    }
+                    field = new SampledVectorField(Integer.parseInt(tokens[0]), Integer.parseInt(tokens[1]),
+                            Double.parseDouble(tokens[2]), Double.parseDouble(tokens[3]), Double.parseDouble(tokens[4]));
+                    buffer = field.acquireBackBuffer();
+                    continue;
+                }
+                if (tokens.length != 2 || node >= field.width * field.height) {
+                    throw new IOException("Unexpected vector field line '" + line + "' in " + path);
+                }
+                buffer.x[node] = Double.parseDouble(tokens[0]);
+                buffer.y[node] = Double.parseDouble(tokens[1]);
+                node++;
+            }
+            if (field == null || node != field.width * field.height) {
+                throw new IOException("Vector field in " + path + " is missing node values");
+            }
+            field.publish(buffer);
+            return field;
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed number in vector field " + path, e);
+        }
+    }
+
+    /**
+     * Get a buffer to write the next field into; its previous contents are undefined
+     */
+    public Buffer acquireBackBuffer() {
+        Buffer buffer = spare.getAndSet(null);
+        return buffer != null ? buffer : new Buffer(width * height);
+    }
+
+    /**
+     * Hand a filled buffer to the simulation; it takes effect at the next substep
+     */
+    public void publish(Buffer buffer) {
+        Buffer unused = published.getAndSet(buffer);
+        if (unused != null) {
+            spare.set(unused);
+        }
+    }
+
+    /**
+     * Fill the back buffer from functions of node position and publish it
+     * Convenience for animating the field; can run on any thread
+     */
+    public void fill(DoubleBinaryOperator forceXAt, DoubleBinaryOperator forceYAt) {
+        Buffer buffer = acquireBackBuffer();
+        for (int j = 0; j < height; j++) {
+            double y = minY + j * spacing;
+            for (int i = 0; i < width; i++) {
+                double x = minX + i * spacing;
+                buffer.x[j * width + i] = forceXAt.applyAsDouble(x, y);
+                buffer.y[j * width + i] = forceYAt.applyAsDouble(x, y);
+            }
+        }
+        publish(buffer);
+    }
+
+    /**
+     * Interpolated force at a point, from the buffer the simulation is currently using
+     */
+    public Vector sample(double x, double y) {
+        swapInPublished();
+        sampleX = ensure(sampleX, 1);
+        sampleY = ensure(sampleY, 1);
+        forceX = ensure(forceX, 1);
+        forceY = ensure(forceY, 1);
+        sampleX[0] = x;
+        sampleY[0] = y;
+        sampleBatch(front, sampleX, sampleY, forceX, forceY, 1);
+        return new Vector(forceX[0], forceY[0]);
+    }
+
+    @Override
+    public void apply(List<DynamicBody> bodies, double delta) {
+        swapInPublished();
+        int count = bodies.size();
+        sampleX = ensure(sampleX, count);
+        sampleY = ensure(sampleY, count);
+        forceX = ensure(forceX, count);
+        forceY = ensure(forceY, count);
+
+        // Gather
+        for (int i = 0; i < count; i++) {
+            Vector position = bodies.get(i).getPosition();
+            sampleX[i] = position.x();
+            sampleY[i] = position.y();
+        }
+
+        sampleBatch(front, sampleX, sampleY, forceX, forceY, count);
+
+        // Scatter
+        for (int i = 0; i < count; i++) {
+            DynamicBody body = bodies.get(i);
+            if (!body.isSleeping()) {
+                body.accumulateForce(forceX[i], forceY[i]);
+            }
+        }
+    }
+
+    @Override
+    public AABBCollider getSupport() {
+        double extentX = (width - 1) * spacing;
+        double extentY = (height - 1) * spacing;
+        return new AABBCollider(new Vector(minX + extentX / 2, minY + extentY / 2), extentX, extentY);
+    }
+
+    /**
+     * Bilinear interpolation over a batch of points
+     * Indices are clamped to the grid and points outside it are masked to zero, so the loop has no
+     * data-dependent branches
+     */
+    private void sampleBatch(Buffer buffer, double[] xs, double[] ys, double[] outX, double[] outY, int count) {
+        double[] nodeX = buffer.x;
+        double[] nodeY = buffer.y;
+        double inverseSpacing = 1.0 / spacing;
+        double maxU = width - 1;
+        double maxV = height - 1;
+        for (int i = 0; i < count; i++) {
+            double u = (xs[i] - minX) * inverseSpacing;
+            double v = (ys[i] - minY) * inverseSpacing;
+            double mask = (u >= 0 && u <= maxU && v >= 0 && v <= maxV) ? 1.0 : 0.0;
+            u = Math.max(0, Math.min(maxU, u));
+            v = Math.max(0, Math.min(maxV, v));
+
+            int i0 = Math.min((int) u, width - 2);
+            int j0 = Math.min((int) v, height - 2);
+            double tx = u - i0;
+            double ty = v - j0;
+            int n00 = j0 * width + i0;
+            int n10 = n00 + 1;
+            int n01 = n00 + width;
+            int n11 = n01 + 1;
+
+            double w00 = (1 - tx) * (1 - ty) * mask;
+            double w10 = tx * (1 - ty) * mask;
+            double w01 = (1 - tx) * ty * mask;
+            double w11 = tx * ty * mask;
+            outX[i] = nodeX[n00] * w00 + nodeX[n10] * w10 + nodeX[n01] * w01 + nodeX[n11] * w11;
+            outY[i] = nodeY[n00] * w00 + nodeY[n10] * w10 + nodeY[n01] * w01 + nodeY[n11] * w11;
+        }
+    }
+
+    /**
+     * Make the most recently published buffer current, returning the old one for reuse
+     */
+    private void swapInPublished() {
+        Buffer next = published.getAndSet(null);
+        if (next != null) {
+            spare.set(front);
+            front = next;
+        }
+    }
+
+    private static double[] ensure(double[] array, int size) {
+        return array.length >= size ? array : new double[Math.max(size, array.length * 2)];
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public double getSpacing() {
+        return spacing;
+    }
+}
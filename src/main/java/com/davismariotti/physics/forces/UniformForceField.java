@@ -0,0 +1,26 @@
+package com.davismariotti.physics.forces;
+
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.DynamicBody;
+
+import java.util.List;
+
+/**
+ * Same acceleration everywhere, like gravity; sleeping bodies are left asleep
+ */
+public record UniformForceField(Vector acceleration) implements ForceField {
+
+    @Override
+    public void apply(List<DynamicBody> bodies, double delta) {
+        double ax = acceleration.x();
+        double ay = acceleration.y();
+        for (int i = 0, n = bodies.size(); i < n; i++) {
+            DynamicBody body = bodies.get(i);
+            if (body.isSleeping()) {
+                continue;
+            }
+            double mass = body.getMass();
+            body.accumulateForce(ax * mass, ay * mass);
+        }
+    }
+}
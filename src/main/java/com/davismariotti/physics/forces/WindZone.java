@@ -0,0 +1,38 @@
+package com.davismariotti.physics.forces;
+
+import com.davismariotti.physics.collision.AABBCollider;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.DynamicBody;
+
+import java.util.List;
+
+/**
+ * Constant force on every body whose center lies inside a rectangle
+ * Bodies inside the zone are woken so the wind can move them
+ */
+public record WindZone(AABBCollider zone, Vector force) implements ForceField {
+
+    @Override
+    public void apply(List<DynamicBody> bodies, double delta) {
+        double minX = zone.center().x() - zone.width() / 2;
+        double maxX = zone.center().x() + zone.width() / 2;
+        double minY = zone.center().y() - zone.height() / 2;
+        double maxY = zone.center().y() + zone.height() / 2;
+        for (int i = 0, n = bodies.size(); i < n; i++) {
+            DynamicBody body = bodies.get(i);
+            Vector position = body.getPosition();
+            if (position.x() < minX || position.x() > maxX || position.y() < minY || position.y() > maxY) {
+                continue;
+            }
+            if (body.isSleeping()) {
+                body.wake();
+            }
+            body.accumulateForce(force.x(), force.y());
+        }
+    }
+
+    @Override
+    public AABBCollider getSupport() {
+        return zone;
+    }
+}
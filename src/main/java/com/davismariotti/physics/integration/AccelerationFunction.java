@@ -0,0 +1,19 @@
+package com.davismariotti.physics.integration;
+
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.DynamicBody;
+
+/**
+ * Acceleration of a body evaluated at a trial state inside an integration step
+ */
+@FunctionalInterface
+public interface AccelerationFunction {
+    /**
+     * Calculate the acceleration the body would have at the given state
+     * @param body the body being integrated
+     * @param position trial position
+     * @param velocity trial velocity
+     * @return the acceleration vector
+     */
+    Vector evaluate(DynamicBody body, Vector position, Vector velocity);
+}
@@ -0,0 +1,32 @@
+package com.davismariotti.physics.integration;
+
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.DynamicBody;
+
+/**
+ * Holds the start-of-step acceleration fixed across the step
+ * Exact for gravity alone, first order once forces depend on the state
+ */
+public class ConstantAccelerationIntegrator implements Integrator {
+
+    @Override
+    public void integrate(DynamicBody body, AccelerationFunction acceleration, double delta) {
+        Vector position = body.getPosition();
+        Vector velocity = body.getVelocity();
+        Vector a = acceleration.evaluate(body, position, velocity);
+
+        body.setPosition(new Vector(
+                position.x() + velocity.x() * delta + 0.5 * a.x() * delta * delta,
+                position.y() + velocity.y() * delta + 0.5 * a.y() * delta * delta
+        ));
+        body.setVelocity(new Vector(
+                velocity.x() + a.x() * delta,
+                velocity.y() + a.y() * delta
+        ));
+    }
+
+    @Override
+    public int evaluationsPerStep() {
+        return 1;
+    }
+}
@@ -0,0 +1,43 @@
+package com.davismariotti.physics.integration;
+
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.DynamicBody;
+
+/**
+ * Fourth-order symplectic integrator (Forest-Ruth position splitting)
+ * Energy error stays bounded for conservative forces instead of drifting
+ * Velocity-dependent forces break the splitting and drop it to first order
+ */
+public class ForestRuthIntegrator implements Integrator {
+    private static final double THETA = 1.0 / (2.0 - Math.cbrt(2.0));
+
+    // Drift and kick weights for the three force evaluations
+    private static final double[] DRIFT = {THETA / 2, (1 - THETA) / 2, (1 - THETA) / 2, THETA / 2};
+    private static final double[] KICK = {THETA, 1 - 2 * THETA, THETA};
+
+    @Override
+    public void integrate(DynamicBody body, AccelerationFunction acceleration, double delta) {
+        double px = body.getPosition().x();
+        double py = body.getPosition().y();
+        double vx = body.getVelocity().x();
+        double vy = body.getVelocity().y();
+
+        for (int i = 0; i < KICK.length; i++) {
+            px += DRIFT[i] * vx * delta;
+            py += DRIFT[i] * vy * delta;
+            Vector a = acceleration.evaluate(body, new Vector(px, py), new Vector(vx, vy));
+            vx += KICK[i] * a.x() * delta;
+            vy += KICK[i] * a.y() * delta;
+        }
+        px += DRIFT[KICK.length] * vx * delta;
+        py += DRIFT[KICK.length] * vy * delta;
+
+        body.setPosition(new Vector(px, py));
+        body.setVelocity(new Vector(vx, vy));
+    }
+
+    @Override
+    public int evaluationsPerStep() {
+        return KICK.length;
+    }
+}
@@ -0,0 +1,21 @@
+package com.davismariotti.physics.integration;
+
+import com.davismariotti.physics.sprites.DynamicBody;
+
+/**
+ * Scheme for advancing a body's position and velocity over a time step
+ */
+public interface Integrator {
+    /**
+     * Advance the body's position and velocity
+     * @param body the body to integrate
+     * @param acceleration acceleration at a trial state, may be evaluated several times per step
+     * @param delta time step
+     */
+    void integrate(DynamicBody body, AccelerationFunction acceleration, double delta);
+
+    /**
+     * Number of acceleration evaluations per step, used to compare cost between schemes
+     */
+    int evaluationsPerStep();
+}
@@ -0,0 +1,47 @@
+package com.davismariotti.physics.integration;
+
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.DynamicBody;
+
+/**
+ * Classic fourth-order Runge-Kutta
+ * Not symplectic, but the most accurate choice when velocity-dependent drag dominates
+ */
+public class RungeKuttaIntegrator implements Integrator {
+
+    @Override
+    public void integrate(DynamicBody body, AccelerationFunction acceleration, double delta) {
+        Vector x0 = body.getPosition();
+        Vector v0 = body.getVelocity();
+        double half = delta / 2;
+
+        Vector a1 = acceleration.evaluate(body, x0, v0);
+
+        Vector x2 = new Vector(x0.x() + v0.x() * half, x0.y() + v0.y() * half);
+        Vector v2 = new Vector(v0.x() + a1.x() * half, v0.y() + a1.y() * half);
+        Vector a2 = acceleration.evaluate(body, x2, v2);
+
+        Vector x3 = new Vector(x0.x() + v2.x() * half, x0.y() + v2.y() * half);
+        Vector v3 = new Vector(v0.x() + a2.x() * half, v0.y() + a2.y() * half);
+        Vector a3 = acceleration.evaluate(body, x3, v3);
+
+        Vector x4 = new Vector(x0.x() + v3.x() * delta, x0.y() + v3.y() * delta);
+        Vector v4 = new Vector(v0.x() + a3.x() * delta, v0.y() + a3.y() * delta);
+        Vector a4 = acceleration.evaluate(body, x4, v4);
+
+        double sixth = delta / 6;
+        body.setPosition(new Vector(
+                x0.x() + sixth * (v0.x() + 2 * v2.x() + 2 * v3.x() + v4.x()),
+                x0.y() + sixth * (v0.y() + 2 * v2.y() + 2 * v3.y() + v4.y())
+        ));
+        body.setVelocity(new Vector(
+                v0.x() + sixth * (a1.x() + 2 * a2.x() + 2 * a3.x() + a4.x()),
+                v0.y() + sixth * (a1.y() + 2 * a2.y() + 2 * a3.y() + a4.y())
+        ));
+    }
+
+    @Override
+    public int evaluationsPerStep() {
+        return 4;
+    }
+}
@@ -0,0 +1,39 @@
+package com.davismariotti.physics.integration;
+
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.DynamicBody;
+
+/**
+ * Second-order velocity Verlet
+ * The end-of-step acceleration sees a predicted velocity so drag stays second order
+ */
+public class VelocityVerletIntegrator implements Integrator {
+
+    @Override
+    public void integrate(DynamicBody body, AccelerationFunction acceleration, double delta) {
+        Vector position = body.getPosition();
+        Vector velocity = body.getVelocity();
+        Vector a0 = acceleration.evaluate(body, position, velocity);
+
+        Vector newPosition = new Vector(
+                position.x() + velocity.x() * delta + 0.5 * a0.x() * delta * delta,
+                position.y() + velocity.y() * delta + 0.5 * a0.y() * delta * delta
+        );
+        Vector predictedVelocity = new Vector(
+                velocity.x() + a0.x() * delta,
+                velocity.y() + a0.y() * delta
+        );
+        Vector a1 = acceleration.evaluate(body, newPosition, predictedVelocity);
+
+        body.setPosition(newPosition);
+        body.setVelocity(new Vector(
+                velocity.x() + 0.5 * (a0.x() + a1.x()) * delta,
+                velocity.y() + 0.5 * (a0.y() + a1.y()) * delta
+        ));
+    }
+
+    @Override
+    public int evaluationsPerStep() {
+        return 2;
+    }
+}
@@ -1,32 +1,81 @@
 package com.davismariotti.physics.kinematics;
 
 import com.davismariotti.physics.forces.Force;
+import com.davismariotti.physics.sprites.DynamicBody;
 import com.davismariotti.physics.sprites.RigidBody;
 
 /**
- * Represents tension force (not currently used in simulation)
+ * Tension of an ideal rope tying a body to a fixed origin (a pendulum)
+ *
+ * While the rope is taut (the body is at least the rope length from the origin) the tension supplies the
+ * centripetal force and cancels the outward part of gravity: T = m (v_t^2 / r + g · u), where u points
+ * from the origin to the body and v_t is the velocity across the rope. A negative T means the rope goes
+ * slack and no force is applied. Being a force, it keeps a body on its circle but does not correct drift;
+ * use ChainConstraint for ropes that must hold their length exactly
  */
 public class TensionForce implements Force {
     private final Vector origin;
     private final RigidBody body;
+    private final double length;
+    private final Vector gravity;
 
-    public TensionForce(Vector origin, RigidBody body) {
+    /**
+     * @param origin fixed end of the rope
+     * @param body body on the other end
+     * @param length rope length
+     * @param gravity gravitational acceleration acting on the body
+     */
+    public TensionForce(Vector origin, RigidBody body, double length, Vector gravity) {
         this.origin = origin;
         this.body = body;
+        this.length = length;
+        this.gravity = gravity;
     }
 
     @Override
     public Vector calculate(RigidBody body) {
-        return new Vector(0, 0);
+        if (!(body instanceof DynamicBody dynamic)) {
+            return Vector.ZERO;
+        }
+        return calculate(dynamic, dynamic.getPosition(), dynamic.getVelocity());
+    }
+
+    @Override
+    public Vector calculate(DynamicBody body, Vector position, Vector velocity) {
+        double dx = position.x() - origin.x();
+        double dy = position.y() - origin.y();
+        double distance = Math.sqrt(dx * dx + dy * dy);
+        if (distance < length || distance == 0) {
+            return Vector.ZERO;
+        }
+        double ux = dx / distance;
+        double uy = dy / distance;
+        double radialSpeed = velocity.x() * ux + velocity.y() * uy;
+        double tangentialSpeedSquared = velocity.x() * velocity.x() + velocity.y() * velocity.y()
+                - radialSpeed * radialSpeed;
+        double tension = body.getMass() * (tangentialSpeedSquared / distance + gravity.x() * ux + gravity.y() * uy);
+        if (tension <= 0) {
+            return Vector.ZERO;
+        }
+        return new Vector(-ux * tension, -uy * tension);
+    }
+
+    /**
+     * Tension magnitude at the body's current state, zero while the rope is slack
+     */
+    public double getTension() {
+        return calculate(body).getMagnitude();
     }
 
     public Vector getVectorBetweenPoints() {
         return new Vector(origin.x() - body.getPosition().x(), origin.y() - body.getPosition().y());
     }
 
+    /**
+     * Angle of the rope from hanging straight down, in radians (positive with the body to the right)
+     */
     public double getAngle() {
-        // Math.atan2()
-        return 0;
+        return Math.atan2(body.getPosition().x() - origin.x(), origin.y() - body.getPosition().y());
     }
 
     public Vector getOrigin() {
@@ -36,4 +85,8 @@ public class TensionForce implements Force {
     public RigidBody getBody() {
         return body;
     }
+
+    public double getLength() {
+        return length;
+    }
 }
@@ -34,6 +34,20 @@ public class Camera {
         return new ScreenPointDouble(screenX, screenY);
     }
 
+    /**
+     * Screen X of a world X, for per-particle loops that should not allocate a point
+     */
+    public int worldToScreenX(double worldX) {
+        return (int) (worldX * scale);
+    }
+
+    /**
+     * Screen Y of a world Y, for per-particle loops that should not allocate a point
+     */
+    public int worldToScreenY(double worldY) {
+        return screenHeight - (int) (worldY * scale);
+    }
+
     /**
      * Convert world distance/size to screen distance/size
      */
@@ -38,6 +38,11 @@ public class HUDRenderer implements RenderComponent {
         graphics.drawString(String.format("FPS: %.1f", fps), textX, textY + (line++ * lineHeight));
         graphics.drawString(String.format("Restitution: %.2f", config.getCoefficientOfRestitution()), textX, textY + (line++ * lineHeight));
         graphics.drawString(String.format("Drag: %.3f", config.getDragCoefficient()), textX, textY + (line++ * lineHeight));
+        if (collisionMetrics != null) {
+            graphics.drawString(String.format("Contacts: %d", collisionMetrics.getTotalCollisions()), textX, textY + (line++ * lineHeight));
+            graphics.drawString(String.format("Resting: %d", collisionMetrics.getRestingContacts()), textX, textY + (line++ * lineHeight));
+            graphics.drawString(String.format("Max pen: %.3f", collisionMetrics.getMaxPenetration()), textX, textY + (line++ * lineHeight));
+        }
 
     }
 
@@ -1,7 +1,9 @@
 package com.davismariotti.physics.rendering;
 
 import com.davismariotti.physics.Game;
+import com.davismariotti.physics.constraints.CollisionMetrics;
 import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.debris.DebrisParticles;
 import com.davismariotti.physics.interactions.WorldInteractionSystem;
 
 import java.awt.*;
@@ -41,6 +43,23 @@ public class Renderer {
         components.add(hudRenderer);
     }
 
+    /**
+     * Draw a debris particle store with the world, before the HUD
+     */
+    public void addDebris(DebrisParticles particles, Color color) {
+        components.add(components.indexOf(hudRenderer), new DebrisRenderer(particles, camera, backBuffer, color, 2));
+    }
+
+    /**
+     * Show per-frame contact counts in the HUD
+     * Registers a contact listener, so the constraints record contacts from then on
+     */
+    public void showCollisionMetrics() {
+        CollisionMetrics metrics = new CollisionMetrics();
+        simulator.addContactListener(metrics);
+        hudRenderer.setCollisionMetrics(metrics);
+    }
+
     public void setActualFps(double fps) {
         hudRenderer.setFps(fps);
     }
@@ -0,0 +1,87 @@
+package com.davismariotti.physics.sensors;
+
+import com.davismariotti.physics.collision.AABBCollider;
+import com.davismariotti.physics.collision.CircleCollider;
+import com.davismariotti.physics.collision.Collider;
+import com.davismariotti.physics.collision.PolygonCollider;
+import com.davismariotti.physics.sprites.DynamicBody;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Trigger volume: reports which dynamic bodies overlap its shape without ever pushing them
+ * Shapes are boxes, circles or convex polygons; a sensor can be moved by giving it a new shape
+ */
+public class Sensor {
+    private Collider shape;
+    private double minX, minY, maxX, maxY;
+
+    // Overlapping bodies as of the last frame, and the set being built for the current one
+    Set<DynamicBody> overlaps = new HashSet<>();
+    Set<DynamicBody> pending = new HashSet<>();
+
+    /**
+     * @throws IllegalArgumentException if the shape is not a box, circle or polygon
+     */
+    public Sensor(Collider shape) {
+        setShape(shape);
+    }
+
+    /**
+     * Move or resize the sensor; overlaps are re-evaluated on the next frame
+     *
+     * @throws IllegalArgumentException if the shape is not a box, circle or polygon
+     */
+    public void setShape(Collider shape) {
+        if (shape instanceof AABBCollider box) {
+            setBounds(box.getMin().x(), box.getMin().y(), box.getMax().x(), box.getMax().y());
+        } else if (shape instanceof CircleCollider circle) {
+            setBounds(circle.getMin().x(), circle.getMin().y(), circle.getMax().x(), circle.getMax().y());
+        } else if (shape instanceof PolygonCollider polygon) {
+            setBounds(polygon.getMin().x(), polygon.getMin().y(), polygon.getMax().x(), polygon.getMax().y());
+        } else {
+            throw new IllegalArgumentException("Unsupported sensor shape: " + shape.getClass().getSimpleName());
+        }
+        this.shape = shape;
+    }
+
+    private void setBounds(double minX, double minY, double maxX, double maxY) {
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+    }
+
+    public Collider getShape() {
+        return shape;
+    }
+
+    /**
+     * Bodies overlapping the sensor as of the last frame (read-only view)
+     */
+    public Set<DynamicBody> getOverlaps() {
+        return Collections.unmodifiableSet(overlaps);
+    }
+
+    public boolean contains(DynamicBody body) {
+        return overlaps.contains(body);
+    }
+
+    double getMinX() {
+        return minX;
+    }
+
+    double getMinY() {
+        return minY;
+    }
+
+    double getMaxX() {
+        return maxX;
+    }
+
+    double getMaxY() {
+        return maxY;
+    }
+}
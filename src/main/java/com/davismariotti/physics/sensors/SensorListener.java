@@ -0,0 +1,27 @@
+package com.davismariotti.physics.sensors;
+
+import com.davismariotti.physics.sprites.DynamicBody;
+
+/**
+ * Receives a sensor system's events once per frame, after the simulator's update
+ * Listeners may add or remove bodies and sensors; the changes are picked up on the next frame
+ */
+public interface SensorListener {
+    /**
+     * The body started overlapping the sensor this frame
+     */
+    default void onEnter(Sensor sensor, DynamicBody body) {
+    }
+
+    /**
+     * The body overlapped the sensor last frame and still does
+     */
+    default void onStay(Sensor sensor, DynamicBody body) {
+    }
+
+    /**
+     * The body stopped overlapping the sensor this frame (or was removed from the simulator)
+     */
+    default void onExit(Sensor sensor, DynamicBody body) {
+    }
+}
@@ -0,0 +1,168 @@
+package com.davismariotti.physics.sensors;
+
+import com.davismariotti.physics.collision.CircleCollider;
+import com.davismariotti.physics.collision.CollisionDetector;
+import com.davismariotti.physics.collision.SpatialGrid;
+import com.davismariotti.physics.core.PhysicsSystem;
+import com.davismariotti.physics.core.SpatialQuery;
+import com.davismariotti.physics.sprites.DynamicBody;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Trigger volumes for gameplay logic (scoring zones, kill planes, spawn gates)
+ *
+ * Once per frame, after the rigid bodies, each sensor queries the cells under its bounds in a grid of the
+ * dynamic bodies (sleeping and ballistic ones included), so only bodies near a sensor reach the narrowphase
+ * and the cost follows the overlaps rather than sensors × bodies. Added to a simulator, the system reads
+ * the simulator's post-update body grid, shared with its spatial queries; on its own it builds its own.
+ * Each sensor's overlap set is compared with the previous frame's: bodies only in the new set entered,
+ * bodies in both stayed and bodies only in the old set exited. All events are delivered together once
+ * detection has finished. Sensors never push bodies, so the ballistic fast path stays on
+ */
+public class SensorSystem implements PhysicsSystem {
+    private final List<DynamicBody> dynamicBodies;
+    private final List<Sensor> sensors = new ArrayList<>();
+    private final List<SensorListener> listeners = new ArrayList<>();
+    private final double cellSize;
+    private SpatialGrid grid;
+    private SpatialQuery spatialQuery;  // Source of the shared body grid while added to a simulator
+    private final List<DynamicBody> candidates = new ArrayList<>();
+    private long narrowphaseChecks;
+
+    /**
+     * @param dynamicBodies bodies the sensors watch (usually the simulator's list)
+     * @param cellSize grid cell size when the system runs on its own; around the size of the bodies keeps
+     *                 candidate lists short
+     */
+    public SensorSystem(List<DynamicBody> dynamicBodies, double cellSize) {
+        this.dynamicBodies = dynamicBodies;
+        this.cellSize = cellSize;
+        setWorldBounds(0, 100, 0, 80);
+    }
+
+    @Override
+    public void setWorldBounds(double minX, double maxX, double minY, double maxY) {
+        this.grid = new SpatialGrid(minX, maxX, minY, maxY, cellSize);
+    }
+
+    @Override
+    public void setSpatialQuery(SpatialQuery spatialQuery) {
+        this.spatialQuery = spatialQuery;
+    }
+
+    /**
+     * Sensors only observe bodies
+     */
+    @Override
+    public boolean affectsBodies() {
+        return false;
+    }
+
+    /**
+     * Add a sensor; bodies already inside it get enter events on the next frame
+     */
+    public void addSensor(Sensor sensor) {
+        sensor.overlaps.clear();
+        sensor.pending.clear();
+        sensors.add(sensor);
+    }
+
+    /**
+     * Remove a sensor; bodies still inside it get no exit event
+     */
+    public void removeSensor(Sensor sensor) {
+        sensors.remove(sensor);
+    }
+
+    public void addListener(SensorListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(SensorListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public void step(double frameDelta) {
+        if (sensors.isEmpty()) {
+            return;
+        }
+
+        SpatialGrid bodyGrid = spatialQuery != null ? spatialQuery.getBodyGrid() : buildGrid();
+        for (Sensor sensor : sensors) {
+            Set<DynamicBody> found = sensor.pending;
+            found.clear();
+            bodyGrid.queryRegion(sensor.getMinX(), sensor.getMinY(), sensor.getMaxX(), sensor.getMaxY(), candidates);
+            for (DynamicBody body : candidates) {
+                // Bodies spanning several cells come up more than once
+                if (found.contains(body)) {
+                    continue;
+                }
+                narrowphaseChecks++;
+                if (CollisionDetector.checkCollision(body.getCollider(), sensor.getShape()).hasCollision()) {
+                    found.add(body);
+                }
+            }
+        }
+
+        // Listeners may change the sensor list, so deliver over a snapshot of this frame's sensors
+        Sensor[] frameSensors = sensors.toArray(new Sensor[0]);
+        for (Sensor sensor : frameSensors) {
+            Set<DynamicBody> previous = sensor.overlaps;
+            sensor.overlaps = sensor.pending;
+            sensor.pending = previous;
+        }
+        if (!listeners.isEmpty()) {
+            for (Sensor sensor : frameSensors) {
+                deliver(sensor, sensor.pending, sensor.overlaps);
+            }
+        }
+    }
+
+    private SpatialGrid buildGrid() {
+        grid.clear();
+        for (DynamicBody body : dynamicBodies) {
+            if (body.getCollider() instanceof CircleCollider) {
+                grid.insert(body);
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Events for one sensor from its previous and current overlap sets
+     */
+    private void deliver(Sensor sensor, Set<DynamicBody> previous, Set<DynamicBody> current) {
+        for (DynamicBody body : current) {
+            boolean stayed = previous.contains(body);
+            for (SensorListener listener : listeners) {
+                if (stayed) {
+                    listener.onStay(sensor, body);
+                } else {
+                    listener.onEnter(sensor, body);
+                }
+            }
+        }
+        for (DynamicBody body : previous) {
+            if (!current.contains(body)) {
+                for (SensorListener listener : listeners) {
+                    listener.onExit(sensor, body);
+                }
+            }
+        }
+    }
+
+    public List<Sensor> getSensors() {
+        return sensors;
+    }
+
+    /**
+     * Narrowphase overlap tests run so far (candidates from the grid, duplicates excluded)
+     */
+    public long getNarrowphaseChecks() {
+        return narrowphaseChecks;
+    }
+}
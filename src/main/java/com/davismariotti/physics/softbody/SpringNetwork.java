@@ -0,0 +1,465 @@
+package com.davismariotti.physics.softbody;
+
+import com.davismariotti.physics.constraints.Constraint;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.DynamicBody;
+import com.davismariotti.physics.sprites.RigidBody;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Mass-spring soft bodies: particles (ordinary dynamic bodies) connected by damped springs
+ *
+ * Springs are stored as flat arrays (endpoint indices, rest length, stiffness, damping) and evaluated
+ * once per substep after integration, in parallel over contiguous spring ranges. Each task writes into its
+ * own particle accumulator, and the accumulators are summed per particle afterwards, so no two tasks ever
+ * write the same slot. Particles stay in the simulator's body list, so they collide with everything else
+ * through the usual broadphase
+ *
+ * EXPLICIT evaluates Hooke forces plus dashpot damping and changes velocities by F / m dt. XPBD treats each
+ * spring as a distance constraint with compliance 1 / k and damping from Macklin et al., projected with
+ * Jacobi iterations; every particle's mass is split evenly between its springs and the split copies are
+ * averaged, so the summed corrections do not overshoot. Positions are corrected directly and velocities
+ * by the correction over the substep
+ *
+ * Sleeping particles are held fixed; a spring from an awake particle wakes the sleeping end
+ */
+public class SpringNetwork implements Constraint {
+    private static final int PARALLEL_CHUNK = 4096;     // Minimum springs per parallel task
+    private static final double DEGENERATE_LENGTH = 1e-9;
+
+    private final SpringSolver solver;
+    private final int iterations;
+    private boolean parallel = true;
+    private int lastTaskCount;
+
+    // Particles
+    private DynamicBody[] particles = new DynamicBody[0];
+    private int[] degree = new int[0];                   // Springs attached to each particle
+    private final Map<DynamicBody, Integer> particleIndex = new IdentityHashMap<>();
+    private int particleCount;
+
+    // Springs
+    private int[] springA = new int[0];
+    private int[] springB = new int[0];
+    private double[] restLength = new double[0];
+    private double[] stiffness = new double[0];
+    private double[] damping = new double[0];
+    private double[] lambda = new double[0];             // XPBD multiplier accumulated over one substep
+    private int springCount;
+
+    // Gathered particle state
+    private double[] x = new double[0];
+    private double[] y = new double[0];
+    private double[] startX = new double[0];             // Positions when the substep's projection began
+    private double[] startY = new double[0];
+    private double[] velocityX = new double[0];
+    private double[] velocityY = new double[0];
+    private double[] inverseMass = new double[0];
+
+    // Per-task accumulators (forces for EXPLICIT, position corrections for XPBD)
+    private double[][] accumulatedX = new double[0][];
+    private double[][] accumulatedY = new double[0][];
+
+    /**
+     * @param solver explicit forces or XPBD constraints
+     * @param iterations XPBD Jacobi iterations per substep (ignored by EXPLICIT)
+     */
+    public SpringNetwork(SpringSolver solver, int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Spring solver needs at least one iteration, got " + iterations);
+        }
+        this.solver = solver;
+        this.iterations = iterations;
+    }
+
+    public SpringNetwork(SpringSolver solver) {
+        this(solver, 4);
+    }
+
+    /**
+     * Connect two bodies with a spring whose rest length is their current distance
+     * @param stiffness spring constant (force per unit stretch); infinity for a rigid link under XPBD
+     * @param damping dashpot coefficient (force per unit relative speed along the spring)
+     * @return index of the spring
+     */
+    public int addSpring(DynamicBody a, DynamicBody b, double stiffness, double damping) {
+        Vector positionA = a.getPosition();
+        Vector positionB = b.getPosition();
+        double length = Math.hypot(positionB.x() - positionA.x(), positionB.y() - positionA.y());
+        return addSpring(a, b, length, stiffness, damping);
+    }
+
+    /**
+     * Connect two bodies with a spring of the given rest length
+     */
+    public int addSpring(DynamicBody a, DynamicBody b, double restLength, double stiffness, double damping) {
+        if (a == b) {
+            throw new IllegalArgumentException("A spring needs two different bodies");
+        }
+        if (!(stiffness > 0) || damping < 0) {
+            throw new IllegalArgumentException("Spring stiffness must be positive and damping non-negative, got "
+                    + stiffness + " and " + damping);
+        }
+        int indexA = addParticle(a);
+        int indexB = addParticle(b);
+        if (springCount == springA.length) {
+            int grown = Math.max(16, springCount * 2);
+            springA = Arrays.copyOf(springA, grown);
+            springB = Arrays.copyOf(springB, grown);
+            this.restLength = Arrays.copyOf(this.restLength, grown);
+            this.stiffness = Arrays.copyOf(this.stiffness, grown);
+            this.damping = Arrays.copyOf(this.damping, grown);
+            lambda = Arrays.copyOf(lambda, grown);
+        }
+        springA[springCount] = indexA;
+        springB[springCount] = indexB;
+        this.restLength[springCount] = restLength;
+        this.stiffness[springCount] = stiffness;
+        this.damping[springCount] = damping;
+        degree[indexA]++;
+        degree[indexB]++;
+        return springCount++;
+    }
+
+    /**
+     * Connect a row-major grid of bodies into a soft block: structural springs to the right and upper
+     * neighbors and shear springs along both diagonals, with rest lengths from the current positions
+     * @param bodies grid bodies, row by row
+     * @param columns bodies per row
+     */
+    public void addGrid(List<? extends DynamicBody> bodies, int columns, double stiffness, double damping) {
+        if (columns < 1 || bodies.size() % columns != 0) {
+            throw new IllegalArgumentException(bodies.size() + " bodies do not form rows of " + columns);
+        }
+        int rows = bodies.size() / columns;
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                DynamicBody body = bodies.get(row * columns + column);
+                boolean right = column + 1 < columns;
+                boolean up = row + 1 < rows;
+                if (right) {
+                    addSpring(body, bodies.get(row * columns + column + 1), stiffness, damping);
+                }
+                if (up) {
+                    addSpring(body, bodies.get((row + 1) * columns + column), stiffness, damping);
+                }
+                if (right && up) {
+                    addSpring(body, bodies.get((row + 1) * columns + column + 1), stiffness, damping);
+                    addSpring(bodies.get(row * columns + column + 1), bodies.get((row + 1) * columns + column),
+                            stiffness, damping);
+                }
+            }
+        }
+    }
+
+    private int addParticle(DynamicBody body) {
+        Integer existing = particleIndex.get(body);
+        if (existing != null) {
+            return existing;
+        }
+        if (particleCount == particles.length) {
+            int grown = Math.max(16, particleCount * 2);
+            particles = Arrays.copyOf(particles, grown);
+            degree = Arrays.copyOf(degree, grown);
+            x = new double[grown];
+            y = new double[grown];
+            startX = new double[grown];
+            startY = new double[grown];
+            velocityX = new double[grown];
+            velocityY = new double[grown];
+            inverseMass = new double[grown];
+            accumulatedX = new double[0][];
+            accumulatedY = new double[0][];
+        }
+        particles[particleCount] = body;
+        particleIndex.put(body, particleCount);
+        return particleCount++;
+    }
+
+    @Override
+    public void apply(RigidBody body, double epsilon) {
+        // Springs are evaluated together once per substep - see applyBatch()
+    }
+
+    /**
+     * Evaluate every spring once per substep; the range is ignored since springs span the whole body store
+     */
+    @Override
+    public void applyBatch(List<DynamicBody> bodies, int start, int end, double substepDelta) {
+        if (springCount == 0 || substepDelta <= 0) {
+            return;
+        }
+        int tasks = prepareTasks();
+        gather(substepDelta);
+
+        if (solver == SpringSolver.EXPLICIT) {
+            runTasks(tasks, this::accumulateForces);
+            reduce(tasks);
+            double[] forceX = accumulatedX[0];
+            double[] forceY = accumulatedY[0];
+            for (int i = 0; i < particleCount; i++) {
+                velocityX[i] += forceX[i] * inverseMass[i] * substepDelta;
+                velocityY[i] += forceY[i] * inverseMass[i] * substepDelta;
+                forceX[i] = 0;
+                forceY[i] = 0;
+            }
+        } else {
+            Arrays.fill(lambda, 0, springCount, 0.0);
+            for (int iteration = 0; iteration < iterations; iteration++) {
+                runTasks(tasks, (task, from, to) -> project(task, from, to, substepDelta));
+                reduce(tasks);
+                double[] correctionX = accumulatedX[0];
+                double[] correctionY = accumulatedY[0];
+                for (int i = 0; i < particleCount; i++) {
+                    x[i] += correctionX[i];
+                    y[i] += correctionY[i];
+                    correctionX[i] = 0;
+                    correctionY[i] = 0;
+                }
+            }
+            double inverseDelta = 1.0 / substepDelta;
+            for (int i = 0; i < particleCount; i++) {
+                velocityX[i] += (x[i] - startX[i]) * inverseDelta;
+                velocityY[i] += (y[i] - startY[i]) * inverseDelta;
+            }
+        }
+        scatter();
+    }
+
+    @Override
+    public boolean couplesBodies() {
+        return true;
+    }
+
+    /**
+     * Number of parallel tasks for this substep, with accumulators sized for them
+     */
+    private int prepareTasks() {
+        int tasks = 1;
+        if (parallel) {
+            int chunks = (springCount + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+            tasks = Math.max(1, Math.min(chunks, ForkJoinPool.getCommonPoolParallelism()));
+        }
+        if (accumulatedX.length < tasks) {
+            int capacity = particles.length;
+            int previous = accumulatedX.length;
+            accumulatedX = Arrays.copyOf(accumulatedX, tasks);
+            accumulatedY = Arrays.copyOf(accumulatedY, tasks);
+            for (int task = previous; task < tasks; task++) {
+                accumulatedX[task] = new double[capacity];
+                accumulatedY[task] = new double[capacity];
+            }
+        }
+        lastTaskCount = tasks;
+        return tasks;
+    }
+
+    /**
+     * Copy particle state into the flat arrays, waking sleeping particles tied to awake ones
+     */
+    private void gather(double substepDelta) {
+        for (int s = 0; s < springCount; s++) {
+            DynamicBody a = particles[springA[s]];
+            DynamicBody b = particles[springB[s]];
+            if (a.isSleeping() != b.isSleeping()) {
+                (a.isSleeping() ? a : b).wake();
+            }
+        }
+        for (int i = 0; i < particleCount; i++) {
+            DynamicBody body = particles[i];
+            Vector position = body.getPosition();
+            Vector velocity = body.getVelocity();
+            x[i] = position.x();
+            y[i] = position.y();
+            startX[i] = x[i];
+            startY[i] = y[i];
+            velocityX[i] = velocity.x();
+            velocityY[i] = velocity.y();
+            inverseMass[i] = body.isSleeping() ? 0 : 1.0 / body.getMass();
+        }
+    }
+
+    @FunctionalInterface
+    private interface SpringTask {
+        void run(int task, int from, int to);
+    }
+
+    /**
+     * Split the springs into one contiguous range per task and run them, in parallel when there are several
+     */
+    private void runTasks(int tasks, SpringTask work) {
+        IntStream range = IntStream.range(0, tasks);
+        if (tasks > 1) {
+            range = range.parallel();
+        }
+        range.forEach(task -> work.run(task,
+                (int) ((long) springCount * task / tasks),
+                (int) ((long) springCount * (task + 1) / tasks)));
+    }
+
+    /**
+     * Sum every task's accumulator into the first one and clear the others for the next pass
+     */
+    private void reduce(int tasks) {
+        double[] totalX = accumulatedX[0];
+        double[] totalY = accumulatedY[0];
+        for (int task = 1; task < tasks; task++) {
+            double[] partialX = accumulatedX[task];
+            double[] partialY = accumulatedY[task];
+            for (int i = 0; i < particleCount; i++) {
+                totalX[i] += partialX[i];
+                totalY[i] += partialY[i];
+                partialX[i] = 0;
+                partialY[i] = 0;
+            }
+        }
+    }
+
+    /**
+     * Hooke and dashpot forces of springs [from, to) into the task's accumulator
+     */
+    private void accumulateForces(int task, int from, int to) {
+        double[] forceX = accumulatedX[task];
+        double[] forceY = accumulatedY[task];
+        for (int s = from; s < to; s++) {
+            int a = springA[s];
+            int b = springB[s];
+            if (inverseMass[a] + inverseMass[b] == 0) {
+                continue;
+            }
+            double dx = x[b] - x[a];
+            double dy = y[b] - y[a];
+            double length = Math.sqrt(dx * dx + dy * dy);
+            if (length < DEGENERATE_LENGTH) {
+                continue;
+            }
+            double nx = dx / length;
+            double ny = dy / length;
+            double closingSpeed = (velocityX[b] - velocityX[a]) * nx + (velocityY[b] - velocityY[a]) * ny;
+            double force = stiffness[s] * (length - restLength[s]) + damping[s] * closingSpeed;
+            forceX[a] += force * nx;
+            forceY[a] += force * ny;
+            forceX[b] -= force * nx;
+            forceY[b] -= force * ny;
+        }
+    }
+
+    /**
+     * One Jacobi pass over springs [from, to): position corrections into the task's accumulator
+     */
+    private void project(int task, int from, int to, double substepDelta) {
+        double[] correctionX = accumulatedX[task];
+        double[] correctionY = accumulatedY[task];
+        double inverseDeltaSquared = 1.0 / (substepDelta * substepDelta);
+        for (int s = from; s < to; s++) {
+            int a = springA[s];
+            int b = springB[s];
+            // Mass splitting: each particle contributes 1 / degree of its mass to every spring
+            double weightA = inverseMass[a] * degree[a];
+            double weightB = inverseMass[b] * degree[b];
+            if (weightA + weightB == 0) {
+                continue;
+            }
+            double dx = x[b] - x[a];
+            double dy = y[b] - y[a];
+            double length = Math.sqrt(dx * dx + dy * dy);
+            if (length < DEGENERATE_LENGTH) {
+                continue;
+            }
+            double nx = dx / length;
+            double ny = dy / length;
+
+            // Compliance α~ = 1 / (k dt²); damping γ = α~ β~ / dt with β~ = c dt²
+            double alpha = inverseDeltaSquared / stiffness[s];
+            double gamma = damping[s] / (stiffness[s] * substepDelta);
+            double travel = (x[b] - startX[b] - x[a] + startX[a]) * nx + (y[b] - startY[b] - y[a] + startY[a]) * ny;
+            double closing = (velocityX[b] - velocityX[a]) * nx + (velocityY[b] - velocityY[a]) * ny;
+            double deltaLambda = -(length - restLength[s] + alpha * lambda[s] + gamma * (travel + closing * substepDelta))
+                    / ((1 + gamma) * (weightA + weightB) + alpha);
+            lambda[s] += deltaLambda;
+
+            // Each split copy moves by weight * dλ; averaging the copies moves the particle by w * dλ per spring
+            correctionX[a] -= inverseMass[a] * nx * deltaLambda;
+            correctionY[a] -= inverseMass[a] * ny * deltaLambda;
+            correctionX[b] += inverseMass[b] * nx * deltaLambda;
+            correctionY[b] += inverseMass[b] * ny * deltaLambda;
+        }
+    }
+
+    /**
+     * Write positions and velocities back to the particles
+     */
+    private void scatter() {
+        for (int i = 0; i < particleCount; i++) {
+            if (inverseMass[i] == 0) {
+                continue;
+            }
+            DynamicBody body = particles[i];
+            if (x[i] != startX[i] || y[i] != startY[i]) {
+                body.setPosition(new Vector(x[i], y[i]));
+            }
+            body.setVelocity(new Vector(velocityX[i], velocityY[i]));
+        }
+    }
+
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    public SpringSolver getSolver() {
+        return solver;
+    }
+
+    public int getSpringCount() {
+        return springCount;
+    }
+
+    public int getParticleCount() {
+        return particleCount;
+    }
+
+    public DynamicBody getParticle(int particle) {
+        return particles[particle];
+    }
+
+    /**
+     * Particle indices at the two ends of a spring
+     */
+    public int getSpringStart(int spring) {
+        return springA[spring];
+    }
+
+    public int getSpringEnd(int spring) {
+        return springB[spring];
+    }
+
+    public double getRestLength(int spring) {
+        return restLength[spring];
+    }
+
+    /**
+     * Current length of a spring divided by its rest length, minus one
+     */
+    public double getStrain(int spring) {
+        Vector a = particles[springA[spring]].getPosition();
+        Vector b = particles[springB[spring]].getPosition();
+        return Math.hypot(b.x() - a.x(), b.y() - a.y()) / restLength[spring] - 1;
+    }
+
+    /**
+     * Parallel tasks used by the last substep
+     */
+    public int getLastTaskCount() {
+        return lastTaskCount;
+    }
+}
@@ -0,0 +1,18 @@
+package com.davismariotti.physics.softbody;
+
+/**
+ * How a spring network advances its springs each substep
+ */
+public enum SpringSolver {
+    /**
+     * Hooke springs with dashpot damping, applied as forces (symplectic Euler)
+     * Cheap, but stiff springs need k dt² / m well below 1 to stay stable
+     */
+    EXPLICIT,
+
+    /**
+     * Extended position-based dynamics: each spring is a compliant distance constraint (compliance 1 / k)
+     * projected on positions, so arbitrarily stiff springs stay stable at the configured substep count
+     */
+    XPBD
+}
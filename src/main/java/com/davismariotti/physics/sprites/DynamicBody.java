@@ -1,5 +1,6 @@
 package com.davismariotti.physics.sprites;
 
+import com.davismariotti.physics.collision.CollisionFilter;
 import com.davismariotti.physics.kinematics.Vector;
 
 import java.util.ArrayList;
@@ -19,13 +20,23 @@ public abstract non-sealed class DynamicBody implements RigidBody {
 
     private List<Vector> forces;
     private MaterialProperties material;
+    private MaterialRegistry materialRegistry;
+    private int materialId = -1;
+    private long collisionFilter = CollisionFilter.DEFAULT;
 
     private transient List<Vector> temporaryForces;
 
+    // Force added by force fields, cleared with the temporary forces
+    private double accumulatedForceX;
+    private double accumulatedForceY;
+
     // Sleep state for performance optimization
     private boolean sleeping = false;
     private int restingFrames = 0;
 
+    // Set for a frame when no contact is possible along the body's free-flight path
+    private boolean ballistic = false;
+
     public DynamicBody(Vector position, Vector velocity, List<Vector> forces, double mass,
                        MaterialProperties material) {
         this.position = position;
@@ -48,27 +59,25 @@ public abstract non-sealed class DynamicBody implements RigidBody {
     }
 
     /**
-     * Update physics state by integrating over time step
+     * Add a temporary force (cleared each frame)
      */
-    public void update(double epsilon) {
-        Vector force = this.getResultantForce();
-        Vector acceleration = new Vector(force.x() / this.mass, force.y() / this.mass);
+    public void addForce(Vector force) {
+        temporaryForces.add(force);
+    }
 
-        position = position.add(new Vector(
-                velocity.x() * epsilon + 0.5 * acceleration.x() * epsilon * epsilon,
-                velocity.y() * epsilon + 0.5 * acceleration.y() * epsilon * epsilon
-        ));
-        velocity = velocity.add(new Vector(
-                acceleration.x() * epsilon,
-                acceleration.y() * epsilon
-        ));
+    /**
+     * Add to the accumulated force without allocating (cleared with the temporary forces)
+     */
+    public void accumulateForce(double forceX, double forceY) {
+        accumulatedForceX += forceX;
+        accumulatedForceY += forceY;
     }
 
     /**
-     * Add a temporary force (cleared each frame)
+     * Change velocity by an instantaneous impulse
      */
-    public void addForce(Vector force) {
-        temporaryForces.add(force);
+    public void applyImpulse(double impulseX, double impulseY) {
+        velocity = new Vector(velocity.x() + impulseX / mass, velocity.y() + impulseY / mass);
     }
 
     /**
@@ -76,14 +85,16 @@ public abstract non-sealed class DynamicBody implements RigidBody {
      */
     public void clearTemporaryForces() {
         temporaryForces.clear();
+        accumulatedForceX = 0;
+        accumulatedForceY = 0;
     }
 
     /**
      * Calculate the resultant force from all forces acting on this body
      */
-    private Vector getResultantForce() {
-        double x = 0;
-        double y = 0;
+    public Vector getResultantForce() {
+        double x = accumulatedForceX;
+        double y = accumulatedForceY;
 
         for (Vector force : forces) {
             x += force.x();
@@ -137,47 +148,83 @@ public abstract non-sealed class DynamicBody implements RigidBody {
         this.previousVelocity = previousVelocity;
     }
 
+    @Override
     public MaterialProperties getMaterial() {
-        return material;
+        return materialRegistry != null ? materialRegistry.get(materialId) : material;
     }
 
     public void setMaterial(MaterialProperties material) {
         this.material = material;
+        if (materialRegistry != null) {
+            materialId = materialRegistry.registerDynamic(material);
+        }
+    }
+
+    /**
+     * Store this body's material in a registry and keep only its index
+     */
+    public void registerMaterial(MaterialRegistry registry) {
+        this.materialId = registry.registerDynamic(material);
+        this.materialRegistry = registry;
+    }
+
+    @Override
+    public int getMaterialId() {
+        return materialId;
+    }
+
+    @Override
+    public MaterialRegistry getMaterialRegistry() {
+        return materialRegistry;
+    }
+
+    @Override
+    public long getCollisionFilter() {
+        return collisionFilter;
+    }
+
+    /**
+     * Set which bodies this one collides with, built by CollisionFilter.of
+     */
+    public void setCollisionFilter(long collisionFilter) {
+        this.collisionFilter = collisionFilter;
     }
 
     @Override
     public double getCoefficientOfRestitution() {
-        return material.coefficientOfRestitution();
+        return getMaterial().coefficientOfRestitution();
     }
 
     public void setCoefficientOfRestitution(double coefficientOfRestitution) {
-        this.material = new MaterialProperties(
+        MaterialProperties current = getMaterial();
+        setMaterial(new MaterialProperties(
                 coefficientOfRestitution,
-                material.dragCoefficient(),
-                material.staticFriction(),
-                material.dynamicFriction()
-        );
+                current.dragCoefficient(),
+                current.staticFriction(),
+                current.dynamicFriction()
+        ));
     }
 
     public double getDragCoefficient() {
-        return material.dragCoefficient();
+        return getMaterial().dragCoefficient();
     }
 
     public void setDragCoefficient(double dragCoefficient) {
-        this.material = new MaterialProperties(
-                material.coefficientOfRestitution(),
+        MaterialProperties current = getMaterial();
+        setMaterial(new MaterialProperties(
+                current.coefficientOfRestitution(),
                 dragCoefficient,
-                material.staticFriction(),
-                material.dynamicFriction()
-        );
+                current.staticFriction(),
+                current.dynamicFriction()
+        ));
     }
 
     public double getStaticFriction() {
-        return material.staticFriction();
+        return getMaterial().staticFriction();
     }
 
     public double getDynamicFriction() {
-        return material.dynamicFriction();
+        return getMaterial().dynamicFriction();
     }
 
     /**
@@ -230,4 +277,15 @@ public abstract non-sealed class DynamicBody implements RigidBody {
             restingFrames = 0;
         }
     }
+
+    /**
+     * Check if this body is ballistic (advanced once per frame in closed form, skipped by substeps)
+     */
+    public boolean isBallistic() {
+        return ballistic;
+    }
+
+    public void setBallistic(boolean ballistic) {
+        this.ballistic = ballistic;
+    }
 }
@@ -0,0 +1,68 @@
+package com.davismariotti.physics.sprites;
+
+import com.davismariotti.physics.collision.Collider;
+import com.davismariotti.physics.collision.HeightfieldCollider;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.rendering.Camera;
+
+import java.awt.*;
+
+/**
+ * Terrain body built from uniformly spaced height samples
+ * Static body with a heightfield collision shape; position is the bottom-left corner of the terrain
+ */
+public class Heightfield extends StaticBody {
+    private final HeightfieldCollider collider;
+
+    /**
+     * @param originX x of the first sample
+     * @param baseY bottom of the terrain
+     * @param spacing horizontal distance between samples
+     * @param heights surface height at each sample
+     */
+    public Heightfield(double originX, double baseY, double spacing, double[] heights, MaterialProperties material) {
+        super(new Vector(originX, baseY), material);
+        this.collider = new HeightfieldCollider(originX, baseY, spacing, heights);
+    }
+
+    public Heightfield(double originX, double baseY, double spacing, double[] heights) {
+        super(new Vector(originX, baseY), 1.0);
+        this.collider = new HeightfieldCollider(originX, baseY, spacing, heights);
+    }
+
+    /**
+     * The collider is immutable, so the same instance is returned every time
+     */
+    @Override
+    public Collider getCollider() {
+        return collider;
+    }
+
+    public HeightfieldCollider getHeightfield() {
+        return collider;
+    }
+
+    @Override
+    public void draw(Graphics2D graphics, Camera camera) {
+        int samples = collider.getSampleCount();
+        int[] xs = new int[samples + 2];
+        int[] ys = new int[samples + 2];
+        for (int i = 0; i < samples; i++) {
+            xs[i] = camera.worldToScreenX(collider.getSampleX(i));
+            ys[i] = camera.worldToScreenY(collider.getHeight(i));
+        }
+        int baseY = camera.worldToScreenY(collider.getBaseY());
+        xs[samples] = xs[samples - 1];
+        ys[samples] = baseY;
+        xs[samples + 1] = xs[0];
+        ys[samples + 1] = baseY;
+
+        // Brown dirt with a green grass line along the surface, matching Ground
+        graphics.setColor(new Color(139, 69, 19));
+        graphics.fillPolygon(xs, ys, samples + 2);
+        graphics.setColor(new Color(100, 200, 100));
+        graphics.setStroke(new BasicStroke(3));
+        graphics.drawPolyline(xs, ys, samples);
+        graphics.setStroke(new BasicStroke(1));
+    }
+}
@@ -0,0 +1,139 @@
+package com.davismariotti.physics.sprites;
+
+import com.davismariotti.physics.kinematics.Vector;
+
+/**
+ * Static body moved by script: a set velocity or a path over time
+ * Kinematic bodies sit in the static body list, so every static collision path sees them, and act with
+ * infinite mass; contacts respond to the velocity relative to the surface, so bodies resting on one are
+ * carried along. They take no forces and never sleep, and only their own collider is refit when they move
+ */
+public abstract class KinematicBody extends StaticBody {
+    private static final int REACH_SAMPLES = 8;  // Path positions sampled per step by getStepReach
+
+    private Vector position;
+    private Vector previousPosition;
+    private Vector velocity = Vector.ZERO;
+    private KinematicPath path;
+    private double pathTime;
+
+    public KinematicBody(Vector position, MaterialProperties material) {
+        super(position, material);
+        this.position = position;
+        this.previousPosition = position;
+    }
+
+    // Legacy constructor for backward compatibility
+    public KinematicBody(Vector position, double coefficientOfRestitution) {
+        super(position, coefficientOfRestitution);
+        this.position = position;
+        this.previousPosition = position;
+    }
+
+    /**
+     * Move at a constant velocity from now on (replaces any path)
+     */
+    public void setVelocity(Vector velocity) {
+        this.path = null;
+        this.velocity = velocity;
+    }
+
+    /**
+     * Follow a path from its start; the body jumps to the path's position at time 0
+     */
+    public void setPath(KinematicPath path) {
+        this.path = path;
+        this.pathTime = 0;
+        this.velocity = Vector.ZERO;
+        this.position = path.positionAt(0);
+        this.previousPosition = position;
+        refit();
+    }
+
+    /**
+     * Advance along the script by one step
+     * On a path the velocity is the average over the step, so contacts see the motion the step actually made
+     */
+    public void advance(double delta) {
+        previousPosition = position;
+        if (delta <= 0) {
+            return;
+        }
+        if (path != null) {
+            pathTime += delta;
+            Vector next = path.positionAt(pathTime);
+            velocity = new Vector((next.x() - position.x()) / delta, (next.y() - position.y()) / delta);
+            position = next;
+        } else if (isMoving()) {
+            position = new Vector(position.x() + velocity.x() * delta, position.y() + velocity.y() * delta);
+        } else {
+            return;
+        }
+        refit();
+    }
+
+    /**
+     * Rebuild the collider after the body moved
+     */
+    protected abstract void refit();
+
+    /**
+     * Displacement the next step of the given length will make
+     * Unlike the velocity, which describes the last step, this sees a path start moving or resume after a pause
+     */
+    public Vector getStepDisplacement(double delta) {
+        if (path != null) {
+            Vector next = path.positionAt(pathTime + delta);
+            return new Vector(next.x() - position.x(), next.y() - position.y());
+        }
+        return new Vector(velocity.x() * delta, velocity.y() * delta);
+    }
+
+    /**
+     * Farthest the body gets from its current position along each axis during the next step of the given length
+     * A path is sampled across the step and padded by the largest spacing between samples, so curved paths
+     * are bounded as well as straight ones; like getStepDisplacement it sees a path that has not moved yet
+     */
+    public Vector getStepReach(double delta) {
+        if (path == null) {
+            return new Vector(Math.abs(velocity.x()) * delta, Math.abs(velocity.y()) * delta);
+        }
+        double reachX = 0;
+        double reachY = 0;
+        double spacing = 0;
+        Vector last = position;
+        for (int k = 1; k <= REACH_SAMPLES; k++) {
+            Vector sample = path.positionAt(pathTime + delta * k / REACH_SAMPLES);
+            reachX = Math.max(reachX, Math.abs(sample.x() - position.x()));
+            reachY = Math.max(reachY, Math.abs(sample.y() - position.y()));
+            spacing = Math.max(spacing, Math.hypot(sample.x() - last.x(), sample.y() - last.y()));
+            last = sample;
+        }
+        return new Vector(reachX + spacing, reachY + spacing);
+    }
+
+    public boolean isMoving() {
+        return velocity.x() != 0 || velocity.y() != 0;
+    }
+
+    @Override
+    public Vector getPosition() {
+        return position;
+    }
+
+    /**
+     * Position before the last step
+     */
+    public Vector getPreviousPosition() {
+        return previousPosition;
+    }
+
+    @Override
+    public Vector getVelocity() {
+        return velocity;
+    }
+
+    public KinematicPath getPath() {
+        return path;
+    }
+}
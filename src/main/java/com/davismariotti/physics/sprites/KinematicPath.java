@@ -0,0 +1,44 @@
+package com.davismariotti.physics.sprites;
+
+import com.davismariotti.physics.kinematics.Vector;
+
+/**
+ * Scripted trajectory of a kinematic body: its position as a function of time since the path was set
+ */
+@FunctionalInterface
+public interface KinematicPath {
+    Vector positionAt(double time);
+
+    /**
+     * Back and forth between two points at constant speed, like an elevator
+     *
+     * @param from starting point
+     * @param to turning point
+     * @param period time for one full round trip
+     */
+    static KinematicPath between(Vector from, Vector to, double period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Path period must be positive, got " + period);
+        }
+        return time -> {
+            double phase = time / period - Math.floor(time / period);
+            double s = phase < 0.5 ? 2 * phase : 2 - 2 * phase;
+            return new Vector(from.x() + (to.x() - from.x()) * s, from.y() + (to.y() - from.y()) * s);
+        };
+    }
+
+    /**
+     * Around a circle at constant speed, counterclockwise from the point right of the center
+     *
+     * @param period time for one full turn
+     */
+    static KinematicPath circle(Vector center, double radius, double period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Path period must be positive, got " + period);
+        }
+        return time -> {
+            double angle = 2 * Math.PI * time / period;
+            return new Vector(center.x() + radius * Math.cos(angle), center.y() + radius * Math.sin(angle));
+        };
+    }
+}
@@ -0,0 +1,204 @@
+package com.davismariotti.physics.sprites;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Registry of the materials used in a simulation
+ * Bodies store a small material index, and combined contact properties for every pair of materials are
+ * precomputed into flat tables so a contact reads them with one array lookup instead of a sqrt per friction
+ * coefficient. Individual pairs can override the combination rule (e.g. ice on metal)
+ *
+ * Changing a registered material updates every body that uses it, in O(materials) time. Materials held by
+ * dynamic bodies get indices of their own, never shared with static bodies, so global edits to dynamic
+ * materials (the restitution and drag keys) leave the ground and walls as they were
+ */
+public class MaterialRegistry {
+    private final List<MaterialProperties> materials = new ArrayList<>();
+    private final Map<MaterialProperties, Integer> ids = new HashMap<>();         // Static and unowned materials
+    private final Map<MaterialProperties, Integer> dynamicIds = new HashMap<>();  // Materials held by dynamic bodies
+    private final Map<Long, MaterialProperties> pairOverrides = new HashMap<>();
+    private final BitSet dynamicMaterials = new BitSet();  // Materials held by at least one dynamic body
+
+    // Combined properties, indexed [a * capacity + b]
+    private int capacity;
+    private double[] restitution = new double[0];
+    private double[] staticFriction = new double[0];
+    private double[] dynamicFriction = new double[0];
+
+    /**
+     * Register a material not held by a dynamic body, reusing the index of an equal one already registered
+     * @return the material index
+     */
+    public int register(MaterialProperties material) {
+        Integer existing = ids.get(material);
+        if (existing != null) {
+            return existing;
+        }
+        int id = add(material);
+        ids.put(material, id);
+        return id;
+    }
+
+    /**
+     * Register a material held by a dynamic body, so global edits such as the restitution key apply to it
+     * Equal dynamic materials share an index, but never one held by a static body
+     * @return the material index
+     */
+    public int registerDynamic(MaterialProperties material) {
+        Integer existing = dynamicIds.get(material);
+        if (existing != null) {
+            return existing;
+        }
+        int id = add(material);
+        dynamicIds.put(material, id);
+        dynamicMaterials.set(id);
+        return id;
+    }
+
+    private int add(MaterialProperties material) {
+        int id = materials.size();
+        materials.add(material);
+        if (id >= capacity) {
+            grow(Math.max(8, capacity * 2));
+        }
+        recombine(id);
+        return id;
+    }
+
+    public MaterialProperties get(int id) {
+        return materials.get(id);
+    }
+
+    /**
+     * Number of registered materials
+     */
+    public int size() {
+        return materials.size();
+    }
+
+    /**
+     * Replace a registered material in place; every body holding this index sees the change
+     */
+    public void update(int id, MaterialProperties material) {
+        Map<MaterialProperties, Integer> lookup = dynamicMaterials.get(id) ? dynamicIds : ids;
+        MaterialProperties previous = materials.get(id);
+        Integer owner = lookup.get(previous);
+        if (owner != null && owner == id) {
+            lookup.remove(previous);
+        }
+        materials.set(id, material);
+        lookup.putIfAbsent(material, id);
+        recombine(id);
+    }
+
+    /**
+     * Apply an edit to every material held by a dynamic body; static bodies keep theirs
+     */
+    public void updateDynamicMaterials(UnaryOperator<MaterialProperties> edit) {
+        for (int id = dynamicMaterials.nextSetBit(0); id >= 0; id = dynamicMaterials.nextSetBit(id + 1)) {
+            update(id, edit.apply(materials.get(id)));
+        }
+    }
+
+    /**
+     * Use explicit combined properties for a pair of materials instead of the default rule
+     */
+    public void setPairOverride(int a, int b, MaterialProperties combined) {
+        pairOverrides.put(pairKey(a, b), combined);
+        store(a, b, combined);
+    }
+
+    public void clearPairOverride(int a, int b) {
+        if (pairOverrides.remove(pairKey(a, b)) != null) {
+            store(a, b, MaterialProperties.combine(materials.get(a), materials.get(b)));
+        }
+    }
+
+    public double getCombinedRestitution(int a, int b) {
+        return restitution[a * capacity + b];
+    }
+
+    public double getCombinedStaticFriction(int a, int b) {
+        return staticFriction[a * capacity + b];
+    }
+
+    public double getCombinedDynamicFriction(int a, int b) {
+        return dynamicFriction[a * capacity + b];
+    }
+
+    /**
+     * Combined restitution of two bodies, read from the table when both share a registry
+     */
+    public static double combinedRestitution(RigidBody a, RigidBody b) {
+        MaterialRegistry registry = a.getMaterialRegistry();
+        if (registry != null && registry == b.getMaterialRegistry()) {
+            return registry.getCombinedRestitution(a.getMaterialId(), b.getMaterialId());
+        }
+        return Math.min(a.getCoefficientOfRestitution(), b.getCoefficientOfRestitution());
+    }
+
+    /**
+     * Combined static friction of two bodies, read from the table when both share a registry
+     */
+    public static double combinedStaticFriction(RigidBody a, RigidBody b) {
+        MaterialRegistry registry = a.getMaterialRegistry();
+        if (registry != null && registry == b.getMaterialRegistry()) {
+            return registry.getCombinedStaticFriction(a.getMaterialId(), b.getMaterialId());
+        }
+        return MaterialProperties.combine(a.getMaterial(), b.getMaterial()).staticFriction();
+    }
+
+    /**
+     * Combined dynamic friction of two bodies, read from the table when both share a registry
+     */
+    public static double combinedDynamicFriction(RigidBody a, RigidBody b) {
+        MaterialRegistry registry = a.getMaterialRegistry();
+        if (registry != null && registry == b.getMaterialRegistry()) {
+            return registry.getCombinedDynamicFriction(a.getMaterialId(), b.getMaterialId());
+        }
+        return MaterialProperties.combine(a.getMaterial(), b.getMaterial()).dynamicFriction();
+    }
+
+    /**
+     * Recompute the table row and column of one material against every registered material
+     */
+    private void recombine(int id) {
+        MaterialProperties material = materials.get(id);
+        for (int other = 0; other < materials.size(); other++) {
+            MaterialProperties override = pairOverrides.get(pairKey(id, other));
+            store(id, other, override != null ? override : MaterialProperties.combine(material, materials.get(other)));
+        }
+    }
+
+    private void store(int a, int b, MaterialProperties combined) {
+        int ab = a * capacity + b;
+        int ba = b * capacity + a;
+        restitution[ab] = restitution[ba] = combined.coefficientOfRestitution();
+        staticFriction[ab] = staticFriction[ba] = combined.staticFriction();
+        dynamicFriction[ab] = dynamicFriction[ba] = combined.dynamicFriction();
+    }
+
+    private void grow(int newCapacity) {
+        restitution = regrid(restitution, newCapacity);
+        staticFriction = regrid(staticFriction, newCapacity);
+        dynamicFriction = regrid(dynamicFriction, newCapacity);
+        capacity = newCapacity;
+    }
+
+    private double[] regrid(double[] table, int newCapacity) {
+        double[] grown = new double[newCapacity * newCapacity];
+        for (int row = 0; row < capacity; row++) {
+            System.arraycopy(table, row * capacity, grown, row * newCapacity, capacity);
+        }
+        return grown;
+    }
+
+    private static long pairKey(int a, int b) {
+        return a < b ? ((long) a << 32) | b : ((long) b << 32) | a;
+    }
+}
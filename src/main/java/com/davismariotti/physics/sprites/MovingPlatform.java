@@ -0,0 +1,57 @@
+package com.davismariotti.physics.sprites;
+
+import com.davismariotti.physics.collision.AABBCollider;
+import com.davismariotti.physics.collision.Collider;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.rendering.Camera;
+
+import java.awt.*;
+
+/**
+ * Box-shaped kinematic body for moving platforms and elevators
+ * Position represents the center of the box
+ */
+public class MovingPlatform extends KinematicBody {
+    private final double width;
+    private final double height;
+    private AABBCollider collider;
+
+    public MovingPlatform(double x, double y, double width, double height, MaterialProperties material) {
+        super(new Vector(x, y), material);
+        this.width = width;
+        this.height = height;
+        this.collider = new AABBCollider(getPosition(), width, height);
+    }
+
+    public MovingPlatform(double x, double y, double width, double height) {
+        super(new Vector(x, y), 1.0);
+        this.width = width;
+        this.height = height;
+        this.collider = new AABBCollider(getPosition(), width, height);
+    }
+
+    @Override
+    protected void refit() {
+        collider = new AABBCollider(getPosition(), width, height);
+    }
+
+    /**
+     * The collider only changes when the platform moves, so the same instance is returned in between
+     */
+    @Override
+    public Collider getCollider() {
+        return collider;
+    }
+
+    @Override
+    public void draw(Graphics2D graphics, Camera camera) {
+        Camera.ScreenPoint minScreen = camera.worldToScreen(collider.getMin());
+        Camera.ScreenPoint maxScreen = camera.worldToScreen(collider.getMax());
+
+        // Screen Y is flipped, so the top edge comes from max Y
+        graphics.setColor(new Color(120, 120, 140));
+        graphics.fillRect(minScreen.x(), maxScreen.y(), maxScreen.x() - minScreen.x(), minScreen.y() - maxScreen.y());
+        graphics.setColor(new Color(200, 200, 220));
+        graphics.fillRect(minScreen.x(), maxScreen.y(), maxScreen.x() - minScreen.x(), 3);
+    }
+}
@@ -17,5 +17,19 @@ public sealed interface RigidBody permits DynamicBody, StaticBody {
 
     double getCoefficientOfRestitution();
 
+    MaterialProperties getMaterial();
+
+    /**
+     * Index of this body's material in its registry, or -1 if the body has not been added to a simulator
+     */
+    int getMaterialId();
+
+    MaterialRegistry getMaterialRegistry();
+
+    /**
+     * Packed category, mask and group bits (see CollisionFilter)
+     */
+    long getCollisionFilter();
+
     void draw(Graphics2D graphics, Camera camera);
 }
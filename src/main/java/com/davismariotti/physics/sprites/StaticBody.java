@@ -1,14 +1,18 @@
 package com.davismariotti.physics.sprites;
 
+import com.davismariotti.physics.collision.CollisionFilter;
 import com.davismariotti.physics.kinematics.Vector;
 
 /**
- * Abstract base class for static rigid bodies that don't move
- * No velocity, forces, or physics integration
+ * Abstract base class for static rigid bodies that don't move (kinematic bodies move only by script)
+ * No forces or physics integration
  */
 public abstract non-sealed class StaticBody implements RigidBody {
     private final Vector position;
     private final MaterialProperties material;
+    private MaterialRegistry materialRegistry;
+    private int materialId = -1;
+    private long collisionFilter = CollisionFilter.DEFAULT;
 
     public StaticBody(Vector position, MaterialProperties material) {
         this.position = position;
@@ -25,12 +29,50 @@ public abstract non-sealed class StaticBody implements RigidBody {
         return position;
     }
 
+    /**
+     * Velocity of the body's surface; zero unless the body is kinematic
+     */
+    public Vector getVelocity() {
+        return Vector.ZERO;
+    }
+
     @Override
     public double getCoefficientOfRestitution() {
-        return material.coefficientOfRestitution();
+        return getMaterial().coefficientOfRestitution();
     }
 
+    @Override
     public MaterialProperties getMaterial() {
-        return material;
+        return materialRegistry != null ? materialRegistry.get(materialId) : material;
+    }
+
+    /**
+     * Store this body's material in a registry and keep only its index
+     */
+    public void registerMaterial(MaterialRegistry registry) {
+        this.materialId = registry.register(material);
+        this.materialRegistry = registry;
+    }
+
+    @Override
+    public int getMaterialId() {
+        return materialId;
+    }
+
+    @Override
+    public MaterialRegistry getMaterialRegistry() {
+        return materialRegistry;
+    }
+
+    @Override
+    public long getCollisionFilter() {
+        return collisionFilter;
+    }
+
+    /**
+     * Set which dynamic bodies collide with this one, built by CollisionFilter.of
+     */
+    public void setCollisionFilter(long collisionFilter) {
+        this.collisionFilter = collisionFilter;
     }
 }
@@ -0,0 +1,75 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.constraints.BoundaryConstraint;
+import com.davismariotti.physics.constraints.ContinuousCollisionConstraint;
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.Ground;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the adaptive substep count
+ */
+class AdaptiveSubstepTest {
+
+    @Test
+    void testQuietFrameUsesMinimumSubsteps() {
+        PhysicsSimulator simulator = createSimulator();
+        // Resting on the ground
+        simulator.addBody(new Ball(new Vector(50, 5.25), Vector.ZERO, Collections.emptyList(),
+                MaterialProperties.DEFAULT, 0.25));
+
+        simulator.update(1.0 / 60.0);
+
+        assertEquals(1, simulator.getLastSubstepCount(), "A resting world should take the minimum substeps");
+    }
+
+    @Test
+    void testFastBodyRaisesSubstepsUpToLimit() {
+        PhysicsSimulator simulator = createSimulator();
+        Ball ball = new Ball(new Vector(50, 40), new Vector(40, 0), Collections.emptyList(),
+                MaterialProperties.DEFAULT, 0.25);
+        simulator.addBody(ball);
+
+        // 40 units/s over 1/60 s is ~0.67 units, about 2.7 radii
+        simulator.update(1.0 / 60.0);
+        int substeps = simulator.getLastSubstepCount();
+        assertTrue(substeps >= 3 && substeps <= 4, "Expected 3-4 substeps, got " + substeps);
+
+        ball.setVelocity(new Vector(400, 0));
+        simulator.update(1.0 / 60.0);
+        assertEquals(simulator.getConfig().getMaxSubsteps(), simulator.getLastSubstepCount(),
+                "Substeps should be capped at the configured maximum");
+    }
+
+    @Test
+    void testFixedModeReportsConfiguredSubsteps() {
+        PhysicsSimulator simulator = createSimulator();
+        simulator.getConfig().setUseAdaptiveSubsteps(false);
+        simulator.addBody(new Ball(new Vector(50, 40), Vector.ZERO, Collections.emptyList(),
+                MaterialProperties.DEFAULT, 0.25));
+
+        simulator.update(1.0 / 60.0);
+
+        assertEquals(simulator.getConfig().getSubsteps(), simulator.getLastSubstepCount());
+    }
+
+    private PhysicsSimulator createSimulator() {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setUseAdaptiveSubsteps(true);
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.setWorldBounds(0, 100, 0, 80);
+        simulator.addBody(new Ground(50, 2.5, 100, 5));
+        simulator.addConstraint(new BoundaryConstraint(0, 100, 0, 80));
+        simulator.addConstraint(new ContinuousCollisionConstraint(simulator.getStaticBodies(), config.getGravity(),
+                config.getRestingVelocityThreshold()));
+        return simulator;
+    }
+}
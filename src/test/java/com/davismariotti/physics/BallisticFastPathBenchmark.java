@@ -0,0 +1,74 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.constraints.BoundaryConstraint;
+import com.davismariotti.physics.constraints.ContinuousCollisionConstraint;
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.Ground;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Random;
+
+/**
+ * Performance benchmark for the ballistic fast path in a launcher-heavy scene
+ */
+class BallisticFastPathBenchmark {
+    private static final double WORLD_WIDTH = 120.0;
+    private static final double WORLD_HEIGHT = 80.0;
+    private static final double GROUND_HEIGHT = 4.0;
+
+    @Test
+    void testBenchmarkLauncherVolley() {
+        System.out.println("\n=== Benchmark: Launcher Volley (1000 balls in flight) ===");
+        for (boolean fastPath : new boolean[]{false, true}) {
+            PhysicsSimulator simulator = createSimulator(fastPath);
+            spawnVolley(simulator, 1000);
+
+            // Warmup
+            for (int i = 0; i < 10; i++) {
+                simulator.update(1.0 / 60.0);
+            }
+
+            int frameCount = 120;
+            long ballisticFrames = 0;
+            long startTime = System.nanoTime();
+            for (int i = 0; i < frameCount; i++) {
+                simulator.update(1.0 / 60.0);
+                ballisticFrames += simulator.getLastBallisticCount();
+            }
+            long elapsed = System.nanoTime() - startTime;
+
+            System.out.printf("fastPath=%-5b %.2f ms/frame, %.0f ballistic bodies/frame%n",
+                    fastPath, elapsed / 1_000_000.0 / frameCount, (double) ballisticFrames / frameCount);
+        }
+    }
+
+    private PhysicsSimulator createSimulator(boolean fastPath) {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setUseBallisticFastPath(fastPath);
+
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.setWorldBounds(0, WORLD_WIDTH, 0, WORLD_HEIGHT);
+        simulator.addBody(new Ground(WORLD_WIDTH / 2, GROUND_HEIGHT / 2, WORLD_WIDTH, GROUND_HEIGHT));
+        simulator.addConstraint(new BoundaryConstraint(0, WORLD_WIDTH, 0, WORLD_HEIGHT));
+        simulator.addConstraint(new ContinuousCollisionConstraint(simulator.getStaticBodies(), config.getGravity(),
+                config.getRestingVelocityThreshold()));
+        return simulator;
+    }
+
+    private void spawnVolley(PhysicsSimulator simulator, int count) {
+        // Balls launched upward from spread-out positions, like repeated launcher shots
+        Random random = new Random(42);
+        for (int i = 0; i < count; i++) {
+            double x = 5 + random.nextDouble() * (WORLD_WIDTH - 10);
+            double y = GROUND_HEIGHT + 10 + random.nextDouble() * 40;
+            double angle = Math.PI / 4 + random.nextDouble() * Math.PI / 2;
+            Vector velocity = new Vector(Math.cos(angle) * 40, Math.sin(angle) * 40);
+            simulator.addBody(new Ball(new Vector(x, y), velocity, Collections.emptyList(),
+                    simulator.getConfig().getDefaultMaterial(), 0.2));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.constraints.BoundaryConstraint;
+import com.davismariotti.physics.constraints.ContinuousCollisionConstraint;
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.Ground;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the ballistic free-flight fast path
+ */
+class BallisticFastPathTest {
+
+    @Test
+    void testFreeFlightMatchesClosedForm() {
+        PhysicsSimulator simulator = createSimulator();
+        Vector start = new Vector(20, 40);
+        Vector launch = new Vector(8, 12);
+        Ball ball = new Ball(start, launch, Collections.emptyList(), MaterialProperties.DEFAULT, 0.2);
+        simulator.addBody(ball);
+
+        double frame = 1.0 / 60.0;
+        int frames = 30;
+        for (int i = 0; i < frames; i++) {
+            simulator.update(frame);
+            assertTrue(ball.isBallistic(), "Ball in open air should take the ballistic path");
+        }
+
+        double t = frames * frame;
+        Vector gravity = simulator.getConfig().getGravity();
+        assertEquals(start.x() + launch.x() * t, ball.getPosition().x(), 1e-9);
+        assertEquals(start.y() + launch.y() * t + 0.5 * gravity.y() * t * t, ball.getPosition().y(), 1e-9);
+        assertEquals(1, simulator.getLastBallisticCount());
+    }
+
+    @Test
+    void testBodiesNearContactsStayOnSubsteps() {
+        PhysicsSimulator simulator = createSimulator();
+
+        // Fast ball heading straight for the ground and two balls about to collide
+        Ball faller = new Ball(new Vector(10, 5.6), new Vector(0, -40), Collections.emptyList(), MaterialProperties.DEFAULT, 0.2);
+        Ball left = new Ball(new Vector(50, 40), new Vector(10, 0), Collections.emptyList(), MaterialProperties.DEFAULT, 0.2);
+        Ball right = new Ball(new Vector(50.5, 40), new Vector(-10, 0), Collections.emptyList(), MaterialProperties.DEFAULT, 0.2);
+        simulator.addBody(faller);
+        simulator.addBody(left);
+        simulator.addBody(right);
+
+        simulator.update(1.0 / 60.0);
+        assertFalse(faller.isBallistic(), "Ball reaching the ground must not be ballistic");
+        assertFalse(left.isBallistic(), "Colliding balls must not be ballistic");
+        assertFalse(right.isBallistic(), "Colliding balls must not be ballistic");
+
+        double lowest = faller.getPosition().y();
+        for (int i = 0; i < 30; i++) {
+            simulator.update(1.0 / 60.0);
+            lowest = Math.min(lowest, faller.getPosition().y());
+        }
+        assertTrue(lowest >= 5 + 0.2 - 0.05, "Ball should still land on the ground, lowest " + lowest);
+        assertTrue(left.getVelocity().x() < 0 && right.getVelocity().x() > 0, "Balls should have bounced apart");
+    }
+
+    private PhysicsSimulator createSimulator() {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setUseBallisticFastPath(true);
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.setWorldBounds(0, 100, 0, 80);
+        simulator.addBody(new Ground(50, 2.5, 100, 5));
+        simulator.addConstraint(new BoundaryConstraint(0, 100, 0, 80));
+        simulator.addConstraint(new ContinuousCollisionConstraint(simulator.getStaticBodies(), config.getGravity(),
+                config.getRestingVelocityThreshold()));
+        return simulator;
+    }
+}
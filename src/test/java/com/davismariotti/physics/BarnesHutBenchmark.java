@@ -0,0 +1,80 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.forces.BarnesHutGravity;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.DynamicBody;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/**
+ * Performance benchmark for the Barnes-Hut N-body force against direct summation
+ * Direct summation for 10k+ bodies is timed and checked on a sample of target bodies and scaled up
+ */
+class BarnesHutBenchmark {
+    private static final double STRENGTH = 0.5;
+    private static final double SOFTENING = 0.05;
+    private static final int SAMPLE = 1000;
+
+    @Test
+    void testBenchmarkBarnesHutVsDirect() {
+        System.out.println("\n=== Benchmark: Barnes-Hut vs direct summation (theta 0.5) ===");
+        System.out.println("bodies   direct ms   tree ms (1 thread)   tree ms (parallel)   rms error");
+        for (int count : new int[]{1_000, 10_000, 100_000}) {
+            List<DynamicBody> bodies = BarnesHutTest.randomBodies(count, count);
+
+            BarnesHutGravity sequential = new BarnesHutGravity(STRENGTH, 0.5, SOFTENING);
+            sequential.setParallel(false);
+            BarnesHutGravity parallel = new BarnesHutGravity(STRENGTH, 0.5, SOFTENING);
+            double sequentialMs = time(() -> sequential.evaluate(bodies));
+            double[][] tree = parallel.evaluate(bodies);
+            double parallelMs = time(() -> parallel.evaluate(bodies));
+
+            // Direct summation on a sample of targets against all sources
+            int sample = Math.min(SAMPLE, count);
+            double[][] exact = new double[sample][];
+            double[][] approximate = new double[sample][];
+            long start = System.nanoTime();
+            for (int s = 0; s < sample; s++) {
+                int i = (int) ((long) s * count / sample);
+                exact[s] = direct(bodies, i);
+                approximate[s] = tree[i];
+            }
+            double directMs = (System.nanoTime() - start) / 1_000_000.0 * count / sample;
+
+            System.out.printf("%6d   %9.1f%s   %18.2f   %18.2f   %.5f%n", count, directMs,
+                    sample < count ? "*" : " ", sequentialMs, parallelMs,
+                    BarnesHutTest.relativeRmsError(approximate, exact));
+        }
+        System.out.println("* extrapolated from " + SAMPLE + " sampled targets");
+    }
+
+    private double time(Runnable evaluation) {
+        evaluation.run();
+        int rounds = 5;
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            evaluation.run();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / rounds;
+    }
+
+    private double[] direct(List<DynamicBody> bodies, int i) {
+        Vector a = bodies.get(i).getPosition();
+        double fx = 0;
+        double fy = 0;
+        for (int j = 0; j < bodies.size(); j++) {
+            if (j == i) {
+                continue;
+            }
+            Vector b = bodies.get(j).getPosition();
+            double dx = b.x() - a.x();
+            double dy = b.y() - a.y();
+            double inverse = 1.0 / Math.sqrt(dx * dx + dy * dy + SOFTENING * SOFTENING);
+            double scale = STRENGTH * inverse * inverse * inverse;
+            fx += dx * scale;
+            fy += dy * scale;
+        }
+        return new double[]{fx, fy};
+    }
+}
@@ -0,0 +1,152 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.forces.BarnesHutGravity;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.DynamicBody;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the Barnes-Hut N-body force
+ */
+class BarnesHutTest {
+    private static final double STRENGTH = 0.5;
+    private static final double SOFTENING = 0.05;
+
+    @Test
+    void testZeroOpeningAngleMatchesDirectSummation() {
+        List<DynamicBody> bodies = randomBodies(600, 1);
+        double[][] tree = new BarnesHutGravity(STRENGTH, 0.0, SOFTENING).evaluate(bodies);
+        double[][] direct = directSummation(bodies);
+        for (int i = 0; i < bodies.size(); i++) {
+            assertEquals(direct[i][0], tree[i][0], 1e-9 * (1 + Math.abs(direct[i][0])));
+            assertEquals(direct[i][1], tree[i][1], 1e-9 * (1 + Math.abs(direct[i][1])));
+        }
+    }
+
+    @Test
+    void testOpeningAngleErrorIsSmall() {
+        List<DynamicBody> bodies = randomBodies(3000, 2);
+        double[][] direct = directSummation(bodies);
+        for (double theta : new double[]{0.3, 0.5, 0.8}) {
+            double error = relativeRmsError(new BarnesHutGravity(STRENGTH, theta, SOFTENING).evaluate(bodies), direct);
+            System.out.printf("theta %.1f: relative RMS force error %.5f%n", theta, error);
+            assertTrue(error < 0.02 * theta / 0.5 + 1e-6, "Error should stay around a percent at theta " + theta);
+        }
+        // Parallel and sequential evaluation agree exactly
+        BarnesHutGravity sequential = new BarnesHutGravity(STRENGTH, 0.5, SOFTENING);
+        sequential.setParallel(false);
+        double[][] a = sequential.evaluate(bodies);
+        double[][] b = new BarnesHutGravity(STRENGTH, 0.5, SOFTENING).evaluate(bodies);
+        for (int i = 0; i < bodies.size(); i++) {
+            assertEquals(a[i][0], b[i][0], 0.0);
+            assertEquals(a[i][1], b[i][1], 0.0);
+        }
+    }
+
+    @Test
+    void testCoincidentBodiesKeepTheirSharedLeaf() {
+        // The first two bodies are closer than the deepest cell, so they share one leaf
+        List<DynamicBody> bodies = new ArrayList<>();
+        for (Vector position : new Vector[]{new Vector(0, 0), new Vector(1e-15, 0), new Vector(10, 10), new Vector(3, 7)}) {
+            bodies.add(new Ball(position, Vector.ZERO, Collections.emptyList(), 1.0, 0.0));
+        }
+        double[][] tree = new BarnesHutGravity(STRENGTH, 0.0, 0.0).evaluate(bodies);
+        for (int i = 0; i < bodies.size(); i++) {
+            double fx = 0;
+            double fy = 0;
+            for (int j = 0; j < bodies.size(); j++) {
+                if (j != i) {
+                    double dx = bodies.get(j).getPosition().x() - bodies.get(i).getPosition().x();
+                    double dy = bodies.get(j).getPosition().y() - bodies.get(i).getPosition().y();
+                    double distance = Math.sqrt(dx * dx + dy * dy);
+                    fx += STRENGTH * dx / (distance * distance * distance);
+                    fy += STRENGTH * dy / (distance * distance * distance);
+                }
+            }
+            assertEquals(fx, tree[i][0], 1e-9 * Math.abs(fx), "Body " + i);
+            assertEquals(fy, tree[i][1], 1e-9 * (1 + Math.abs(fy)), "Body " + i);
+        }
+    }
+
+    @Test
+    void testSimulatedClusterConservesMomentum() {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setGravity(new Vector(0, 0));
+        config.setUseSleeping(false);
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.setWorldBounds(0, 100, 0, 80);
+        BarnesHutGravity gravity = new BarnesHutGravity(STRENGTH, 0.0, 0.5);
+        simulator.addForceField(gravity);
+
+        // Two bodies far apart attract and accelerate toward each other symmetrically
+        Ball left = new Ball(new Vector(40, 40), Vector.ZERO, Collections.emptyList(), 1.0, 0.0);
+        Ball right = new Ball(new Vector(60, 40), Vector.ZERO, Collections.emptyList(), 1.0, 0.0);
+        simulator.addBody(left);
+        simulator.addBody(right);
+        for (int i = 0; i < 60; i++) {
+            simulator.update(1.0 / 60.0);
+        }
+
+        assertTrue(left.getVelocity().x() > 0, "Left body should move toward the right one");
+        assertEquals(0.0, left.getVelocity().x() + right.getVelocity().x(), 1e-12, "Momentum should be conserved");
+        double expected = STRENGTH / (20 * 20 + 0.25);  // Initial acceleration along x
+        assertEquals(expected, left.getVelocity().x(), expected * 0.05, "About a second at the initial acceleration");
+        assertEquals(60, gravity.getTreeBuildCount(), "One tree per frame, shared by the substeps");
+    }
+
+    static List<DynamicBody> randomBodies(int count, long seed) {
+        Random random = new Random(seed);
+        List<DynamicBody> bodies = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            // Clustered distribution: a few Gaussian blobs
+            int blob = random.nextInt(4);
+            double x = 25 + 50 * (blob % 2) + random.nextGaussian() * 6;
+            double y = 20 + 40 * (blob / 2) + random.nextGaussian() * 6;
+            bodies.add(new Ball(new Vector(x, y), Vector.ZERO, Collections.emptyList(), 1.0, 0.0));
+        }
+        return bodies;
+    }
+
+    static double[][] directSummation(List<DynamicBody> bodies) {
+        int n = bodies.size();
+        double[][] forces = new double[n][2];
+        for (int i = 0; i < n; i++) {
+            Vector a = bodies.get(i).getPosition();
+            for (int j = 0; j < n; j++) {
+                if (i == j) {
+                    continue;
+                }
+                Vector b = bodies.get(j).getPosition();
+                double dx = b.x() - a.x();
+                double dy = b.y() - a.y();
+                double inverse = 1.0 / Math.sqrt(dx * dx + dy * dy + SOFTENING * SOFTENING);
+                double scale = STRENGTH * bodies.get(i).getMass() * bodies.get(j).getMass() * inverse * inverse * inverse;
+                forces[i][0] += dx * scale;
+                forces[i][1] += dy * scale;
+            }
+        }
+        return forces;
+    }
+
+    static double relativeRmsError(double[][] approximate, double[][] exact) {
+        double errorSquared = 0;
+        double normSquared = 0;
+        for (int i = 0; i < exact.length; i++) {
+            double ex = approximate[i][0] - exact[i][0];
+            double ey = approximate[i][1] - exact[i][1];
+            errorSquared += ex * ex + ey * ey;
+            normSquared += exact[i][0] * exact[i][0] + exact[i][1] * exact[i][1];
+        }
+        return Math.sqrt(errorSquared / normSquared);
+    }
+}
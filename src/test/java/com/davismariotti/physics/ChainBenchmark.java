@@ -0,0 +1,64 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.constraints.ChainConstraint;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.DynamicBody;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Performance benchmark for the chain solver: cost per substep for 1k, 10k and 100k segments,
+ * as one long chain and as many 100-link ropes
+ * Only the chain solve is timed; bodies fall under gravity between solves
+ */
+class ChainBenchmark {
+    private static final double SUBSTEP = 1.0 / 360.0;
+    private static final int ROUNDS = 200;
+
+    @Test
+    void testBenchmarkChainScaling() {
+        System.out.println("\n=== Benchmark: Chain solver scaling ===");
+        for (int segments : new int[]{1_000, 10_000, 100_000}) {
+            run(segments, 1);
+            run(segments, segments / 100);
+        }
+    }
+
+    private static void run(int segments, int chainCount) {
+        ChainConstraint chains = new ChainConstraint();
+        List<DynamicBody> bodies = new ArrayList<>();
+        int linksPerChain = segments / chainCount;
+        for (int c = 0; c < chainCount; c++) {
+            List<Ball> links = new ArrayList<>();
+            for (int i = 1; i <= linksPerChain; i++) {
+                Ball link = new Ball(new Vector(c * 2.0 + i * 0.3, 100), Vector.ZERO, List.of(),
+                        MaterialProperties.DEFAULT, 0.1);
+                links.add(link);
+                bodies.add(link);
+            }
+            chains.addChain(links, new Vector(c * 2.0, 100), null);
+        }
+
+        long solveNanos = 0;
+        for (int round = 0; round < ROUNDS * 2; round++) {
+            for (DynamicBody body : bodies) {
+                Vector velocity = body.getVelocity();
+                body.setVelocity(new Vector(velocity.x(), velocity.y() - 9.8 * SUBSTEP));
+                body.setPosition(body.getPosition().add(body.getVelocity().multiply(SUBSTEP)));
+            }
+            long start = System.nanoTime();
+            chains.applyBatch(bodies, 0, bodies.size(), SUBSTEP);
+            if (round >= ROUNDS) {
+                solveNanos += System.nanoTime() - start;
+            }
+        }
+
+        double millis = solveNanos / 1_000_000.0 / ROUNDS;
+        System.out.printf("%7d segments in %5d chains: %.3f ms/substep, %.1f ns/segment%n",
+                chains.getSegmentCount(), chainCount, millis, millis * 1e6 / chains.getSegmentCount());
+    }
+}
@@ -0,0 +1,141 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.constraints.ChainConstraint;
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.kinematics.TensionForce;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for chain constraints and rope tension
+ */
+class ChainTest {
+    private static final double SPACING = 0.3;
+
+    @Test
+    void testHangingBridgeHoldsItsLength() {
+        PhysicsSimulator simulator = createSimulator();
+        ChainConstraint chains = new ChainConstraint();
+
+        // 201 equally spaced links on a V between anchors 40 apart, so the bridge swings into a sagging curve
+        List<Ball> links = new ArrayList<>();
+        for (int i = 1; i <= 201; i++) {
+            double t = i / 202.0;
+            Ball link = ball(new Vector(30 + 40 * t, 60 - 20 * (1 - Math.abs(2 * t - 1))));
+            links.add(link);
+            simulator.addBody(link);
+        }
+        int bridge = chains.addChain(links, new Vector(30, 60), new Vector(70, 60));
+        simulator.addConstraint(chains);
+
+        double initialEnergy = energy(links);
+        double maxEnergy = initialEnergy;
+        for (int frame = 0; frame < 600; frame++) {
+            simulator.update(1.0 / 60.0);
+            maxEnergy = Math.max(maxEnergy, energy(links));
+        }
+
+        double maxStrain = 0;
+        for (int k = chains.getChainStart(bridge) + 1; k < chains.getChainEnd(bridge) - 2; k++) {
+            Vector a = links.get(k - 1).getPosition();
+            Vector b = links.get(k).getPosition();
+            double length = Math.hypot(b.x() - a.x(), b.y() - a.y());
+            maxStrain = Math.max(maxStrain, Math.abs(length / chains.getRestLength(k) - 1));
+        }
+        Ball left = links.get(60);
+        Ball right = links.get(140);
+        Ball middle = links.get(100);
+        System.out.printf("Bridge: max strain %.6f, middle at (%.3f, %.3f), end tension %.2f%n",
+                maxStrain, middle.getPosition().x(), middle.getPosition().y(), chains.getTension(chains.getChainStart(bridge)));
+        assertTrue(maxStrain < 0.001, "Links should hold their length, strain " + maxStrain);
+        assertTrue(middle.getPosition().y() < 60 - 10, "The bridge should sag");
+        assertEquals(left.getPosition().y(), right.getPosition().y(), 0.05, "Sag should be symmetric");
+        assertTrue(maxEnergy < initialEnergy * 1.001, "The swinging bridge must not gain energy: " + maxEnergy + " vs " + initialEnergy);
+        assertEquals(0, chains.getBrokenCount());
+    }
+
+    @Test
+    void testOverstretchedLinkBreaks() {
+        PhysicsSimulator simulator = createSimulator();
+        ChainConstraint chains = new ChainConstraint();
+        List<Ball> links = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Ball link = ball(new Vector(50, 60 - (i + 1) * SPACING));
+            links.add(link);
+            simulator.addBody(link);
+        }
+        chains.addChain(links, new Vector(50, 60), null, 0.0, 0.5);
+        simulator.addConstraint(chains);
+
+        // Hanging under gravity is far below the break strain
+        for (int frame = 0; frame < 60; frame++) {
+            simulator.update(1.0 / 60.0);
+        }
+        assertEquals(0, chains.getBrokenCount());
+        assertTrue(chains.getTension(0) > 9.0 * 9.8, "Top link carries the whole chain, got " + chains.getTension(0));
+
+        // Yank the last link down hard enough to snap the link above it
+        Ball last = links.get(9);
+        last.setVelocity(new Vector(0, -200));
+        simulator.update(1.0 / 60.0);
+        assertEquals(1, chains.getBrokenCount());
+        assertFalse(chains.isLinked(9), "The link above the yanked body should have snapped");
+        for (int frame = 0; frame < 30; frame++) {
+            simulator.update(1.0 / 60.0);
+        }
+        double gap = links.get(8).getPosition().y() - last.getPosition().y();
+        assertTrue(gap > 5, "The broken-off link should fall away, gap " + gap);
+    }
+
+    @Test
+    void testPendulumTension() {
+        Vector gravity = new Vector(0, -9.8);
+        Ball bob = ball(new Vector(10, 8));
+        bob.setVelocity(new Vector(3, 0));
+        TensionForce rope = new TensionForce(new Vector(10, 10), bob, 2.0, gravity);
+
+        // Lowest point: T = m (v^2 / L + g)
+        Vector force = rope.calculate(bob);
+        assertEquals(0.0, force.x(), 1e-12);
+        assertEquals(bob.getMass() * (9.0 / 2.0 + 9.8), force.y(), 1e-9);
+        assertEquals(0.0, rope.getAngle(), 1e-12);
+
+        // Above the pivot and slow: the rope goes slack
+        bob.setPosition(new Vector(10, 12));
+        bob.setVelocity(new Vector(1, 0));
+        assertEquals(0.0, rope.getTension(), 0.0);
+
+        // Inside the rope length: slack
+        bob.setPosition(new Vector(11, 9.5));
+        assertEquals(0.0, rope.calculate(bob).getMagnitude(), 0.0);
+    }
+
+    private static PhysicsSimulator createSimulator() {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setUseSleeping(false);
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.setWorldBounds(0, 100, 0, 80);
+        return simulator;
+    }
+
+    private static double energy(List<Ball> links) {
+        double energy = 0;
+        for (Ball link : links) {
+            double speed = link.getVelocity().getMagnitude();
+            energy += link.getMass() * (0.5 * speed * speed + 9.8 * link.getPosition().y());
+        }
+        return energy;
+    }
+
+    private static Ball ball(Vector position) {
+        return new Ball(position, Vector.ZERO, List.of(), MaterialProperties.DEFAULT, 0.1);
+    }
+}
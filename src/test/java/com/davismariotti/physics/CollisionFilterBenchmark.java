@@ -0,0 +1,71 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.collision.CollisionFilter;
+import com.davismariotti.physics.constraints.DynamicCollisionConstraint;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.DynamicBody;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Performance benchmark for collision filtering in the broadphase
+ * A dense cloud of 3000 overlapping debris balls, either colliding with each other or filtered out by mask,
+ * resolved by the dynamic collision constraint alone with each broadphase
+ */
+class CollisionFilterBenchmark {
+    private static final int BALLS = 3000;
+    private static final int WARMUP_STEPS = 50;
+    private static final int MEASURED_STEPS = 200;
+
+    @Test
+    void testBenchmarkFilteredDebrisCloud() {
+        System.out.println("\n=== Benchmark: 3000 overlapping debris balls, colliding vs filtered ===");
+        long debris = CollisionFilter.of(0x0004, 0xFFFF & ~0x0004);
+        for (int run = 0; run < 2; run++) {
+            for (String broadphase : new String[]{"grid", "neighbor list"}) {
+                for (boolean filtered : new boolean[]{false, true}) {
+                    List<DynamicBody> bodies = createCloud(filtered ? debris : CollisionFilter.DEFAULT);
+                    DynamicCollisionConstraint constraint = new DynamicCollisionConstraint(bodies, Vector.ZERO);
+                    if (broadphase.equals("grid")) {
+                        constraint.enableSpatialPartitioning(0, 100, 0, 80, 0.5);
+                    } else {
+                        constraint.enableNeighborList(0.2);
+                    }
+                    for (int step = 0; step < WARMUP_STEPS; step++) {
+                        constraint.applyAll(1.0 / 360.0);
+                    }
+                    // Restore the cloud so the measured steps see the same overlaps
+                    List<DynamicBody> fresh = createCloud(filtered ? debris : CollisionFilter.DEFAULT);
+                    for (int i = 0; i < BALLS; i++) {
+                        bodies.get(i).setPosition(fresh.get(i).getPosition());
+                        bodies.get(i).setVelocity(fresh.get(i).getVelocity());
+                    }
+                    long start = System.nanoTime();
+                    for (int step = 0; step < MEASURED_STEPS; step++) {
+                        constraint.applyAll(1.0 / 360.0);
+                    }
+                    System.out.printf("%-13s %-9s %.3f ms/step%n", broadphase, filtered ? "filtered" : "colliding",
+                            (System.nanoTime() - start) / 1e6 / MEASURED_STEPS);
+                }
+            }
+        }
+    }
+
+    private static List<DynamicBody> createCloud(long filter) {
+        Random random = new Random(1);
+        List<DynamicBody> bodies = new ArrayList<>();
+        for (int i = 0; i < BALLS; i++) {
+            Vector position = new Vector(30 + random.nextDouble() * 20, 30 + random.nextDouble() * 20);
+            Ball ball = new Ball(position, Vector.ZERO, Collections.emptyList(), MaterialProperties.DEFAULT, 0.25);
+            ball.setCollisionFilter(filter);
+            bodies.add(ball);
+        }
+        return bodies;
+    }
+}
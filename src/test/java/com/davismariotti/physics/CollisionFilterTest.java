@@ -0,0 +1,208 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.collision.Collider;
+import com.davismariotti.physics.collision.CollisionFilter;
+import com.davismariotti.physics.constraints.BoundaryConstraint;
+import com.davismariotti.physics.constraints.ContinuousCollisionConstraint;
+import com.davismariotti.physics.constraints.ContinuousCollisionMode;
+import com.davismariotti.physics.constraints.DynamicCollisionConstraint;
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.core.SimulationMode;
+import com.davismariotti.physics.integration.ConstantAccelerationIntegrator;
+import com.davismariotti.physics.integration.Integrator;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.DynamicBody;
+import com.davismariotti.physics.sprites.Ground;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for collision filtering by category, mask and group
+ */
+class CollisionFilterTest {
+    private static final int PLAYER = 0x0001;
+    private static final int PROJECTILE = 0x0002;
+    private static final int DEBRIS = 0x0004;
+    private static final int WORLD = 0x0008;
+
+    @Test
+    void testCategoryMaskAndGroupRules() {
+        long player = CollisionFilter.of(PLAYER, 0xFFFF);
+        long projectile = CollisionFilter.of(PROJECTILE, PLAYER | WORLD);
+        long debris = CollisionFilter.of(DEBRIS, 0xFFFF & ~DEBRIS);
+
+        assertTrue(CollisionFilter.shouldCollide(player, projectile));
+        assertFalse(CollisionFilter.shouldCollide(projectile, projectile), "Projectiles do not hit each other");
+        assertFalse(CollisionFilter.shouldCollide(debris, debris), "Debris does not hit debris");
+        assertFalse(CollisionFilter.shouldCollide(projectile, debris), "Both masks must accept the pair");
+        assertTrue(CollisionFilter.shouldCollide(CollisionFilter.DEFAULT, CollisionFilter.DEFAULT));
+
+        // A shared negative group never collides, a shared positive group always does, whatever the masks
+        long volley = CollisionFilter.of(PROJECTILE, 0xFFFF, -3);
+        assertFalse(CollisionFilter.shouldCollide(volley, volley));
+        assertTrue(CollisionFilter.shouldCollide(volley, CollisionFilter.of(PROJECTILE, 0xFFFF, -4)));
+        long linked = CollisionFilter.of(DEBRIS, 0, 5);
+        assertTrue(CollisionFilter.shouldCollide(linked, linked));
+        assertFalse(CollisionFilter.shouldCollide(linked, player), "Different groups fall back to the masks");
+
+        assertEquals(PROJECTILE, CollisionFilter.category(volley));
+        assertEquals(0xFFFF, CollisionFilter.mask(volley));
+        assertEquals(-3, CollisionFilter.group(volley));
+        assertThrows(IllegalArgumentException.class, () -> CollisionFilter.of(0x10000, 0xFFFF));
+        assertThrows(IllegalArgumentException.class, () -> CollisionFilter.of(PLAYER, 0xFFFF, 40000));
+    }
+
+    @Test
+    void testFilteredPairsPassThroughInEveryBroadphase() {
+        Integrator integrator = new ConstantAccelerationIntegrator();
+        for (String broadphase : new String[]{"naive", "grid", "neighbor list"}) {
+            for (boolean filtered : new boolean[]{false, true}) {
+                List<DynamicBody> bodies = new ArrayList<>();
+                Ball left = new Ball(new Vector(40, 40), new Vector(10, 0), Collections.emptyList(), MaterialProperties.DEFAULT, 0.5);
+                Ball right = new Ball(new Vector(60, 40), new Vector(-10, 0), Collections.emptyList(), MaterialProperties.DEFAULT, 0.5);
+                if (filtered) {
+                    left.setCollisionFilter(CollisionFilter.of(PROJECTILE, PLAYER | WORLD));
+                    right.setCollisionFilter(CollisionFilter.of(PROJECTILE, PLAYER | WORLD));
+                }
+                bodies.add(left);
+                bodies.add(right);
+                DynamicCollisionConstraint constraint = createConstraint(bodies, broadphase);
+
+                // No forces act, so the balls drift at constant velocity between contacts
+                for (int step = 0; step < 180; step++) {
+                    for (DynamicBody body : bodies) {
+                        body.storePreviousState();
+                        integrator.integrate(body, (b, position, velocity) -> Vector.ZERO, 1.0 / 60.0);
+                    }
+                    constraint.applyAll(1.0 / 60.0);
+                }
+                if (filtered) {
+                    assertEquals(70, left.getPosition().x(), 1e-9, broadphase + ": filtered balls pass through");
+                    assertEquals(30, right.getPosition().x(), 1e-9, broadphase);
+                } else {
+                    assertTrue(left.getPosition().x() < 50 && right.getPosition().x() > 50, broadphase + ": balls bounce");
+                }
+            }
+        }
+    }
+
+    @Test
+    void testFilteredPairsNeverReachTheNarrowphase() {
+        int[] colliderAccesses = new int[1];
+        List<DynamicBody> bodies = new ArrayList<>();
+        long volley = CollisionFilter.of(PROJECTILE, 0xFFFF, -1);
+        for (int i = 0; i < 20; i++) {
+            // Overlapping balls from the same volley
+            Ball ball = new Ball(new Vector(50 + i * 0.1, 40), Vector.ZERO, Collections.emptyList(),
+                    MaterialProperties.DEFAULT, 0.5) {
+                @Override
+                public Collider getCollider() {
+                    colliderAccesses[0]++;
+                    return super.getCollider();
+                }
+            };
+            ball.setCollisionFilter(volley);
+            bodies.add(ball);
+        }
+        DynamicCollisionConstraint constraint = createConstraint(bodies, "naive");
+        constraint.applyAll(1.0 / 60.0, 4);
+        assertEquals(0, colliderAccesses[0]);
+        for (DynamicBody body : bodies) {
+            assertEquals(Vector.ZERO, body.getVelocity());
+        }
+    }
+
+    @Test
+    void testStaticBodiesRespectFilters() {
+        for (ContinuousCollisionMode mode : ContinuousCollisionMode.values()) {
+            PhysicsConfig config = new PhysicsConfig();
+            config.setUseBallisticFastPath(true);
+            config.setCollisionMode(mode);
+            PhysicsSimulator simulator = new PhysicsSimulator(config);
+            simulator.setWorldBounds(0, 100, 0, 80);
+            Ground floor = new Ground(50, 20, 100, 2);
+            floor.setCollisionFilter(CollisionFilter.of(WORLD, 0xFFFF));
+            simulator.addBody(floor);
+            simulator.addConstraint(new BoundaryConstraint(0, 100, 0, 80));
+            simulator.addConstraint(new ContinuousCollisionConstraint(simulator.getStaticBodies(), config.getGravity(),
+                    config.getRestingVelocityThreshold()));
+
+            Ball landing = new Ball(new Vector(30, 24), Vector.ZERO, Collections.emptyList(), MaterialProperties.DEFAULT, 0.5);
+            Ball ghost = new Ball(new Vector(70, 24), Vector.ZERO, Collections.emptyList(), MaterialProperties.DEFAULT, 0.5);
+            ghost.setCollisionFilter(CollisionFilter.of(DEBRIS, 0xFFFF & ~WORLD));
+            simulator.addBody(landing);
+            simulator.addBody(ghost);
+
+            boolean ghostAlwaysBallistic = true;
+            for (int frame = 0; frame < 400; frame++) {
+                simulator.update(1.0 / 60.0);
+                if (ghost.getPosition().y() > 2) {
+                    ghostAlwaysBallistic &= ghost.isBallistic();
+                }
+            }
+            assertTrue(landing.getPosition().y() > 21.45, mode + ": the default filter stays on the floor");
+            assertTrue(ghost.getPosition().y() < 2, mode + ": the filtered ball falls through the floor");
+            assertTrue(ghostAlwaysBallistic, mode + ": a filtered floor does not cost the fast path");
+        }
+    }
+
+    private static DynamicCollisionConstraint createConstraint(List<DynamicBody> bodies, String broadphase) {
+        DynamicCollisionConstraint constraint = new DynamicCollisionConstraint(bodies, Vector.ZERO);
+        if (broadphase.equals("grid")) {
+            constraint.enableSpatialPartitioning(0, 100, 0, 80, 1.0);
+        } else if (broadphase.equals("neighbor list")) {
+            constraint.enableNeighborList(0.2);
+        }
+        return constraint;
+    }
+
+    @Test
+    void testXPBDModeRespectsFilters() {
+        assertFiltersHoldInMode(SimulationMode.XPBD);
+    }
+
+    @Test
+    void testEventDrivenModeRespectsFilters() {
+        assertFiltersHoldInMode(SimulationMode.EVENT_DRIVEN);
+    }
+
+    /**
+     * A volley of two balls passes through each other and through a floor that still holds an unfiltered ball
+     */
+    private static void assertFiltersHoldInMode(SimulationMode mode) {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setSimulationMode(mode);
+        config.setDragCoefficient(0);
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.setWorldBounds(0, 100, 0, 80);
+        Ground floor = new Ground(50, 20, 100, 2);
+        floor.setCollisionFilter(CollisionFilter.of(WORLD, 0xFFFF));
+        simulator.addBody(floor);
+
+        Ball landing = new Ball(new Vector(30, 24), Vector.ZERO, Collections.emptyList(), MaterialProperties.DEFAULT, 0.5);
+        Ball left = new Ball(new Vector(45, 30), new Vector(10, 0), Collections.emptyList(), MaterialProperties.DEFAULT, 0.5);
+        Ball right = new Ball(new Vector(55, 30), new Vector(-10, 0), Collections.emptyList(), MaterialProperties.DEFAULT, 0.5);
+        long volley = CollisionFilter.of(PROJECTILE, 0xFFFF & ~WORLD, -1);
+        left.setCollisionFilter(volley);
+        right.setCollisionFilter(volley);
+        simulator.addBody(landing);
+        simulator.addBody(left);
+        simulator.addBody(right);
+
+        for (int frame = 0; frame < 120; frame++) {
+            simulator.update(1.0 / 60.0);
+        }
+        assertEquals(65, left.getPosition().x(), 1e-6, mode + ": volley balls pass through each other");
+        assertEquals(35, right.getPosition().x(), 1e-6, mode.toString());
+        assertTrue(left.getPosition().y() < 19 && right.getPosition().y() < 19, mode + ": and through the floor");
+        assertTrue(landing.getPosition().y() > 21, mode + ": the floor still holds other balls");
+    }
+}
@@ -0,0 +1,126 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.constraints.BoundaryConstraint;
+import com.davismariotti.physics.constraints.ContinuousCollisionConstraint;
+import com.davismariotti.physics.constraints.ContinuousCollisionMode;
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.DynamicBody;
+import com.davismariotti.physics.sprites.Ground;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Performance benchmark comparing TOI rewinds against speculative contacts
+ */
+class CollisionModeBenchmark {
+    private static final double WORLD_WIDTH = 120.0;
+    private static final double WORLD_HEIGHT = 80.0;
+    private static final double GROUND_HEIGHT = 4.0;
+
+    @Test
+    void testBenchmarkBulletStorm() {
+        System.out.println("\n=== Benchmark: Bullet Storm (1000 balls at 40 units/s) ===");
+        for (ContinuousCollisionMode mode : ContinuousCollisionMode.values()) {
+            PhysicsSimulator simulator = createSimulator(mode);
+            spawnBulletStorm(simulator, 1000);
+            int belowGround = runBenchmark(mode, simulator, 200);
+
+            assertEquals(0, belowGround, mode + " should not let bullets tunnel through the ground");
+        }
+    }
+
+    @Test
+    void testBenchmarkRestingPile() {
+        System.out.println("\n=== Benchmark: Resting Pile (1000 balls settled on ground) ===");
+        for (ContinuousCollisionMode mode : ContinuousCollisionMode.values()) {
+            PhysicsSimulator simulator = createSimulator(mode);
+            spawnPile(simulator, 1000);
+
+            // Let the pile settle before measuring
+            for (int i = 0; i < 300; i++) {
+                simulator.update(1.0 / 60.0);
+            }
+            runBenchmark(mode, simulator, 200);
+        }
+    }
+
+    /**
+     * Run the scene and report frame time and ground penetration
+     * @return number of balls whose center ended up below the ground surface
+     */
+    private int runBenchmark(ContinuousCollisionMode mode, PhysicsSimulator simulator, int frameCount) {
+        // Warmup
+        for (int i = 0; i < 10; i++) {
+            simulator.update(1.0 / 60.0);
+        }
+
+        double maxPenetration = 0;
+        int belowGround = 0;
+        long startTime = System.nanoTime();
+        for (int i = 0; i < frameCount; i++) {
+            simulator.update(1.0 / 60.0);
+        }
+        long elapsed = System.nanoTime() - startTime;
+
+        for (DynamicBody body : simulator.getDynamicBodies()) {
+            Ball ball = (Ball) body;
+            double penetration = GROUND_HEIGHT + ball.getRadius() - ball.getPosition().y();
+            maxPenetration = Math.max(maxPenetration, penetration);
+            if (ball.getPosition().y() < GROUND_HEIGHT) {
+                belowGround++;
+            }
+        }
+
+        System.out.printf("%-15s %.2f ms/frame, max ground penetration %.4f, %d balls below ground%n",
+                mode, elapsed / 1_000_000.0 / frameCount, maxPenetration, belowGround);
+        return belowGround;
+    }
+
+    private PhysicsSimulator createSimulator(ContinuousCollisionMode mode) {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setCollisionMode(mode);
+
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.setWorldBounds(0, WORLD_WIDTH, 0, WORLD_HEIGHT);
+        simulator.addBody(new Ground(WORLD_WIDTH / 2, GROUND_HEIGHT / 2, WORLD_WIDTH, GROUND_HEIGHT));
+        simulator.addConstraint(new BoundaryConstraint(0, WORLD_WIDTH, 0, WORLD_HEIGHT));
+        simulator.addConstraint(new ContinuousCollisionConstraint(
+                simulator.getStaticBodies(),
+                config.getGravity(),
+                config.getRestingVelocityThreshold(),
+                mode
+        ));
+        return simulator;
+    }
+
+    private void spawnBulletStorm(PhysicsSimulator simulator, int count) {
+        Random random = new Random(42);
+        for (int i = 0; i < count; i++) {
+            double x = 5 + random.nextDouble() * (WORLD_WIDTH - 10);
+            double y = GROUND_HEIGHT + 5 + random.nextDouble() * (WORLD_HEIGHT - GROUND_HEIGHT - 10);
+            double angle = random.nextDouble() * 2 * Math.PI;
+            Vector velocity = new Vector(Math.cos(angle) * 40, Math.sin(angle) * 40);
+            simulator.addBody(new Ball(new Vector(x, y), velocity, Collections.emptyList(),
+                    simulator.getConfig().getDefaultMaterial(), 0.2));
+        }
+    }
+
+    private void spawnPile(PhysicsSimulator simulator, int count) {
+        Random random = new Random(42);
+        double radius = 0.25;
+        int perRow = 100;
+        for (int i = 0; i < count; i++) {
+            double x = 30 + (i % perRow) * radius * 2.05 + random.nextDouble() * 0.01;
+            double y = GROUND_HEIGHT + radius + (i / perRow) * radius * 2.05;
+            simulator.addBody(new Ball(new Vector(x, y), Vector.ZERO, List.of(), 0.3, 0.0));
+        }
+    }
+}
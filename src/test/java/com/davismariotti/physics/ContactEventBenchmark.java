@@ -0,0 +1,67 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.constraints.BoundaryConstraint;
+import com.davismariotti.physics.constraints.ContactBuffer;
+import com.davismariotti.physics.constraints.ContinuousCollisionConstraint;
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.Ground;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Random;
+
+/**
+ * Performance benchmark for contact events
+ * 1500 balls raining into a pile, without contact listeners, with a listener reading every contact and
+ * with a listener behind an impulse threshold
+ */
+class ContactEventBenchmark {
+    private static final int BALLS = 1500;
+    private static final int WARMUP_FRAMES = 150;
+    private static final int MEASURED_FRAMES = 300;
+
+    @Test
+    void testBenchmarkContactListeners() {
+        System.out.println("\n=== Benchmark: 1500 balls, contact listener overhead ===");
+        for (int run = 0; run < 2; run++) {
+            for (String variant : new String[]{"none", "all", "threshold"}) {
+                PhysicsConfig config = new PhysicsConfig();
+                PhysicsSimulator simulator = createSimulator(config);
+                long[] delivered = new long[1];
+                if (!variant.equals("none")) {
+                    config.setContactImpulseThreshold(variant.equals("threshold") ? 1.0 : 0.0);
+                    simulator.addContactListener((ContactBuffer contacts) -> delivered[0] += contacts.size());
+                }
+                for (int frame = 0; frame < WARMUP_FRAMES; frame++) {
+                    simulator.update(1.0 / 60.0);
+                }
+                delivered[0] = 0;
+                long start = System.nanoTime();
+                for (int frame = 0; frame < MEASURED_FRAMES; frame++) {
+                    simulator.update(1.0 / 60.0);
+                }
+                System.out.printf("%-9s listener: %.2f ms/frame, %d contacts/frame%n", variant,
+                        (System.nanoTime() - start) / 1e6 / MEASURED_FRAMES, delivered[0] / MEASURED_FRAMES);
+            }
+        }
+    }
+
+    private static PhysicsSimulator createSimulator(PhysicsConfig config) {
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.setWorldBounds(0, 100, 0, 80);
+        simulator.addBody(new Ground(50, 2.5, 100, 5));
+        simulator.addConstraint(new BoundaryConstraint(0, 100, 0, 80));
+        simulator.addConstraint(new ContinuousCollisionConstraint(simulator.getStaticBodies(), config.getGravity(),
+                config.getRestingVelocityThreshold()));
+        Random random = new Random(1);
+        for (int i = 0; i < BALLS; i++) {
+            Vector position = new Vector(1 + random.nextDouble() * 98, 6 + random.nextDouble() * 70);
+            simulator.addBody(new Ball(position, Vector.ZERO, Collections.emptyList(), MaterialProperties.DEFAULT, 0.3));
+        }
+        return simulator;
+    }
+}
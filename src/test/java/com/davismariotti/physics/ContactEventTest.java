@@ -0,0 +1,218 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.constraints.BoundaryConstraint;
+import com.davismariotti.physics.constraints.CollisionMetrics;
+import com.davismariotti.physics.constraints.ContactBuffer;
+import com.davismariotti.physics.constraints.ContactListener;
+import com.davismariotti.physics.constraints.ContinuousCollisionConstraint;
+import com.davismariotti.physics.constraints.ContinuousCollisionMode;
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.core.SimulationMode;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.Ground;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for contact events delivered to contact listeners
+ */
+class ContactEventTest {
+    private static final double FRAME = 1.0 / 60.0;
+
+    /**
+     * Keeps the number of contacts in each delivered batch and the total impulse per frame
+     */
+    private static class Recorder implements ContactListener {
+        final List<Integer> batchSizes = new ArrayList<>();
+        final List<Double> impulses = new ArrayList<>();
+
+        @Override
+        public void onContacts(ContactBuffer contacts) {
+            batchSizes.add(contacts.size());
+            double total = 0;
+            for (int i = 0; i < contacts.size(); i++) {
+                total += contacts.getImpulse(i);
+            }
+            impulses.add(total);
+        }
+    }
+
+    private static PhysicsSimulator createSimulator(PhysicsConfig config) {
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.setWorldBounds(0, 100, 0, 80);
+        simulator.addBody(new Ground(50, 2.5, 100, 5));
+        simulator.addConstraint(new BoundaryConstraint(0, 100, 0, 80));
+        simulator.addConstraint(new ContinuousCollisionConstraint(simulator.getStaticBodies(), config.getGravity(),
+                config.getRestingVelocityThreshold()));
+        return simulator;
+    }
+
+    @Test
+    void testGroundImpactReportsPairNormalPointAndImpulse() {
+        for (ContinuousCollisionMode mode : ContinuousCollisionMode.values()) {
+            PhysicsConfig config = new PhysicsConfig();
+            config.setCollisionMode(mode);
+            config.setDragCoefficient(0);
+            PhysicsSimulator simulator = createSimulator(config);
+            Ground ground = (Ground) simulator.getStaticBodies().get(0);
+            Ball ball = new Ball(new Vector(30, 15), Vector.ZERO, Collections.emptyList(), MaterialProperties.DEFAULT, 0.5);
+            simulator.addBody(ball);
+            List<String> seen = new ArrayList<>();
+            simulator.addContactListener(contacts -> {
+                for (int i = 0; i < contacts.size(); i++) {
+                    if (contacts.getImpulse(i) > 1) {
+                        assertSame(ball, contacts.getBodyA(i));
+                        assertSame(ground, contacts.getBodyB(i));
+                        assertEquals(0, contacts.getNormalX(i), 1e-9, mode + ": normal points from the ball into the ground");
+                        assertEquals(-1, contacts.getNormalY(i), 1e-9, mode.toString());
+                        assertEquals(30, contacts.getPointX(i), 1e-9, mode.toString());
+                        assertEquals(5, contacts.getPointY(i), 0.1, mode + ": point on the ground surface");
+                        seen.add("impact");
+                    }
+                }
+            });
+
+            Recorder recorder = new Recorder();
+            simulator.addContactListener(recorder);
+
+            // Falling from 10 units up the ball lands at sqrt(2 g h) ≈ 14; its momentum change is the impulse
+            double velocityChange = 0;
+            while (seen.isEmpty() && recorder.impulses.size() < 120) {
+                double before = ball.getVelocity().y();
+                simulator.update(FRAME);
+                velocityChange = ball.getVelocity().y() - before;
+            }
+            double impulse = recorder.impulses.get(recorder.impulses.size() - 1);
+            assertEquals(1, seen.size(), mode + ": one impact");
+            assertTrue(impulse > 10, mode + ": impact impulse " + impulse);
+            // Gravity also acts over the frame
+            assertEquals(velocityChange * ball.getMass(), impulse - 9.8 * FRAME * ball.getMass(), 0.2, mode.toString());
+        }
+    }
+
+    @Test
+    void testBallPairReportsImpulseAlongTheLineOfCenters() {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setGravity(Vector.ZERO);
+        config.setDragCoefficient(0);
+        PhysicsSimulator simulator = createSimulator(config);
+        Ball left = new Ball(new Vector(40, 40), new Vector(5, 0), Collections.emptyList(), MaterialProperties.DEFAULT, 0.5);
+        Ball right = new Ball(new Vector(50, 40), new Vector(-5, 0), Collections.emptyList(), MaterialProperties.DEFAULT, 0.5);
+        simulator.addBody(left);
+        simulator.addBody(right);
+        double[] hit = new double[6];
+        simulator.addContactListener(contacts -> {
+            for (int i = 0; i < contacts.size(); i++) {
+                assertTrue(contacts.getBodyA(i) == left ^ contacts.getBodyA(i) == right);
+                double sign = contacts.getBodyA(i) == left ? 1 : -1;
+                hit[0]++;
+                hit[1] = sign * contacts.getNormalX(i);
+                hit[2] = contacts.getNormalY(i);
+                hit[3] = contacts.getPointX(i);
+                hit[4] = contacts.getPointY(i);
+                hit[5] = contacts.getImpulse(i);
+            }
+        });
+        for (int frame = 0; frame < 120; frame++) {
+            simulator.update(FRAME);
+        }
+        assertEquals(1.0, hit[0], "One impact");
+        assertEquals(1, hit[1], 1e-6, "Normal points from body A to body B");
+        assertEquals(0, hit[2], 1e-6);
+        assertEquals(45, hit[3], 0.1, "Point where the balls touch");
+        assertEquals(40, hit[4], 1e-6);
+        // The impulse is the momentum each ball gained
+        assertEquals(left.getMass() * Math.abs(left.getVelocity().x() - 5), hit[5], 1e-6);
+    }
+
+    @Test
+    void testThresholdRingBufferAndMetrics() {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setContactBufferCapacity(64);
+        PhysicsSimulator simulator = createSimulator(config);
+        Random random = new Random(1);
+        for (int i = 0; i < 200; i++) {
+            simulator.addBody(new Ball(new Vector(40 + random.nextDouble() * 20, 6 + random.nextDouble() * 20),
+                    Vector.ZERO, Collections.emptyList(), MaterialProperties.DEFAULT, 0.3));
+        }
+        Recorder all = new Recorder();
+        CollisionMetrics metrics = new CollisionMetrics();
+        int[] overwritten = new int[1];
+        simulator.addContactListener(all);
+        simulator.addContactListener(metrics);
+        simulator.addContactListener(contacts -> overwritten[0] = Math.max(overwritten[0], contacts.getOverwrittenCount()));
+        for (int frame = 0; frame < 120; frame++) {
+            simulator.update(FRAME);
+        }
+        assertEquals(120, all.batchSizes.size(), "One batch per update");
+        assertTrue(all.batchSizes.stream().allMatch(size -> size <= 64));
+        assertTrue(overwritten[0] > 0, "The pile overflows a 64-contact buffer");
+        assertEquals((int) all.batchSizes.get(119), metrics.getTotalCollisions());
+        assertEquals(metrics.getTotalCollisions(), metrics.getImpulseApplications() + metrics.getRestingContacts());
+
+        // With a threshold the settled pile reports only its real impacts
+        config.setContactImpulseThreshold(0.5);
+        Recorder impacts = new Recorder();
+        simulator.addContactListener(impacts);
+        simulator.update(FRAME);
+        for (int frame = 0; frame < 10; frame++) {
+            simulator.update(FRAME);
+        }
+        int lastFrame = impacts.batchSizes.size() - 1;
+        assertTrue(impacts.batchSizes.get(lastFrame) < all.batchSizes.get(119));
+        assertTrue(impacts.impulses.get(lastFrame) >= 0.5 * impacts.batchSizes.get(lastFrame));
+
+        // Removed listeners get nothing more
+        simulator.removeContactListener(all);
+        simulator.update(FRAME);
+        assertEquals(131, all.batchSizes.size());
+    }
+
+    @Test
+    void testXPBDAndEventDrivenModesReportContacts() {
+        for (SimulationMode mode : new SimulationMode[]{SimulationMode.XPBD, SimulationMode.EVENT_DRIVEN}) {
+            PhysicsConfig config = new PhysicsConfig();
+            config.setSimulationMode(mode);
+            config.setDragCoefficient(0);
+            PhysicsSimulator simulator = createSimulator(config);
+            Ground ground = (Ground) simulator.getStaticBodies().get(0);
+            Ball ball = new Ball(new Vector(30, 15), Vector.ZERO, Collections.emptyList(), MaterialProperties.DEFAULT, 0.5);
+            Ball left = new Ball(new Vector(60, 40), new Vector(5, 10), Collections.emptyList(), MaterialProperties.DEFAULT, 0.5);
+            Ball right = new Ball(new Vector(70, 40), new Vector(-5, 10), Collections.emptyList(), MaterialProperties.DEFAULT, 0.5);
+            simulator.addBody(ball);
+            simulator.addBody(left);
+            simulator.addBody(right);
+            List<String> seen = new ArrayList<>();
+            simulator.addContactListener(contacts -> {
+                for (int i = 0; i < contacts.size(); i++) {
+                    if (contacts.getBodyA(i) == ball && contacts.getImpulse(i) > 10) {
+                        assertSame(ground, contacts.getBodyB(i), mode.toString());
+                        assertEquals(-1, contacts.getNormalY(i), 1e-9, mode + ": normal points into the ground");
+                        assertEquals(5, contacts.getPointY(i), 0.1, mode + ": point on the ground surface");
+                        seen.add("ground");
+                    } else if (contacts.getBodyB(i) == left || contacts.getBodyB(i) == right) {
+                        double sign = contacts.getBodyA(i) == left ? 1 : -1;
+                        assertEquals(1, sign * contacts.getNormalX(i), 1e-6, mode + ": normal from body A to body B");
+                        assertEquals(65, contacts.getPointX(i), 0.1, mode.toString());
+                        assertTrue(contacts.getImpulse(i) > 5, mode + ": impulse " + contacts.getImpulse(i));
+                        seen.add("pair");
+                    }
+                }
+            });
+            for (int frame = 0; frame < 90; frame++) {
+                simulator.update(FRAME);
+            }
+            assertTrue(seen.contains("ground"), mode + ": ground impact reported");
+            assertTrue(seen.contains("pair"), mode + ": ball pair reported");
+        }
+    }
+}
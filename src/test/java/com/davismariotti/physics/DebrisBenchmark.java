@@ -0,0 +1,119 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.debris.DebrisParticles;
+import com.davismariotti.physics.debris.DebrisSystem;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.rendering.Camera;
+import com.davismariotti.physics.rendering.DebrisRenderer;
+import com.davismariotti.physics.sprites.Ground;
+import com.davismariotti.physics.sprites.StaticBody;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Frame cost of 100k debris particles against a plain sweep over the same amount of particle state,
+ * while the bursts are still bouncing and once they have settled
+ * Also reports the cost of drawing them into a 1200 x 800 back buffer
+ */
+class DebrisBenchmark {
+    private static final int PARTICLES = 100_000;
+    private static final int WARMUP_FRAMES = 100;
+    private static final int MEASURED_FRAMES = 200;
+    private static final int SETTLE_FRAMES = 1000;
+    private static final double FRAME = 1.0 / 60.0;
+
+    @Test
+    void testBenchmarkDebrisFrame() {
+        System.out.println("\n=== Benchmark: 100k debris particles ===");
+        System.out.println("threads available: " + Runtime.getRuntime().availableProcessors());
+        double sweep = measureSweep();
+        System.out.printf("plain sweep (x += v dt)     %.3f ms/frame%n", sweep);
+        for (boolean parallel : new boolean[]{false, true}) {
+            DebrisSystem debris = createDebris(parallel);
+            for (int frame = 0; frame < WARMUP_FRAMES; frame++) {
+                debris.step(FRAME);
+            }
+            long start = System.nanoTime();
+            for (int frame = 0; frame < MEASURED_FRAMES; frame++) {
+                debris.step(FRAME);
+            }
+            double flying = (System.nanoTime() - start) / 1e6 / MEASURED_FRAMES;
+            for (int frame = 0; frame < SETTLE_FRAMES; frame++) {
+                debris.step(FRAME);
+            }
+            start = System.nanoTime();
+            for (int frame = 0; frame < MEASURED_FRAMES; frame++) {
+                debris.step(FRAME);
+            }
+            double settled = (System.nanoTime() - start) / 1e6 / MEASURED_FRAMES;
+            System.out.printf("debris step %-15s %.3f ms/frame bouncing (%.1fx sweep), %.3f ms/frame settled, %d alive%n",
+                    parallel ? "(parallel)" : "(sequential)", flying, flying / sweep, settled,
+                    debris.getParticles().getAliveCount());
+        }
+
+        DebrisSystem debris = createDebris(false);
+        debris.step(FRAME);
+        BufferedImage image = new BufferedImage(1200, 800, BufferedImage.TYPE_INT_RGB);
+        DebrisRenderer renderer = new DebrisRenderer(debris.getParticles(), new Camera(10, 800), image, Color.ORANGE, 2);
+        Graphics2D graphics = image.createGraphics();
+        for (int frame = 0; frame < WARMUP_FRAMES; frame++) {
+            renderer.render(graphics);
+        }
+        long start = System.nanoTime();
+        for (int frame = 0; frame < MEASURED_FRAMES; frame++) {
+            renderer.render(graphics);
+        }
+        System.out.printf("render into back buffer      %.3f ms/frame%n", (System.nanoTime() - start) / 1e6 / MEASURED_FRAMES);
+    }
+
+    /**
+     * Bursts spread over the world with lifetimes far beyond the measurement, above a ground and ledges
+     */
+    private static DebrisSystem createDebris(boolean parallel) {
+        List<StaticBody> statics = List.of(new Ground(60, 2.5, 120, 5), new Ground(30, 30, 20, 1), new Ground(90, 40, 20, 1));
+        DebrisSystem debris = new DebrisSystem(new DebrisParticles(PARTICLES), statics, new PhysicsConfig());
+        debris.setWorldBounds(0, 120, 0, 80);
+        debris.setParallel(parallel);
+        Random random = new Random(1);
+        for (int burst = 0; burst < 100; burst++) {
+            debris.burst(new Vector(10 + random.nextDouble() * 100, 10 + random.nextDouble() * 60),
+                    PARTICLES / 100, 10, 1000, random);
+        }
+        return debris;
+    }
+
+    /**
+     * Baseline: read and write the same four arrays once per frame with no physics at all
+     */
+    private static double measureSweep() {
+        double[] x = new double[PARTICLES];
+        double[] y = new double[PARTICLES];
+        double[] vx = new double[PARTICLES];
+        double[] vy = new double[PARTICLES];
+        Random random = new Random(1);
+        for (int i = 0; i < PARTICLES; i++) {
+            vx[i] = random.nextDouble();
+            vy[i] = random.nextDouble();
+        }
+        for (int frame = 0; frame < WARMUP_FRAMES; frame++) {
+            sweep(x, y, vx, vy);
+        }
+        long start = System.nanoTime();
+        for (int frame = 0; frame < MEASURED_FRAMES; frame++) {
+            sweep(x, y, vx, vy);
+        }
+        return (System.nanoTime() - start) / 1e6 / MEASURED_FRAMES;
+    }
+
+    private static void sweep(double[] x, double[] y, double[] vx, double[] vy) {
+        for (int i = 0; i < x.length; i++) {
+            x[i] += vx[i] * FRAME;
+            y[i] += vy[i] * FRAME;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.debris.DebrisParticles;
+import com.davismariotti.physics.debris.DebrisSystem;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.rendering.Camera;
+import com.davismariotti.physics.rendering.DebrisRenderer;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.Ground;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Collections;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the debris particle system
+ */
+class DebrisTest {
+    private static final double FRAME = 1.0 / 60.0;
+
+    @Test
+    void testRingBufferRetiresAndOverwritesOldest() {
+        DebrisParticles particles = new DebrisParticles(4);
+        DebrisSystem debris = new DebrisSystem(particles, Collections.emptyList(), new PhysicsConfig());
+        particles.emit(0, 0, 0, 0, 1.0);
+        particles.emit(1, 0, 0, 0, 0.1);    // Expires behind a longer-lived particle
+        particles.emit(2, 0, 0, 0, 2.0);
+
+        for (int frame = 0; frame < 12; frame++) {
+            debris.step(FRAME);
+        }
+        assertEquals(3, particles.size(), "Expired particle keeps its slot until the head passes it");
+        assertEquals(2, particles.getAliveCount());
+        assertFalse(particles.isAlive(particles.slot(1)));
+
+        for (int frame = 0; frame < 60; frame++) {
+            debris.step(FRAME);
+        }
+        assertEquals(1, particles.size(), "Head passes the expired particles once the oldest one is gone");
+        assertEquals(2.0, particles.getX(particles.slot(0)), 1e-9);
+
+        // A full buffer overwrites the oldest particle
+        for (int i = 0; i < 5; i++) {
+            particles.emit(10 + i, 0, 0, 0, 5.0);
+        }
+        assertEquals(4, particles.size());
+        assertEquals(11.0, particles.getX(particles.slot(0)), 1e-9);
+        assertEquals(14.0, particles.getX(particles.slot(3)), 1e-9);
+    }
+
+    @Test
+    void testDebrisRestsOnStaticsWithoutTunneling() {
+        PhysicsSimulator simulator = new PhysicsSimulator(new PhysicsConfig());
+        simulator.setWorldBounds(0, 100, 0, 80);
+        simulator.addBody(new Ground(50, 2.5, 100, 5));
+        Ground ledge = new Ground(50, 20, 10, 0.1);  // Thin ledge
+        simulator.addBody(ledge);
+        DebrisSystem debris = new DebrisSystem(new DebrisParticles(10_000), simulator.getStaticBodies(), simulator.getConfig());
+        simulator.addSystem(debris);
+        DebrisParticles particles = debris.getParticles();
+
+        // Fast debris aimed at the thin ledge moves several times its thickness per frame
+        for (int i = 0; i < 100; i++) {
+            particles.emit(46 + i * 0.08, 40, 0, -60, 100);
+        }
+        debris.burst(new Vector(20, 10), 1000, 15, 100, new Random(3));
+
+        for (int frame = 0; frame < 600; frame++) {
+            simulator.update(FRAME);
+        }
+
+        double top = 20.05 + debris.getParticleRadius();
+        for (int i = 0; i < 100; i++) {
+            int slot = particles.slot(i);
+            assertTrue(particles.isAlive(slot));
+            assertEquals(top, particles.getY(slot), 1e-9, "Debris should rest on the ledge");
+            assertEquals(0.0, particles.getVelocityY(slot), 1e-9);
+            assertTrue(particles.isSettled(slot), "Debris lying still should stop being integrated");
+        }
+        for (int i = 100; i < particles.size(); i++) {
+            int slot = particles.slot(i);
+            if (particles.isAlive(slot)) {
+                assertTrue(particles.getY(slot) >= 5 + debris.getParticleRadius() - 1e-9,
+                        "Debris fell into the ground at " + particles.getY(slot));
+            }
+        }
+
+        // Removing the ledge releases the debris settled on it
+        simulator.removeBody(ledge);
+        for (int frame = 0; frame < 120; frame++) {
+            simulator.update(FRAME);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertTrue(particles.getY(particles.slot(i)) < 10, "Debris should fall once the ledge is gone");
+        }
+    }
+
+    @Test
+    void testDebrisLeavesBodiesAndFastPathAlone() {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setUseBallisticFastPath(true);
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.setWorldBounds(0, 100, 0, 80);
+        Ball ball = new Ball(new Vector(20, 40), new Vector(8, 12), Collections.emptyList(), MaterialProperties.DEFAULT, 0.2);
+        simulator.addBody(ball);
+        DebrisSystem debris = new DebrisSystem(new DebrisParticles(1000), simulator.getStaticBodies(), config);
+        simulator.addSystem(debris);
+        // Debris spawned right on the ball's path
+        debris.burst(new Vector(21, 41), 1000, 5, 10, new Random(5));
+
+        simulator.update(FRAME);
+        assertTrue(ball.isBallistic(), "One-way debris should not turn the fast path off");
+        assertEquals(1, simulator.getLastBallisticCount());
+        Vector gravity = config.getGravity();
+        assertEquals(20 + 8 * FRAME, ball.getPosition().x(), 1e-9);
+        assertEquals(40 + 12 * FRAME + 0.5 * gravity.y() * FRAME * FRAME, ball.getPosition().y(), 1e-9);
+
+        // Rendering writes the particles straight into the image
+        BufferedImage image = new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB);
+        DebrisParticles single = new DebrisParticles(1);
+        single.emit(5, 2, 0, 0, 1);
+        new DebrisRenderer(single, new Camera(10, 100), image, Color.ORANGE, 2).render(image.createGraphics());
+        assertEquals(Color.ORANGE.getRGB(), image.getRGB(50, 80));
+        assertEquals(Color.BLACK.getRGB(), image.getRGB(60, 80));
+    }
+}
@@ -0,0 +1,141 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.core.SimulationMode;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.DynamicBody;
+import com.davismariotti.physics.sprites.Ground;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the event-driven hard-sphere simulation mode
+ */
+class EventDrivenSimulationTest {
+    private static final MaterialProperties ELASTIC = new MaterialProperties(1.0, 0.0, 0.0, 0.0);
+
+    @Test
+    void testElasticGasConservesEnergyWithoutOverlap() {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setGravity(new Vector(0, 0));
+        PhysicsSimulator simulator = createSimulator(config, 50, 50);
+
+        Random random = new Random(7);
+        double radius = 0.5;
+        for (int row = 0; row < 15; row++) {
+            for (int col = 0; col < 15; col++) {
+                double angle = random.nextDouble() * 2 * Math.PI;
+                Vector velocity = new Vector(Math.cos(angle) * 10, Math.sin(angle) * 10);
+                simulator.addBody(new Ball(new Vector(3 + col * 3, 3 + row * 3), velocity,
+                        Collections.emptyList(), ELASTIC, radius));
+            }
+        }
+
+        double initialEnergy = kineticEnergy(simulator.getDynamicBodies());
+        int totalEvents = 0;
+        for (int i = 0; i < 120; i++) {
+            simulator.update(1.0 / 60.0);
+            totalEvents += simulator.getEventDrivenSolver().getLastEventCount();
+        }
+        double finalEnergy = kineticEnergy(simulator.getDynamicBodies());
+
+        List<DynamicBody> bodies = simulator.getDynamicBodies();
+        double worstOverlap = 0;
+        for (int i = 0; i < bodies.size(); i++) {
+            for (int j = i + 1; j < bodies.size(); j++) {
+                Vector delta = bodies.get(j).getPosition().add(bodies.get(i).getPosition().multiply(-1));
+                worstOverlap = Math.max(worstOverlap, 2 * radius - delta.getMagnitude());
+            }
+        }
+
+        System.out.printf("Events: %d, energy %.6f -> %.6f, worst overlap %.2e%n",
+                totalEvents, initialEnergy, finalEnergy, worstOverlap);
+
+        assertTrue(totalEvents > 0, "Gas should collide");
+        assertEquals(initialEnergy, finalEnergy, initialEnergy * 1e-9, "Elastic gas should conserve energy");
+        assertTrue(worstOverlap < 1e-6, "Balls should never overlap");
+        for (DynamicBody body : bodies) {
+            Vector position = body.getPosition();
+            assertTrue(position.x() >= radius - 1e-6 && position.x() <= 50 - radius + 1e-6, "Ball left the box");
+            assertTrue(position.y() >= radius - 1e-6 && position.y() <= 50 - radius + 1e-6, "Ball left the box");
+        }
+    }
+
+    @Test
+    void testBounceReturnsToInitialHeight() {
+        double initialHeight = 50.0;
+
+        PhysicsConfig config = new PhysicsConfig();
+        PhysicsSimulator simulator = createSimulator(config, 100, 100);
+        simulator.addBody(new Ground(50, 2.5, 100, 5));
+
+        Ball ball = new Ball(new Vector(50, initialHeight), Vector.ZERO, Collections.emptyList(), ELASTIC, 0.25);
+        simulator.addBody(ball);
+
+        boolean bounced = false;
+        double peakAfterBounce = 0;
+        for (int i = 0; i < 600; i++) {
+            simulator.update(1.0 / 60.0);
+            double velY = ball.getVelocity().y();
+            if (!bounced && velY > 0) {
+                bounced = true;
+            }
+            if (bounced) {
+                peakAfterBounce = Math.max(peakAfterBounce, ball.getPosition().y());
+                if (velY < 0) {
+                    break;
+                }
+            }
+        }
+
+        System.out.printf("Peak after event-driven bounce: %.4f (initial %.4f)%n", peakAfterBounce, initialHeight);
+
+        assertTrue(bounced, "Ball should have bounced");
+        // Only frame sampling separates the observed peak from the true one
+        assertEquals(initialHeight, peakAfterBounce, 0.05, "Closed-form flight should preserve bounce height");
+    }
+
+    @Test
+    void testHeadOnCollisionExchangesVelocity() {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setGravity(new Vector(0, 0));
+        PhysicsSimulator simulator = createSimulator(config, 100, 100);
+
+        DynamicBody ballA = new Ball(new Vector(40, 50), new Vector(60, 0), Collections.emptyList(), ELASTIC, 0.25);
+        DynamicBody ballB = new Ball(new Vector(60, 50), new Vector(-60, 0), Collections.emptyList(), ELASTIC, 0.25);
+        simulator.addBody(ballA);
+        simulator.addBody(ballB);
+
+        for (int i = 0; i < 10; i++) {
+            simulator.update(1.0 / 60.0);
+        }
+
+        assertEquals(-60, ballA.getVelocity().x(), 1e-9, "Ball A should leave with B's velocity");
+        assertEquals(60, ballB.getVelocity().x(), 1e-9, "Ball B should leave with A's velocity");
+        assertTrue(ballB.getPosition().x() - ballA.getPosition().x() > 0.5, "Balls should not pass through");
+    }
+
+    private PhysicsSimulator createSimulator(PhysicsConfig config, double width, double height) {
+        config.setSimulationMode(SimulationMode.EVENT_DRIVEN);
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.setWorldBounds(0, width, 0, height);
+        return simulator;
+    }
+
+    private double kineticEnergy(List<DynamicBody> bodies) {
+        double energy = 0;
+        for (DynamicBody body : bodies) {
+            Vector velocity = body.getVelocity();
+            energy += 0.5 * body.getMass() * (velocity.x() * velocity.x() + velocity.y() * velocity.y());
+        }
+        return energy;
+    }
+}
@@ -0,0 +1,60 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.fluids.FluidParticles;
+import com.davismariotti.physics.fluids.SPHFluid;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/**
+ * Throughput benchmark for the SPH fluid: a 50k-particle dam break with balls dropped into it
+ * Reports frame time and particle steps per second, sequential and parallel
+ */
+class FluidBenchmark {
+    private static final int WARMUP_FRAMES = 30;
+    private static final int MEASURED_FRAMES = 60;
+
+    @Test
+    void testBenchmarkDamBreak() {
+        System.out.println("\n=== Benchmark: 50k-particle SPH dam break with 20 balls ===");
+        System.out.println("threads available: " + Runtime.getRuntime().availableProcessors());
+        run(false);
+        run(true);
+    }
+
+    private static void run(boolean parallel) {
+        PhysicsSimulator simulator = new PhysicsSimulator(new PhysicsConfig());
+        simulator.setWorldBounds(0, 200, 0, 80);
+        SPHFluid fluid = new SPHFluid(new FluidParticles(), simulator.getDynamicBodies(),
+                simulator.getStaticBodies(), simulator.getConfig(), 0.2);
+        fluid.fillRectangle(0, 0, 50, 40);
+        fluid.setParallel(parallel);
+        simulator.addSystem(fluid);
+        for (int i = 0; i < 20; i++) {
+            simulator.addBody(new Ball(new Vector(5 + i * 2.3, 50), Vector.ZERO, List.of(),
+                    MaterialProperties.DEFAULT, 0.5));
+        }
+
+        for (int frame = 0; frame < WARMUP_FRAMES; frame++) {
+            simulator.update(1.0 / 60.0);
+        }
+        long stepsBefore = fluid.getParticleSteps();
+        long start = System.nanoTime();
+        for (int frame = 0; frame < MEASURED_FRAMES; frame++) {
+            simulator.update(1.0 / 60.0);
+        }
+        long elapsed = System.nanoTime() - start;
+        long particleSteps = fluid.getParticleSteps() - stepsBefore;
+
+        double seconds = elapsed / 1e9;
+        System.out.printf("%-10s %d particles: %.2f ms/frame, %.1f fluid steps/frame, %.2f M particle-steps/s%n",
+                parallel ? "parallel" : "sequential", fluid.getParticles().size(),
+                elapsed / 1_000_000.0 / MEASURED_FRAMES, (double) particleSteps / fluid.getParticles().size() / MEASURED_FRAMES,
+                particleSteps / seconds / 1e6);
+    }
+}
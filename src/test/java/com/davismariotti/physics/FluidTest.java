@@ -0,0 +1,133 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.fluids.FluidParticles;
+import com.davismariotti.physics.fluids.SPHFluid;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the SPH fluid subsystem
+ */
+class FluidTest {
+    private static final double FRAME = 1.0 / 60.0;
+
+    @Test
+    void testColumnSettlesNearRestDensity() {
+        PhysicsSimulator simulator = new PhysicsSimulator(new PhysicsConfig());
+        simulator.setWorldBounds(0, 20, 0, 20);
+        SPHFluid fluid = new SPHFluid(new FluidParticles(), simulator.getDynamicBodies(),
+                simulator.getStaticBodies(), simulator.getConfig(), 0.25);
+        fluid.fillRectangle(0, 0, 8, 6);
+        simulator.addSystem(fluid);
+
+        for (int frame = 0; frame < 600; frame++) {
+            simulator.update(FRAME);
+        }
+
+        FluidParticles particles = fluid.getParticles();
+        double surface = 0;
+        for (int i = 0; i < particles.size(); i++) {
+            surface = Math.max(surface, particles.getY(i));
+        }
+        double densitySum = 0;
+        int interior = 0;
+        double maxSpeed = 0;
+        for (int i = 0; i < particles.size(); i++) {
+            double x = particles.getX(i);
+            double y = particles.getY(i);
+            assertTrue(x >= 0 && x <= 20 && y >= 0 && y <= 20, "Particle left the world at " + x + ", " + y);
+            assertFalse(Double.isNaN(particles.getVelocityX(i)) || Double.isNaN(particles.getVelocityY(i)));
+            maxSpeed = Math.max(maxSpeed, Math.hypot(particles.getVelocityX(i), particles.getVelocityY(i)));
+            if (y > fluid.getKernelRadius() && y < surface - fluid.getKernelRadius()
+                    && x > fluid.getKernelRadius() && x < 20 - fluid.getKernelRadius()) {
+                densitySum += particles.getDensity(i);
+                interior++;
+            }
+        }
+        assertTrue(interior > 0);
+        double meanDensity = densitySum / interior;
+        assertEquals(fluid.getRestDensity(), meanDensity, 0.1 * fluid.getRestDensity(),
+                "Interior density should stay close to rest");
+        // The 8 x 6 column has spread over the 20-wide floor into a shallow layer
+        assertTrue(surface < 3.0, "Column should have collapsed, surface at " + surface);
+        assertTrue(maxSpeed < 1.5, "Fluid should be settling, max speed " + maxSpeed);
+    }
+
+    @Test
+    void testDroppedBallIsSlowedAndSetsFluidMoving() {
+        PhysicsSimulator simulator = new PhysicsSimulator(new PhysicsConfig());
+        simulator.setWorldBounds(0, 20, 0, 20);
+        SPHFluid fluid = new SPHFluid(new FluidParticles(), simulator.getDynamicBodies(),
+                simulator.getStaticBodies(), simulator.getConfig(), 0.25);
+        fluid.fillRectangle(0, 0, 20, 3);
+        simulator.addSystem(fluid);
+
+        // Let the pool settle before the drop
+        for (int frame = 0; frame < 60; frame++) {
+            simulator.update(FRAME);
+        }
+        double settledEnergy = kineticEnergy(fluid);
+
+        double dropHeight = 8.0;
+        Ball ball = new Ball(new Vector(10, dropHeight), Vector.ZERO, List.of(), MaterialProperties.DEFAULT, 0.5);
+        simulator.addBody(ball);
+        for (int frame = 0; frame < 120 && ball.getPosition().y() > 1.5; frame++) {
+            simulator.update(FRAME);
+        }
+
+        assertTrue(ball.getPosition().y() < 3.0, "Ball should have entered the pool");
+        double freeFallSpeed = Math.sqrt(2 * 9.8 * (dropHeight - ball.getPosition().y()));
+        assertTrue(-ball.getVelocity().y() < 0.8 * freeFallSpeed,
+                "Fluid should slow the ball: " + ball.getVelocity().y() + " vs free fall " + freeFallSpeed);
+        assertTrue(kineticEnergy(fluid) > settledEnergy + 0.1, "The impact should set the fluid moving");
+    }
+
+    @Test
+    void testParallelMatchesSequential() {
+        SPHFluid parallel = damBreak(true);
+        SPHFluid sequential = damBreak(false);
+        FluidParticles a = parallel.getParticles();
+        FluidParticles b = sequential.getParticles();
+        assertEquals(a.size(), b.size());
+        for (int i = 0; i < a.size(); i++) {
+            assertEquals(b.getX(i), a.getX(i), 0.0);
+            assertEquals(b.getY(i), a.getY(i), 0.0);
+            assertEquals(b.getVelocityX(i), a.getVelocityX(i), 0.0);
+            assertEquals(b.getVelocityY(i), a.getVelocityY(i), 0.0);
+        }
+    }
+
+    private static SPHFluid damBreak(boolean parallel) {
+        PhysicsSimulator simulator = new PhysicsSimulator(new PhysicsConfig());
+        simulator.setWorldBounds(0, 30, 0, 20);
+        SPHFluid fluid = new SPHFluid(new FluidParticles(), simulator.getDynamicBodies(),
+                simulator.getStaticBodies(), simulator.getConfig(), 0.2);
+        fluid.fillRectangle(0, 0, 10, 8);
+        fluid.setParallel(parallel);
+        simulator.addSystem(fluid);
+        simulator.addBody(new Ball(new Vector(5, 12), Vector.ZERO, List.of(), MaterialProperties.DEFAULT, 0.5));
+        for (int frame = 0; frame < 20; frame++) {
+            simulator.update(FRAME);
+        }
+        return fluid;
+    }
+
+    private static double kineticEnergy(SPHFluid fluid) {
+        FluidParticles particles = fluid.getParticles();
+        double energy = 0;
+        for (int i = 0; i < particles.size(); i++) {
+            double vx = particles.getVelocityX(i);
+            double vy = particles.getVelocityY(i);
+            energy += 0.5 * fluid.getParticleMass() * (vx * vx + vy * vy);
+        }
+        return energy;
+    }
+}
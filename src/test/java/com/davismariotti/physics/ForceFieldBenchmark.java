@@ -0,0 +1,184 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.core.ForceFieldSystem;
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.forces.Falloff;
+import com.davismariotti.physics.forces.Force;
+import com.davismariotti.physics.forces.RadialForceField;
+import com.davismariotti.physics.forces.RadialImpulse;
+import com.davismariotti.physics.forces.SampledVectorField;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.DynamicBody;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import com.davismariotti.physics.sprites.RigidBody;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/**
+ * Performance benchmarks for batched force fields in a 100k-body world
+ * A local explosion compares a per-body Force evaluated over every body against the field system,
+ * which only hands the explosion the bodies the broadphase finds near it; turbulent wind compares an
+ * analytic per-body force against the grid-sampled vector field
+ */
+class ForceFieldBenchmark {
+    private static final double WORLD_WIDTH = 200.0;
+    private static final double WORLD_HEIGHT = 130.0;
+    private static final int ROUNDS = 100;
+
+    @Test
+    void testBenchmarkExplosion() {
+        System.out.println("\n=== Benchmark: Explosion in a 100k-body world ===");
+        PhysicsConfig config = new PhysicsConfig();
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.setWorldBounds(0, WORLD_WIDTH, 0, WORLD_HEIGHT);
+        for (int row = 0; row < 250; row++) {
+            for (int col = 0; col < 400; col++) {
+                Ball ball = new Ball(new Vector(0.25 + col * 0.5, 0.25 + row * 0.5), Vector.ZERO,
+                        List.of(), MaterialProperties.DEFAULT, 0.2);
+                ball.sleep();
+                simulator.addBody(ball);
+            }
+        }
+        List<DynamicBody> bodies = simulator.getDynamicBodies();
+        Vector center = new Vector(100, 60);
+
+        // Per-body force: every body is visited and gets a new Vector
+        Force radialForce = new Force() {
+            @Override
+            public Vector calculate(RigidBody body) {
+                double dx = body.getPosition().x() - center.x();
+                double dy = body.getPosition().y() - center.y();
+                double distance = Math.sqrt(dx * dx + dy * dy);
+                double weight = Falloff.LINEAR.weight(distance, 3.0);
+                return weight == 0 ? Vector.ZERO : new Vector(dx * weight / distance, dy * weight / distance);
+            }
+        };
+        long perBodyNanos = 0;
+        for (int round = 0; round < ROUNDS * 2; round++) {
+            long start = System.nanoTime();
+            for (DynamicBody body : bodies) {
+                body.addForce(radialForce.calculate(body));
+            }
+            long elapsed = System.nanoTime() - start;
+            for (DynamicBody body : bodies) {
+                body.clearTemporaryForces();
+            }
+            if (round >= ROUNDS) {
+                perBodyNanos += elapsed;
+            }
+        }
+
+        // Batched field: the first local query builds the index, later frames only query it
+        ForceFieldSystem fields = simulator.getForceFieldSystem();
+        RadialForceField field = new RadialForceField(center, 3.0, 0.0, Falloff.LINEAR);
+        fields.addField(field);
+        fields.beginFrame();
+        long start = System.nanoTime();
+        fields.apply(1.0 / 360.0);
+        long buildNanos = System.nanoTime() - start;
+        long substepNanos = 0;
+        for (int round = 0; round < ROUNDS * 2; round++) {
+            fields.beginFrame();
+            start = System.nanoTime();
+            fields.apply(1.0 / 360.0);
+            fields.apply(1.0 / 360.0);
+            long elapsed = System.nanoTime() - start;
+            if (round >= ROUNDS) {
+                substepNanos += elapsed;
+            }
+            for (DynamicBody body : bodies) {
+                body.clearTemporaryForces();
+            }
+        }
+        int candidates = fields.getLastCandidateCount() / 2;
+
+        // One-shot explosion in a fresh frame
+        RadialImpulse explosion = new RadialImpulse(center, 3.0, 1.0, Falloff.LINEAR);
+        fields.removeField(field);
+        fields.addField(explosion);
+        fields.beginFrame();
+        fields.apply(1.0 / 360.0);
+
+        System.out.printf("per-body force          %.3f ms/substep (%d bodies visited)%n",
+                perBodyNanos / 1_000_000.0 / ROUNDS, bodies.size());
+        System.out.printf("field, index build      %.3f ms (once, on the first local query)%n", buildNanos / 1_000_000.0);
+        System.out.printf("field, per substep      %.3f ms (%d candidates)%n",
+                substepNanos / 1_000_000.0 / ROUNDS / 2, candidates);
+        System.out.printf("explosion reached %d bodies%n", explosion.getAffectedCount());
+    }
+
+    @Test
+    void testBenchmarkSampledTurbulence() {
+        System.out.println("\n=== Benchmark: Turbulent wind on 100k bodies ===");
+        PhysicsSimulator simulator = new PhysicsSimulator(new PhysicsConfig());
+        simulator.setWorldBounds(0, WORLD_WIDTH, 0, WORLD_HEIGHT);
+        for (int row = 0; row < 250; row++) {
+            for (int col = 0; col < 400; col++) {
+                simulator.addBody(new Ball(new Vector(0.25 + col * 0.5, 0.25 + row * 0.5), Vector.ZERO,
+                        List.of(), MaterialProperties.DEFAULT, 0.2));
+            }
+        }
+        List<DynamicBody> bodies = simulator.getDynamicBodies();
+
+        // Analytic turbulence evaluated per body
+        Force analytic = new Force() {
+            @Override
+            public Vector calculate(RigidBody body) {
+                return turbulence(body.getPosition().x(), body.getPosition().y());
+            }
+        };
+        long analyticNanos = 0;
+        for (int round = 0; round < ROUNDS * 2; round++) {
+            long start = System.nanoTime();
+            for (DynamicBody body : bodies) {
+                body.addForce(analytic.calculate(body));
+            }
+            long elapsed = System.nanoTime() - start;
+            for (DynamicBody body : bodies) {
+                body.clearTemporaryForces();
+            }
+            if (round >= ROUNDS) {
+                analyticNanos += elapsed;
+            }
+        }
+
+        // Same turbulence sampled on a grid with 1-unit spacing
+        SampledVectorField field = new SampledVectorField(201, 131, 0, 0, 1.0);
+        long fillStart = System.nanoTime();
+        field.fill((x, y) -> turbulence(x, y).x(), (x, y) -> turbulence(x, y).y());
+        long fillNanos = System.nanoTime() - fillStart;
+        long sampledNanos = 0;
+        for (int round = 0; round < ROUNDS * 2; round++) {
+            long start = System.nanoTime();
+            field.apply(bodies, 1.0 / 360.0);
+            long elapsed = System.nanoTime() - start;
+            for (DynamicBody body : bodies) {
+                body.clearTemporaryForces();
+            }
+            if (round >= ROUNDS) {
+                sampledNanos += elapsed;
+            }
+        }
+
+        System.out.printf("analytic per body   %.3f ms/substep%n", analyticNanos / 1_000_000.0 / ROUNDS);
+        System.out.printf("sampled field       %.3f ms/substep (grid fill %.3f ms, once per field update)%n",
+                sampledNanos / 1_000_000.0 / ROUNDS, fillNanos / 1_000_000.0);
+    }
+
+    /**
+     * A few octaves of swirling wind
+     */
+    private static Vector turbulence(double x, double y) {
+        double fx = 0;
+        double fy = 0;
+        for (int octave = 1; octave <= 4; octave++) {
+            double frequency = 0.05 * octave;
+            fx += Math.sin(x * frequency + 1.3 * octave) * Math.cos(y * frequency * 1.7) / octave;
+            fy += Math.cos(x * frequency * 1.3) * Math.sin(y * frequency + 0.7 * octave) / octave;
+        }
+        return new Vector(5 * fx, 5 * fy);
+    }
+}
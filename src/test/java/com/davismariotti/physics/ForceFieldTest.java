@@ -0,0 +1,141 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.collision.AABBCollider;
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.core.SimulationMode;
+import com.davismariotti.physics.forces.Falloff;
+import com.davismariotti.physics.forces.RadialImpulse;
+import com.davismariotti.physics.forces.UniformForceField;
+import com.davismariotti.physics.forces.WindZone;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for batched force fields
+ */
+class ForceFieldTest {
+
+    @Test
+    void testUniformFieldMatchesGravity() {
+        PhysicsConfig gravityConfig = new PhysicsConfig();
+        PhysicsSimulator withGravity = new PhysicsSimulator(gravityConfig);
+        Ball reference = new Ball(new Vector(50, 60), new Vector(1, 0), Collections.emptyList(), 0.9, 0.0);
+        withGravity.addBody(reference);
+
+        PhysicsConfig fieldConfig = new PhysicsConfig();
+        fieldConfig.setGravity(new Vector(0, 0));
+        PhysicsSimulator withField = new PhysicsSimulator(fieldConfig);
+        withField.addForceField(new UniformForceField(new Vector(0, -9.8)));
+        Ball ball = new Ball(new Vector(50, 60), new Vector(1, 0), Collections.emptyList(), 0.9, 0.0);
+        withField.addBody(ball);
+
+        for (int i = 0; i < 30; i++) {
+            withGravity.update(1.0 / 60.0);
+            withField.update(1.0 / 60.0);
+        }
+
+        assertEquals(reference.getPosition().x(), ball.getPosition().x(), 1e-9);
+        assertEquals(reference.getPosition().y(), ball.getPosition().y(), 1e-9);
+        assertEquals(reference.getVelocity().y(), ball.getVelocity().y(), 1e-9);
+    }
+
+    @Test
+    void testExplosionTouchesOnlyNearbyBodies() {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setGravity(new Vector(0, 0));
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.setWorldBounds(0, 100, 0, 80);
+
+        // 40k sleeping bodies on a lattice that does not touch
+        Ball[][] lattice = new Ball[200][200];
+        for (int row = 0; row < 200; row++) {
+            for (int col = 0; col < 200; col++) {
+                Ball ball = new Ball(new Vector(0.5 + col * 0.5, 0.5 + row * 0.38), Vector.ZERO,
+                        Collections.emptyList(), MaterialProperties.DEFAULT, 0.1);
+                ball.sleep();
+                lattice[row][col] = ball;
+                simulator.addBody(ball);
+            }
+        }
+
+        Vector center = new Vector(50.25, 38.12);
+        RadialImpulse explosion = new RadialImpulse(center, 3.0, 10.0, Falloff.LINEAR);
+        simulator.addForceField(explosion);
+        simulator.update(1.0 / 60.0);
+
+        int candidates = simulator.getForceFieldSystem().getLastCandidateCount();
+        System.out.printf("Explosion: %d bodies affected, %d candidates of %d bodies%n",
+                explosion.getAffectedCount(), candidates, 40000);
+        assertTrue(explosion.getAffectedCount() > 100, "Explosion should reach the bodies within its radius");
+        assertTrue(candidates < 4 * explosion.getAffectedCount(), "Broadphase should only hand over nearby bodies");
+        assertTrue(simulator.getForceFieldSystem().isEmpty(), "Explosion should expire after one application");
+
+        for (Ball[] row : lattice) {
+            for (Ball ball : row) {
+                double dx = ball.getPosition().x() - center.x();
+                double dy = ball.getPosition().y() - center.y();
+                double distance = Math.sqrt(dx * dx + dy * dy);
+                if (distance > 3.5) {
+                    assertTrue(ball.isSleeping(), "Bodies outside the radius should stay asleep");
+                } else if (distance < 2.5 && distance > 0.1) {
+                    assertFalse(ball.isSleeping(), "Bodies inside the radius should be woken");
+                    double outward = (ball.getVelocity().x() * dx + ball.getVelocity().y() * dy) / distance;
+                    assertTrue(outward > 0, "Bodies inside the radius should move away from the center");
+                }
+            }
+        }
+    }
+
+    @Test
+    void testWindZoneOnlyPushesBodiesInside() {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setGravity(new Vector(0, 0));
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.addForceField(new WindZone(new AABBCollider(new Vector(20, 40), 10, 10), new Vector(5, 0)));
+
+        Ball inside = new Ball(new Vector(18, 40), Vector.ZERO, Collections.emptyList(), 0.9, 0.0);
+        Ball outside = new Ball(new Vector(60, 40), Vector.ZERO, Collections.emptyList(), 0.9, 0.0);
+        simulator.addBody(inside);
+        simulator.addBody(outside);
+
+        for (int i = 0; i < 30; i++) {
+            simulator.update(1.0 / 60.0);
+        }
+
+        assertEquals(5.0 / inside.getMass() * 0.5, inside.getVelocity().x(), 1e-9, "v = F/m * t inside the zone");
+        assertEquals(0.0, outside.getVelocity().x(), 1e-12);
+        assertEquals(60.0, outside.getPosition().x(), 1e-12);
+    }
+
+    @Test
+    void testLocalFieldFollowsBodiesAcrossCells() {
+        for (SimulationMode mode : new SimulationMode[]{SimulationMode.SUBSTEP, SimulationMode.XPBD}) {
+            PhysicsConfig config = new PhysicsConfig();
+            config.setGravity(new Vector(0, 0));
+            config.setSimulationMode(mode);
+            PhysicsSimulator simulator = new PhysicsSimulator(config);
+            simulator.setWorldBounds(0, 100, 0, 80);
+            simulator.addForceField(new WindZone(new AABBCollider(new Vector(70, 40), 10, 10), new Vector(0, 5)));
+
+            // Indexed far from the zone on the first frame, then carried into it by the integrator
+            Ball traveler = new Ball(new Vector(10, 40), new Vector(30, 0), Collections.emptyList(), 0.9, 0.0);
+            Ball bystander = new Ball(new Vector(10, 20), new Vector(30, 0), Collections.emptyList(), 0.9, 0.0);
+            simulator.addBody(traveler);
+            simulator.addBody(bystander);
+
+            for (int i = 0; i < 120; i++) {
+                simulator.update(1.0 / 60.0);
+            }
+
+            assertTrue(traveler.getVelocity().y() > 0, mode + ": the zone should push a body that moved into it");
+            assertEquals(0.0, bystander.getVelocity().y(), 1e-12, mode + ": bodies that pass beside the zone");
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.constraints.BoundaryConstraint;
+import com.davismariotti.physics.constraints.ContinuousCollisionConstraint;
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.core.SimulationMode;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.DynamicBody;
+import com.davismariotti.physics.sprites.Ground;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Random;
+
+/**
+ * Performance benchmark comparing the substep loop against event-driven simulation on a granular gas
+ */
+class GranularGasBenchmark {
+    private static final double WORLD_WIDTH = 120.0;
+    private static final double WORLD_HEIGHT = 80.0;
+    private static final double GROUND_HEIGHT = 4.0;
+    private static final MaterialProperties ELASTIC = new MaterialProperties(1.0, 0.0, 0.0, 0.0);
+
+    @Test
+    void testBenchmarkGranularGas() {
+        System.out.println("\n=== Benchmark: Granular Gas (1000 elastic balls under gravity) ===");
+        for (SimulationMode mode : SimulationMode.values()) {
+            PhysicsSimulator simulator = createSimulator(mode);
+            spawnGas(simulator, 1000);
+
+            // Warmup
+            for (int i = 0; i < 10; i++) {
+                simulator.update(1.0 / 60.0);
+            }
+
+            double initialEnergy = totalEnergy(simulator);
+            int frameCount = 200;
+            long startTime = System.nanoTime();
+            for (int i = 0; i < frameCount; i++) {
+                simulator.update(1.0 / 60.0);
+            }
+            long elapsed = System.nanoTime() - startTime;
+            double finalEnergy = totalEnergy(simulator);
+
+            System.out.printf("%-13s %.2f ms/frame, energy drift %+.2f%%%n",
+                    mode, elapsed / 1_000_000.0 / frameCount, 100 * (finalEnergy - initialEnergy) / initialEnergy);
+        }
+    }
+
+    private PhysicsSimulator createSimulator(SimulationMode mode) {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setSimulationMode(mode);
+        config.setUseSleeping(false);
+
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.setWorldBounds(0, WORLD_WIDTH, 0, WORLD_HEIGHT);
+        simulator.addBody(new Ground(WORLD_WIDTH / 2, GROUND_HEIGHT / 2, WORLD_WIDTH, GROUND_HEIGHT));
+        simulator.addConstraint(new BoundaryConstraint(0, WORLD_WIDTH, 0, WORLD_HEIGHT));
+        simulator.addConstraint(new ContinuousCollisionConstraint(simulator.getStaticBodies(), config.getGravity()));
+        return simulator;
+    }
+
+    private void spawnGas(PhysicsSimulator simulator, int count) {
+        Random random = new Random(42);
+        int perRow = 50;
+        for (int i = 0; i < count; i++) {
+            double x = 5 + (i % perRow) * 2.2 + random.nextDouble() * 0.1;
+            double y = GROUND_HEIGHT + 5 + (i / perRow) * 3.0;
+            double angle = random.nextDouble() * 2 * Math.PI;
+            Vector velocity = new Vector(Math.cos(angle) * 15, Math.sin(angle) * 15);
+            simulator.addBody(new Ball(new Vector(x, y), velocity, Collections.emptyList(), ELASTIC, 0.25));
+        }
+    }
+
+    private double totalEnergy(PhysicsSimulator simulator) {
+        double gravity = -simulator.getConfig().getGravity().y();
+        double energy = 0;
+        for (DynamicBody body : simulator.getDynamicBodies()) {
+            Vector velocity = body.getVelocity();
+            energy += body.getMass() * (0.5 * (velocity.x() * velocity.x() + velocity.y() * velocity.y())
+                    + gravity * body.getPosition().y());
+        }
+        return energy;
+    }
+}
@@ -0,0 +1,103 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.constraints.BoundaryConstraint;
+import com.davismariotti.physics.constraints.ContinuousCollisionConstraint;
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.Ground;
+import com.davismariotti.physics.sprites.Heightfield;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import com.davismariotti.physics.sprites.StaticBody;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Performance benchmark for terrain collision cost per ball
+ * The same bouncing balls fall on one flat ground, on hills approximated by 1000 ground boxes, and on
+ * heightfields of 1k, 100k and 1M samples at the same spacing (the longer ones reach far beyond the world)
+ * Sleeping is off so every ball is resolved every substep
+ */
+class HeightfieldBenchmark {
+    private static final double WORLD_WIDTH = 100.0;
+    private static final double WORLD_HEIGHT = 80.0;
+    private static final double SPACING = 0.1;
+    private static final int BALLS = 400;
+    private static final int WARMUP_FRAMES = 200;
+    private static final int MEASURED_FRAMES = 300;
+
+    @Test
+    void testBenchmarkTerrainCost() {
+        System.out.println("\n=== Benchmark: Terrain collision cost per ball ===");
+        for (int run = 0; run < 2; run++) {
+            measure("flat ground", List.of(new Ground(WORLD_WIDTH / 2, 2.5, WORLD_WIDTH, 5)));
+            measure("1000 ground boxes", groundBoxes(1000));
+            for (int samples : new int[]{1_000, 100_000, 1_000_000}) {
+                measure(String.format("heightfield %,d", samples), List.of(new Heightfield(0, 0, SPACING, hills(samples))));
+            }
+        }
+    }
+
+    private static void measure(String name, List<StaticBody> terrain) {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setUseSleeping(false);
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.setWorldBounds(0, WORLD_WIDTH, 0, WORLD_HEIGHT);
+        for (StaticBody body : terrain) {
+            simulator.addBody(body);
+        }
+        simulator.addConstraint(new BoundaryConstraint(0, WORLD_WIDTH, 0, WORLD_HEIGHT));
+        simulator.addConstraint(new ContinuousCollisionConstraint(simulator.getStaticBodies(), config.getGravity(),
+                config.getRestingVelocityThreshold()));
+
+        MaterialProperties bouncy = new MaterialProperties(0.9, 0.0, 0.1, 0.1);
+        Random random = new Random(1);
+        for (int i = 0; i < BALLS; i++) {
+            Vector position = new Vector(1 + random.nextDouble() * (WORLD_WIDTH - 2), 15 + random.nextDouble() * 50);
+            Vector velocity = new Vector(random.nextDouble() * 10 - 5, 0);
+            simulator.addBody(new Ball(position, velocity, Collections.emptyList(), bouncy, 0.2));
+        }
+
+        for (int frame = 0; frame < WARMUP_FRAMES; frame++) {
+            simulator.update(1.0 / 60.0);
+        }
+        long substeps = 0;
+        long start = System.nanoTime();
+        for (int frame = 0; frame < MEASURED_FRAMES; frame++) {
+            simulator.update(1.0 / 60.0);
+            substeps += simulator.getLastSubstepCount();
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-22s %.2f ms/frame, %.0f ns per ball-substep%n",
+                name, elapsed / 1e6 / MEASURED_FRAMES, (double) elapsed / (substeps * BALLS));
+    }
+
+    /**
+     * Rolling hills y = 5 + 2 sin(x / 2) sampled from x = 0
+     */
+    private static double[] hills(int samples) {
+        double[] heights = new double[samples];
+        for (int i = 0; i < samples; i++) {
+            heights[i] = 5 + 2 * Math.sin(i * SPACING * 0.5);
+        }
+        return heights;
+    }
+
+    /**
+     * The same hills as a staircase of ground boxes across the world
+     */
+    private static List<StaticBody> groundBoxes(int count) {
+        List<StaticBody> boxes = new ArrayList<>(count);
+        double width = WORLD_WIDTH / count;
+        for (int i = 0; i < count; i++) {
+            double height = 5 + 2 * Math.sin((i + 0.5) * width * 0.5);
+            boxes.add(new Ground((i + 0.5) * width, height / 2, width, height));
+        }
+        return boxes;
+    }
+}
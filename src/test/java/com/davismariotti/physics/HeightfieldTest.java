@@ -0,0 +1,136 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.collision.AABBCollider;
+import com.davismariotti.physics.collision.CircleCollider;
+import com.davismariotti.physics.collision.CollisionDetector;
+import com.davismariotti.physics.collision.CollisionResult;
+import com.davismariotti.physics.collision.HeightfieldCollider;
+import com.davismariotti.physics.collision.TOISolver;
+import com.davismariotti.physics.constraints.BoundaryConstraint;
+import com.davismariotti.physics.constraints.ContinuousCollisionConstraint;
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.Heightfield;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for heightfield terrain contacts and swept time of impact
+ */
+class HeightfieldTest {
+
+    @Test
+    void testContactsUseTheLocalSlope() {
+        // Flat terrain behaves like a box top
+        HeightfieldCollider flat = new HeightfieldCollider(0, 0, 0.5, new double[]{2, 2, 2, 2, 2, 2, 2, 2, 2});
+        CircleCollider resting = new CircleCollider(new Vector(1.3, 2.2), 0.25);
+        CollisionResult terrain = CollisionDetector.checkCollision(resting, flat);
+        CollisionResult box = CollisionDetector.checkCollision(resting, new AABBCollider(new Vector(2, 1), 4, 2));
+        assertEquals(box.penetrationDepth(), terrain.penetrationDepth(), 1e-12);
+        assertEquals(box.normal(), terrain.normal());
+
+        // 45 degree slope y = x: the normal is the slope normal and the depth the perpendicular overlap
+        HeightfieldCollider slope = new HeightfieldCollider(0, 0, 1, new double[]{0, 1, 2, 3, 4});
+        assertEquals(2.5, slope.heightAt(2.5), 1e-12);
+        assertEquals(1.0, slope.slopeAt(2.5), 1e-12);
+        assertEquals(2, slope.column(2.5));
+        double gap = 0.1;
+        CircleCollider onSlope = new CircleCollider(new Vector(2, 2 + Math.sqrt(2) * (0.5 - gap)), 0.5);
+        CollisionResult contact = CollisionDetector.checkCollision(onSlope, slope);
+        assertTrue(contact.hasCollision());
+        assertEquals(gap, contact.penetrationDepth(), 1e-9);
+        assertEquals(-Math.sqrt(0.5), contact.normal().x(), 1e-9);
+        assertEquals(Math.sqrt(0.5), contact.normal().y(), 1e-9);
+
+        // A center below the surface is pushed out along the slope normal
+        CollisionResult buried = CollisionDetector.checkCollision(new CircleCollider(new Vector(2, 1.9), 0.5), slope);
+        assertEquals(0.5 + 0.1 * Math.sqrt(0.5), buried.penetrationDepth(), 1e-9);
+        assertEquals(Math.sqrt(0.5), buried.normal().y(), 1e-9);
+
+        // Speculative contacts report minus the gap; far circles report nothing
+        CircleCollider above = new CircleCollider(new Vector(1.3, 2.6), 0.25);
+        assertEquals(-0.35, CollisionDetector.checkSpeculative(above, flat, 0.5).penetrationDepth(), 1e-12);
+        assertFalse(CollisionDetector.checkCollision(above, flat).hasCollision());
+        assertFalse(CollisionDetector.checkCollision(new CircleCollider(new Vector(10, 2.1), 0.25), flat).hasCollision());
+    }
+
+    @Test
+    void testSweptTimeMatchesAnalyticContacts() {
+        // Straight down onto the 45 degree slope y = x (no gravity): distance (y - x) / sqrt(2) reaches r
+        HeightfieldCollider slope = new HeightfieldCollider(0, 0, 1, new double[]{0, 1, 2, 3, 4});
+        double radius = 0.5;
+        double t = TOISolver.circleHeightfieldTime(2, 4, 0, -10, 0, 0, radius, slope, 1);
+        assertEquals((4 - 2 - radius * Math.sqrt(2)) / 10, t, 1e-9);
+
+        // Sideways into a ridge whose tip is touched before either face: first contact at distance r from the tip
+        HeightfieldCollider ridge = new HeightfieldCollider(-2, 0, 1, new double[]{0, 0, 1, 0, 0});
+        double height = 1.45;
+        double contactX = -Math.sqrt(radius * radius - (height - 1) * (height - 1));
+        t = TOISolver.circleHeightfieldTime(-3, height, 10, 0, 0, 0, radius, ridge, 1);
+        assertEquals((contactX + 3) / 10, t, 1e-7);
+
+        // Missing the terrain, and a fast fall under gravity onto flat ground matching the box result
+        assertEquals(-1.0, TOISolver.circleHeightfieldTime(-3, 3, 10, 0, 0, 0, radius, ridge, 0.1));
+        HeightfieldCollider flat = new HeightfieldCollider(0, 0, 0.25, new double[41]);
+        double terrainTime = TOISolver.circleHeightfieldTime(5, 3, 1, -150, 0, -9.8, 0.25, flat, 0.05);
+        double boxTime = TOISolver.circleAABBTime(5, 3, 1, -150, 0, -9.8, 0.25, 0, -1, 10, 0, 0.05);
+        assertTrue(boxTime > 0);
+        assertEquals(boxTime, terrainTime, 1e-9);
+    }
+
+    @Test
+    void testBallsSettleOnLargeTerrain() {
+        PhysicsConfig config = new PhysicsConfig();
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.setWorldBounds(0, 100, 0, 80);
+        // 100k samples of rolling hills, most of them far outside the world
+        double[] heights = new double[100_000];
+        for (int i = 0; i < heights.length; i++) {
+            heights[i] = 5 + 2 * Math.sin(i * 0.05);
+        }
+        Heightfield terrain = new Heightfield(0, 0, 0.1, heights);
+        simulator.addBody(terrain);
+        simulator.addConstraint(new BoundaryConstraint(0, 100, 0, 80));
+        simulator.addConstraint(new ContinuousCollisionConstraint(simulator.getStaticBodies(), config.getGravity(),
+                config.getRestingVelocityThreshold()));
+
+        // Four balls dropped on the flanks of each valley (surface y = 5 + 2 sin(x / 2), floors at 3 pi + 4 pi k)
+        MaterialProperties material = new MaterialProperties(0.2, 0.0, 0.2, 0.2);
+        List<Ball> balls = new ArrayList<>();
+        for (int valley = 0; valley < 7; valley++) {
+            double floor = 3 * Math.PI + 4 * Math.PI * valley;
+            for (double offset : new double[]{-2.6, -1.8, 1.8, 2.6}) {
+                Ball ball = new Ball(new Vector(floor + offset, 15 + offset), Vector.ZERO, Collections.emptyList(), material, 0.3);
+                balls.add(ball);
+                simulator.addBody(ball);
+            }
+        }
+
+        HeightfieldCollider field = terrain.getHeightfield();
+        for (int frame = 0; frame < 600; frame++) {
+            simulator.update(1.0 / 60.0);
+            for (Ball ball : balls) {
+                double x = ball.getPosition().x();
+                assertTrue(ball.getPosition().y() > field.heightAt(x),
+                        "Ball center went below the surface at x = " + x + " on frame " + frame);
+            }
+        }
+
+        // Balls have slid down into a pile around their valley's floor and come to rest
+        for (int i = 0; i < balls.size(); i++) {
+            Ball ball = balls.get(i);
+            double floor = 3 * Math.PI + 4 * Math.PI * (i / 4);
+            double x = ball.getPosition().x();
+            assertEquals(floor, x, 1.2, "Ball should have slid into the valley at x = " + floor);
+            assertTrue(ball.getVelocity().getMagnitude() < 0.1, "Ball should be at rest, moving at " + ball.getVelocity());
+        }
+    }
+}
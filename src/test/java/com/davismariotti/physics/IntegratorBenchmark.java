@@ -0,0 +1,190 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.constraints.BoundaryConstraint;
+import com.davismariotti.physics.constraints.ContinuousCollisionConstraint;
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.integration.ConstantAccelerationIntegrator;
+import com.davismariotti.physics.integration.ForestRuthIntegrator;
+import com.davismariotti.physics.integration.Integrator;
+import com.davismariotti.physics.integration.RungeKuttaIntegrator;
+import com.davismariotti.physics.integration.VelocityVerletIntegrator;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.DynamicBody;
+import com.davismariotti.physics.sprites.Ground;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Accuracy versus cost benchmark for the integrator family
+ * Uses the EnergyConservationTest bounce and a drag-dominated fall, and reports the
+ * cheapest integrator/substep pair that stays inside the error budget
+ */
+class IntegratorBenchmark {
+    private static final double TIMESTEP = 1.0 / 60.0;
+    private static final double INITIAL_HEIGHT = 50.0;
+    private static final double DRIFT_BUDGET = 1e-4;  // Fraction of the drop height or terminal speed
+    private static final int[] SUBSTEPS = {1, 2, 3, 6};
+    private static final int BALL_COUNT = 100;
+
+    private static final List<Supplier<Integrator>> INTEGRATORS = List.of(
+            ConstantAccelerationIntegrator::new,
+            VelocityVerletIntegrator::new,
+            ForestRuthIntegrator::new,
+            RungeKuttaIntegrator::new
+    );
+
+    private record Result(String integrator, int substeps, double error, double msPerFrame) {
+    }
+
+    @Test
+    void testBenchmarkPerfectBounce() {
+        System.out.println("\n=== Benchmark: Perfect Bounce (restitution 1.0, no drag, 5 bounces) ===");
+        // Warmup
+        for (Supplier<Integrator> integrator : INTEGRATORS) {
+            runBounce(integrator.get(), 1);
+        }
+
+        List<Result> results = new ArrayList<>();
+        for (Supplier<Integrator> integrator : INTEGRATORS) {
+            for (int substeps : SUBSTEPS) {
+                results.add(runBounce(integrator.get(), substeps));
+            }
+        }
+        report(results);
+    }
+
+    @Test
+    void testBenchmarkDragFall() {
+        System.out.println("\n=== Benchmark: Drag Fall (quadratic drag 0.05, 3 seconds) ===");
+        // Warmup
+        for (Supplier<Integrator> integrator : INTEGRATORS) {
+            runDragFall(integrator.get(), 1);
+        }
+
+        List<Result> results = new ArrayList<>();
+        for (Supplier<Integrator> integrator : INTEGRATORS) {
+            for (int substeps : SUBSTEPS) {
+                results.add(runDragFall(integrator.get(), substeps));
+            }
+        }
+        report(results);
+    }
+
+    /**
+     * Worst relative peak height error over five bounces, timed over a row of identical drops
+     */
+    private Result runBounce(Integrator integrator, int substeps) {
+        PhysicsConfig config = createConfig(integrator, substeps);
+        config.setDragCoefficient(0.0);
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.addBody(new Ground(50, 2.5, 100, 5));
+        simulator.addConstraint(new ContinuousCollisionConstraint(simulator.getStaticBodies(), config.getGravity()));
+        simulator.addConstraint(new BoundaryConstraint(0, 100, 0, 100));
+
+        List<DynamicBody> balls = spawnColumn(simulator, INITIAL_HEIGHT);
+        DynamicBody tracked = balls.get(0);
+
+        double worstError = 0;
+        int bounces = 0;
+        boolean rising = false;
+        double lastVelY = 0;
+        int frames = 0;
+        long startTime = System.nanoTime();
+        while (bounces < 5 && frames < 10000) {
+            simulator.update(TIMESTEP);
+            frames++;
+            double velY = tracked.getVelocity().y();
+            if (lastVelY < -0.1 && velY > 0.1) {
+                rising = true;
+            }
+            if (rising && velY < 0) {
+                // Peak of the parabola from the current state
+                double peak = tracked.getPosition().y() + lastVelY * lastVelY / (2 * 9.8);
+                worstError = Math.max(worstError, Math.abs(peak - INITIAL_HEIGHT) / INITIAL_HEIGHT);
+                bounces++;
+                rising = false;
+            }
+            lastVelY = velY;
+        }
+        long elapsed = System.nanoTime() - startTime;
+
+        return new Result(integrator.getClass().getSimpleName(), substeps, worstError,
+                elapsed / 1_000_000.0 / frames);
+    }
+
+    /**
+     * Relative velocity error against the closed-form quadratic drag fall
+     */
+    private Result runDragFall(Integrator integrator, int substeps) {
+        double drag = 0.05;
+        double gravity = 9.8;
+        double duration = 3.0;
+
+        PhysicsConfig config = createConfig(integrator, substeps);
+        config.setDragCoefficient(drag);
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+
+        List<DynamicBody> balls = spawnColumn(simulator, 1000.0);
+        DynamicBody tracked = balls.get(0);
+
+        int frames = (int) Math.round(duration / TIMESTEP);
+        long startTime = System.nanoTime();
+        for (int i = 0; i < frames; i++) {
+            simulator.update(TIMESTEP);
+        }
+        long elapsed = System.nanoTime() - startTime;
+
+        double terminalSpeed = Math.sqrt(gravity / drag);
+        double exact = -terminalSpeed * Math.tanh(gravity * duration / terminalSpeed);
+        double error = Math.abs(tracked.getVelocity().y() - exact) / terminalSpeed;
+
+        return new Result(integrator.getClass().getSimpleName(), substeps, error,
+                elapsed / 1_000_000.0 / frames);
+    }
+
+    private PhysicsConfig createConfig(Integrator integrator, int substeps) {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setIntegrator(integrator);
+        config.setSubsteps(substeps);
+        // Identical columns never touch, keep them all awake so every frame is measured
+        config.setUseSleeping(false);
+        return config;
+    }
+
+    /**
+     * Row of identical, non-touching drops so timing covers more than a single body
+     */
+    private List<DynamicBody> spawnColumn(PhysicsSimulator simulator, double height) {
+        List<DynamicBody> balls = new ArrayList<>();
+        for (int i = 0; i < BALL_COUNT; i++) {
+            double x = 2.5 + i * 0.95;
+            Ball ball = new Ball(new Vector(x, height), Vector.ZERO, Collections.emptyList(), 1.0, 0.0);
+            simulator.addBody(ball);
+            balls.add(ball);
+        }
+        return balls;
+    }
+
+    private void report(List<Result> results) {
+        Result cheapest = null;
+        for (Result result : results) {
+            System.out.printf("%-32s substeps=%d  error %.3e  %.3f ms/frame%n",
+                    result.integrator(), result.substeps(), result.error(), result.msPerFrame());
+            if (result.error() <= DRIFT_BUDGET && (cheapest == null || result.msPerFrame() < cheapest.msPerFrame())) {
+                cheapest = result;
+            }
+        }
+        if (cheapest != null) {
+            System.out.printf("Cheapest within %.0e budget: %s with %d substeps (%.3f ms/frame)%n",
+                    DRIFT_BUDGET, cheapest.integrator(), cheapest.substeps(), cheapest.msPerFrame());
+        } else {
+            System.out.printf("No configuration within %.0e budget%n", DRIFT_BUDGET);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.integration.AccelerationFunction;
+import com.davismariotti.physics.integration.ConstantAccelerationIntegrator;
+import com.davismariotti.physics.integration.ForestRuthIntegrator;
+import com.davismariotti.physics.integration.Integrator;
+import com.davismariotti.physics.integration.RungeKuttaIntegrator;
+import com.davismariotti.physics.integration.VelocityVerletIntegrator;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.DynamicBody;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the integrator family
+ */
+class IntegratorTest {
+    private static final double G = 9.8;
+    private static final double DRAG = 0.5;
+
+    private static final List<Integrator> INTEGRATORS = List.of(
+            new ConstantAccelerationIntegrator(),
+            new VelocityVerletIntegrator(),
+            new ForestRuthIntegrator(),
+            new RungeKuttaIntegrator()
+    );
+
+    @Test
+    void testAllIntegratorsExactUnderGravity() {
+        AccelerationFunction gravity = (body, position, velocity) -> new Vector(0, -G);
+        for (Integrator integrator : INTEGRATORS) {
+            DynamicBody ball = createBall(new Vector(0, 100), new Vector(3, 10));
+            integrator.integrate(ball, gravity, 0.5);
+
+            String name = integrator.getClass().getSimpleName();
+            assertEquals(1.5, ball.getPosition().x(), 1e-9, name);
+            assertEquals(100 + 10 * 0.5 - 0.5 * G * 0.25, ball.getPosition().y(), 1e-9, name);
+            assertEquals(10 - G * 0.5, ball.getVelocity().y(), 1e-9, name);
+        }
+    }
+
+    @Test
+    void testHigherOrderIntegratorsConvergeFasterUnderDrag() {
+        // Quadratic drag fall from rest has a closed form: v = -vt * tanh(g t / vt)
+        AccelerationFunction dragFall = (body, position, velocity) ->
+                new Vector(0, -G).add(velocity.multiply(-DRAG * velocity.getMagnitude()));
+        double terminalSpeed = Math.sqrt(G / DRAG);
+        double duration = 1.0;
+        double exact = -terminalSpeed * Math.tanh(G * duration / terminalSpeed);
+
+        double[] errors = new double[INTEGRATORS.size()];
+        for (int i = 0; i < INTEGRATORS.size(); i++) {
+            Integrator integrator = INTEGRATORS.get(i);
+            double coarse = Math.abs(fall(integrator, dragFall, duration, 10) - exact);
+            double fine = Math.abs(fall(integrator, dragFall, duration, 20) - exact);
+            errors[i] = coarse;
+            System.out.printf("%-32s error %.3e, halving step reduces error %.1fx%n",
+                    integrator.getClass().getSimpleName(), coarse, coarse / fine);
+        }
+
+        assertTrue(errors[1] < errors[0], "Velocity Verlet should beat constant acceleration under drag");
+        assertTrue(errors[3] < errors[1], "RK4 should beat velocity Verlet under drag");
+        double rk4Ratio = errors[3] / Math.abs(fall(INTEGRATORS.get(3), dragFall, duration, 20) - exact);
+        assertTrue(rk4Ratio > 10, "RK4 error should shrink roughly 16x when the step halves");
+    }
+
+    @Test
+    void testForestRuthEnergyStaysBoundedOnOscillator() {
+        AccelerationFunction spring = (body, position, velocity) -> position.multiply(-1);
+        DynamicBody ball = createBall(new Vector(1, 0), Vector.ZERO);
+        Integrator integrator = new ForestRuthIntegrator();
+
+        double maxDrift = 0;
+        for (int i = 0; i < 10000; i++) {
+            integrator.integrate(ball, spring, 0.1);
+            Vector v = ball.getVelocity();
+            Vector x = ball.getPosition();
+            double energy = 0.5 * (v.x() * v.x() + v.y() * v.y() + x.x() * x.x() + x.y() * x.y());
+            maxDrift = Math.max(maxDrift, Math.abs(energy - 0.5));
+        }
+
+        System.out.printf("Forest-Ruth max energy drift over 10000 steps: %.3e%n", maxDrift);
+        assertTrue(maxDrift < 1e-4, "Symplectic integrator should not accumulate energy error");
+    }
+
+    private double fall(Integrator integrator, AccelerationFunction acceleration, double duration, int steps) {
+        DynamicBody ball = createBall(new Vector(0, 0), Vector.ZERO);
+        for (int i = 0; i < steps; i++) {
+            integrator.integrate(ball, acceleration, duration / steps);
+        }
+        return ball.getVelocity().y();
+    }
+
+    private DynamicBody createBall(Vector position, Vector velocity) {
+        return new Ball(position, velocity, Collections.emptyList(), 1.0, 0.0);
+    }
+}
@@ -0,0 +1,74 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.constraints.BoundaryConstraint;
+import com.davismariotti.physics.constraints.ContinuousCollisionConstraint;
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.Ground;
+import com.davismariotti.physics.sprites.KinematicPath;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import com.davismariotti.physics.sprites.MovingPlatform;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Random;
+
+/**
+ * Performance benchmark for kinematic platforms against the same boxes left static
+ * 1000 balls rain onto 20 platforms that either stay put (Ground) or ride back and forth on paths
+ */
+class KinematicBodyBenchmark {
+    private static final int BALLS = 1000;
+    private static final int PLATFORMS = 20;
+    private static final int WARMUP_FRAMES = 200;
+    private static final int MEASURED_FRAMES = 300;
+
+    @Test
+    void testBenchmarkMovingPlatforms() {
+        System.out.println("\n=== Benchmark: 20 platforms under 1000 balls, static vs kinematic ===");
+        for (int run = 0; run < 2; run++) {
+            for (boolean kinematic : new boolean[]{false, true}) {
+                PhysicsSimulator simulator = createSimulator(kinematic);
+                for (int frame = 0; frame < WARMUP_FRAMES; frame++) {
+                    simulator.update(1.0 / 60.0);
+                }
+                long start = System.nanoTime();
+                for (int frame = 0; frame < MEASURED_FRAMES; frame++) {
+                    simulator.update(1.0 / 60.0);
+                }
+                System.out.printf("%-10s platforms %.2f ms/frame%n", kinematic ? "kinematic" : "static",
+                        (System.nanoTime() - start) / 1e6 / MEASURED_FRAMES);
+            }
+        }
+    }
+
+    private static PhysicsSimulator createSimulator(boolean kinematic) {
+        PhysicsConfig config = new PhysicsConfig();
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.setWorldBounds(0, 120, 0, 80);
+        simulator.addBody(new Ground(60, 2.5, 120, 5));
+        for (int i = 0; i < PLATFORMS; i++) {
+            double x = 6 + (i % 10) * 12;
+            double y = 20 + (i / 10) * 25;
+            if (kinematic) {
+                MovingPlatform platform = new MovingPlatform(x, y, 6, 1);
+                platform.setPath(KinematicPath.between(new Vector(x - 3, y), new Vector(x + 3, y + 4), 5 + i % 3));
+                simulator.addBody(platform);
+            } else {
+                simulator.addBody(new Ground(x, y, 6, 1));
+            }
+        }
+        simulator.addConstraint(new BoundaryConstraint(0, 120, 0, 80));
+        simulator.addConstraint(new ContinuousCollisionConstraint(simulator.getStaticBodies(), config.getGravity(),
+                config.getRestingVelocityThreshold()));
+
+        Random random = new Random(1);
+        for (int i = 0; i < BALLS; i++) {
+            Vector position = new Vector(1 + random.nextDouble() * 118, 10 + random.nextDouble() * 65);
+            simulator.addBody(new Ball(position, Vector.ZERO, Collections.emptyList(), MaterialProperties.DEFAULT, 0.3));
+        }
+        return simulator;
+    }
+}
@@ -0,0 +1,182 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.collision.AABBCollider;
+import com.davismariotti.physics.constraints.BoundaryConstraint;
+import com.davismariotti.physics.constraints.ContinuousCollisionConstraint;
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.Ground;
+import com.davismariotti.physics.sprites.KinematicPath;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import com.davismariotti.physics.sprites.MovingPlatform;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for scripted kinematic bodies
+ */
+class KinematicBodyTest {
+    private static final double FRAME = 1.0 / 60.0;
+
+    private static PhysicsSimulator createSimulator(PhysicsConfig config) {
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.setWorldBounds(0, 100, 0, 80);
+        simulator.addConstraint(new BoundaryConstraint(0, 100, 0, 80));
+        simulator.addConstraint(new ContinuousCollisionConstraint(simulator.getStaticBodies(), config.getGravity(),
+                config.getRestingVelocityThreshold()));
+        return simulator;
+    }
+
+    @Test
+    void testElevatorLiftsSleepingBallWithoutBeingPushed() {
+        PhysicsConfig config = new PhysicsConfig();
+        PhysicsSimulator simulator = createSimulator(config);
+        MovingPlatform elevator = new MovingPlatform(50, 5, 6, 1);
+        simulator.addBody(elevator);
+        Ball ball = new Ball(new Vector(50, 6), Vector.ZERO, Collections.emptyList(), MaterialProperties.DEFAULT, 0.5);
+        simulator.addBody(ball);
+        assertTrue(simulator.getStaticBodies().contains(elevator));
+        assertEquals(1, simulator.getKinematicBodies().size());
+
+        for (int frame = 0; frame < 120; frame++) {
+            simulator.update(FRAME);
+        }
+        assertTrue(ball.isSleeping(), "Ball should settle on the parked elevator");
+
+        elevator.setVelocity(new Vector(0, 2));
+        for (int frame = 1; frame <= 180; frame++) {
+            simulator.update(FRAME);
+            double top = elevator.getPosition().y() + 0.5;
+            assertTrue(ball.getPosition().y() - 0.5 > top - 0.02,
+                    "Ball sank into the elevator on frame " + frame);
+        }
+        // The script alone moves the elevator: three seconds at 2 units/s
+        assertEquals(11, elevator.getPosition().y(), 1e-9);
+        assertEquals(50, elevator.getPosition().x(), 1e-9);
+        assertEquals(12, ball.getPosition().y(), 0.05, "Ball should ride on top of the elevator");
+        assertEquals(2, ball.getVelocity().y(), 0.2);
+    }
+
+    @Test
+    void testPathElevatorWakesSleepingBallOnItsFirstMove() {
+        PhysicsConfig config = new PhysicsConfig();
+        PhysicsSimulator simulator = createSimulator(config);
+        MovingPlatform elevator = new MovingPlatform(50, 5, 6, 1);
+        simulator.addBody(elevator);
+        Ball ball = new Ball(new Vector(50, 6), Vector.ZERO, Collections.emptyList(), MaterialProperties.DEFAULT, 0.5);
+        simulator.addBody(ball);
+        for (int frame = 0; frame < 120; frame++) {
+            simulator.update(FRAME);
+        }
+        assertTrue(ball.isSleeping());
+
+        // setPath leaves the velocity at zero until the first step has been taken
+        elevator.setPath(KinematicPath.between(new Vector(50, 5), new Vector(50, 11), 6));
+        assertFalse(elevator.isMoving());
+        for (int frame = 1; frame <= 60; frame++) {
+            simulator.update(FRAME);
+            double top = elevator.getPosition().y() + 0.5;
+            assertTrue(ball.getPosition().y() - 0.5 > top - 0.02, "Ball sank into the elevator on frame " + frame);
+        }
+    }
+
+    @Test
+    void testPathElevatorIsSeenByTheBallisticFastPathOnItsFirstMove() {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setUseBallisticFastPath(true);
+        config.setDragCoefficient(0);
+        PhysicsSimulator simulator = createSimulator(config);
+        MovingPlatform elevator = new MovingPlatform(50, 5, 6, 1);
+        simulator.addBody(elevator);
+
+        // setPath leaves the velocity at zero, so only the script shows the elevator closing on the ball
+        elevator.setPath(KinematicPath.between(new Vector(50, 5), new Vector(50, 45), 1));
+        Ball ball = new Ball(new Vector(50, 7), Vector.ZERO, Collections.emptyList(), MaterialProperties.DEFAULT, 0.5);
+        simulator.addBody(ball);
+        for (int frame = 1; frame <= 20; frame++) {
+            simulator.update(FRAME);
+            double top = elevator.getPosition().y() + 0.5;
+            assertTrue(ball.getPosition().y() - 0.5 > top - 0.05, "Ball sank into the elevator on frame " + frame);
+        }
+
+        // A circling platform is bounded by its path, not the chord of the frame
+        MovingPlatform carousel = new MovingPlatform(20, 40, 2, 1);
+        simulator.addBody(carousel);
+        carousel.setPath(KinematicPath.circle(new Vector(20, 40), 3, 0.25));
+        Vector reach = carousel.getStepReach(0.125);
+        assertTrue(reach.x() >= 6 && reach.y() >= 3, "Half a turn spans the diameter and the radius, got " + reach);
+    }
+
+    @Test
+    void testPlatformCarriesBallAndReflectsRelativeVelocity() {
+        PhysicsConfig config = new PhysicsConfig();
+        PhysicsSimulator simulator = createSimulator(config);
+        simulator.addBody(new Ground(50, 2.5, 100, 5));
+
+        // A sliding platform drags a resting ball along by friction
+        MovingPlatform conveyor = new MovingPlatform(20, 10, 20, 1);
+        conveyor.setVelocity(new Vector(3, 0));
+        simulator.addBody(conveyor);
+        MaterialProperties grippy = new MaterialProperties(0.1, 0.0, 0.8, 0.8);
+        Ball rider = new Ball(new Vector(20, 11), Vector.ZERO, Collections.emptyList(), grippy, 0.5);
+        simulator.addBody(rider);
+
+        // A bouncy ball falling onto a rising platform leaves at the reflected relative speed
+        MovingPlatform lift = new MovingPlatform(70, 10, 10, 1, new MaterialProperties(1.0, 0.0, 0.0, 0.0));
+        lift.setVelocity(new Vector(0, 5));
+        simulator.addBody(lift);
+        Ball bouncer = new Ball(new Vector(70, 30), new Vector(0, -20), Collections.emptyList(),
+                new MaterialProperties(1.0, 0.0, 0.0, 0.0), 0.5);
+        simulator.addBody(bouncer);
+
+        double fastestDown = 0;
+        double fastestUp = 0;
+        for (int frame = 0; frame < 60; frame++) {
+            simulator.update(FRAME);
+            fastestDown = Math.min(fastestDown, bouncer.getVelocity().y());
+            fastestUp = Math.max(fastestUp, bouncer.getVelocity().y());
+        }
+        assertEquals(3, rider.getVelocity().x(), 0.05, "Rider should move with the platform");
+        assertEquals(conveyor.getPosition().x(), rider.getPosition().x(), 1.0);
+        assertEquals(0, rider.getVelocity().y(), 0.1);
+
+        // The approach speed relative to the lift (impact + 5) is reflected, so the ball leaves 2 * 5 faster than
+        // it arrived, give or take a frame of gravity
+        assertEquals(-fastestDown + 2 * 5, fastestUp, 0.3);
+    }
+
+    @Test
+    void testPathDrivenPlatformAndBallisticFastPath() {
+        // A path sets the body's position and its per-step velocity
+        MovingPlatform platform = new MovingPlatform(0, 0, 4, 1);
+        platform.setPath(KinematicPath.between(new Vector(10, 10), new Vector(30, 10), 4));
+        assertEquals(new Vector(10, 10), platform.getPosition());
+        platform.advance(1);
+        assertEquals(20, platform.getPosition().x(), 1e-9);
+        assertEquals(10, platform.getVelocity().x(), 1e-9);
+        platform.advance(2);
+        assertEquals(20, platform.getPosition().x(), 1e-9);
+        assertEquals(0, platform.getVelocity().x(), 1e-9);
+        assertEquals(platform.getPosition().x(), ((AABBCollider) platform.getCollider()).center().x());
+
+        // A ball flying toward a platform moving into its path stays off the fast path and bounces
+        PhysicsConfig config = new PhysicsConfig();
+        config.setUseBallisticFastPath(true);
+        config.setDragCoefficient(0);
+        PhysicsSimulator simulator = createSimulator(config);
+        MovingPlatform wall = new MovingPlatform(53, 40, 1, 20);
+        wall.setVelocity(new Vector(-300, 0));
+        simulator.addBody(wall);
+        Ball ball = new Ball(new Vector(50, 40), new Vector(10, 0), Collections.emptyList(), MaterialProperties.DEFAULT, 0.5);
+        simulator.addBody(ball);
+        simulator.update(FRAME);
+        assertFalse(ball.isBallistic(), "Ball should see the wall's travel over the frame");
+        assertTrue(ball.getVelocity().x() < -100, "The wall should bat the ball away");
+        assertTrue(ball.getPosition().x() < wall.getPosition().x() - 0.5 - 0.5 + 1e-6);
+    }
+}
@@ -0,0 +1,163 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.Ground;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import com.davismariotti.physics.sprites.MaterialRegistry;
+import com.davismariotti.physics.sprites.MovingPlatform;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the material registry and its precomputed pair table
+ */
+class MaterialRegistryTest {
+
+    @Test
+    void testPairTableMatchesCombinationRule() {
+        MaterialRegistry registry = new MaterialRegistry();
+        MaterialProperties[] presets = {
+                MaterialProperties.DEFAULT, MaterialProperties.RUBBER, MaterialProperties.WOOD,
+                MaterialProperties.METAL, MaterialProperties.ICE
+        };
+        int[] ids = new int[presets.length];
+        for (int i = 0; i < presets.length; i++) {
+            ids[i] = registry.register(presets[i]);
+        }
+        // Equal materials share an index
+        assertEquals(ids[3], registry.register(new MaterialProperties(0.3, 0.0, 0.2, 0.15)));
+        assertEquals(presets.length, registry.size());
+
+        for (int a = 0; a < presets.length; a++) {
+            for (int b = 0; b < presets.length; b++) {
+                MaterialProperties expected = MaterialProperties.combine(presets[a], presets[b]);
+                assertEquals(expected.coefficientOfRestitution(), registry.getCombinedRestitution(ids[a], ids[b]), 1e-12);
+                assertEquals(expected.staticFriction(), registry.getCombinedStaticFriction(ids[a], ids[b]), 1e-12);
+                assertEquals(expected.dynamicFriction(), registry.getCombinedDynamicFriction(ids[a], ids[b]), 1e-12);
+            }
+        }
+
+        // Overrides survive later registrations and edits of either material
+        MaterialProperties iceOnMetal = new MaterialProperties(0.05, 0.0, 0.02, 0.01);
+        registry.setPairOverride(ids[4], ids[3], iceOnMetal);
+        for (int i = 0; i < 20; i++) {
+            registry.register(new MaterialProperties(0.5, 0.0, 0.01 * i, 0.01 * i));
+        }
+        registry.update(ids[4], new MaterialProperties(0.4, 0.0, 0.1, 0.05));
+        assertEquals(0.05, registry.getCombinedRestitution(ids[3], ids[4]), 1e-12);
+        assertEquals(0.01, registry.getCombinedDynamicFriction(ids[4], ids[3]), 1e-12);
+
+        registry.clearPairOverride(ids[3], ids[4]);
+        assertEquals(0.3, registry.getCombinedRestitution(ids[3], ids[4]), 1e-12);
+    }
+
+    @Test
+    void testRestitutionUpdateEditsMaterialsNotBodies() {
+        PhysicsConfig config = new PhysicsConfig();
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        Ground ground = new Ground(0, 0, 100, 5);
+        simulator.addBody(ground);
+
+        Ball[] balls = new Ball[200];
+        for (int i = 0; i < balls.length; i++) {
+            MaterialProperties material = (i % 2 == 0) ? MaterialProperties.RUBBER : MaterialProperties.WOOD;
+            balls[i] = new Ball(new Vector(i * 0.5, 50), Vector.ZERO, Collections.emptyList(), material);
+            simulator.addBody(balls[i]);
+        }
+
+        MaterialRegistry registry = simulator.getMaterialRegistry();
+        assertEquals(3, registry.size(), "200 balls and the ground should share three materials");
+
+        simulator.updateCoefficientOfRestitution(0.42);
+        simulator.updateDragCoefficient(0.01);
+
+        assertEquals(3, registry.size(), "Updates should edit materials in place");
+        for (Ball ball : balls) {
+            assertEquals(0.42, ball.getCoefficientOfRestitution(), 1e-12);
+            assertEquals(0.01, ball.getDragCoefficient(), 1e-12);
+        }
+        assertEquals(1.0, ground.getCoefficientOfRestitution(), 1e-12, "Static materials are untouched");
+        assertEquals(0.42, MaterialRegistry.combinedRestitution(balls[0], ground), 1e-12);
+        assertEquals(0.42, MaterialRegistry.combinedRestitution(balls[0], balls[1]), 1e-12);
+
+        // A per-body edit moves only that body to a different material
+        balls[0].setCoefficientOfRestitution(0.8);
+        assertEquals(0.8, balls[0].getCoefficientOfRestitution(), 1e-12);
+        assertEquals(0.42, balls[2].getCoefficientOfRestitution(), 1e-12);
+    }
+
+    @Test
+    void testGlobalEditsLeaveStaticBodiesSharingAMaterial() {
+        PhysicsSimulator simulator = new PhysicsSimulator(new PhysicsConfig());
+        Ground ground = new Ground(50, 2.5, 100, 5);
+        MovingPlatform platform = new MovingPlatform(50, 20, 6, 1, MaterialProperties.WOOD);
+        simulator.addBody(ground);
+        simulator.addBody(platform);
+        // Each ball holds a material equal to one of the static bodies'
+        Ball onGround = new Ball(new Vector(20, 40), Vector.ZERO, Collections.emptyList(), ground.getMaterial());
+        Ball wooden = new Ball(new Vector(80, 40), Vector.ZERO, Collections.emptyList(), MaterialProperties.WOOD);
+        simulator.addBody(onGround);
+        simulator.addBody(wooden);
+        assertTrue(ground.getMaterialId() != onGround.getMaterialId(), "Dynamic materials get their own index");
+
+        simulator.updateCoefficientOfRestitution(0.05);
+        simulator.updateDragCoefficient(0.3);
+
+        assertEquals(1.0, ground.getCoefficientOfRestitution(), 1e-12);
+        assertEquals(0.0, ground.getMaterial().dragCoefficient(), 1e-12);
+        assertEquals(MaterialProperties.WOOD, platform.getMaterial());
+        for (Ball ball : new Ball[]{onGround, wooden}) {
+            assertEquals(0.05, ball.getCoefficientOfRestitution(), 1e-12);
+            assertEquals(0.3, ball.getDragCoefficient(), 1e-12);
+        }
+        assertEquals(0.05, MaterialRegistry.combinedRestitution(wooden, platform), 1e-12);
+
+        // A static body added later with the edited values does not join the dynamic index
+        Ground later = new Ground(50, 70, 10, 1);
+        simulator.addBody(later);
+        assertEquals(ground.getMaterialId(), later.getMaterialId());
+    }
+
+    @Test
+    void testPairOverrideChangesCollisionResponse() {
+        double defaultSeparation = headOnSeparationSpeed(null);
+        MaterialProperties bouncyIceOnMetal = new MaterialProperties(1.0, 0.0, 0.0, 0.0);
+        double overriddenSeparation = headOnSeparationSpeed(bouncyIceOnMetal);
+
+        System.out.printf("Ice on metal separation speed: combined %.3f, overridden %.3f%n",
+                defaultSeparation, overriddenSeparation);
+        assertTrue(defaultSeparation < 4.0 * 0.3 + 0.1, "Default pair should use the min restitution (0.3)");
+        assertTrue(overriddenSeparation > 4.0 * 0.95, "Override should make the pair nearly elastic");
+    }
+
+    /**
+     * Collide an ice ball with a metal ball at a closing speed of 4 and return the separation speed
+     */
+    private double headOnSeparationSpeed(MaterialProperties iceOnMetal) {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setGravity(new Vector(0, 0));
+        config.setUseSleeping(false);
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.updateDragCoefficient(0.0);
+
+        Ball ice = new Ball(new Vector(48, 40), new Vector(2, 0), Collections.emptyList(), MaterialProperties.ICE);
+        Ball metal = new Ball(new Vector(52, 40), new Vector(-2, 0), Collections.emptyList(), MaterialProperties.METAL);
+        simulator.addBody(ice);
+        simulator.addBody(metal);
+
+        if (iceOnMetal != null) {
+            simulator.getMaterialRegistry().setPairOverride(ice.getMaterialId(), metal.getMaterialId(), iceOnMetal);
+        }
+
+        for (int i = 0; i < 90; i++) {
+            simulator.update(1.0 / 60.0);
+        }
+        return metal.getVelocity().x() - ice.getVelocity().x();
+    }
+}
@@ -0,0 +1,93 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.collision.VerletNeighborList;
+import com.davismariotti.physics.constraints.BoundaryConstraint;
+import com.davismariotti.physics.constraints.ContinuousCollisionConstraint;
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.Ground;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/**
+ * Performance benchmark for ball-ball candidate pairs from the spatial grid vs a Verlet neighbor list
+ * A 2000-ball block collapses onto the ground (many rebuilds), then the settled pile is measured
+ * (few rebuilds). Sleeping is off so every contact is processed each substep
+ */
+class NeighborListBenchmark {
+    private static final double WORLD_WIDTH = 120.0;
+    private static final double WORLD_HEIGHT = 80.0;
+    private static final double GROUND_HEIGHT = 4.0;
+
+    @Test
+    void testBenchmarkCollapsingBlock() {
+        System.out.println("\n=== Benchmark: 2000-ball collapse and settled pile, grid vs neighbor list ===");
+        for (boolean useNeighborList : new boolean[]{false, true}) {
+            PhysicsSimulator simulator = createSimulator(useNeighborList);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < 240; i++) {
+                simulator.update(1.0 / 60.0);
+            }
+            double collapseMillis = (System.nanoTime() - start) / 1_000_000.0 / 240;
+            String collapseRebuilds = rebuildFrequency(simulator);
+
+            int frameCount = 120;
+            start = System.nanoTime();
+            for (int i = 0; i < frameCount; i++) {
+                simulator.update(1.0 / 60.0);
+            }
+            double settledMillis = (System.nanoTime() - start) / 1_000_000.0 / frameCount;
+
+            System.out.printf("%-13s collapse %.2f ms/frame%s, settled %.2f ms/frame%s%n",
+                    useNeighborList ? "neighbor list" : "grid", collapseMillis, collapseRebuilds,
+                    settledMillis, rebuildFrequency(simulator));
+        }
+    }
+
+    /**
+     * Rebuild frequency since the last call, or an empty string for the grid
+     */
+    private static String rebuildFrequency(PhysicsSimulator simulator) {
+        VerletNeighborList list = simulator.getDynamicCollisionConstraint().getNeighborList();
+        if (list == null) {
+            return "";
+        }
+        String result = String.format(" (rebuilt %d of %d substeps, %d pairs)",
+                list.getBuildCount(), list.getUpdateCount(), list.getPairCount());
+        list.resetStatistics();
+        return result;
+    }
+
+    private static PhysicsSimulator createSimulator(boolean useNeighborList) {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setUseSleeping(false);
+        config.setUseRestingContacts(true);
+        config.setUseNeighborList(useNeighborList);
+
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.setWorldBounds(0, WORLD_WIDTH, 0, WORLD_HEIGHT);
+        simulator.addBody(new Ground(WORLD_WIDTH / 2, GROUND_HEIGHT / 2, WORLD_WIDTH, GROUND_HEIGHT));
+        simulator.addConstraint(new BoundaryConstraint(0, WORLD_WIDTH, 0, WORLD_HEIGHT));
+        simulator.addConstraint(new ContinuousCollisionConstraint(
+                simulator.getStaticBodies(),
+                config.getGravity(),
+                config.getRestingVelocityThreshold()
+        ));
+
+        // 50 x 40 block with small gaps, so it collapses and spreads
+        MaterialProperties rough = new MaterialProperties(0.3, 0.0, 0.8, 0.6);
+        for (int row = 0; row < 40; row++) {
+            for (int col = 0; col < 50; col++) {
+                double x = 40 + col * 0.55 + (row % 2) * 0.2;
+                double y = GROUND_HEIGHT + 0.5 + row * 0.55;
+                simulator.addBody(new Ball(new Vector(x, y), Vector.ZERO, List.of(), rough, 0.25));
+            }
+        }
+        return simulator;
+    }
+}
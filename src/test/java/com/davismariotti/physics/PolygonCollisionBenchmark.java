@@ -0,0 +1,103 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.collision.CollisionResult;
+import com.davismariotti.physics.collision.ConvexCollision;
+import com.davismariotti.physics.collision.PolygonCollider;
+import com.davismariotti.physics.collision.SimplexCache;
+import com.davismariotti.physics.kinematics.Vector;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Performance benchmark for polygon narrowphase queries with and without per-pair warm starts
+ * A wall of stacked boxes and hexagons sways slightly every frame. Every pair whose bounds come within a
+ * broadphase margin is queried, so the scene mixes resting contacts with near misses like a settled stack
+ */
+class PolygonCollisionBenchmark {
+    private static final int COLUMNS = 40;
+    private static final int ROWS = 25;
+    private static final int FRAMES = 200;
+    private static final double BROADPHASE_MARGIN = 0.2;
+
+    @Test
+    void testBenchmarkStackedPolygons() {
+        System.out.println("\n=== Benchmark: Stacked polygon queries, cached vs uncached ===");
+        List<List<PolygonCollider>> frames = new ArrayList<>();
+        for (int frame = 0; frame < FRAMES; frame++) {
+            frames.add(createStack(frame));
+        }
+        List<int[]> pairs = candidatePairs(frames.get(0));
+        System.out.printf("%d shapes, %d candidate pairs%n", frames.get(0).size(), pairs.size());
+
+        for (int run = 0; run < 3; run++) {
+            double uncached = measure(frames, pairs, false);
+            double cached = measure(frames, pairs, true);
+            System.out.printf("uncached %.2f M queries/s, cached %.2f M queries/s (%.1fx)%n",
+                    uncached / 1e6, cached / 1e6, cached / uncached);
+        }
+    }
+
+    /**
+     * Queries per second over the swaying frames, with or without per-pair caches
+     */
+    private static double measure(List<List<PolygonCollider>> frames, List<int[]> pairs, boolean useCache) {
+        SimplexCache[] caches = new SimplexCache[pairs.size()];
+        for (int p = 0; p < caches.length; p++) {
+            caches[p] = useCache ? new SimplexCache() : null;
+        }
+        int contacts = 0;
+        long start = System.nanoTime();
+        for (List<PolygonCollider> shapes : frames) {
+            for (int p = 0; p < pairs.size(); p++) {
+                int[] pair = pairs.get(p);
+                CollisionResult result = ConvexCollision.collide(shapes.get(pair[0]), shapes.get(pair[1]), 0, caches[p]);
+                if (result.hasCollision()) {
+                    contacts++;
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        if (contacts == 0) {
+            throw new IllegalStateException("The stack should have contacts");
+        }
+        return (double) pairs.size() * FRAMES / seconds;
+    }
+
+    /**
+     * Boxes and hexagons in rows resting slightly into each other, swaying with the frame number
+     */
+    private static List<PolygonCollider> createStack(int frame) {
+        List<PolygonCollider> shapes = new ArrayList<>(COLUMNS * ROWS);
+        for (int row = 0; row < ROWS; row++) {
+            double sway = 0.02 * Math.sin(frame * 0.05 + row * 0.3);
+            for (int column = 0; column < COLUMNS; column++) {
+                Vector center = new Vector(column * 1.02 + sway + (row % 2) * 0.5, row * 0.99);
+                double tilt = 0.01 * Math.sin(frame * 0.07 + column);
+                shapes.add((row + column) % 3 == 0
+                        ? PolygonCollider.regular(center, 0.57, 6, tilt)
+                        : PolygonCollider.box(center, 1, 1, tilt));
+            }
+        }
+        return shapes;
+    }
+
+    private static List<int[]> candidatePairs(List<PolygonCollider> shapes) {
+        List<int[]> pairs = new ArrayList<>();
+        for (int i = 0; i < shapes.size(); i++) {
+            Vector minA = shapes.get(i).getMin();
+            Vector maxA = shapes.get(i).getMax();
+            for (int j = i + 1; j < shapes.size(); j++) {
+                Vector minB = shapes.get(j).getMin();
+                Vector maxB = shapes.get(j).getMax();
+                double reach = BROADPHASE_MARGIN;
+                if (minA.x() - reach <= maxB.x() && minB.x() - reach <= maxA.x()
+                        && minA.y() - reach <= maxB.y() && minB.y() - reach <= maxA.y()) {
+                    pairs.add(new int[]{i, j});
+                }
+            }
+        }
+        return pairs;
+    }
+}
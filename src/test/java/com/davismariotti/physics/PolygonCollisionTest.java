@@ -0,0 +1,179 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.collision.AABBCollider;
+import com.davismariotti.physics.collision.CircleCollider;
+import com.davismariotti.physics.collision.CollisionDetector;
+import com.davismariotti.physics.collision.CollisionResult;
+import com.davismariotti.physics.collision.ConvexCollision;
+import com.davismariotti.physics.collision.PolygonCollider;
+import com.davismariotti.physics.collision.SimplexCache;
+import com.davismariotti.physics.kinematics.Vector;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for convex polygon collision with GJK/EPA and warm-start caching
+ */
+class PolygonCollisionTest {
+
+    @Test
+    void testPolygonContactsMatchAnalyticResults() {
+        // Overlapping boxes agree with the AABB test
+        PolygonCollider upper = PolygonCollider.box(new Vector(0.3, 0.9), 1, 1, 0);
+        PolygonCollider lower = PolygonCollider.box(new Vector(0, 0), 1, 1, 0);
+        CollisionResult boxes = CollisionDetector.checkCollision(upper, lower);
+        CollisionResult aabbs = CollisionDetector.aabbVsAABB(
+                new AABBCollider(new Vector(0.3, 0.9), 1, 1), new AABBCollider(new Vector(0, 0), 1, 1));
+        assertTrue(boxes.hasCollision());
+        assertEquals(aabbs.penetrationDepth(), boxes.penetrationDepth(), 1e-9);
+        assertEquals(0.0, boxes.normal().x(), 1e-9);
+        assertEquals(1.0, boxes.normal().y(), 1e-9, "Normal points from the second shape into the first");
+
+        // Diamond resting its corner 0.05 into a box top
+        PolygonCollider diamond = PolygonCollider.box(new Vector(0, 0.5 + Math.sqrt(0.5) - 0.05), 1, 1, Math.PI / 4);
+        CollisionResult corner = CollisionDetector.checkCollision(diamond, lower);
+        assertEquals(0.05, corner.penetrationDepth(), 1e-9);
+        assertEquals(1.0, corner.normal().y(), 1e-9);
+
+        // Separated shapes: no contact, but a speculative one within the margin with minus the gap
+        PolygonCollider apart = PolygonCollider.box(new Vector(1.2, 0), 1, 1, 0);
+        assertFalse(CollisionDetector.checkCollision(apart, lower).hasCollision());
+        CollisionResult speculative = CollisionDetector.checkSpeculative(apart, lower, 0.5);
+        assertEquals(-0.2, speculative.penetrationDepth(), 1e-9);
+        assertEquals(1.0, speculative.normal().x(), 1e-9);
+
+        // Circle against a hexagon's flat top, above it and with its center inside
+        PolygonCollider hexagon = PolygonCollider.regular(new Vector(0, 0), 1, 6, 0);
+        double apothem = Math.cos(Math.PI / 6);
+        CollisionResult resting = CollisionDetector.checkCollision(new CircleCollider(new Vector(0, apothem + 0.2), 0.25), hexagon);
+        assertEquals(0.05, resting.penetrationDepth(), 1e-9);
+        assertEquals(1.0, resting.normal().y(), 1e-9);
+        CollisionResult inside = CollisionDetector.checkCollision(new CircleCollider(new Vector(0, apothem - 0.1), 0.25), hexagon);
+        assertEquals(0.35, inside.penetrationDepth(), 1e-9);
+        assertEquals(1.0, inside.normal().y(), 1e-9);
+    }
+
+    @Test
+    void testEPAMatchesSeparatingAxisDepth() {
+        Random random = new Random(7);
+        for (int trial = 0; trial < 2000; trial++) {
+            PolygonCollider a = randomPolygon(random);
+            PolygonCollider b = randomPolygon(random);
+            double[] sat = separatingAxis(a, b);
+            CollisionResult result = CollisionDetector.checkCollision(a, b);
+            if (sat[2] <= 1e-9) {
+                assertFalse(result.hasCollision(), "Trial " + trial + " should be separated");
+                // The gap along any axis is a lower bound on the distance
+                assertTrue(ConvexCollision.distance(a, b, null) >= -sat[2] - 1e-9, "Trial " + trial + " distance");
+                continue;
+            }
+            assertTrue(result.hasCollision(), "Trial " + trial + " should overlap");
+            assertEquals(sat[2], result.penetrationDepth(), 1e-7, "Trial " + trial + " depth");
+            // Moving the first shape out along the normal must just separate them
+            PolygonCollider moved = a.moveTo(a.getCenter().add(result.normal().multiply(result.penetrationDepth() + 1e-6)),
+                    a.getAngle());
+            assertFalse(CollisionDetector.checkCollision(moved, b).hasCollision(), "Trial " + trial + " normal");
+        }
+    }
+
+    @Test
+    void testCachedQueriesMatchAndWarmStart() {
+        Random random = new Random(11);
+        int axisHits = 0;
+        int cachedIterations = 0;
+        int coldIterations = 0;
+        for (int trial = 0; trial < 200; trial++) {
+            PolygonCollider a = randomPolygon(random);
+            PolygonCollider b = randomPolygon(random);
+            SimplexCache cache = new SimplexCache();
+            double velocityX = (random.nextDouble() - 0.5) * 0.02;
+            double velocityY = (random.nextDouble() - 0.5) * 0.02;
+            for (int frame = 0; frame < 30; frame++) {
+                a = a.moveTo(a.getCenter().add(new Vector(velocityX, velocityY)), a.getAngle() + 0.005);
+                CollisionResult cached = ConvexCollision.collide(a, b, 0, cache);
+                SimplexCache cold = new SimplexCache();
+                CollisionResult uncached = ConvexCollision.collide(a, b, 0, cold);
+                assertEquals(uncached.hasCollision(), cached.hasCollision(), "Trial " + trial + " frame " + frame);
+                if (cached.hasCollision()) {
+                    assertEquals(uncached.penetrationDepth(), cached.penetrationDepth(), 1e-7);
+                    assertEquals(uncached.normal().x(), cached.normal().x(), 1e-6);
+                    assertEquals(uncached.normal().y(), cached.normal().y(), 1e-6);
+                }
+                if (frame > 0) {
+                    axisHits += cache.isLastAxisHit() ? 1 : 0;
+                    cachedIterations += cache.getLastIterations();
+                    coldIterations += cold.getLastIterations();
+                }
+            }
+        }
+        System.out.printf("Cached: %d axis hits, %d GJK iterations vs %d cold%n", axisHits, cachedIterations, coldIterations);
+        assertTrue(axisHits > 0, "Separated pairs should be rejected by the cached axis");
+        assertTrue(cachedIterations * 2 < coldIterations, "Warm starts should save most GJK iterations");
+    }
+
+    /**
+     * Convex polygon from sorted random angles around a random center
+     */
+    private static PolygonCollider randomPolygon(Random random) {
+        int sides = 3 + random.nextInt(6);
+        double[] angles = new double[sides];
+        for (int i = 0; i < sides; i++) {
+            angles[i] = random.nextDouble() * 2 * Math.PI;
+        }
+        Arrays.sort(angles);
+        double[] x = new double[sides];
+        double[] y = new double[sides];
+        double radius = 0.5 + random.nextDouble();
+        for (int i = 0; i < sides; i++) {
+            x[i] = radius * Math.cos(angles[i]);
+            y[i] = radius * Math.sin(angles[i]);
+        }
+        try {
+            return new PolygonCollider(new Vector(random.nextDouble() * 3, random.nextDouble() * 3),
+                    random.nextDouble() * 2 * Math.PI, x, y);
+        } catch (IllegalArgumentException e) {
+            return randomPolygon(random);  // Nearly collinear draw
+        }
+    }
+
+    /**
+     * Brute-force separating axis test over both polygons' edge normals: {axisX, axisY, depth}
+     * Depth is the smallest overlap (negative when a gap exists along some axis)
+     */
+    private static double[] separatingAxis(PolygonCollider a, PolygonCollider b) {
+        double[] best = {0, 0, Double.MAX_VALUE};
+        for (PolygonCollider shape : new PolygonCollider[]{a, b}) {
+            int count = shape.getVertexCount();
+            for (int i = 0; i < count; i++) {
+                int next = (i + 1) % count;
+                double edgeX = shape.getVertexX(next) - shape.getVertexX(i);
+                double edgeY = shape.getVertexY(next) - shape.getVertexY(i);
+                double length = Math.hypot(edgeX, edgeY);
+                double axisX = edgeY / length;
+                double axisY = -edgeX / length;
+                double overlap = Math.min(max(a, axisX, axisY) - min(b, axisX, axisY),
+                        max(b, axisX, axisY) - min(a, axisX, axisY));
+                if (overlap < best[2]) {
+                    best = new double[]{axisX, axisY, overlap};
+                }
+            }
+        }
+        return best;
+    }
+
+    private static double max(PolygonCollider shape, double axisX, double axisY) {
+        double max = -Double.MAX_VALUE;
+        for (int i = 0; i < shape.getVertexCount(); i++) {
+            max = Math.max(max, shape.getVertexX(i) * axisX + shape.getVertexY(i) * axisY);
+        }
+        return max;
+    }
+
+    private static double min(PolygonCollider shape, double axisX, double axisY) {
+        return -max(shape, -axisX, -axisY);
+    }
+}
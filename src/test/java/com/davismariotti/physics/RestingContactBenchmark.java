@@ -0,0 +1,91 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.constraints.BoundaryConstraint;
+import com.davismariotti.physics.constraints.ContinuousCollisionConstraint;
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.DynamicBody;
+import com.davismariotti.physics.sprites.Ground;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/**
+ * Performance benchmark for resting-contact projection on a settled pile
+ * Sleeping is off so every resting contact is processed each substep
+ */
+class RestingContactBenchmark {
+    private static final double WORLD_WIDTH = 120.0;
+    private static final double WORLD_HEIGHT = 80.0;
+    private static final double GROUND_HEIGHT = 4.0;
+
+    @Test
+    void testBenchmarkRestingPile() {
+        System.out.println("\n=== Benchmark: Resting Pile (1000-ball pyramid, sleeping off) ===");
+        for (boolean useRestingContacts : new boolean[]{false, true}) {
+            PhysicsSimulator simulator = createSimulator(useRestingContacts);
+            spawnPile(simulator, 1000);
+
+            // Let the pile settle before measuring
+            for (int i = 0; i < 300; i++) {
+                simulator.update(1.0 / 60.0);
+            }
+
+            int frameCount = 200;
+            double maxSpeed = 0;
+            long startTime = System.nanoTime();
+            for (int i = 0; i < frameCount; i++) {
+                simulator.update(1.0 / 60.0);
+            }
+            long elapsed = System.nanoTime() - startTime;
+
+            double speedSquaredSum = 0;
+            for (DynamicBody body : simulator.getDynamicBodies()) {
+                double speed = body.getVelocity().getMagnitude();
+                speedSquaredSum += speed * speed;
+                maxSpeed = Math.max(maxSpeed, speed);
+            }
+
+            System.out.printf("resting contacts %-5s %.2f ms/frame, rms speed %.4f, max speed %.4f, %d resting ball pairs%n",
+                    useRestingContacts, elapsed / 1_000_000.0 / frameCount,
+                    Math.sqrt(speedSquaredSum / simulator.getDynamicBodies().size()), maxSpeed,
+                    simulator.getDynamicCollisionConstraint().getRestingContactCount());
+        }
+    }
+
+    private PhysicsSimulator createSimulator(boolean useRestingContacts) {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setUseSleeping(false);
+        config.setUseRestingContacts(useRestingContacts);
+
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.setWorldBounds(0, WORLD_WIDTH, 0, WORLD_HEIGHT);
+        simulator.addBody(new Ground(WORLD_WIDTH / 2, GROUND_HEIGHT / 2, WORLD_WIDTH, GROUND_HEIGHT));
+        simulator.addConstraint(new BoundaryConstraint(0, WORLD_WIDTH, 0, WORLD_HEIGHT));
+        simulator.addConstraint(new ContinuousCollisionConstraint(
+                simulator.getStaticBodies(),
+                config.getGravity(),
+                config.getRestingVelocityThreshold()
+        ));
+        return simulator;
+    }
+
+    /**
+     * Hexagonal pyramid rows of 100, 99, 98, ... balls until count is reached
+     */
+    private void spawnPile(PhysicsSimulator simulator, int count) {
+        double radius = 0.25;
+        MaterialProperties rough = new MaterialProperties(0.3, 0.0, 0.8, 0.6);
+        int spawned = 0;
+        for (int row = 0; spawned < count; row++) {
+            for (int k = 0; k < 100 - row && spawned < count; k++, spawned++) {
+                double x = 20 + row * radius + k * 2 * radius;
+                double y = GROUND_HEIGHT + radius + row * 2 * radius * Math.sqrt(0.75);
+                simulator.addBody(new Ball(new Vector(x, y), Vector.ZERO, List.of(), rough, radius));
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.constraints.BoundaryConstraint;
+import com.davismariotti.physics.constraints.ContinuousCollisionConstraint;
+import com.davismariotti.physics.constraints.DynamicCollisionConstraint;
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.DynamicBody;
+import com.davismariotti.physics.sprites.Ground;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for resting-contact projection of settled contacts
+ */
+class RestingContactTest {
+    private static final double GROUND_TOP = 5.0;
+
+    @Test
+    void testBallOnGroundRestsWithoutMicroBounces() {
+        PhysicsSimulator simulator = createSimulator();
+        ContinuousCollisionConstraint groundConstraint = addGroundConstraint(simulator);
+
+        Ball ball = new Ball(new Vector(50, GROUND_TOP + 0.25), Vector.ZERO, Collections.emptyList(), 0.9, 0.0);
+        simulator.addBody(ball);
+
+        double maxHeight = 0;
+        double maxUpwardSpeed = 0;
+        for (int i = 0; i < 120; i++) {
+            simulator.update(1.0 / 60.0);
+            maxHeight = Math.max(maxHeight, ball.getPosition().y() - (GROUND_TOP + 0.25));
+            maxUpwardSpeed = Math.max(maxUpwardSpeed, ball.getVelocity().y());
+        }
+
+        System.out.printf("Resting ball: max rise %.6f, max upward speed %.6f, resting pairs %d%n",
+                maxHeight, maxUpwardSpeed, groundConstraint.getRestingContactCount());
+        assertEquals(1, groundConstraint.getRestingContactCount(), "Ball should be resting on the ground");
+        assertTrue(maxHeight < 1e-3, "Resting ball should not hop off the ground");
+        assertTrue(maxUpwardSpeed < 1e-6, "Resting ball should not gain upward speed");
+    }
+
+    @Test
+    void testStackEntersRestingStateAndHolds() {
+        PhysicsSimulator simulator = createSimulator();
+        ContinuousCollisionConstraint groundConstraint = addGroundConstraint(simulator);
+
+        Ball[] stack = new Ball[3];
+        for (int i = 0; i < stack.length; i++) {
+            stack[i] = new Ball(new Vector(50, GROUND_TOP + 0.25 + i * 0.5), Vector.ZERO,
+                    Collections.emptyList(), 0.3, 0.0);
+            simulator.addBody(stack[i]);
+        }
+
+        for (int i = 0; i < 120; i++) {
+            simulator.update(1.0 / 60.0);
+        }
+
+        int ballPairs = simulator.getDynamicCollisionConstraint().getRestingContactCount();
+        System.out.printf("Stack: %d resting ball pairs, %d resting ground pairs, top at %.4f%n",
+                ballPairs, groundConstraint.getRestingContactCount(), stack[2].getPosition().y());
+        assertEquals(2, ballPairs, "Both ball-ball contacts in the stack should be resting");
+        assertEquals(1, groundConstraint.getRestingContactCount(), "Bottom ball should rest on the ground");
+        for (Ball ball : stack) {
+            assertEquals(50, ball.getPosition().x(), 1e-6, "Stack should stay aligned");
+        }
+        assertEquals(GROUND_TOP + 1.25, stack[2].getPosition().y(), 0.01, "Top ball should sit on the stack");
+    }
+
+    @Test
+    void testImpactReleasesRestingContact() {
+        PhysicsSimulator simulator = createSimulator();
+        ContinuousCollisionConstraint groundConstraint = addGroundConstraint(simulator);
+
+        Ball resting = new Ball(new Vector(50, GROUND_TOP + 0.25), Vector.ZERO, Collections.emptyList(), 0.9, 0.0);
+        simulator.addBody(resting);
+        for (int i = 0; i < 30; i++) {
+            simulator.update(1.0 / 60.0);
+        }
+        assertEquals(1, groundConstraint.getRestingContactCount(), "Ball should be resting before the impact");
+
+        // Drop a second ball onto the resting one
+        Ball falling = new Ball(new Vector(50, GROUND_TOP + 5), Vector.ZERO, Collections.emptyList(), 0.9, 0.0);
+        simulator.addBody(falling);
+        boolean bounced = false;
+        for (int i = 0; i < 60 && !bounced; i++) {
+            simulator.update(1.0 / 60.0);
+            bounced = falling.getVelocity().y() > 1.0;
+        }
+
+        System.out.printf("Falling ball velocity after impact %.3f%n", falling.getVelocity().y());
+        assertTrue(bounced, "Impact on a resting ball should still bounce");
+    }
+
+    @Test
+    void testThresholdChangesReachTheGroundConstraint() {
+        PhysicsSimulator simulator = createSimulator();
+        ContinuousCollisionConstraint groundConstraint = addGroundConstraint(simulator);
+
+        // Raised after the constraint was built: a 6 units/s impact now counts as settling and does not bounce
+        simulator.getConfig().setRestingVelocityThreshold(10.0);
+        Ball ball = new Ball(new Vector(50, GROUND_TOP + 2.25), Vector.ZERO, Collections.emptyList(), 0.9, 0.0);
+        simulator.addBody(ball);
+        double maxUpwardSpeed = 0;
+        for (int i = 0; i < 60; i++) {
+            simulator.update(1.0 / 60.0);
+            maxUpwardSpeed = Math.max(maxUpwardSpeed, ball.getVelocity().y());
+        }
+
+        assertEquals(10.0, groundConstraint.getRestingVelocityThreshold());
+        assertTrue(maxUpwardSpeed < 0.5, "Impact below the threshold should not bounce, got " + maxUpwardSpeed);
+    }
+
+    @Test
+    void testSlowSettlerLeavesSleepingBodyInPlace() {
+        // Time-of-impact mode without resting projection, so the overlap reaches the discrete fallback
+        Ball sleeper = new Ball(new Vector(50, 10), Vector.ZERO, Collections.emptyList(), 0.0, 0.0);
+        Ball settler = new Ball(new Vector(50, 10.48), new Vector(0, -0.3), Collections.emptyList(), 0.0, 0.0);
+        List<DynamicBody> bodies = List.of(sleeper, settler);
+        DynamicCollisionConstraint constraint = new DynamicCollisionConstraint(bodies, new PhysicsConfig().getGravity());
+        sleeper.sleep();
+        settler.storePreviousState();
+
+        constraint.applyAll(1.0 / 240.0);
+        assertTrue(sleeper.isSleeping(), "A contact below the wake speed should not wake the sleeper");
+        assertEquals(new Vector(50, 10), sleeper.getPosition(), "A sleeping body acts as an immovable support");
+        assertEquals(Vector.ZERO, sleeper.getVelocity());
+        assertTrue(settler.getPosition().y() >= 10.5 - 1e-9, "The settler takes the whole correction");
+        assertTrue(settler.getVelocity().y() >= -1e-9, "The settler's approach is cancelled");
+
+        // A real impact still wakes the sleeper and shares the impulse
+        settler.setPosition(new Vector(50, 10.48));
+        settler.setVelocity(new Vector(0, -3));
+        settler.storePreviousState();
+        constraint.applyAll(1.0 / 240.0);
+        assertFalse(sleeper.isSleeping(), "An impact above the wake speed wakes the sleeper");
+        assertTrue(sleeper.getVelocity().y() < 0, "The woken body takes its share of the impulse");
+    }
+
+    private PhysicsSimulator createSimulator() {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setUseRestingContacts(true);
+        config.setUseSleeping(false);
+        config.setDragCoefficient(0.0);
+
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.setWorldBounds(0, 100, 0, 80);
+        simulator.addBody(new Ground(50, GROUND_TOP / 2, 100, GROUND_TOP));
+        simulator.addConstraint(new BoundaryConstraint(0, 100, 0, 80));
+        return simulator;
+    }
+
+    private ContinuousCollisionConstraint addGroundConstraint(PhysicsSimulator simulator) {
+        PhysicsConfig config = simulator.getConfig();
+        ContinuousCollisionConstraint constraint = new ContinuousCollisionConstraint(
+                simulator.getStaticBodies(), config.getGravity(), config.getRestingVelocityThreshold());
+        simulator.addConstraint(constraint);
+        return constraint;
+    }
+}
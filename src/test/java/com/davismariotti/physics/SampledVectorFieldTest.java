@@ -0,0 +1,99 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.forces.SampledVectorField;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the grid-sampled vector field
+ */
+class SampledVectorFieldTest {
+
+    @Test
+    void testBilinearInterpolationIsExactForLinearFields() {
+        SampledVectorField field = new SampledVectorField(11, 9, 10, 20, 2.5);
+        field.fill((x, y) -> 2 * x + 3 * y, (x, y) -> -x + 0.5);
+
+        double[][] points = {{10, 20}, {13.7, 21.1}, {34.99, 39.9}, {35, 40}, {22.2, 31.4}};
+        for (double[] point : points) {
+            Vector force = field.sample(point[0], point[1]);
+            assertEquals(2 * point[0] + 3 * point[1], force.x(), 1e-9);
+            assertEquals(-point[0] + 0.5, force.y(), 1e-9);
+        }
+
+        // Zero outside the grid
+        assertEquals(0.0, field.sample(9.9, 25).getMagnitude(), 0.0);
+        assertEquals(0.0, field.sample(40, 25).x(), 0.0);
+        assertEquals(0.0, field.sample(20, 19.99).y(), 0.0);
+    }
+
+    @Test
+    void testLoadFromFile() throws IOException {
+        Path file = Files.createTempFile("field", ".txt");
+        try {
+            Files.writeString(file, """
+                    # 3x2 wind tunnel
+                    3 2 0 0 10
+                    1 0
+                    2 0
+                    3 0
+                    1, 1
+                    2, 1
+                    3, 1
+                    """);
+            SampledVectorField field = SampledVectorField.load(file);
+            assertEquals(3, field.getWidth());
+            assertEquals(2, field.getHeight());
+            Vector force = field.sample(15, 5);
+            assertEquals(2.5, force.x(), 1e-12);
+            assertEquals(0.5, force.y(), 1e-12);
+
+            Files.writeString(file, "3 2 0 0 10\n1 0\n2 0\n");
+            assertThrows(IOException.class, () -> SampledVectorField.load(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testBackgroundUpdateIsDoubleBuffered() throws InterruptedException {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setGravity(new Vector(0, 0));
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        SampledVectorField field = new SampledVectorField(21, 17, 0, 0, 5);
+        simulator.addForceField(field);
+
+        Ball ball = new Ball(new Vector(50, 40), Vector.ZERO, Collections.emptyList(), 0.9, 0.0);
+        simulator.addBody(ball);
+
+        // Zero field: nothing moves
+        simulator.update(1.0 / 60.0);
+        assertEquals(0.0, ball.getVelocity().x(), 0.0);
+
+        // Publish a uniform wind from another thread; it takes effect at the next substep
+        Thread writer = new Thread(() -> field.fill((x, y) -> 6.0, (x, y) -> 0.0));
+        writer.start();
+        writer.join();
+        for (int i = 0; i < 30; i++) {
+            simulator.update(1.0 / 60.0);
+        }
+        assertEquals(6.0 / ball.getMass() * 0.5, ball.getVelocity().x(), 1e-9);
+
+        // The buffer the simulation swapped out is handed back to the writer, not the live one
+        SampledVectorField.Buffer first = field.acquireBackBuffer();
+        field.publish(first);
+        field.sample(50, 40);
+        SampledVectorField.Buffer second = field.acquireBackBuffer();
+        assertNotSame(first, second, "The live buffer must not be handed out for writing");
+    }
+}
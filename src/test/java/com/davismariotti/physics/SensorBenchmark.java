@@ -0,0 +1,88 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.collision.AABBCollider;
+import com.davismariotti.physics.collision.CollisionDetector;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sensors.Sensor;
+import com.davismariotti.physics.sensors.SensorSystem;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.DynamicBody;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Performance benchmark for sensor overlap detection
+ * 2000 balls scattered over the world against 200 small sensors, testing every sensor against every
+ * body versus the sensor system's grid query
+ */
+class SensorBenchmark {
+    private static final int BALLS = 2000;
+    private static final int SENSORS = 200;
+    private static final int WARMUP_FRAMES = 100;
+    private static final int MEASURED_FRAMES = 300;
+
+    @Test
+    void testBenchmarkSensorOverlaps() {
+        Random random = new Random(1);
+        List<DynamicBody> bodies = new ArrayList<>();
+        for (int i = 0; i < BALLS; i++) {
+            Vector position = new Vector(1 + random.nextDouble() * 98, 1 + random.nextDouble() * 78);
+            bodies.add(new Ball(position, Vector.ZERO, Collections.emptyList(), MaterialProperties.DEFAULT, 0.3));
+        }
+        SensorSystem system = new SensorSystem(bodies, 1.0);
+        List<Sensor> sensors = new ArrayList<>();
+        for (int i = 0; i < SENSORS; i++) {
+            Vector center = new Vector(2 + random.nextDouble() * 96, 2 + random.nextDouble() * 76);
+            Sensor sensor = new Sensor(new AABBCollider(center, 2, 2));
+            sensors.add(sensor);
+            system.addSensor(sensor);
+        }
+
+        System.out.println("\n=== Benchmark: 200 sensors over 2000 balls ===");
+        for (int run = 0; run < 2; run++) {
+            int naiveOverlaps = 0;
+            for (int frame = 0; frame < WARMUP_FRAMES; frame++) {
+                naiveOverlaps = naiveStep(sensors, bodies);
+            }
+            long start = System.nanoTime();
+            for (int frame = 0; frame < MEASURED_FRAMES; frame++) {
+                naiveStep(sensors, bodies);
+            }
+            System.out.printf("naive: %.3f ms/frame, %d overlaps, %d checks/frame%n",
+                    (System.nanoTime() - start) / 1e6 / MEASURED_FRAMES, naiveOverlaps, SENSORS * BALLS);
+
+            for (int frame = 0; frame < WARMUP_FRAMES; frame++) {
+                system.step(1.0 / 60.0);
+            }
+            long checksBefore = system.getNarrowphaseChecks();
+            start = System.nanoTime();
+            for (int frame = 0; frame < MEASURED_FRAMES; frame++) {
+                system.step(1.0 / 60.0);
+            }
+            int gridOverlaps = 0;
+            for (Sensor sensor : sensors) {
+                gridOverlaps += sensor.getOverlaps().size();
+            }
+            System.out.printf("grid:  %.3f ms/frame, %d overlaps, %d checks/frame%n",
+                    (System.nanoTime() - start) / 1e6 / MEASURED_FRAMES, gridOverlaps,
+                    (system.getNarrowphaseChecks() - checksBefore) / MEASURED_FRAMES);
+        }
+    }
+
+    private static int naiveStep(List<Sensor> sensors, List<DynamicBody> bodies) {
+        int overlaps = 0;
+        for (Sensor sensor : sensors) {
+            for (DynamicBody body : bodies) {
+                if (CollisionDetector.checkCollision(body.getCollider(), sensor.getShape()).hasCollision()) {
+                    overlaps++;
+                }
+            }
+        }
+        return overlaps;
+    }
+}
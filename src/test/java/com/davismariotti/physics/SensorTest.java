@@ -0,0 +1,223 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.collision.AABBCollider;
+import com.davismariotti.physics.collision.CircleCollider;
+import com.davismariotti.physics.collision.HeightfieldCollider;
+import com.davismariotti.physics.constraints.BoundaryConstraint;
+import com.davismariotti.physics.constraints.ContinuousCollisionConstraint;
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sensors.Sensor;
+import com.davismariotti.physics.sensors.SensorListener;
+import com.davismariotti.physics.sensors.SensorSystem;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.DynamicBody;
+import com.davismariotti.physics.sprites.Ground;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for sensor volumes and their enter, stay and exit events
+ */
+class SensorTest {
+    private static final double FRAME = 1.0 / 60.0;
+
+    /**
+     * Records every event as "type@frame"
+     */
+    private static class Recorder implements SensorListener {
+        final List<String> events = new ArrayList<>();
+        int frame;
+
+        @Override
+        public void onEnter(Sensor sensor, DynamicBody body) {
+            events.add("enter@" + frame);
+        }
+
+        @Override
+        public void onStay(Sensor sensor, DynamicBody body) {
+            events.add("stay@" + frame);
+        }
+
+        @Override
+        public void onExit(Sensor sensor, DynamicBody body) {
+            events.add("exit@" + frame);
+        }
+
+        long count(String type) {
+            return events.stream().filter(event -> event.startsWith(type)).count();
+        }
+    }
+
+    private static PhysicsSimulator createSimulator(PhysicsConfig config) {
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.setWorldBounds(0, 100, 0, 80);
+        simulator.addBody(new Ground(50, 2.5, 100, 5));
+        simulator.addConstraint(new BoundaryConstraint(0, 100, 0, 80));
+        simulator.addConstraint(new ContinuousCollisionConstraint(simulator.getStaticBodies(), config.getGravity(),
+                config.getRestingVelocityThreshold()));
+        return simulator;
+    }
+
+    @Test
+    void testFallingBallEntersStaysAndExitsWithoutBeingTouched() {
+        PhysicsSimulator plain = createSimulator(new PhysicsConfig());
+        Ball reference = new Ball(new Vector(50, 40), Vector.ZERO, Collections.emptyList(), MaterialProperties.DEFAULT, 0.5);
+        plain.addBody(reference);
+
+        PhysicsSimulator simulator = createSimulator(new PhysicsConfig());
+        Ball ball = new Ball(new Vector(50, 40), Vector.ZERO, Collections.emptyList(), MaterialProperties.DEFAULT, 0.5);
+        simulator.addBody(ball);
+        SensorSystem sensors = new SensorSystem(simulator.getDynamicBodies(), 1.0);
+        simulator.addSystem(sensors);
+        Sensor zone = new Sensor(new AABBCollider(new Vector(50, 25), 10, 4));
+        sensors.addSensor(zone);
+        Recorder recorder = new Recorder();
+        sensors.addListener(recorder);
+
+        int insideFrames = 0;
+        for (int frame = 0; frame < 120; frame++) {
+            recorder.frame = frame;
+            simulator.update(FRAME);
+            plain.update(FRAME);
+            assertEquals(reference.getPosition(), ball.getPosition(), "A sensor must not change the motion");
+            double y = ball.getPosition().y();
+            boolean inside = y - 0.5 < 27 && y + 0.5 > 23;
+            assertEquals(inside, zone.contains(ball), "Overlap on frame " + frame);
+            if (inside) {
+                insideFrames++;
+            }
+        }
+        assertEquals(1, recorder.count("enter"));
+        assertEquals(1, recorder.count("exit"));
+        assertEquals(insideFrames - 1, recorder.count("stay"));
+        assertTrue(insideFrames > 1);
+        int enterFrame = Integer.parseInt(recorder.events.get(0).substring("enter@".length()));
+        assertEquals("exit@" + (enterFrame + insideFrames), recorder.events.get(recorder.events.size() - 1));
+    }
+
+    @Test
+    void testKillPlaneRemovesBodiesAfterUpdate() {
+        PhysicsSimulator simulator = createSimulator(new PhysicsConfig());
+        SensorSystem sensors = new SensorSystem(simulator.getDynamicBodies(), 1.0);
+        simulator.addSystem(sensors);
+        Sensor killPlane = new Sensor(new AABBCollider(new Vector(50, 6), 100, 2));
+        sensors.addSensor(killPlane);
+        List<DynamicBody> removed = new ArrayList<>();
+        sensors.addListener(new SensorListener() {
+            @Override
+            public void onEnter(Sensor sensor, DynamicBody body) {
+                // Removing bodies from inside a listener is safe: events are delivered after the update
+                simulator.removeBody(body);
+                removed.add(body);
+            }
+        });
+
+        for (int i = 0; i < 50; i++) {
+            simulator.addBody(new Ball(new Vector(1 + i * 2, 10 + i % 5), Vector.ZERO, Collections.emptyList(),
+                    MaterialProperties.DEFAULT, 0.3));
+        }
+        Ball safe = new Ball(new Vector(50, 70), Vector.ZERO, Collections.emptyList(), MaterialProperties.DEFAULT, 0.3);
+        simulator.addBody(safe);
+        for (int frame = 0; frame < 180; frame++) {
+            simulator.update(FRAME);
+        }
+        assertEquals(50, removed.size());
+        assertEquals(List.of(safe), simulator.getDynamicBodies());
+        assertTrue(killPlane.getOverlaps().isEmpty(), "Removed bodies leave the sensor on the next frame");
+    }
+
+    @Test
+    void testSleepingBodiesStayAndMovedSensorsPickThemUp() {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setUseBallisticFastPath(true);
+        config.setDragCoefficient(0);
+        PhysicsSimulator simulator = createSimulator(config);
+        SensorSystem sensors = new SensorSystem(simulator.getDynamicBodies(), 1.0);
+        simulator.addSystem(sensors);
+        Ball resting = new Ball(new Vector(20, 5.3), Vector.ZERO, Collections.emptyList(), MaterialProperties.DEFAULT, 0.3);
+        simulator.addBody(resting);
+        Sensor gate = new Sensor(new CircleCollider(new Vector(80, 6), 1));
+        sensors.addSensor(gate);
+        Recorder recorder = new Recorder();
+        sensors.addListener(recorder);
+
+        for (int frame = 0; frame < 90; frame++) {
+            simulator.update(FRAME);
+        }
+        assertTrue(resting.isSleeping());
+        assertTrue(recorder.events.isEmpty());
+
+        // Moving the sensor over the sleeping ball reports it on the next frame, then every frame after
+        gate.setShape(new CircleCollider(new Vector(20, 6), 1));
+        simulator.update(FRAME);
+        assertEquals(List.of("enter@0"), recorder.events);
+        for (int frame = 0; frame < 10; frame++) {
+            simulator.update(FRAME);
+        }
+        assertEquals(10, recorder.count("stay"));
+        assertTrue(resting.isSleeping(), "Sensors never wake bodies");
+
+        // A ballistic body is still seen, and the sensor leaves the fast path on
+        Ball flying = new Ball(new Vector(50, 40), new Vector(0, 5), Collections.emptyList(), MaterialProperties.DEFAULT, 0.3);
+        simulator.addBody(flying);
+        Sensor column = new Sensor(new AABBCollider(new Vector(50, 40), 4, 20));
+        sensors.addSensor(column);
+        for (int frame = 0; frame < 5; frame++) {
+            simulator.update(FRAME);
+        }
+        assertTrue(flying.isBallistic());
+        assertTrue(column.contains(flying));
+        assertEquals(2, recorder.count("enter"));
+    }
+
+    @Test
+    void testSensorsAndQueriesShareOneGridPerFrame() {
+        PhysicsSimulator simulator = createSimulator(new PhysicsConfig());
+        SensorSystem sensors = new SensorSystem(simulator.getDynamicBodies(), 1.0);
+        simulator.addSystem(sensors);
+        Sensor zone = new Sensor(new AABBCollider(new Vector(50, 25), 20, 10));
+        sensors.addSensor(zone);
+        for (int i = 0; i < 20; i++) {
+            simulator.addBody(new Ball(new Vector(41 + i, 40 + i % 3), Vector.ZERO, Collections.emptyList(),
+                    MaterialProperties.DEFAULT, 0.3));
+        }
+
+        List<DynamicBody> found = new ArrayList<>();
+        long builds = simulator.getSpatialQuery().getGridBuildCount();
+        int overlapFrames = 0;
+        for (int frame = 0; frame < 150; frame++) {
+            simulator.update(FRAME);
+            assertEquals(builds + frame + 1, simulator.getSpatialQuery().getGridBuildCount(),
+                    "The sensors should build the frame's grid through the simulator");
+            // The sensors' grid answers the game's queries for the rest of the frame
+            simulator.queryRegion(40, 20, 60, 30, found);
+            assertEquals(zone.getOverlaps(), new HashSet<>(found), "Overlap on frame " + frame);
+            if (!found.isEmpty()) {
+                overlapFrames++;
+            }
+        }
+        assertEquals(builds + 150, simulator.getSpatialQuery().getGridBuildCount(), "One grid build per frame");
+        assertTrue(overlapFrames > 0, "Balls should fall through the zone");
+
+        // Removed from the simulator, the system builds its own grid again
+        simulator.removeSystem(sensors);
+        builds = simulator.getSpatialQuery().getGridBuildCount();
+        sensors.step(FRAME);
+        assertEquals(builds, simulator.getSpatialQuery().getGridBuildCount());
+    }
+
+    @Test
+    void testUnsupportedShapeIsRejected() {
+        HeightfieldCollider terrain = new HeightfieldCollider(0, 0, 1, new double[]{1, 2, 1});
+        assertThrows(IllegalArgumentException.class, () -> new Sensor(terrain));
+    }
+}
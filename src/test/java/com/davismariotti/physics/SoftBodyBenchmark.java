@@ -0,0 +1,65 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.softbody.SpringNetwork;
+import com.davismariotti.physics.softbody.SpringSolver;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.DynamicBody;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Performance benchmark for spring evaluation: a 160 x 160 particle sheet (about 100k springs) per solver,
+ * sequential and split into parallel tasks
+ * Only the spring pass is timed; particles fall under gravity between passes
+ */
+class SoftBodyBenchmark {
+    private static final double SUBSTEP = 1.0 / 360.0;
+    private static final int ROUNDS = 100;
+    private static final int SIDE = 160;
+
+    @Test
+    void testBenchmarkSpringEvaluation() {
+        System.out.println("\n=== Benchmark: Spring network, " + SIDE + " x " + SIDE + " particles ===");
+        for (SpringSolver solver : SpringSolver.values()) {
+            for (boolean parallel : new boolean[]{false, true}) {
+                run(solver, parallel);
+            }
+        }
+    }
+
+    private static void run(SpringSolver solver, boolean parallel) {
+        List<DynamicBody> particles = new ArrayList<>();
+        for (int row = 0; row < SIDE; row++) {
+            for (int column = 0; column < SIDE; column++) {
+                particles.add(new Ball(new Vector(column * 0.3, 50 + row * 0.3), Vector.ZERO, List.of(),
+                        MaterialProperties.DEFAULT, 0.1));
+            }
+        }
+        SpringNetwork network = new SpringNetwork(solver);
+        network.addGrid(particles, SIDE, 2000, 1);
+        network.setParallel(parallel);
+
+        long solveNanos = 0;
+        for (int round = 0; round < ROUNDS * 2; round++) {
+            for (DynamicBody particle : particles) {
+                Vector velocity = particle.getVelocity();
+                particle.setVelocity(new Vector(velocity.x(), velocity.y() - 9.8 * SUBSTEP));
+                particle.setPosition(particle.getPosition().add(particle.getVelocity().multiply(SUBSTEP)));
+            }
+            long start = System.nanoTime();
+            network.applyBatch(particles, 0, particles.size(), SUBSTEP);
+            if (round >= ROUNDS) {
+                solveNanos += System.nanoTime() - start;
+            }
+        }
+
+        double millis = solveNanos / 1_000_000.0 / ROUNDS;
+        System.out.printf("%-8s %-10s %d springs, %d tasks: %.3f ms/substep, %.1f M springs/s%n",
+                solver, parallel ? "parallel" : "sequential", network.getSpringCount(), network.getLastTaskCount(),
+                millis, network.getSpringCount() / millis / 1000.0);
+    }
+}
@@ -0,0 +1,159 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.constraints.BoundaryConstraint;
+import com.davismariotti.physics.constraints.ContinuousCollisionConstraint;
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.softbody.SpringNetwork;
+import com.davismariotti.physics.softbody.SpringSolver;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.Ground;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for mass-spring soft bodies
+ */
+class SoftBodyTest {
+    private static final double GROUND_HEIGHT = 4.0;
+    private static final MaterialProperties SOFT = new MaterialProperties(0.2, 0.0, 0.5, 0.4);
+
+    @Test
+    void testBlobLandsOnGroundAndKeepsItsShape() {
+        PhysicsSimulator simulator = createSimulator();
+        List<Ball> particles = grid(simulator, 45, 10, 8, 8, 0.5);
+        SpringNetwork network = new SpringNetwork(SpringSolver.XPBD);
+        network.addGrid(particles, 8, 5000, 5);
+        simulator.addConstraint(network);
+
+        for (int frame = 0; frame < 300; frame++) {
+            simulator.update(1.0 / 60.0);
+        }
+
+        double lowest = Double.MAX_VALUE;
+        double maxStrain = 0;
+        for (Ball particle : particles) {
+            lowest = Math.min(lowest, particle.getPosition().y() - particle.getRadius());
+        }
+        for (int s = 0; s < network.getSpringCount(); s++) {
+            maxStrain = Math.max(maxStrain, Math.abs(network.getStrain(s)));
+        }
+        System.out.printf("Blob: lowest %.3f, max strain %.4f%n", lowest, maxStrain);
+        assertEquals(GROUND_HEIGHT, lowest, 0.05, "The blob should rest on the ground, not sink through it");
+        assertTrue(maxStrain < 0.1, "The blob should keep its shape, strain " + maxStrain);
+        assertTrue(network.getStrain(1) < 0, "The lowest vertical spring should be squashed under the blob's weight");
+    }
+
+    @Test
+    void testStiffSpringsStayStableWithXPBD() {
+        double stiffness = 1e7;
+        for (SpringSolver solver : SpringSolver.values()) {
+            PhysicsSimulator simulator = createSimulator();
+            List<Ball> particles = grid(simulator, 45, 20, 6, 6, 0.5);
+            SpringNetwork network = new SpringNetwork(solver);
+            network.addGrid(particles, 6, stiffness, 0);
+            simulator.addConstraint(network);
+
+            // Kick one corner so the springs have something to resist
+            particles.get(0).setVelocity(new Vector(-5, -5));
+            for (int frame = 0; frame < 60; frame++) {
+                simulator.update(1.0 / 60.0);
+            }
+
+            double maxStrain = 0;
+            for (int s = 0; s < network.getSpringCount(); s++) {
+                maxStrain = Math.max(maxStrain, Math.abs(network.getStrain(s)));
+            }
+            System.out.printf("%-8s k = %.0e: max strain %.4g%n", solver, stiffness, maxStrain);
+            if (solver == SpringSolver.XPBD) {
+                assertTrue(maxStrain < 0.02, "Stiff XPBD springs should hold their length, strain " + maxStrain);
+            } else {
+                // k dt² / m is about 77 at 360 substeps per second, far past the explicit stability limit
+                assertFalse(maxStrain < 0.02, "Explicit springs this stiff are expected to blow up");
+            }
+        }
+    }
+
+    @Test
+    void testExplicitSpringOscillatesAtItsNaturalFrequency() {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setGravity(Vector.ZERO);
+        config.setUseSleeping(false);
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.setWorldBounds(0, 100, 0, 80);
+
+        Ball a = new Ball(new Vector(49.4, 40), Vector.ZERO, List.of(), MaterialProperties.DEFAULT, 0.1);
+        Ball b = new Ball(new Vector(50.6, 40), Vector.ZERO, List.of(), MaterialProperties.DEFAULT, 0.1);
+        simulator.addBody(a);
+        simulator.addBody(b);
+        double stiffness = 50;
+        SpringNetwork network = new SpringNetwork(SpringSolver.EXPLICIT);
+        network.addSpring(a, b, 1.0, stiffness, 0);
+        simulator.addConstraint(network);
+
+        // Two unit masses: reduced mass 1/2, period 2π sqrt(μ / k); count upward zero crossings of the stretch
+        double period = 2 * Math.PI * Math.sqrt(0.5 / stiffness);
+        double time = 0;
+        double previous = network.getStrain(0);
+        double firstCrossing = -1;
+        double lastCrossing = -1;
+        int crossings = 0;
+        while (time < 10 * period) {
+            simulator.update(1.0 / 60.0);
+            time += 1.0 / 60.0;
+            double strain = network.getStrain(0);
+            if (previous < 0 && strain >= 0) {
+                if (firstCrossing < 0) {
+                    firstCrossing = time;
+                } else {
+                    crossings++;
+                }
+                lastCrossing = time;
+            }
+            previous = strain;
+        }
+
+        double measured = (lastCrossing - firstCrossing) / crossings;
+        assertEquals(period, measured, period * 0.03, "Oscillation period");
+        assertEquals(0.0, a.getVelocity().add(b.getVelocity()).getMagnitude(), 1e-9, "Spring forces conserve momentum");
+        assertEquals(1, network.getLastTaskCount(), "A single spring should not be split into tasks");
+    }
+
+    private static PhysicsSimulator createSimulator() {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setUseSleeping(false);
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.setWorldBounds(0, 100, 0, 80);
+        simulator.addBody(new Ground(50, GROUND_HEIGHT / 2, 100, GROUND_HEIGHT));
+        simulator.addConstraint(new BoundaryConstraint(0, 100, 0, 80));
+        simulator.addConstraint(new ContinuousCollisionConstraint(
+                simulator.getStaticBodies(),
+                config.getGravity(),
+                config.getRestingVelocityThreshold()
+        ));
+        return simulator;
+    }
+
+    /**
+     * Row-major grid of particles with the lower-left one at (left, bottom)
+     */
+    private static List<Ball> grid(PhysicsSimulator simulator, double left, double bottom,
+                                   int columns, int rows, double spacing) {
+        List<Ball> particles = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                Ball particle = new Ball(new Vector(left + column * spacing, bottom + row * spacing), Vector.ZERO,
+                        List.of(), SOFT, 0.15);
+                particles.add(particle);
+                simulator.addBody(particle);
+            }
+        }
+        return particles;
+    }
+}
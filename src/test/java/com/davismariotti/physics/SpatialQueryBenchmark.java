@@ -0,0 +1,95 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.core.RaycastHit;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.DynamicBody;
+import com.davismariotti.physics.sprites.Ground;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Performance benchmark for spatial queries
+ * 5000 balls, grid-backed region, nearest and raycast queries against linear scans of the body list
+ */
+class SpatialQueryBenchmark {
+    private static final int BALLS = 5000;
+    private static final int QUERIES = 20000;
+
+    @Test
+    void testBenchmarkQueriesAgainstLinearScans() {
+        System.out.println("\n=== Benchmark: 5000 balls, spatial queries vs linear scans ===");
+        PhysicsSimulator simulator = new PhysicsSimulator(new PhysicsConfig());
+        simulator.setWorldBounds(0, 100, 0, 80);
+        simulator.addBody(new Ground(50, 2.5, 100, 5));
+        Random random = new Random(1);
+        for (int i = 0; i < BALLS; i++) {
+            Vector position = new Vector(1 + random.nextDouble() * 98, 6 + random.nextDouble() * 70);
+            simulator.addBody(new Ball(position, Vector.ZERO, Collections.emptyList(), MaterialProperties.DEFAULT, 0.2));
+        }
+        List<DynamicBody> bodies = simulator.getDynamicBodies();
+        List<DynamicBody> found = new ArrayList<>();
+        DynamicBody[] nearest = new DynamicBody[8];
+        RaycastHit hit = new RaycastHit();
+
+        for (int run = 0; run < 2; run++) {
+            random = new Random(2);
+            long checksum = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < QUERIES; i++) {
+                double x = random.nextDouble() * 95;
+                double y = 6 + random.nextDouble() * 65;
+                simulator.queryRegion(x, y, x + 5, y + 5, found);
+                checksum += found.size();
+            }
+            long grid = System.nanoTime() - start;
+
+            random = new Random(2);
+            start = System.nanoTime();
+            for (int i = 0; i < QUERIES; i++) {
+                double x = random.nextDouble() * 95;
+                double y = 6 + random.nextDouble() * 65;
+                found.clear();
+                for (DynamicBody body : bodies) {
+                    Vector p = body.getPosition();
+                    double dx = p.x() - Math.max(x, Math.min(x + 5, p.x()));
+                    double dy = p.y() - Math.max(y, Math.min(y + 5, p.y()));
+                    if (dx * dx + dy * dy <= 0.2 * 0.2) {
+                        found.add(body);
+                    }
+                }
+                checksum -= found.size();
+            }
+            long linear = System.nanoTime() - start;
+            System.out.printf("Region 5x5:  grid %.2f us/query, linear scan %.2f us/query (count difference %d)%n",
+                    grid / 1e3 / QUERIES, linear / 1e3 / QUERIES, checksum);
+
+            random = new Random(3);
+            start = System.nanoTime();
+            for (int i = 0; i < QUERIES; i++) {
+                simulator.queryNearest(random.nextDouble() * 100, random.nextDouble() * 80, nearest);
+            }
+            System.out.printf("Nearest 8:   grid %.2f us/query%n", (System.nanoTime() - start) / 1e3 / QUERIES);
+
+            random = new Random(4);
+            int hits = 0;
+            start = System.nanoTime();
+            for (int i = 0; i < QUERIES; i++) {
+                double angle = random.nextDouble() * 2 * Math.PI;
+                if (simulator.raycast(random.nextDouble() * 100, 6 + random.nextDouble() * 70,
+                        Math.cos(angle), Math.sin(angle), 100, hit)) {
+                    hits++;
+                }
+            }
+            System.out.printf("Raycast:     grid DDA %.2f us/query, %d%% hit%n",
+                    (System.nanoTime() - start) / 1e3 / QUERIES, hits * 100 / QUERIES);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.components.Ray;
+import com.davismariotti.physics.constraints.BoundaryConstraint;
+import com.davismariotti.physics.constraints.ContinuousCollisionConstraint;
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.core.RaycastHit;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.DynamicBody;
+import com.davismariotti.physics.sprites.Ground;
+import com.davismariotti.physics.sprites.Heightfield;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for spatial queries, checked against linear scans of the body list
+ */
+class SpatialQueryTest {
+
+    private static PhysicsSimulator createSimulator(int balls, long seed) {
+        PhysicsConfig config = new PhysicsConfig();
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.setWorldBounds(0, 100, 0, 80);
+        simulator.addBody(new Ground(50, 2.5, 100, 5));
+        simulator.addConstraint(new BoundaryConstraint(0, 100, 0, 80));
+        simulator.addConstraint(new ContinuousCollisionConstraint(simulator.getStaticBodies(), config.getGravity(),
+                config.getRestingVelocityThreshold()));
+        Random random = new Random(seed);
+        for (int i = 0; i < balls; i++) {
+            Vector position = new Vector(1 + random.nextDouble() * 98, 6 + random.nextDouble() * 70);
+            simulator.addBody(new Ball(position, Vector.ZERO, Collections.emptyList(), MaterialProperties.DEFAULT,
+                    0.1 + random.nextDouble() * 0.6));
+        }
+        return simulator;
+    }
+
+    private static double radius(DynamicBody body) {
+        return ((Ball) body).getRadius();
+    }
+
+    private static double distance(DynamicBody body, double x, double y) {
+        return Math.hypot(body.getPosition().x() - x, body.getPosition().y() - y);
+    }
+
+    @Test
+    void testRegionAndPointMatchALinearScan() {
+        PhysicsSimulator simulator = createSimulator(800, 1);
+        Random random = new Random(2);
+        List<DynamicBody> found = new ArrayList<>();
+        for (int round = 0; round < 3; round++) {
+            for (int query = 0; query < 200; query++) {
+                double minX = random.nextDouble() * 90;
+                double minY = random.nextDouble() * 70;
+                double maxX = minX + random.nextDouble() * 15;
+                double maxY = minY + random.nextDouble() * 15;
+                Set<DynamicBody> expected = new HashSet<>();
+                for (DynamicBody body : simulator.getDynamicBodies()) {
+                    double nearestX = Math.max(minX, Math.min(maxX, body.getPosition().x()));
+                    double nearestY = Math.max(minY, Math.min(maxY, body.getPosition().y()));
+                    if (distance(body, nearestX, nearestY) <= radius(body)) {
+                        expected.add(body);
+                    }
+                }
+                simulator.queryRegion(minX, minY, maxX, maxY, found);
+                assertEquals(expected.size(), found.size(), "Each overlapping body once");
+                assertEquals(expected, new HashSet<>(found));
+
+                double x = random.nextDouble() * 100;
+                double y = random.nextDouble() * 80;
+                expected.clear();
+                for (DynamicBody body : simulator.getDynamicBodies()) {
+                    if (distance(body, x, y) <= radius(body)) {
+                        expected.add(body);
+                    }
+                }
+                simulator.queryPoint(x, y, found);
+                assertEquals(expected, new HashSet<>(found));
+            }
+            // Queries follow the bodies as they move
+            for (int frame = 0; frame < 30; frame++) {
+                simulator.update(1.0 / 60.0);
+            }
+        }
+
+        // Visitors can stop early
+        int[] visits = new int[1];
+        simulator.queryRegion(0, 0, 100, 80, body -> ++visits[0] < 3);
+        assertEquals(3, visits[0]);
+    }
+
+    @Test
+    void testNearestMatchesALinearScan() {
+        PhysicsSimulator simulator = createSimulator(600, 3);
+        Random random = new Random(4);
+        for (int k : new int[]{1, 5, 40}) {
+            DynamicBody[] nearest = new DynamicBody[k];
+            for (int query = 0; query < 100; query++) {
+                // Some points lie outside the world
+                double x = -10 + random.nextDouble() * 120;
+                double y = -10 + random.nextDouble() * 100;
+                List<DynamicBody> sorted = new ArrayList<>(simulator.getDynamicBodies());
+                sorted.sort((a, b) -> Double.compare(distance(a, x, y), distance(b, x, y)));
+                assertEquals(k, simulator.queryNearest(x, y, nearest));
+                for (int i = 0; i < k; i++) {
+                    assertEquals(distance(sorted.get(i), x, y), distance(nearest[i], x, y), 1e-12, "Rank " + i);
+                }
+            }
+        }
+
+        // Fewer bodies than asked for
+        PhysicsSimulator sparse = createSimulator(3, 5);
+        assertEquals(3, sparse.queryNearest(50, 40, new DynamicBody[10]));
+    }
+
+    @Test
+    void testRaycastFindsTheFirstBallAndItsNormal() {
+        PhysicsSimulator simulator = createSimulator(500, 6);
+        Random random = new Random(7);
+        RaycastHit hit = new RaycastHit();
+        for (int query = 0; query < 300; query++) {
+            double ox = random.nextDouble() * 100;
+            double oy = 6 + random.nextDouble() * 70;
+            double angle = random.nextDouble() * 2 * Math.PI;
+            double dx = Math.cos(angle);
+            double dy = Math.sin(angle);
+            double maxDistance = random.nextDouble() * 40;
+
+            // Nearest entry into a ball not containing the origin, then the ground as a box
+            double best = maxDistance;
+            DynamicBody expected = null;
+            for (DynamicBody body : simulator.getDynamicBodies()) {
+                double mx = ox - body.getPosition().x();
+                double my = oy - body.getPosition().y();
+                double b = mx * dx + my * dy;
+                double c = mx * mx + my * my - radius(body) * radius(body);
+                if (c > 0 && b < 0 && b * b - c >= 0 && -b - Math.sqrt(b * b - c) < best) {
+                    best = -b - Math.sqrt(b * b - c);
+                    expected = body;
+                }
+            }
+            double groundDistance = (oy - 5) / -dy;
+            double groundX = ox + dx * groundDistance;
+            boolean groundFirst = dy < 0 && groundDistance < best && groundX >= 0 && groundX <= 100;
+
+            boolean any = simulator.raycast(ox, oy, dx, dy, maxDistance, hit);
+            if (groundFirst) {
+                assertSame(simulator.getStaticBodies().get(0), hit.getBody());
+                assertEquals(1.0, hit.getNormalY());
+            } else if (expected == null) {
+                assertFalse(any);
+                assertFalse(hit.hasHit());
+            } else {
+                assertTrue(any);
+                assertSame(expected, hit.getBody());
+                assertEquals(best, hit.getDistance(), 1e-9);
+                double nx = (hit.getPointX() - expected.getPosition().x()) / radius(expected);
+                double ny = (hit.getPointY() - expected.getPosition().y()) / radius(expected);
+                assertEquals(nx, hit.getNormalX(), 1e-9);
+                assertEquals(ny, hit.getNormalY(), 1e-9);
+                assertEquals(1, Math.hypot(hit.getNormalX(), hit.getNormalY()), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void testRaycastAgainstStaticsAndRays() {
+        PhysicsSimulator simulator = createSimulator(0, 8);
+        Heightfield terrain = new Heightfield(60, 5, 2, new double[]{6, 8, 6});
+        simulator.addBody(terrain);
+        Ball ball = new Ball(new Vector(40, 40), Vector.ZERO, Collections.emptyList(), MaterialProperties.DEFAULT, 1);
+        simulator.addBody(ball);
+        RaycastHit hit = new RaycastHit();
+
+        // Straight down onto the ground
+        assertTrue(simulator.raycast(20, 30, 0, -3, 100, hit));
+        assertEquals(25, hit.getDistance(), 1e-9);
+        assertEquals(5, hit.getPointY(), 1e-9);
+        assertEquals(0.0, hit.getNormalX());
+        assertEquals(1.0, hit.getNormalY());
+        assertFalse(simulator.raycast(20, 30, 0, -1, 24, hit), "Ground beyond max distance");
+
+        // Onto the rising terrain slope, and into its left wall
+        assertTrue(simulator.raycast(61, 20, 0, -1, 100, hit));
+        assertSame(terrain, hit.getBody());
+        assertEquals(13, hit.getDistance(), 1e-9);
+        assertEquals(-Math.sqrt(0.5), hit.getNormalX(), 1e-9);
+        assertEquals(Math.sqrt(0.5), hit.getNormalY(), 1e-9);
+        assertTrue(simulator.raycast(50, 5.5, 1, 0, 100, hit));
+        assertSame(terrain, hit.getBody());
+        assertEquals(10, hit.getDistance(), 1e-9);
+        assertEquals(-1.0, hit.getNormalX());
+        assertTrue(simulator.raycast(70, 20, -1, -2, 100, hit));
+        assertEquals(190 / 3.0, hit.getPointX(), 1e-9, "Falling slope, crossed right to left");
+        assertEquals(20 / 3.0, hit.getPointY(), 1e-9);
+        assertEquals(Math.sqrt(0.5), hit.getNormalX(), 1e-9);
+
+        // A ball in front of the terrain hides it; one containing the origin is ignored
+        assertTrue(simulator.raycast(30, 40, 1, 0, 100, hit));
+        assertSame(ball, hit.getBody());
+        assertEquals(9, hit.getDistance(), 1e-9);
+        assertEquals(-1.0, hit.getNormalX(), 1e-9);
+        assertFalse(simulator.raycast(40, 40, 0, 1, 100, hit));
+
+        // The launcher's Ray runs as a query from its start along its length
+        Ray ray = Ray.withDegrees(new Vector(40, 30), 7, 90, 3);
+        assertTrue(simulator.raycast(ray, hit));
+        assertSame(ball, hit.getBody());
+        assertEquals(6, hit.getDistance(), 1e-9);
+        ray.setLength(5);
+        assertFalse(simulator.raycast(ray, hit));
+    }
+
+    @Test
+    void testSleepingBodiesAreFound() {
+        PhysicsSimulator simulator = createSimulator(0, 9);
+        Ball ball = new Ball(new Vector(30, 5.5), Vector.ZERO, Collections.emptyList(), MaterialProperties.DEFAULT, 0.5);
+        simulator.addBody(ball);
+        ball.sleep();
+        simulator.update(1.0 / 60.0);
+        List<DynamicBody> found = new ArrayList<>();
+        simulator.queryPoint(30, 5.5, found);
+        assertEquals(List.of(ball), found);
+        assertEquals(1, simulator.queryNearest(0, 0, new DynamicBody[1]));
+        assertTrue(simulator.raycast(30, 20, 0, -1, 100, new RaycastHit()));
+    }
+}
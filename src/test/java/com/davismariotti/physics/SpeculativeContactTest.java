@@ -0,0 +1,124 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.constraints.BoundaryConstraint;
+import com.davismariotti.physics.constraints.ContinuousCollisionConstraint;
+import com.davismariotti.physics.constraints.ContinuousCollisionMode;
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.DynamicBody;
+import com.davismariotti.physics.sprites.Ground;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the speculative contact collision mode
+ */
+class SpeculativeContactTest {
+
+    @Test
+    void testFastBallDoesNotTunnelThroughThinGround() {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setCollisionMode(ContinuousCollisionMode.SPECULATIVE);
+        config.setSubsteps(1);
+        PhysicsSimulator simulator = createSimulator(config, new Ground(50, 0.1, 100, 0.2));
+
+        // Travels ~3 units per frame, far more than the ground thickness
+        Ball ball = new Ball(new Vector(50, 10), new Vector(0, -180), Collections.emptyList(), 1.0, 0.0);
+        simulator.addBody(ball);
+
+        double groundTop = 0.2;
+        double lowestY = Double.MAX_VALUE;
+        for (int i = 0; i < 60; i++) {
+            simulator.update(1.0 / 60.0);
+            lowestY = Math.min(lowestY, ball.getPosition().y());
+        }
+
+        System.out.printf("Lowest ball center: %.4f (ground top + radius = %.4f)%n",
+                lowestY, groundTop + ball.getRadius());
+
+        assertTrue(lowestY >= groundTop + ball.getRadius() - 0.01,
+                String.format("Ball should stop at the ground surface, lowest center was %.4f", lowestY));
+        assertTrue(ball.getVelocity().y() > 0 || ball.getPosition().y() > 1.0,
+                "Ball should have bounced back up");
+    }
+
+    @Test
+    void testBounceHeightPreservedWithPerfectRestitution() {
+        double initialHeight = 50.0;
+
+        PhysicsConfig config = new PhysicsConfig();
+        config.setCollisionMode(ContinuousCollisionMode.SPECULATIVE);
+        PhysicsSimulator simulator = createSimulator(config, new Ground(50, 2.5, 100, 5));
+
+        Ball ball = new Ball(new Vector(50, initialHeight), Vector.ZERO, Collections.emptyList(), 1.0, 0.0);
+        simulator.addBody(ball);
+
+        // Let the ball fall, bounce, and rise back to its peak
+        boolean bounced = false;
+        double peakAfterBounce = 0;
+        for (int i = 0; i < 600; i++) {
+            simulator.update(1.0 / 60.0);
+            double velY = ball.getVelocity().y();
+            if (!bounced && velY > 0.1) {
+                bounced = true;
+            }
+            if (bounced) {
+                peakAfterBounce = Math.max(peakAfterBounce, ball.getPosition().y());
+                if (velY < -0.1) {
+                    break;
+                }
+            }
+        }
+
+        System.out.printf("Peak after speculative bounce: %.3f (initial %.3f)%n", peakAfterBounce, initialHeight);
+
+        assertTrue(bounced, "Ball should have bounced");
+        assertEquals(initialHeight, peakAfterBounce, 0.5, "Bounce height should be preserved");
+    }
+
+    @Test
+    void testHeadOnCollisionExchangesVelocity() {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setGravity(new Vector(0, 0));
+        config.setCollisionMode(ContinuousCollisionMode.SPECULATIVE);
+        config.setSubsteps(1);
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+
+        // Closing speed of 120 units/s covers 2 units per frame, four ball diameters
+        DynamicBody ballA = new Ball(new Vector(40, 50), new Vector(60, 0), Collections.emptyList(), 1.0, 0.0);
+        DynamicBody ballB = new Ball(new Vector(60, 50), new Vector(-60, 0), Collections.emptyList(), 1.0, 0.0);
+        simulator.addBody(ballA);
+        simulator.addBody(ballB);
+
+        double minDistance = Double.MAX_VALUE;
+        for (int i = 0; i < 30; i++) {
+            simulator.update(1.0 / 60.0);
+            minDistance = Math.min(minDistance, ballB.getPosition().x() - ballA.getPosition().x());
+        }
+
+        System.out.printf("Min center distance: %.4f, A_vel=%.2f, B_vel=%.2f%n",
+                minDistance, ballA.getVelocity().x(), ballB.getVelocity().x());
+
+        assertTrue(minDistance > 0.5 - 0.01, "Balls should never pass through each other");
+        assertTrue(ballA.getVelocity().x() < 0, "Ball A should rebound to the left");
+        assertTrue(ballB.getVelocity().x() > 0, "Ball B should rebound to the right");
+    }
+
+    private PhysicsSimulator createSimulator(PhysicsConfig config, Ground ground) {
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.addBody(ground);
+        simulator.addConstraint(new ContinuousCollisionConstraint(
+                simulator.getStaticBodies(),
+                config.getGravity(),
+                config.getRestingVelocityThreshold(),
+                config.getCollisionMode()
+        ));
+        simulator.addConstraint(new BoundaryConstraint(0, 100, 0, 100));
+        return simulator;
+    }
+}
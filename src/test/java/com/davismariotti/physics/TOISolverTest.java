@@ -0,0 +1,95 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.collision.TOISolver;
+import com.davismariotti.physics.collision.TimeOfImpact;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.Ground;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for swept circle-vs-AABB time of impact against every face and corner
+ */
+class TOISolverTest {
+    private static final double DT = 0.1;
+    private static final double RADIUS = 0.5;
+    private static final Vector NO_GRAVITY = new Vector(0, 0);
+
+    // Box spanning (10, 10) to (20, 20)
+    private final Ground box = new Ground(15, 15, 10, 10);
+
+    @Test
+    void testTopFaceWithGravity() {
+        Vector gravity = new Vector(0, -9.8);
+        TimeOfImpact toi = sweep(new Vector(15, 22), new Vector(0, -30), gravity);
+
+        assertTrue(toi.hasCollision(), "Falling ball should hit the top face");
+        assertNormal(0, 1, toi.normal());
+        assertEquals(20 + RADIUS, toi.position().y(), 1e-9);
+    }
+
+    @Test
+    void testSideWalls() {
+        TimeOfImpact left = sweep(new Vector(7, 15), new Vector(40, 0), NO_GRAVITY);
+        assertTrue(left.hasCollision(), "Ball moving right should hit the left face");
+        assertNormal(-1, 0, left.normal());
+        assertEquals(10 - RADIUS, left.position().x(), 1e-9);
+
+        TimeOfImpact right = sweep(new Vector(23, 15), new Vector(-40, 0), NO_GRAVITY);
+        assertTrue(right.hasCollision(), "Ball moving left should hit the right face");
+        assertNormal(1, 0, right.normal());
+        assertEquals(20 + RADIUS, right.position().x(), 1e-9);
+    }
+
+    @Test
+    void testUnderside() {
+        TimeOfImpact toi = sweep(new Vector(15, 7), new Vector(0, 40), new Vector(0, -9.8));
+
+        assertTrue(toi.hasCollision(), "Ball launched upward should hit the underside");
+        assertNormal(0, -1, toi.normal());
+        assertEquals(10 - RADIUS, toi.position().y(), 1e-9);
+    }
+
+    @Test
+    void testRoundedCorner() {
+        // Diagonal approach toward the top-right corner, missing both face spans
+        TimeOfImpact toi = sweep(new Vector(23, 23), new Vector(-30, -30), NO_GRAVITY);
+
+        assertTrue(toi.hasCollision(), "Diagonal ball should hit the corner");
+        double diagonal = Math.sqrt(0.5);
+        assertNormal(diagonal, diagonal, toi.normal());
+        double distance = toi.position().add(new Vector(-20, -20)).getMagnitude();
+        assertEquals(RADIUS, distance, 1e-6, "Contact should be one radius from the corner");
+    }
+
+    @Test
+    void testMissesAreRejected() {
+        assertFalse(sweep(new Vector(5, 30), new Vector(30, 0), NO_GRAVITY).hasCollision(),
+                "Ball passing above the box should not collide");
+        // Passes the corner diagonally with clearance just above the radius
+        double offset = (RADIUS + 0.05) / Math.sqrt(2);
+        assertFalse(sweep(new Vector(18 + offset, 22 + offset), new Vector(30, -30), NO_GRAVITY).hasCollision(),
+                "Ball grazing past the corner should not collide");
+    }
+
+    private TimeOfImpact sweep(Vector start, Vector velocity, Vector gravity) {
+        Ball ball = new Ball(start, velocity, Collections.emptyList(), MaterialProperties.DEFAULT, RADIUS);
+        ball.setPreviousPosition(start);
+        ball.setPreviousVelocity(velocity);
+        ball.setPosition(new Vector(
+                start.x() + velocity.x() * DT + 0.5 * gravity.x() * DT * DT,
+                start.y() + velocity.y() * DT + 0.5 * gravity.y() * DT * DT));
+        ball.setVelocity(velocity.add(gravity.multiply(DT)));
+        return TOISolver.computeTOI(ball, box, DT, gravity);
+    }
+
+    private void assertNormal(double x, double y, Vector normal) {
+        assertEquals(x, normal.x(), 1e-6, "normal x");
+        assertEquals(y, normal.y(), 1e-6, "normal y");
+    }
+}
@@ -0,0 +1,154 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.collision.VerletNeighborList;
+import com.davismariotti.physics.constraints.BoundaryConstraint;
+import com.davismariotti.physics.constraints.ContinuousCollisionConstraint;
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.DynamicBody;
+import com.davismariotti.physics.sprites.Ground;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the Verlet neighbor list
+ */
+class VerletNeighborListTest {
+    private static final double SKIN = 0.2;
+
+    @Test
+    void testPairsMatchBruteForce() {
+        List<DynamicBody> bodies = randomBalls(600, 1);
+        VerletNeighborList list = new VerletNeighborList(0.05, SKIN);
+        assertTrue(list.update(bodies, 0));
+
+        Set<Long> listed = new HashSet<>();
+        int[] neighbors = list.getNeighbors();
+        for (int i = 0; i < list.size(); i++) {
+            for (int k = list.getNeighborStart(i); k < list.getNeighborEnd(i); k++) {
+                assertTrue(neighbors[k] > i, "Each pair is listed once, under its lower index");
+                assertTrue(listed.add(pairKey(i, neighbors[k])));
+            }
+        }
+        assertEquals(bruteForcePairs(bodies, 0.05 + SKIN), listed);
+        assertEquals(listed.size(), list.getPairCount());
+    }
+
+    @Test
+    void testRebuildsOnlyAfterHalfTheSkin() {
+        List<DynamicBody> bodies = randomBalls(300, 2);
+        VerletNeighborList list = new VerletNeighborList(0.0, SKIN);
+        list.update(bodies, 0);
+
+        // Every body drifts by just under half the skin: the list is kept and still holds every contact
+        Random random = new Random(3);
+        for (DynamicBody body : bodies) {
+            double angle = random.nextDouble() * 2 * Math.PI;
+            body.setPosition(body.getPosition().add(new Vector(Math.cos(angle), Math.sin(angle)).multiply(0.49 * SKIN)));
+        }
+        assertFalse(list.update(bodies, 0));
+        Set<Long> listed = new HashSet<>();
+        for (int i = 0; i < list.size(); i++) {
+            for (int k = list.getNeighborStart(i); k < list.getNeighborEnd(i); k++) {
+                listed.add(pairKey(i, list.getNeighbors()[k]));
+            }
+        }
+        assertTrue(listed.containsAll(bruteForcePairs(bodies, 0.0)), "Touching pairs must still be listed");
+
+        // A speculative reach uses up part of the skin
+        assertTrue(list.update(bodies, 0.02));
+
+        // One body moving past half the skin forces a rebuild; so does a change of the body list
+        bodies.get(7).setPosition(bodies.get(7).getPosition().add(new Vector(0.51 * SKIN, 0)));
+        assertTrue(list.update(bodies, 0));
+        assertFalse(list.update(bodies, 0));
+        bodies.remove(0);
+        assertTrue(list.update(bodies, 0));
+        assertEquals(4.0 / 6.0, list.getRebuildFrequency(), 1e-12);
+    }
+
+    @Test
+    void testPileSettlesWithNeighborList() {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setUseSleeping(false);
+        config.setUseNeighborList(true);
+        config.setUseRestingContacts(true);
+        config.setVelocityIterations(4);
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.setWorldBounds(0, 100, 0, 80);
+        simulator.addBody(new Ground(50, 2.5, 100, 5));
+        simulator.addConstraint(new BoundaryConstraint(0, 100, 0, 80));
+        simulator.addConstraint(new ContinuousCollisionConstraint(simulator.getStaticBodies(), config.getGravity(),
+                config.getRestingVelocityThreshold()));
+
+        MaterialProperties rough = new MaterialProperties(0.3, 0.0, 0.8, 0.6);
+        for (int row = 0; row < 15; row++) {
+            for (int k = 0; k < 15 - row; k++) {
+                double x = 45 + row * 0.25 + k * 0.5;
+                double y = 5.25 + row * 0.5 * Math.sqrt(0.75);
+                simulator.addBody(new Ball(new Vector(x, y), Vector.ZERO, List.of(), rough, 0.25));
+            }
+        }
+
+        for (int i = 0; i < 300; i++) {
+            simulator.update(1.0 / 60.0);
+        }
+
+        List<DynamicBody> bodies = simulator.getDynamicBodies();
+        double maxOverlap = 0;
+        for (int i = 0; i < bodies.size(); i++) {
+            for (int j = i + 1; j < bodies.size(); j++) {
+                Vector a = bodies.get(i).getPosition();
+                Vector b = bodies.get(j).getPosition();
+                maxOverlap = Math.max(maxOverlap, 0.5 - Math.hypot(a.x() - b.x(), a.y() - b.y()));
+            }
+        }
+        VerletNeighborList list = simulator.getDynamicCollisionConstraint().getNeighborList();
+        System.out.printf("Neighbor-list pile: max overlap %.4f, rebuild frequency %.4f%n",
+                maxOverlap, list.getRebuildFrequency());
+        assertTrue(maxOverlap < 0.01, "Pile should not interpenetrate, overlap " + maxOverlap);
+        assertEquals(300L * config.getSubsteps(), list.getUpdateCount(), "One update per substep, not per velocity iteration");
+        assertTrue(list.getRebuildFrequency() < 0.05, "A settling pile should rarely need a rebuild");
+    }
+
+    private static List<DynamicBody> randomBalls(int count, long seed) {
+        Random random = new Random(seed);
+        List<DynamicBody> bodies = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Vector position = new Vector(random.nextDouble() * 20, random.nextDouble() * 15);
+            bodies.add(new Ball(position, Vector.ZERO, List.of(), MaterialProperties.DEFAULT,
+                    0.1 + random.nextDouble() * 0.2));
+        }
+        return bodies;
+    }
+
+    private static Set<Long> bruteForcePairs(List<DynamicBody> bodies, double gap) {
+        Set<Long> pairs = new HashSet<>();
+        for (int i = 0; i < bodies.size(); i++) {
+            for (int j = i + 1; j < bodies.size(); j++) {
+                Ball a = (Ball) bodies.get(i);
+                Ball b = (Ball) bodies.get(j);
+                double distance = Math.hypot(a.getPosition().x() - b.getPosition().x(),
+                        a.getPosition().y() - b.getPosition().y());
+                if (distance < a.getRadius() + b.getRadius() + gap) {
+                    pairs.add(pairKey(i, j));
+                }
+            }
+        }
+        return pairs;
+    }
+
+    private static long pairKey(int i, int j) {
+        return ((long) Math.min(i, j) << 32) | Math.max(i, j);
+    }
+}
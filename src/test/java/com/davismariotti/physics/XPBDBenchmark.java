@@ -0,0 +1,112 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.constraints.BoundaryConstraint;
+import com.davismariotti.physics.constraints.ContinuousCollisionConstraint;
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.core.SimulationMode;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.DynamicBody;
+import com.davismariotti.physics.sprites.Ground;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Stability per millisecond on a large resting pile: impulse/TOI substeps against XPBD
+ * Sleeping is off so residual jitter shows up in the measured speeds
+ */
+class XPBDBenchmark {
+    private static final double WORLD_WIDTH = 120.0;
+    private static final double WORLD_HEIGHT = 80.0;
+    private static final double GROUND_HEIGHT = 4.0;
+    private static final double RADIUS = 0.25;
+    private static final int BALL_COUNT = 10_000;
+
+    @Test
+    void testBenchmarkLargePile() {
+        System.out.println("\n=== Benchmark: Large Pile (" + BALL_COUNT + " balls in a walled bin) ===");
+        runPile(SimulationMode.SUBSTEP, 6);
+        runPile(SimulationMode.XPBD, 4);
+        runPile(SimulationMode.XPBD, 8);
+    }
+
+    private void runPile(SimulationMode mode, int substeps) {
+        PhysicsSimulator simulator = createSimulator(mode, substeps);
+        spawnPile(simulator);
+
+        // Settle, then measure
+        for (int i = 0; i < 60; i++) {
+            simulator.update(1.0 / 60.0);
+        }
+
+        int frameCount = 30;
+        double speedSquaredSum = 0;
+        long startTime = System.nanoTime();
+        for (int i = 0; i < frameCount; i++) {
+            simulator.update(1.0 / 60.0);
+        }
+        long elapsed = System.nanoTime() - startTime;
+
+        List<DynamicBody> bodies = simulator.getDynamicBodies();
+        double maxSpeed = 0;
+        for (DynamicBody body : bodies) {
+            double speed = body.getVelocity().getMagnitude();
+            speedSquaredSum += speed * speed;
+            maxSpeed = Math.max(maxSpeed, speed);
+        }
+        double rmsSpeed = Math.sqrt(speedSquaredSum / bodies.size());
+        double msPerFrame = elapsed / 1_000_000.0 / frameCount;
+
+        System.out.printf("%-8s substeps=%-2d %.2f ms/frame, rms speed %.4f, max speed %.3f, max ground penetration %.4f%n",
+                mode, substeps, msPerFrame, rmsSpeed, maxSpeed, maxGroundPenetration(bodies));
+    }
+
+    private PhysicsSimulator createSimulator(SimulationMode mode, int substeps) {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setSimulationMode(mode);
+        config.setSubsteps(substeps);
+        config.setUseSleeping(false);
+
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.setWorldBounds(0, WORLD_WIDTH, 0, WORLD_HEIGHT);
+        simulator.addBody(new Ground(WORLD_WIDTH / 2, GROUND_HEIGHT / 2, WORLD_WIDTH, GROUND_HEIGHT));
+        // Bin walls so both pipelines see the same container
+        simulator.addBody(new Ground(1, WORLD_HEIGHT / 2, 2, WORLD_HEIGHT));
+        simulator.addBody(new Ground(WORLD_WIDTH - 1, WORLD_HEIGHT / 2, 2, WORLD_HEIGHT));
+        simulator.addConstraint(new BoundaryConstraint(0, WORLD_WIDTH, 0, WORLD_HEIGHT));
+        simulator.addConstraint(new ContinuousCollisionConstraint(
+                simulator.getStaticBodies(),
+                config.getGravity(),
+                config.getRestingVelocityThreshold(),
+                config.getCollisionMode()
+        ));
+        return simulator;
+    }
+
+    /**
+     * Loosely packed block that drops a short distance and compacts into a pile
+     */
+    private void spawnPile(PhysicsSimulator simulator) {
+        Random random = new Random(42);
+        int perRow = (int) ((WORLD_WIDTH - 4 - 2 * RADIUS) / (2.1 * RADIUS));
+        for (int i = 0; i < BALL_COUNT; i++) {
+            double x = 2 + RADIUS + (i % perRow) * 2.1 * RADIUS + random.nextDouble() * 0.02;
+            double y = GROUND_HEIGHT + RADIUS + 0.1 + (i / perRow) * 2.1 * RADIUS;
+            simulator.addBody(new Ball(new Vector(x, y), Vector.ZERO, Collections.emptyList(),
+                    MaterialProperties.WOOD, RADIUS));
+        }
+    }
+
+    private double maxGroundPenetration(List<DynamicBody> bodies) {
+        double max = 0;
+        for (DynamicBody body : bodies) {
+            max = Math.max(max, GROUND_HEIGHT + RADIUS - body.getPosition().y());
+        }
+        return max;
+    }
+}
@@ -0,0 +1,129 @@
+package com.davismariotti.physics;
+
+import com.davismariotti.physics.core.PhysicsConfig;
+import com.davismariotti.physics.core.PhysicsSimulator;
+import com.davismariotti.physics.core.SimulationMode;
+import com.davismariotti.physics.kinematics.Vector;
+import com.davismariotti.physics.sprites.Ball;
+import com.davismariotti.physics.sprites.DynamicBody;
+import com.davismariotti.physics.sprites.Ground;
+import com.davismariotti.physics.sprites.MaterialProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the XPBD simulation mode
+ */
+class XPBDTest {
+    private static final double GROUND_TOP = 5.0;
+
+    @Test
+    void testPileSettlesWithoutOverlapOrJitter() {
+        PhysicsSimulator simulator = createSimulator();
+        simulator.getConfig().setUseSleeping(false);
+
+        // Hexagonal pyramid of 210 balls; friction must exceed tan(30°) for the base not to spread
+        MaterialProperties rough = new MaterialProperties(0.3, 0.0, 0.8, 0.6);
+        for (int row = 0; row < 20; row++) {
+            for (int k = 0; k < 20 - row; k++) {
+                double x = 45 + row * 0.25 + k * 0.5;
+                double y = GROUND_TOP + 0.25 + row * 0.5 * Math.sqrt(0.75);
+                simulator.addBody(new Ball(new Vector(x, y), Vector.ZERO, Collections.emptyList(), rough, 0.25));
+            }
+        }
+
+        for (int i = 0; i < 300; i++) {
+            simulator.update(1.0 / 60.0);
+        }
+
+        List<DynamicBody> bodies = simulator.getDynamicBodies();
+        double maxOverlap = 0;
+        double maxSpeed = 0;
+        for (int i = 0; i < bodies.size(); i++) {
+            Ball a = (Ball) bodies.get(i);
+            maxSpeed = Math.max(maxSpeed, a.getVelocity().getMagnitude());
+            maxOverlap = Math.max(maxOverlap, GROUND_TOP + a.getRadius() - a.getPosition().y());
+            for (int j = i + 1; j < bodies.size(); j++) {
+                Ball b = (Ball) bodies.get(j);
+                double dx = a.getPosition().x() - b.getPosition().x();
+                double dy = a.getPosition().y() - b.getPosition().y();
+                maxOverlap = Math.max(maxOverlap, 0.5 - Math.sqrt(dx * dx + dy * dy));
+            }
+        }
+
+        System.out.printf("XPBD pile: max overlap %.4f, max speed %.4f%n", maxOverlap, maxSpeed);
+        assertTrue(maxOverlap < 0.02, "Settled pile should not interpenetrate");
+        assertTrue(maxSpeed < 0.05, "Settled pile should not jitter");
+    }
+
+    @Test
+    void testBounceHeightFollowsRestitution() {
+        double restitution = 0.8;
+        double initialHeight = 30.0;
+        PhysicsSimulator simulator = createSimulator();
+
+        Ball ball = new Ball(new Vector(50, initialHeight), Vector.ZERO, Collections.emptyList(),
+                new MaterialProperties(restitution, 0.0, 0.0, 0.0), 0.25);
+        simulator.addBody(ball);
+
+        boolean bounced = false;
+        double peak = 0;
+        for (int i = 0; i < 600; i++) {
+            simulator.update(1.0 / 60.0);
+            double velY = ball.getVelocity().y();
+            if (!bounced && velY > 0.1) {
+                bounced = true;
+            }
+            if (bounced) {
+                peak = Math.max(peak, ball.getPosition().y());
+                if (velY < -0.1) {
+                    break;
+                }
+            }
+        }
+
+        // Drop and rebound heights measured from the resting position of the center
+        double rest = GROUND_TOP + ball.getRadius();
+        double ratio = (peak - rest) / (initialHeight - rest);
+        System.out.printf("XPBD bounce ratio %.3f (expected %.3f)%n", ratio, restitution * restitution);
+        assertTrue(bounced, "Ball should bounce");
+        assertEquals(restitution * restitution, ratio, 0.05, "Rebound height should follow restitution squared");
+    }
+
+    @Test
+    void testDynamicFrictionFollowsCoulombLaw() {
+        PhysicsSimulator simulator = createSimulator();
+        Ball rough = new Ball(new Vector(20, GROUND_TOP + 0.25), new Vector(8, 0), Collections.emptyList(),
+                new MaterialProperties(0.0, 0.0, 0.8, 0.6), 0.25);
+        Ball smooth = new Ball(new Vector(60, GROUND_TOP + 0.25), new Vector(8, 0), Collections.emptyList(),
+                new MaterialProperties(0.0, 0.0, 0.0, 0.0), 0.25);
+        simulator.addBody(rough);
+        simulator.addBody(smooth);
+
+        for (int i = 0; i < 120; i++) {
+            simulator.update(1.0 / 60.0);
+        }
+
+        System.out.printf("Rough ball vx %.3f, smooth ball vx %.3f%n",
+                rough.getVelocity().x(), smooth.getVelocity().x());
+        // Smooth ball only feels the ground's dynamic friction (0.35), combined as sqrt(0² + 0.35²)
+        double expected = 8 - 0.35 * 9.8 * 2.0;
+        assertTrue(rough.getVelocity().x() < 0.1, "Friction should stop the rough ball");
+        assertEquals(expected, smooth.getVelocity().x(), 0.1, "Sliding deceleration should be mu * g");
+    }
+
+    private PhysicsSimulator createSimulator() {
+        PhysicsConfig config = new PhysicsConfig();
+        config.setSimulationMode(SimulationMode.XPBD);
+        config.setDragCoefficient(0.0);
+
+        PhysicsSimulator simulator = new PhysicsSimulator(config);
+        simulator.setWorldBounds(0, 100, 0, 80);
+        simulator.addBody(new Ground(50, GROUND_TOP / 2, 100, GROUND_TOP));
+        return simulator;
+    }
+}